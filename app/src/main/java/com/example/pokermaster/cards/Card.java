@@ -1,15 +1,17 @@
 package com.example.pokermaster.cards;
 
-import android.util.Log;
-
 import androidx.annotation.NonNull;
 
 /**
  * Represents a single card in a poker game.
+ * <p>
+ *     Cards are immutable and interned - there are exactly 52 instances, one per card, obtained
+ *     with {@link Card#of(int, Suit)} or {@link Card#of(int)}. Both lookups never allocate, and
+ *     since no two instances represent the same card, cards are equal only if they are the same
+ *     instance.
+ * </p>
  */
-public class Card implements Comparable<Card> {
-    private static final String TAG = Card.class.getCanonicalName();
-
+public final class Card implements Comparable<Card> {
     public static final int MAX_RANK = 14;
     public static final int MIN_RANK = 2;
     public static final int ACE_RANK = 14;
@@ -17,6 +19,14 @@ public class Card implements Comparable<Card> {
     public static final int QUEEN_RANK = 12;
     public static final int JACK_RANK = 11;
 
+    private static final int RANKS_COUNT = MAX_RANK - MIN_RANK + 1;
+    private static final Suit[] SUITS = Suit.values();
+
+    /**
+     * Number of distinct cards (and of interned instances).
+     */
+    public static final int CARDS_COUNT = RANKS_COUNT * SUITS.length;
+
     private static final String ACE_SYMBOL = "A";
     private static final String KING_SYMBOL = "K";
     private static final String QUEEN_SYMBOL = "Q";
@@ -26,87 +36,99 @@ public class Card implements Comparable<Card> {
     private static final String SUIT_TAG = "<s>";
     private static final String TO_STRING_TEMPLATE = RANK_TAG + SUIT_TAG;
 
-    private static final int RANK_HASH_BIT_COUNT = Integer.SIZE - Integer.numberOfLeadingZeros(MAX_RANK);
-    private static final int RANK_HASH_MASK = (int) ((1L << RANK_HASH_BIT_COUNT) - 1);
-
-    private static final int SPADE_HASH = 0b00;
-    private static final int HEART_HASH = 0b01;
-    private static final int DIAMOND_HASH = 0b10;
-    private static final int CLUB_HASH = 0b11;
-
-    private int mRank;
-    private Suit mSuit;
+    /* sCards[index] is the card whose index is index */
+    private static final Card[] sCards = createCards();
 
-    public Card(int rank, Suit suit) {
-        validateRank(rank);
+    private final int mRank;
+    private final Suit mSuit;
+    private final int mIndex;
 
-        this.mRank = rank;
-        this.mSuit = suit;
+    private Card(int rank, Suit suit, int index) {
+        mRank = rank;
+        mSuit = suit;
+        mIndex = index;
     }
 
-    private void validateRank(int rank) {
+    /**
+     * Returns the card with the given rank and suit.
+     * @param rank The rank of the card, from {@link Card#MIN_RANK} to {@link Card#MAX_RANK}
+     *             inclusively.
+     * @param suit The suit of the card.
+     * @return The interned instance of the card.
+     * @throws IllegalArgumentException If the rank is out of range.
+     */
+    public static Card of(int rank, Suit suit) {
         if (rank > MAX_RANK || rank < MIN_RANK) {
             throw new IllegalArgumentException(String.format(
                     "Invalid rank, must be between %d and %d inclusively (got %d)",
                     MIN_RANK, MAX_RANK, rank
             ));
         }
+        return sCards[getIndex(rank, suit)];
     }
 
-    public int getRank() {
-        return mRank;
+    /**
+     * Returns the card with the given index (see {@link Card#getIndex()}).
+     * @param index The index of the card, from 0 to {@link Card#CARDS_COUNT} exclusively.
+     * @return The interned instance of the card.
+     * @throws IllegalArgumentException If the index is out of range.
+     */
+    public static Card of(int index) {
+        if (index < 0 || index >= CARDS_COUNT) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid card index, must be between 0 and %d inclusively (got %d)",
+                    CARDS_COUNT - 1, index
+            ));
+        }
+        return sCards[index];
     }
 
-    public Suit getSuit() {
-        return mSuit;
+    private static int getIndex(int rank, Suit suit) {
+        return rank - MIN_RANK + suit.ordinal() * RANKS_COUNT;
+    }
+
+    private static Card[] createCards() {
+        final Card[] cards = new Card[CARDS_COUNT];
+        for (Suit suit : SUITS) {
+            for (int rank = MIN_RANK; rank <= MAX_RANK; rank++) {
+                final int index = getIndex(rank, suit);
+                cards[index] = new Card(rank, suit, index);
+            }
+        }
+        return cards;
     }
 
-    public void setRank(int newRank) {
-        validateRank(newRank);
-        mRank = newRank;
+    public int getRank() {
+        return mRank;
     }
 
-    public void setSuit(Suit newSuit) {
-        mSuit = newSuit;
+    public Suit getSuit() {
+        return mSuit;
     }
 
     /**
-     * Retrieves the hash mask mapped to the current card's {@link Suit}.
-     * @return The bits used when hashing the suit of the current card.
-     * @throws IllegalStateException If somehow the suit of the current card does not have a hash
-     *                               mask (should never happen but let's crash for fun if it does).
+     * Returns the index of the card, which packs its rank and suit into a single number - the
+     * rank (from 0 for {@link Card#MIN_RANK}) in the lower 13 values and the suit's
+     * {@link Suit#ordinal()} above it. This is the same index
+     * {@link com.example.pokermaster.cards.indexers.CardIndexer#getCardIndex(Card) CardIndexer}
+     * gives.
+     * @return The index of the card, from 0 to {@link Card#CARDS_COUNT} exclusively.
      */
-    private int getSuitHashMask() {
-        switch (mSuit) {
-            case SPADE:
-                return SPADE_HASH;
-            case HEART:
-                return HEART_HASH;
-            case DIAMOND:
-                return DIAMOND_HASH;
-            case CLUB:
-                return CLUB_HASH;
-        }
-
-        final String errorMessage = "Unknown suit was inserted to Card object";
-        Log.e(TAG, "getSuitHashMask: " + errorMessage);
-        throw new IllegalStateException(errorMessage);
+    public int getIndex() {
+        return mIndex;
     }
 
+    /**
+     * Cards are interned, so a card is only equal to itself.
+     */
     @Override
     public boolean equals(Object other) {
-        if (other instanceof Card) {
-            final Card otherCard = (Card) other;
-            return otherCard.hashCode() == this.hashCode(); // Relies on unique hashCode property
-        }
-
-        return false;
+        return this == other;
     }
 
     @Override
     public int hashCode() {
-        final int suitHash = getSuitHashMask();
-        return (mRank & RANK_HASH_MASK) | (suitHash << RANK_HASH_BIT_COUNT);
+        return mIndex;
     }
 
     /**
@@ -0,0 +1,212 @@
+package com.example.pokermaster.cards;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable set of cards, stored as a single {@code long} in which the bit
+ * {@link Card#getIndex()} of every card in the set is on.
+ * <p>
+ *     Every operation is a few bit operations: membership is a single AND, the size is a popcount,
+ *     and unions/intersections are a single OR/AND of the masks. Operations that change the set
+ *     return a new set and leave the original untouched, so sets can be freely shared between
+ *     threads. Iteration goes over the cards from the lowest index to the highest.
+ * </p>
+ */
+public final class CardSet implements Iterable<Card> {
+    private static final long ALL_CARDS_MASK = (1L << Card.CARDS_COUNT) - 1;
+
+    /**
+     * The set with no cards in it.
+     */
+    public static final CardSet EMPTY = new CardSet(0);
+
+    /**
+     * The set of all 52 cards.
+     */
+    public static final CardSet FULL_DECK = new CardSet(ALL_CARDS_MASK);
+
+    private final long mMask;
+
+    private CardSet(long mask) {
+        mMask = mask;
+    }
+
+    /**
+     * Creates a set from its mask.
+     * @param mask A mask in which the bit {@link Card#getIndex()} of every card in the set is on.
+     * @return The set of cards in the mask.
+     * @throws IllegalArgumentException If the mask has bits set beyond the last card index.
+     */
+    public static CardSet fromMask(long mask) {
+        if ((mask & ~ALL_CARDS_MASK) != 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Cards mask %x has bits beyond the last card index %d", mask, Card.CARDS_COUNT - 1
+            ));
+        }
+        return new CardSet(mask);
+    }
+
+    /**
+     * Creates a set of the given cards. Duplicate cards CAN be passed, but will be in the set
+     * only once.
+     * @param cards The cards in the set.
+     * @return The set of the given cards.
+     */
+    public static CardSet of(Card ... cards) {
+        long mask = 0;
+        for (Card card : cards)
+            mask |= getCardMask(card);
+        return new CardSet(mask);
+    }
+
+    /**
+     * Creates a set of the given cards. Duplicate cards CAN be passed, but will be in the set
+     * only once.
+     * @param cards The cards in the set.
+     * @return The set of the given cards.
+     */
+    public static CardSet of(Collection<Card> cards) {
+        long mask = 0;
+        for (Card card : cards)
+            mask |= getCardMask(card);
+        return new CardSet(mask);
+    }
+
+    /**
+     * Creates a set of both hole cards.
+     * @param holeCards A pair of cards given to a player.
+     * @return The set of the hole cards.
+     */
+    public static CardSet of(HoleCards holeCards) {
+        return new CardSet(getCardMask(holeCards.getFirstCard()) | getCardMask(holeCards.getSecondCard()));
+    }
+
+    private static long getCardMask(Card card) {
+        return 1L << card.getIndex();
+    }
+
+    /**
+     * @return A mask in which the bit {@link Card#getIndex()} of every card in the set is on (the
+     *         same representation as
+     *         {@link com.example.pokermaster.cards.indexers.CardIndexer#getCardMask(Card)}).
+     */
+    public long getMask() {
+        return mMask;
+    }
+
+    public int size() {
+        return Long.bitCount(mMask);
+    }
+
+    public boolean isEmpty() {
+        return mMask == 0;
+    }
+
+    public boolean contains(Card card) {
+        return (mMask & getCardMask(card)) != 0;
+    }
+
+    /**
+     * @return True if every card of the other set is in this set.
+     */
+    public boolean containsAll(CardSet other) {
+        return (other.mMask & ~mMask) == 0;
+    }
+
+    /**
+     * @return True if the sets have at least one card in common.
+     */
+    public boolean intersects(CardSet other) {
+        return (mMask & other.mMask) != 0;
+    }
+
+    /**
+     * @return A set with the cards of this set and the given card.
+     */
+    public CardSet add(Card card) {
+        return new CardSet(mMask | getCardMask(card));
+    }
+
+    /**
+     * @return A set with the cards of this set, except the given card.
+     */
+    public CardSet remove(Card card) {
+        return new CardSet(mMask & ~getCardMask(card));
+    }
+
+    /**
+     * @return A set with the cards of both sets.
+     */
+    public CardSet union(CardSet other) {
+        return new CardSet(mMask | other.mMask);
+    }
+
+    /**
+     * @return A set with the cards found in both sets.
+     */
+    public CardSet intersection(CardSet other) {
+        return new CardSet(mMask & other.mMask);
+    }
+
+    /**
+     * @return A set with the cards of this set that are not in the other set (for example, the
+     *         live cards are {@code CardSet.FULL_DECK.difference(deadCards)}).
+     */
+    public CardSet difference(CardSet other) {
+        return new CardSet(mMask & ~other.mMask);
+    }
+
+    /**
+     * @return The cards of the set, from the lowest index to the highest.
+     */
+    public List<Card> toList() {
+        final List<Card> cards = new ArrayList<>(size());
+        for (long mask = mMask; mask != 0; mask &= mask - 1)
+            cards.add(Card.of(Long.numberOfTrailingZeros(mask)));
+        return cards;
+    }
+
+    @NonNull
+    @Override
+    public Iterator<Card> iterator() {
+        return new Iterator<Card>() {
+            private long mRemainingMask = mMask;
+
+            @Override
+            public boolean hasNext() {
+                return mRemainingMask != 0;
+            }
+
+            @Override
+            public Card next() {
+                if (mRemainingMask == 0)
+                    throw new NoSuchElementException("No cards left in the set");
+                final Card card = Card.of(Long.numberOfTrailingZeros(mRemainingMask));
+                mRemainingMask &= mRemainingMask - 1;
+                return card;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CardSet && ((CardSet) other).mMask == mMask;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mMask);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.pokermaster.cards.decks;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
+import com.example.pokermaster.cards.exceptions.EmptyDeckException;
+import com.example.pokermaster.util.RandomSource;
+
+import java.util.SplittableRandom;
+
+/**
+ * A deck storing its cards as a 52-bit mask, for simulations that deal a lot of cards.
+ * <p>
+ *     Besides the mask (used for membership checks), the deck keeps every card index in an array
+ *     in which the cards of the deck come first. Dealing picks a random position among them and
+ *     swaps its card with the last card of the deck, and adding a card swaps it back in, so
+ *     dealing, adding and removing are all O(1) and allocate nothing. The array always holds all
+ *     52 cards, so {@link BitSetDeck#reset()} only needs to reset the count and the mask.
+ * </p>
+ * <p>
+ *     The deck is not thread-safe. Random numbers come from the {@link RandomSource} given to the
+ *     deck, so a seeded generator gives a reproducible stream of deals, and simulations running
+ *     on several threads should give every thread its own deck and generator.
+ * </p>
+ */
+public class BitSetDeck implements Deck {
+    private final RandomSource mRandomSource;
+
+    /* Every card index, where the first mCardsCount ones are the cards of the deck */
+    private final int[] mCardIndices = new int[Card.CARDS_COUNT];
+
+    /* mPositions[cardIndex] is the position of the card in mCardIndices */
+    private final int[] mPositions = new int[Card.CARDS_COUNT];
+
+    private int mCardsCount;
+    private long mCardsMask;
+
+    /**
+     * Creates a new deck with all cards already in it, dealing with an unseeded generator.
+     */
+    public BitSetDeck() {
+        this(new SplittableRandom()::nextInt);
+    }
+
+    /**
+     * Creates a new deck with all cards already in it.
+     * @param randomSource The source of the random numbers used to deal cards.
+     */
+    public BitSetDeck(RandomSource randomSource) {
+        mRandomSource = randomSource;
+        for (int cardIndex = 0; cardIndex < Card.CARDS_COUNT; cardIndex++) {
+            mCardIndices[cardIndex] = cardIndex;
+            mPositions[cardIndex] = cardIndex;
+        }
+        reset();
+    }
+
+    /**
+     * Creates a deck populated with the given cards.
+     * @param cards The cards included in the deck.
+     * @param randomSource The source of the random numbers used to deal cards.
+     */
+    public BitSetDeck(CardSet cards, RandomSource randomSource) {
+        this(randomSource);
+        removeFromDeck(CardSet.FULL_DECK.difference(cards));
+    }
+
+    /**
+     * Puts all 52 cards back in the deck.
+     */
+    public void reset() {
+        mCardsCount = Card.CARDS_COUNT;
+        mCardsMask = CardSet.FULL_DECK.getMask();
+    }
+
+    /**
+     * @return The cards currently in the deck.
+     */
+    public CardSet getCards() {
+        return CardSet.fromMask(mCardsMask);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return mCardsCount == 0;
+    }
+
+    @Override
+    public int getCardsCount() {
+        return mCardsCount;
+    }
+
+    @Override
+    public boolean isInDeck(Card card) {
+        return (mCardsMask & (1L << card.getIndex())) != 0;
+    }
+
+    @Override
+    public boolean isInDeck(CardSet cards) {
+        return (cards.getMask() & ~mCardsMask) == 0;
+    }
+
+    @Override
+    public boolean addToDeck(Card card) {
+        if (isInDeck(card))
+            return true;
+        addCardIndex(card.getIndex());
+        return false;
+    }
+
+    @Override
+    public Card popRandomCard() throws EmptyDeckException {
+        if (mCardsCount == 0)
+            throw new EmptyDeckException("Can't deal a card from an empty deck");
+        final int cardIndex = mCardIndices[mRandomSource.nextInt(mCardsCount)];
+        removeCardIndex(cardIndex);
+        return Card.of(cardIndex);
+    }
+
+    /**
+     * Deals the cards with a partial Fisher-Yates shuffle - every dealt card is swapped to the
+     * end of the deck, so no card object is touched and nothing is allocated.
+     */
+    @Override
+    public void dealCards(int[] dealtCardIndices, int count) throws EmptyDeckException {
+        Decks.validateDealCount(this, dealtCardIndices.length, count);
+        for (int i = 0; i < count; i++) {
+            final int cardIndex = mCardIndices[mRandomSource.nextInt(mCardsCount)];
+            removeCardIndex(cardIndex);
+            dealtCardIndices[i] = cardIndex;
+        }
+    }
+
+    @Override
+    public CardSet dealCards(int count) throws EmptyDeckException {
+        Decks.validateDealCount(this, count, count);
+        final long cardsMaskBeforeDeal = mCardsMask;
+        for (int i = 0; i < count; i++)
+            removeCardIndex(mCardIndices[mRandomSource.nextInt(mCardsCount)]);
+        return CardSet.fromMask(cardsMaskBeforeDeal & ~mCardsMask);
+    }
+
+    @Override
+    public void restore(int[] dealtCardIndices, int count) {
+        for (int i = count - 1; i >= 0; i--)
+            addCardIndex(dealtCardIndices[i]);
+    }
+
+    @Override
+    public void restore(CardSet dealtCards) {
+        for (long mask = dealtCards.getMask(); mask != 0; mask &= mask - 1)
+            addCardIndex(Long.numberOfTrailingZeros(mask));
+    }
+
+    @Override
+    public boolean removeFromDeck(Card card) {
+        if (!isInDeck(card))
+            return false;
+        removeCardIndex(card.getIndex());
+        return true;
+    }
+
+    /**
+     * Moves a card that isn't in the deck to the first position after the deck, and then makes
+     * that position part of the deck. Cards that are already in the deck are left untouched.
+     */
+    private void addCardIndex(int cardIndex) {
+        if ((mCardsMask & (1L << cardIndex)) != 0)
+            return;
+        moveToPosition(cardIndex, mCardsCount);
+        mCardsCount++;
+        mCardsMask |= 1L << cardIndex;
+    }
+
+    /**
+     * Moves a card of the deck to its last position, and then drops the last position.
+     */
+    private void removeCardIndex(int cardIndex) {
+        mCardsCount--;
+        moveToPosition(cardIndex, mCardsCount);
+        mCardsMask &= ~(1L << cardIndex);
+    }
+
+    /**
+     * Swaps a card with the card at the given position.
+     */
+    private void moveToPosition(int cardIndex, int position) {
+        final int currentPosition = mPositions[cardIndex];
+        final int swappedCardIndex = mCardIndices[position];
+        mCardIndices[currentPosition] = swappedCardIndex;
+        mPositions[swappedCardIndex] = currentPosition;
+        mCardIndices[position] = cardIndex;
+        mPositions[cardIndex] = position;
+    }
+}
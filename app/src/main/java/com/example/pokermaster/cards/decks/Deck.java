@@ -1,6 +1,7 @@
 package com.example.pokermaster.cards.decks;
 
 import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
 import com.example.pokermaster.cards.HoleCards;
 import com.example.pokermaster.cards.exceptions.EmptyDeckException;
 
@@ -38,6 +39,19 @@ public interface Deck {
         return isInDeck(holeCards.getFirstCard()) && isInDeck(holeCards.getSecondCard());
     }
 
+    /**
+     * Checks if all cards of a set are in the deck.
+     * @param cards A set of cards.
+     * @return True if EVERY card of the set is in the deck.
+     */
+    default boolean isInDeck(CardSet cards) {
+        for (Card card : cards) {
+            if (!isInDeck(card))
+                return false;
+        }
+        return true;
+    }
+
     /**
      * Adds the given card to the deck.
      * If the card was already in the deck, the implementing class should NOT throw an exception but
@@ -59,6 +73,17 @@ public interface Deck {
         addToDeck(holeCards.getSecondCard());
     }
 
+    /**
+     * Adds all cards of a set to the deck.
+     * @param cards A set of cards.
+     * @apiNote Just like {@link Deck#addToDeck(HoleCards)}, this method does not indicate which
+     *          cards were already in the deck.
+     */
+    default void addToDeck(CardSet cards) {
+        for (Card card : cards)
+            addToDeck(card);
+    }
+
     /**
      * Extracts a random card from the deck and returns it.
      * @return A randomly chosen card from the deck.
@@ -66,6 +91,60 @@ public interface Deck {
      */
     Card popRandomCard() throws EmptyDeckException;
 
+    /**
+     * Deals several random cards at once, removing them from the deck.
+     * <p>
+     *     The default implementation pops the cards one by one, implementations should override it
+     *     with a partial Fisher-Yates shuffle over their own storage.
+     * </p>
+     * @param dealtCardIndices The array the indices (see {@link Card#getIndex()}) of the dealt
+     *                         cards are written to, from its start.
+     * @param count The number of cards to deal.
+     * @throws EmptyDeckException If the deck has fewer than {@code count} cards, in which case no
+     *                            card is dealt.
+     * @throws IllegalArgumentException If the count is negative or larger than the array.
+     */
+    default void dealCards(int[] dealtCardIndices, int count) throws EmptyDeckException {
+        Decks.validateDealCount(this, dealtCardIndices.length, count);
+        for (int i = 0; i < count; i++)
+            dealtCardIndices[i] = popRandomCard().getIndex();
+    }
+
+    /**
+     * Same as {@link Deck#dealCards(int[], int)}, but returns the dealt cards as a set.
+     * @param count The number of cards to deal.
+     * @return The dealt cards.
+     * @throws EmptyDeckException If the deck has fewer than {@code count} cards, in which case no
+     *                            card is dealt.
+     * @throws IllegalArgumentException If the count is negative.
+     */
+    default CardSet dealCards(int count) throws EmptyDeckException {
+        final int[] dealtCardIndices = new int[Math.max(count, 0)];
+        dealCards(dealtCardIndices, count);
+        long dealtCardsMask = 0;
+        for (int cardIndex : dealtCardIndices)
+            dealtCardsMask |= 1L << cardIndex;
+        return CardSet.fromMask(dealtCardsMask);
+    }
+
+    /**
+     * Puts the cards of a previous deal back in the deck, in O(count).
+     * @param dealtCardIndices The indices written by {@link Deck#dealCards(int[], int)}.
+     * @param count The number of cards that were dealt.
+     */
+    default void restore(int[] dealtCardIndices, int count) {
+        for (int i = count - 1; i >= 0; i--)
+            addToDeck(Card.of(dealtCardIndices[i]));
+    }
+
+    /**
+     * Puts the cards of a previous deal back in the deck, in O(count).
+     * @param dealtCards The cards returned by {@link Deck#dealCards(int)}.
+     */
+    default void restore(CardSet dealtCards) {
+        addToDeck(dealtCards);
+    }
+
     /**
      * Removes a given card from the deck.
      * Implementing classes should not throw an exception if the card was not in the deck in the
@@ -88,4 +167,15 @@ public interface Deck {
         removeFromDeck(holeCards.getFirstCard());
         removeFromDeck(holeCards.getSecondCard());
     }
+
+    /**
+     * Removes all cards of a set from the deck (for example, the dead cards of a simulation).
+     * @param cards A set of cards.
+     * @apiNote Just like {@link Deck#removeFromDeck(HoleCards)}, this method does not indicate
+     *          which cards were in the deck prior to the removal.
+     */
+    default void removeFromDeck(CardSet cards) {
+        for (Card card : cards)
+            removeFromDeck(card);
+    }
 }
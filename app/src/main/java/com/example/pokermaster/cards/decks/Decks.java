@@ -0,0 +1,29 @@
+package com.example.pokermaster.cards.decks;
+
+import com.example.pokermaster.cards.exceptions.EmptyDeckException;
+
+/**
+ * Checks shared by the {@link Deck} implementations.
+ */
+final class Decks {
+    private Decks() {
+    }
+
+    /**
+     * Checks the arguments of a batch deal, before any card is dealt.
+     * @throws EmptyDeckException If the deck has fewer than {@code count} cards.
+     * @throws IllegalArgumentException If the count is negative or larger than the array.
+     */
+    static void validateDealCount(Deck deck, int arrayLength, int count) throws EmptyDeckException {
+        if (count < 0 || count > arrayLength) {
+            throw new IllegalArgumentException(String.format(
+                    "Can't deal %d cards into an array of %d cards", count, arrayLength
+            ));
+        }
+        if (count > deck.getCardsCount()) {
+            throw new EmptyDeckException(String.format(
+                    "Can't deal %d cards from a deck of %d cards", count, deck.getCardsCount()
+            ));
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.pokermaster.cards.decks;
 
 import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
 import com.example.pokermaster.cards.Suit;
 import com.example.pokermaster.cards.exceptions.EmptyDeckException;
+import com.example.pokermaster.util.RandomSource;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -15,6 +17,7 @@ import java.util.Set;
  */
 public class HashDeck implements Deck {
     private final HashSet<Card> mCards;
+    private final RandomSource mRandomSource;
 
     /**
      * Creates a new HashDeck with all cards already in it.
@@ -23,10 +26,11 @@ public class HashDeck implements Deck {
         final Suit[] suits = Suit.values();
         final int allCardsCount = (Card.MAX_RANK - Card.MIN_RANK) * suits.length;
         mCards = new HashSet<>(allCardsCount);
+        mRandomSource = new Random()::nextInt;
 
         for (int rank = Card.MIN_RANK; rank <= Card.MAX_RANK; rank++) {
             for (Suit suit : suits) {
-                mCards.add(new Card(rank, suit));
+                mCards.add(Card.of(rank, suit));
             }
         }
     }
@@ -38,6 +42,7 @@ public class HashDeck implements Deck {
      */
     public HashDeck(Card ... cards) {
         mCards = new HashSet<>(Arrays.asList(cards));
+        mRandomSource = new Random()::nextInt;
     }
 
     /**
@@ -46,6 +51,26 @@ public class HashDeck implements Deck {
      */
     public HashDeck(Set<Card> cards) {
         mCards = new HashSet<>(cards);
+        mRandomSource = new Random()::nextInt;
+    }
+
+    /**
+     * Creates a deck from the given cards set.
+     * @param cards A set of card which will be used to create a Deck.
+     */
+    public HashDeck(CardSet cards) {
+        this(cards, new Random()::nextInt);
+    }
+
+    /**
+     * Creates a deck from the given cards set, dealing with the given source of random numbers
+     * (so a seeded generator gives a reproducible stream of deals).
+     * @param cards A set of card which will be used to create a Deck.
+     * @param randomSource The source of the random numbers used to deal cards.
+     */
+    public HashDeck(CardSet cards, RandomSource randomSource) {
+        mCards = new HashSet<>(cards.toList());
+        mRandomSource = randomSource;
     }
 
     @Override
@@ -70,11 +95,9 @@ public class HashDeck implements Deck {
 
     @Override
     public Card popRandomCard() throws EmptyDeckException {
-        final Random random = new Random();
-
         // Random selection is O(n) which is pretty bad, but the maximum deck size is minimal
         // and honestly I couldn't be bothered.
-        final int randomCardIndex = random.nextInt(getCardsCount());
+        final int randomCardIndex = mRandomSource.nextInt(getCardsCount());
         final Optional<Card> optionalRandomCard = mCards.stream().skip(randomCardIndex).findFirst();
         if (optionalRandomCard.isEmpty()) {
             throw new EmptyDeckException();
@@ -85,6 +108,24 @@ public class HashDeck implements Deck {
         return randomCard;
     }
 
+    /**
+     * Copies the cards to an array once and deals from it with a partial Fisher-Yates shuffle,
+     * instead of going over the set for every dealt card.
+     */
+    @Override
+    public void dealCards(int[] dealtCardIndices, int count) throws EmptyDeckException {
+        Decks.validateDealCount(this, dealtCardIndices.length, count);
+        final Card[] cards = mCards.toArray(new Card[0]);
+        for (int i = 0; i < count; i++) {
+            final int drawn = i + mRandomSource.nextInt(cards.length - i);
+            final Card drawnCard = cards[drawn];
+            cards[drawn] = cards[i];
+            cards[i] = drawnCard;
+            mCards.remove(drawnCard);
+            dealtCardIndices[i] = drawnCard.getIndex();
+        }
+    }
+
     @Override
     public boolean removeFromDeck(Card card) {
         return mCards.remove(card);
@@ -1,14 +1,21 @@
 package com.example.pokermaster.cards.indexers;
 
 import com.example.pokermaster.cards.Card;
-import com.example.pokermaster.cards.exceptions.CombinationIndexOverflowException;
+import com.example.pokermaster.cards.CardSet;
 import com.example.pokermaster.util.Combinatorics;
 
-import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Computes the combinadic (colexicographic) index of a set of distinct cards - the sum of
+ * {@code C(c_i, i + 1)} over the card indices {@code c_0 < c_1 < ...} of the set (see
+ * {@link CardIndexer#getCardIndex(Card)}).
+ * <p>
+ *     Every overload packs the cards into a mask, whose set bits are already sorted, so nothing is
+ *     allocated, sorted or boxed. Even the largest index (of 26 cards) is far below
+ *     {@link Long#MAX_VALUE}, so indices never overflow.
+ * </p>
+ */
 public class CardCombinationIndexer {
     private final Combinatorics mCombinatorics;
     private final CardIndexer mCardIndexer;
@@ -21,52 +28,93 @@ public class CardCombinationIndexer {
     /**
      * Computes a unique index larger than or equal to 0 for the given cards in a deterministic
      * manner.
-     * @param combination A collection of cards which will be turned into a single number.
-     * @return A number uniquely representing the current combination.
-     * @throws CombinationIndexOverflowException If the combination is too large, and the index
-     *                                           required to represent it uniquely is larger than
-     *                                           {@link Long#MAX_VALUE}.
+     * @param combination A collection of distinct cards which will be turned into a single number
+     *                    (order is meaningless).
+     * @return A number uniquely representing the current combination among the combinations of
+     *         the same size.
      */
     public long getCombinationIndex(List<Card> combination) {
-        List<Integer> sortedCardIndices = combination
-                .stream()
-                .map(mCardIndexer::getCardIndex)
-                .sorted(Comparator.reverseOrder())
-                .collect(Collectors.toList());
-        return getCombinationIndexFromDescendingCardIndices(sortedCardIndices);
+        long cardsMask = 0;
+        for (int i = 0; i < combination.size(); i++)
+            cardsMask |= mCardIndexer.getCardMask(combination.get(i));
+        return getCombinationIndex(cardsMask);
     }
 
     /**
      * Computes a unique index larger than or equal to 0 for the given cards in a deterministic
      * manner.
-     * @param combination A collection of cards which will be turned into a single number.
-     * @return A number uniquely representing the current combination.
-     * @throws CombinationIndexOverflowException If the combination is too large, and the index
-     *                                           required to represent it uniquely is larger than
-     *                                           {@link Long#MAX_VALUE}.
+     * @param combination Distinct cards which will be turned into a single number (order is
+     *                    meaningless).
+     * @return A number uniquely representing the current combination among the combinations of
+     *         the same size.
      */
     public long getCombinationIndex(Card ... combination) {
-        List<Integer> sortedCardIndices = Arrays.stream(combination)
-                .map(mCardIndexer::getCardIndex)
-                .sorted(Comparator.reverseOrder())
-                .collect(Collectors.toList());
-        return getCombinationIndexFromDescendingCardIndices(sortedCardIndices);
+        long cardsMask = 0;
+        for (Card card : combination)
+            cardsMask |= mCardIndexer.getCardMask(card);
+        return getCombinationIndex(cardsMask);
     }
 
-    private long getCombinationIndexFromDescendingCardIndices(List<Integer> descendingCardIndices)
-            throws CombinationIndexOverflowException {
-        long rank = 0, prevRank;
-        final int combinationSize = descendingCardIndices.size();
-        for (int i = 0; i < combinationSize; i++) {
-            prevRank = rank;
-            rank += mCombinatorics.nChooseR(descendingCardIndices.get(i), combinationSize - i);
+    /**
+     * Same as {@link CardCombinationIndexer#getCombinationIndex(List)}, for cards given as a set.
+     */
+    public long getCombinationIndex(CardSet combination) {
+        return getCombinationIndex(combination.getMask());
+    }
+
+    /**
+     * Same as {@link CardCombinationIndexer#getCombinationIndex(List)}, for cards given by their
+     * indices.
+     * @param cardIndices Distinct card indices (order is meaningless).
+     */
+    public long getCombinationIndex(int[] cardIndices) {
+        long cardsMask = 0;
+        for (int cardIndex : cardIndices)
+            cardsMask |= 1L << cardIndex;
+        return getCombinationIndex(cardsMask);
+    }
 
-            // Overflow!
-            if (prevRank > rank) {
-                throw new CombinationIndexOverflowException();
-            }
+    /**
+     * Same as {@link CardCombinationIndexer#getCombinationIndex(List)}, for cards given as a mask.
+     * @param cardsMask A set of cards, where every card is represented by the bit
+     *                  {@link CardIndexer#getCardIndex(Card)}.
+     */
+    public long getCombinationIndex(long cardsMask) {
+        long index = 0;
+        // The i-th lowest card contributes C(cardIndex, i):
+        for (int i = 1; cardsMask != 0; i++) {
+            index += mCombinatorics.nChooseR(Long.numberOfTrailingZeros(cardsMask), i);
+            cardsMask &= cardsMask - 1;
         }
+        return index;
+    }
 
-        return rank;
+    /**
+     * Computes the index of a combination with one more card, given the index of the combination
+     * without it - for example, the 7-card index of the river from the 6-card index of the turn.
+     * <p>
+     *     Only the cards above the new card change their position in the combination (each moves
+     *     up by one), so only their contributions are recomputed.
+     * </p>
+     * @param index The index of the combination without the added card.
+     * @param cardsMask The cards of the combination without the added card, see
+     *                  {@link CardCombinationIndexer#getCombinationIndex(long)}.
+     * @param addedCardIndex The index of the added card (see {@link CardIndexer#getCardIndex(Card)}).
+     * @return The index of the combination with the added card.
+     * @apiNote It is the responsibility OF THE CALLER to pass an index matching the mask, and a
+     *          card that is not in the mask.
+     */
+    public long getCombinationIndexWithCard(long index, long cardsMask, int addedCardIndex) {
+        final long addedCardMask = 1L << addedCardIndex;
+        final int cardsBelowCount = Long.bitCount(cardsMask & (addedCardMask - 1));
+        index += mCombinatorics.nChooseR(addedCardIndex, cardsBelowCount + 1);
+
+        long cardsAbove = cardsMask & -(addedCardMask << 1);
+        for (int i = cardsBelowCount + 1; cardsAbove != 0; i++) {
+            final int cardIndex = Long.numberOfTrailingZeros(cardsAbove);
+            index += mCombinatorics.nChooseR(cardIndex, i + 1) - mCombinatorics.nChooseR(cardIndex, i);
+            cardsAbove &= cardsAbove - 1;
+        }
+        return index;
     }
 }
@@ -6,39 +6,33 @@ import com.example.pokermaster.cards.Suit;
 import java.util.Optional;
 
 public class CardIndexer {
-    private static final int POSSIBLE_RANK_VALUES_COUNT = Card.MAX_RANK - Card.MIN_RANK + 1;
-
     public int getCardIndex(Card card) {
-        return card.getRank() - Card.MIN_RANK + card.getSuit().ordinal() * POSSIBLE_RANK_VALUES_COUNT;
+        return card.getIndex();
     }
 
-    public Optional<Card> getCardFromIndex(int index) {
-        int rank = (index % POSSIBLE_RANK_VALUES_COUNT) + Card.MIN_RANK;
-        // Rank calculation already guarantees rank < Card.MAX_RANK
-        if (rank < Card.MIN_RANK)
-            return Optional.empty();
-
-        int suitIndex = index / POSSIBLE_RANK_VALUES_COUNT;
-        Suit[] suits = Suit.values();
-        if (suitIndex < 0 || suitIndex >= suits.length)
-            return Optional.empty();
-
-        return Optional.of(new Card(rank, suits[suitIndex]));
+    /**
+     * Returns a mask in which only the bit of the card's index is set.
+     * <p>
+     *     Masks of distinct cards can be OR-ed together into a single {@code long} representing a
+     *     set of cards, where every suit occupies its own 13-bit chunk (ordered by
+     *     {@link Suit#ordinal()}) and the bits of every chunk are the card ranks from lowest to
+     *     highest.
+     * </p>
+     * @param card A card.
+     * @return {@code 1L << getCardIndex(card)}.
+     */
+    public long getCardMask(Card card) {
+        return 1L << getCardIndex(card);
     }
 
-    public void setCardToIndex(Card card, int index) {
-        int rank = (index % POSSIBLE_RANK_VALUES_COUNT) + Card.MIN_RANK;
-
-        int suitIndex = index / POSSIBLE_RANK_VALUES_COUNT;
-        Suit[] suits = Suit.values();
-        if (suitIndex < 0 || suitIndex >= suits.length) {
-            throw new IllegalArgumentException(String.format(
-                    "%d is an invalid index (results in an invalid suit of ordinal %d)",
-                    index, suitIndex
-            ));
-        }
-
-        card.setRank(rank);
-        card.setSuit(suits[suitIndex]);
+    /**
+     * Returns the card of the given index, without allocating a new card.
+     * @param index The index of the card.
+     * @return The card, or an empty optional if the index is out of range.
+     */
+    public Optional<Card> getCardFromIndex(int index) {
+        if (index < 0 || index >= Card.CARDS_COUNT)
+            return Optional.empty();
+        return Optional.of(Card.of(index));
     }
 }
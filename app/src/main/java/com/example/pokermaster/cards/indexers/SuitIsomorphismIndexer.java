@@ -0,0 +1,294 @@
+package com.example.pokermaster.cards.indexers;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.util.Combinatorics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Indexes sets of cards up to a renaming of their suits.
+ * <p>
+ *     Two sets of cards that only differ by a permutation of the suits (like As Ks Qh and Ah Kh Qs)
+ *     are equivalent for every suit-agnostic computation - they make the same hands and have the
+ *     same equities. A table keyed by the index of this class stores every such class of sets
+ *     once: there are 6,009,159 classes of 7 cards, compared to C(52, 7) = 133,784,560 sets.
+ * </p>
+ * <p>
+ *     Cards are passed as masks (see {@link CardIndexer#getCardMask(Card)}), so every suit is a
+ *     13-bit rank mask. The canonical form of a set gives the suit holding the most cards to
+ *     the first suit (by {@link Suit#ordinal()}), the second most to the second suit and so on,
+ *     where suits holding the same number of cards are ordered by their rank masks.
+ * </p>
+ * <p>
+ *     The index of a set of {@code n} cards is dense - it ranges from 0 to
+ *     {@link SuitIsomorphismIndexer#getClassesCount(int)} exclusively, with no gaps. Sets are
+ *     first grouped by how many cards every suit holds (in descending order), and within a
+ *     group the index is mixed-radix over the suits holding the same number of cards, where
+ *     every such run of suits is indexed as a multiset of rank masks.
+ * </p>
+ */
+public class SuitIsomorphismIndexer {
+    private static final int RANKS_COUNT = Card.MAX_RANK - Card.MIN_RANK + 1;
+    private static final int SUITS_COUNT = Suit.values().length;
+    private static final int DECK_SIZE = RANKS_COUNT * SUITS_COUNT;
+    private static final int RANK_MASK = (1 << RANKS_COUNT) - 1;
+
+    /* Radix used to pack the card counts of the 4 suits (0 to 13 each) into a single key */
+    private static final int COUNT_RADIX = RANKS_COUNT + 1;
+
+    /* Indexes rank masks (C(13, k) and below) and multisets of up to 4 rank masks */
+    private static final Combinatorics sCombinatorics = new Combinatorics();
+
+    /* The descending suit counts of every group, per number of cards, in index order */
+    private static final int[][] sGroupCountsKeys = new int[DECK_SIZE + 1][];
+
+    /* The index of the first set of every group, per number of cards, in index order */
+    private static final long[][] sGroupOffsets = new long[DECK_SIZE + 1][];
+
+    /* The number of classes per number of cards */
+    private static final long[] sClassesCounts = new long[DECK_SIZE + 1];
+
+    private final CardIndexer mCardIndexer = new CardIndexer();
+
+    static {
+        final List<List<Integer>> keysBySize = new ArrayList<>(DECK_SIZE + 1);
+        for (int cardsCount = 0; cardsCount <= DECK_SIZE; cardsCount++)
+            keysBySize.add(new ArrayList<>());
+        for (int count0 = 0; count0 <= RANKS_COUNT; count0++)
+        for (int count1 = 0; count1 <= count0; count1++)
+        for (int count2 = 0; count2 <= count1; count2++)
+        for (int count3 = 0; count3 <= count2; count3++)
+            keysBySize.get(count0 + count1 + count2 + count3).add(packCounts(count0, count1, count2, count3));
+
+        for (int cardsCount = 0; cardsCount <= DECK_SIZE; cardsCount++) {
+            final List<Integer> keys = keysBySize.get(cardsCount);
+            sGroupCountsKeys[cardsCount] = new int[keys.size()];
+            sGroupOffsets[cardsCount] = new long[keys.size()];
+            long offset = 0;
+            for (int i = 0; i < keys.size(); i++) {
+                sGroupCountsKeys[cardsCount][i] = keys.get(i);
+                sGroupOffsets[cardsCount][i] = offset;
+                offset += getGroupSize(keys.get(i));
+            }
+            sClassesCounts[cardsCount] = offset;
+        }
+    }
+
+    /**
+     * Returns the number of classes of sets of the given size, which is also the smallest index
+     * that is larger than the index of every such set.
+     * @param cardsCount The number of cards in every set (from 0 to 52 inclusively).
+     * @return The number of distinct sets of {@code cardsCount} cards, up to a renaming of suits.
+     * @throws IndexOutOfBoundsException If the number of cards is negative or larger than the deck.
+     */
+    public long getClassesCount(int cardsCount) {
+        return sClassesCounts[cardsCount];
+    }
+
+    /**
+     * Renames the suits of a set of cards so that all equivalent sets are mapped to the same one.
+     * @param cardsMask A set of cards, where every card is represented by the bit
+     *                  {@link CardIndexer#getCardIndex(Card)}.
+     * @return The canonical form of the set, in the same representation.
+     * @throws IllegalArgumentException If the mask has bits set beyond the last card.
+     */
+    public long getCanonicalCardsMask(long cardsMask) {
+        final int[] suitKeys = getSortedSuitKeys(cardsMask);
+        long canonicalMask = 0;
+        for (int suit = 0; suit < SUITS_COUNT; suit++)
+            canonicalMask |= (long) (suitKeys[suit] & RANK_MASK) << (suit * RANKS_COUNT);
+        return canonicalMask;
+    }
+
+    /**
+     * Computes the index of the class of a set of cards.
+     * @param cards The cards of the set (order is meaningless).
+     * @return The index of the set, see {@link SuitIsomorphismIndexer#getIndex(long)}.
+     */
+    public long getIndex(List<Card> cards) {
+        long cardsMask = 0;
+        for (Card card : cards)
+            cardsMask |= mCardIndexer.getCardMask(card);
+        return getIndex(cardsMask);
+    }
+
+    /**
+     * Computes the index of the class of a set of cards.
+     * @param cardsMask A set of cards, where every card is represented by the bit
+     *                  {@link CardIndexer#getCardIndex(Card)}.
+     * @return A number from 0 to {@link SuitIsomorphismIndexer#getClassesCount(int)} (of the
+     *         number of cards in the set) exclusively, which is the same for two sets if and only
+     *         if they are equal up to a renaming of the suits.
+     * @throws IllegalArgumentException If the mask has bits set beyond the last card.
+     */
+    public long getIndex(long cardsMask) {
+        final int[] suitKeys = getSortedSuitKeys(cardsMask);
+        final int countsKey = packCounts(
+                suitKeys[0] >>> RANKS_COUNT, suitKeys[1] >>> RANKS_COUNT,
+                suitKeys[2] >>> RANKS_COUNT, suitKeys[3] >>> RANKS_COUNT
+        );
+
+        long index = 0;
+        int runStart = 0;
+        while (runStart < SUITS_COUNT) {
+            final int runCount = suitKeys[runStart] >>> RANKS_COUNT;
+            int runEnd = runStart + 1;
+            while (runEnd < SUITS_COUNT && suitKeys[runEnd] >>> RANKS_COUNT == runCount)
+                runEnd++;
+
+            // The run is sorted descendingly, but the multiset index goes over it in ascending order:
+            long runIndex = 0;
+            for (int i = 1; i <= runEnd - runStart; i++) {
+                final long maskIndex = getRankMaskIndex(suitKeys[runEnd - i] & RANK_MASK);
+                runIndex += sCombinatorics.nChooseR(maskIndex + i - 1, i);
+            }
+            index = index * getRunSize(runCount, runEnd - runStart) + runIndex;
+            runStart = runEnd;
+        }
+
+        final int cardsCount = Long.bitCount(cardsMask);
+        final int[] countsKeys = sGroupCountsKeys[cardsCount];
+        for (int group = 0; group < countsKeys.length; group++) {
+            if (countsKeys[group] == countsKey)
+                return sGroupOffsets[cardsCount][group] + index;
+        }
+        throw new IllegalStateException("Missing group for " + cardsCount + " cards");
+    }
+
+    /**
+     * Computes the canonical set of cards of a given index, which is the inverse of
+     * {@link SuitIsomorphismIndexer#getIndex(long)}.
+     * @param cardsCount The number of cards in the set.
+     * @param index The index of the set, from 0 to
+     *              {@link SuitIsomorphismIndexer#getClassesCount(int)} exclusively.
+     * @return The canonical form of all sets with the given index (see
+     *         {@link SuitIsomorphismIndexer#getCanonicalCardsMask(long)}).
+     * @throws IndexOutOfBoundsException If the number of cards or the index are out of range.
+     */
+    public long getCardsMaskFromIndex(int cardsCount, long index) {
+        if (index < 0 || index >= sClassesCounts[cardsCount]) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Index %d is out of range for %d cards (expected below %d)",
+                    index, cardsCount, sClassesCounts[cardsCount]
+            ));
+        }
+
+        final long[] offsets = sGroupOffsets[cardsCount];
+        int group = offsets.length - 1;
+        while (offsets[group] > index)
+            group--;
+        index -= offsets[group];
+        final int countsKey = sGroupCountsKeys[cardsCount][group];
+
+        // Runs were added to the index from the first to the last, so they come out in reverse:
+        long cardsMask = 0;
+        int runEnd = SUITS_COUNT;
+        while (runEnd > 0) {
+            final int runCount = getCount(countsKey, runEnd - 1);
+            int runStart = runEnd - 1;
+            while (runStart > 0 && getCount(countsKey, runStart - 1) == runCount)
+                runStart--;
+
+            final long runSize = getRunSize(runCount, runEnd - runStart);
+            long runIndex = index % runSize;
+            index /= runSize;
+            for (int i = runEnd - runStart; i >= 1; i--) {
+                int position = i - 1;
+                while (sCombinatorics.nChooseR(position + 1, i) <= runIndex)
+                    position++;
+                runIndex -= sCombinatorics.nChooseR(position, i);
+                final int rankMask = getRankMaskFromIndex(runCount, position - (i - 1));
+                cardsMask |= (long) rankMask << ((runEnd - i) * RANKS_COUNT);
+            }
+            runEnd = runStart;
+        }
+        return cardsMask;
+    }
+
+    /**
+     * Splits a set of cards to its suits, each as {@code (cardsCount << 13) | rankMask}, sorted
+     * descendingly - which is the order of the suits in the canonical form.
+     */
+    private static int[] getSortedSuitKeys(long cardsMask) {
+        if ((cardsMask >>> DECK_SIZE) != 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Cards mask %x has bits beyond the last card index %d", cardsMask, DECK_SIZE - 1
+            ));
+        }
+        final int[] suitKeys = new int[SUITS_COUNT];
+        for (int suit = 0; suit < SUITS_COUNT; suit++) {
+            final int rankMask = (int) (cardsMask >>> (suit * RANKS_COUNT)) & RANK_MASK;
+            suitKeys[suit] = Integer.bitCount(rankMask) << RANKS_COUNT | rankMask;
+        }
+        // Insertion sort, descending:
+        for (int i = 1; i < SUITS_COUNT; i++) {
+            final int suitKey = suitKeys[i];
+            int j = i - 1;
+            while (j >= 0 && suitKeys[j] < suitKey) {
+                suitKeys[j + 1] = suitKeys[j];
+                j--;
+            }
+            suitKeys[j + 1] = suitKey;
+        }
+        return suitKeys;
+    }
+
+    /**
+     * Colexicographic index of a rank mask among the masks with the same number of ranks, which
+     * is also the mask's position when these masks are sorted numerically.
+     */
+    private static long getRankMaskIndex(int rankMask) {
+        long index = 0;
+        for (int i = 1; rankMask != 0; i++) {
+            index += sCombinatorics.nChooseR(Integer.numberOfTrailingZeros(rankMask), i);
+            rankMask &= rankMask - 1;
+        }
+        return index;
+    }
+
+    private static int getRankMaskFromIndex(int ranksCount, long index) {
+        int rankMask = 0;
+        for (int i = ranksCount; i >= 1; i--) {
+            int rank = i - 1;
+            while (rank + 1 < RANKS_COUNT && sCombinatorics.nChooseR(rank + 1, i) <= index)
+                rank++;
+            index -= sCombinatorics.nChooseR(rank, i);
+            rankMask |= 1 << rank;
+        }
+        return rankMask;
+    }
+
+    /**
+     * The number of multisets of {@code suitsCount} rank masks, each with {@code ranksCount} ranks.
+     */
+    private static long getRunSize(int ranksCount, int suitsCount) {
+        final int masksCount = (int) sCombinatorics.nChooseR(RANKS_COUNT, ranksCount);
+        return sCombinatorics.nChooseR(masksCount + suitsCount - 1, suitsCount);
+    }
+
+    private static long getGroupSize(int countsKey) {
+        long groupSize = 1;
+        int runStart = 0;
+        while (runStart < SUITS_COUNT) {
+            final int runCount = getCount(countsKey, runStart);
+            int runEnd = runStart + 1;
+            while (runEnd < SUITS_COUNT && getCount(countsKey, runEnd) == runCount)
+                runEnd++;
+            groupSize *= getRunSize(runCount, runEnd - runStart);
+            runStart = runEnd;
+        }
+        return groupSize;
+    }
+
+    private static int packCounts(int count0, int count1, int count2, int count3) {
+        return ((count0 * COUNT_RADIX + count1) * COUNT_RADIX + count2) * COUNT_RADIX + count3;
+    }
+
+    private static int getCount(int countsKey, int suit) {
+        for (int i = SUITS_COUNT - 1; i > suit; i--)
+            countsKey /= COUNT_RADIX;
+        return countsKey % COUNT_RADIX;
+    }
+}
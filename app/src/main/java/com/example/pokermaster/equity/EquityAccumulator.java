@@ -0,0 +1,108 @@
+package com.example.pokermaster.equity;
+
+/**
+ * Mutable tally of showdown outcomes, which is turned into an {@link EquityResult} once the
+ * calculation is done.
+ * <p>
+ *     Every worker fills its own accumulator, and merges it into a shared one from time to time,
+ *     so the hot loop never needs to synchronize.
+ * </p>
+ */
+final class EquityAccumulator {
+    private final long[] mWins;
+    private final long[] mTies;
+    /* Sum of the pot share of every player, and the sum of its squares for the variance */
+    private final double[] mEquitySums;
+    private final double[] mEquitySquaresSums;
+    private long mTrialsCount;
+
+    EquityAccumulator(int playersCount) {
+        mWins = new long[playersCount];
+        mTies = new long[playersCount];
+        mEquitySums = new double[playersCount];
+        mEquitySquaresSums = new double[playersCount];
+    }
+
+    /**
+     * Records the outcome of a single showdown.
+     * @param handRanks The {@link com.example.pokermaster.hands.HandRank HandRank} of every
+     *                  player's best hand.
+     */
+    void addShowdown(int[] handRanks) {
+        int bestHandRank = Integer.MIN_VALUE, winnersCount = 0;
+        for (int handRank : handRanks) {
+            if (handRank > bestHandRank) {
+                bestHandRank = handRank;
+                winnersCount = 1;
+            } else if (handRank == bestHandRank) {
+                winnersCount++;
+            }
+        }
+
+        final double potShare = 1.0 / winnersCount;
+        for (int player = 0; player < handRanks.length; player++) {
+            if (handRanks[player] != bestHandRank)
+                continue;
+            if (winnersCount == 1)
+                mWins[player]++;
+            else
+                mTies[player]++;
+            mEquitySums[player] += potShare;
+            mEquitySquaresSums[player] += potShare * potShare;
+        }
+        mTrialsCount++;
+    }
+
+    /**
+     * Adds the outcomes recorded by another accumulator to this one, then clears the other one.
+     * @param other An accumulator of the same number of players.
+     */
+    void drain(EquityAccumulator other) {
+        for (int player = 0; player < mWins.length; player++) {
+            mWins[player] += other.mWins[player];
+            mTies[player] += other.mTies[player];
+            mEquitySums[player] += other.mEquitySums[player];
+            mEquitySquaresSums[player] += other.mEquitySquaresSums[player];
+        }
+        mTrialsCount += other.mTrialsCount;
+        other.clear();
+    }
+
+    long getTrialsCount() {
+        return mTrialsCount;
+    }
+
+    /**
+     * Computes the largest margin of error of the players' equities, at the confidence matching
+     * the given z-score.
+     */
+    double getMaxMarginOfError(double zScore) {
+        double maxMarginOfError = 0;
+        for (int player = 0; player < mWins.length; player++) {
+            maxMarginOfError = Math.max(
+                    maxMarginOfError,
+                    EquityResult.computeMarginOfError(
+                            mEquitySums[player], mEquitySquaresSums[player], mTrialsCount, zScore
+                    )
+            );
+        }
+        return maxMarginOfError;
+    }
+
+    EquityResult toResult(boolean isExact, double zScore) {
+        return new EquityResult(
+                mWins.clone(), mTies.clone(), mEquitySums.clone(), mEquitySquaresSums.clone(),
+                mTrialsCount, isExact, zScore
+        );
+    }
+
+    private void clear() {
+        for (int player = 0; player < mWins.length; player++) {
+            mWins[player] = 0;
+            mTies[player] = 0;
+            mEquitySums[player] = 0;
+            mEquitySquaresSums[player] = 0;
+        }
+        mTrialsCount = 0;
+    }
+}
@@ -0,0 +1,362 @@
+package com.example.pokermaster.equity;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.equity.exceptions.EquityCalculationException;
+import com.example.pokermaster.game_state.GamePhase;
+import com.example.pokermaster.hands.selectors.BestHandSelector;
+import com.example.pokermaster.hands.selectors.exceptions.BestHandSelectorException;
+import com.example.pokermaster.util.CombinationIterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Calculates how often each player wins, ties or loses the pot, given the hole cards of every
+ * player and the community cards revealed so far.
+ * <p>
+ *     The missing community cards are sampled at random (Monte Carlo), and every player's best
+ *     hand on every sampled board is found by the {@link BestHandSelector} given to the
+ *     calculator, so a faster selector directly makes the calculation faster.
+ * </p>
+ * <p>
+ *     Sampling is split between several workers running on the given executor. Each worker has
+ *     its own random generator (split from a single root generator, so a fixed seed gives
+ *     reproducible samples per worker) and its own tally, which it merges into the shared tally
+ *     after every batch of trials. The calculation stops once the maximum number of trials is
+ *     reached, or earlier once every player's equity is known within the requested margin of
+ *     error.
+ * </p>
+ * <p>
+ *     When few enough boards remain (on the flop and the turn), every board can be evaluated
+ *     instead, see {@link EquityCalculator#calculateExactEquity(List, List, GamePhase)}.
+ * </p>
+ */
+public class EquityCalculator {
+    /**
+     * The z-score of a 95% confidence interval, used unless another one is given.
+     */
+    public static final double DEFAULT_Z_SCORE = 1.96;
+
+    /**
+     * Number of trials a worker runs between two merges into the shared tally (and two checks of
+     * the stopping condition).
+     */
+    private static final int TRIALS_PER_BATCH = 1_000;
+
+    /**
+     * The margin of error is only trusted after this many trials, since with very few trials
+     * the sample variance may be 0 by chance.
+     */
+    private static final long MIN_TRIALS_FOR_EARLY_STOP = 10_000;
+
+    private static final int BOARD_SIZE = BestHandSelector.EXPECTED_COMMUNITY_CARDS_COUNT;
+    private static final String WORKER_FAILURE_MESSAGE = "Failed to evaluate the players' hands";
+
+    private final BestHandSelector mBestHandSelector;
+    private final ExecutorService mExecutor;
+    private final int mWorkersCount;
+    private final double mZScore;
+
+    /**
+     * Creates a calculator reporting 95% confidence intervals.
+     * @param bestHandSelector Finds the best hand of every player on every board. It is called
+     *                         concurrently from several threads, so it must be thread-safe.
+     * @param executor The executor the workers run on.
+     * @param workersCount The number of workers a single calculation is split between (at least
+     *                     1), usually the number of threads of the executor.
+     */
+    public EquityCalculator(BestHandSelector bestHandSelector, ExecutorService executor, int workersCount) {
+        this(bestHandSelector, executor, workersCount, DEFAULT_Z_SCORE);
+    }
+
+    /**
+     * Creates a calculator.
+     * @param bestHandSelector Finds the best hand of every player on every board. It is called
+     *                         concurrently from several threads, so it must be thread-safe.
+     * @param executor The executor the workers run on.
+     * @param workersCount The number of workers a single calculation is split between (at least
+     *                     1), usually the number of threads of the executor.
+     * @param zScore The z-score of the confidence level margins of error are computed for (1.96
+     *               for 95%, 2.576 for 99%).
+     * @throws IllegalArgumentException If the number of workers or the z-score is not positive.
+     */
+    public EquityCalculator(
+            BestHandSelector bestHandSelector, ExecutorService executor, int workersCount, double zScore
+    ) {
+        if (workersCount < 1)
+            throw new IllegalArgumentException("Expected at least 1 worker, got " + workersCount);
+        if (!(zScore > 0))
+            throw new IllegalArgumentException("Expected a positive z-score, got " + zScore);
+        mBestHandSelector = bestHandSelector;
+        mExecutor = executor;
+        mWorkersCount = workersCount;
+        mZScore = zScore;
+    }
+
+    /**
+     * Same as
+     * {@link EquityCalculator#calculateEquity(List, List, GamePhase, long, double, long)}, with a
+     * random seed.
+     */
+    public EquityResult calculateEquity(
+            List<HoleCards> players, List<Card> communityCards, GamePhase gamePhase,
+            long maxTrials, double targetMarginOfError
+    ) throws EquityCalculationException, InterruptedException {
+        return calculateEquity(
+                players, communityCards, gamePhase, maxTrials, targetMarginOfError,
+                new SplittableRandom().nextLong()
+        );
+    }
+
+    /**
+     * Estimates the equity of every player by sampling the missing community cards.
+     * @param players The hole cards of every player still in the hand (at least 2).
+     * @param communityCards The community cards revealed so far.
+     * @param gamePhase The current phase of the game, which must match the number of community
+     *                  cards. On the river (or showdown) there is nothing left to sample, and the
+     *                  exact result of the single possible board is returned.
+     * @param maxTrials The maximum number of boards to sample.
+     * @param targetMarginOfError Sampling stops once the margin of error of every player's
+     *                            equity is at most this value (pass 0 to always run
+     *                            {@code maxTrials} trials).
+     * @param seed The seed of the root random generator the workers' generators are split from.
+     * @return The win/tie/loss fractions of every player, in the order of {@code players}.
+     * @throws IllegalArgumentException If fewer than 2 players are given, if the number of
+     *                                  community cards doesn't match the game phase, if any card
+     *                                  appears twice, or if {@code maxTrials} is not positive.
+     * @throws EquityCalculationException If the best hand selector failed.
+     * @throws InterruptedException If the calling thread was interrupted while waiting for the
+     *                              workers, in which case the workers are stopped as well.
+     */
+    public EquityResult calculateEquity(
+            List<HoleCards> players, List<Card> communityCards, GamePhase gamePhase,
+            long maxTrials, double targetMarginOfError, long seed
+    ) throws EquityCalculationException, InterruptedException {
+        if (maxTrials < 1)
+            throw new IllegalArgumentException("Expected at least 1 trial, got " + maxTrials);
+        final Card[] remainingCards = getRemainingCards(players, communityCards, gamePhase);
+
+        if (communityCards.size() == BOARD_SIZE)
+            return evaluateCompleteBoard(players, communityCards);
+
+        final EquityAccumulator sharedAccumulator = new EquityAccumulator(players.size());
+
+        final AtomicLong claimedTrials = new AtomicLong();
+        final AtomicBoolean isDone = new AtomicBoolean();
+        final SplittableRandom rootRandom = new SplittableRandom(seed);
+        final List<Callable<Void>> workers = new ArrayList<>(mWorkersCount);
+        for (int i = 0; i < mWorkersCount; i++) {
+            // SplittableRandom isn't thread-safe, so every worker gets its own split:
+            final SplittableRandom workerRandom = rootRandom.split();
+            workers.add(() -> {
+                runSamplingWorker(
+                        players, communityCards, remainingCards.clone(), workerRandom, maxTrials,
+                        targetMarginOfError, claimedTrials, isDone, sharedAccumulator
+                );
+                return null;
+            });
+        }
+        EquityWorkers.runWorkers(mExecutor, workers, isDone, WORKER_FAILURE_MESSAGE);
+
+        synchronized (sharedAccumulator) {
+            return sharedAccumulator.toResult(false, mZScore);
+        }
+    }
+
+    /**
+     * Calculates the exact equity of every player by evaluating every possible board.
+     * <p>
+     *     Every combination of the missing community cards is enumerated (with a
+     *     {@link CombinationIterator}) over the cards left in the deck. The boards
+     *     are split between the workers by the first missing card: the boards whose first missing
+     *     card is the {@code i}-th remaining card are enumerated by worker
+     *     {@code i % workersCount}, which spreads the larger groups (lower first cards) evenly.
+     * </p>
+     * <p>
+     *     Heads-up, that is C(45, 2) = 990 boards on the flop and 44 on the turn, so the result
+     *     is available within milliseconds. Pre-flop it is C(48, 5) = 1,712,304 boards, which is
+     *     still feasible but much slower than sampling.
+     * </p>
+     * @param players The hole cards of every player still in the hand (at least 2).
+     * @param communityCards The community cards revealed so far.
+     * @param gamePhase The current phase of the game, which must match the number of community
+     *                  cards.
+     * @return The exact win/tie/loss fractions of every player, in the order of {@code players}.
+     * @throws IllegalArgumentException If fewer than 2 players are given, if the number of
+     *                                  community cards doesn't match the game phase, or if any
+     *                                  card appears twice.
+     * @throws EquityCalculationException If the best hand selector failed.
+     * @throws InterruptedException If the calling thread was interrupted while waiting for the
+     *                              workers, in which case the workers are stopped as well.
+     */
+    public EquityResult calculateExactEquity(
+            List<HoleCards> players, List<Card> communityCards, GamePhase gamePhase
+    ) throws EquityCalculationException, InterruptedException {
+        final Card[] remainingCards = getRemainingCards(players, communityCards, gamePhase);
+        final int missingCardsCount = BOARD_SIZE - communityCards.size();
+        if (missingCardsCount == 0)
+            return evaluateCompleteBoard(players, communityCards);
+
+        final EquityAccumulator sharedAccumulator = new EquityAccumulator(players.size());
+
+        final AtomicBoolean isDone = new AtomicBoolean();
+        // The last possible first card still leaves enough cards after it for the rest of the board:
+        final int firstCardsCount = remainingCards.length - missingCardsCount + 1;
+        final List<Callable<Void>> workers = new ArrayList<>(mWorkersCount);
+        for (int i = 0; i < Math.min(mWorkersCount, firstCardsCount); i++) {
+            final int workerIndex = i;
+            workers.add(() -> {
+                runEnumerationWorker(
+                        players, communityCards, remainingCards, workerIndex, firstCardsCount,
+                        isDone, sharedAccumulator
+                );
+                return null;
+            });
+        }
+        EquityWorkers.runWorkers(mExecutor, workers, isDone, WORKER_FAILURE_MESSAGE);
+
+        synchronized (sharedAccumulator) {
+            return sharedAccumulator.toResult(true, mZScore);
+        }
+    }
+
+    private void runEnumerationWorker(
+            List<HoleCards> players, List<Card> communityCards, Card[] remainingCards,
+            int workerIndex, int firstCardsCount, AtomicBoolean isDone,
+            EquityAccumulator sharedAccumulator
+    ) throws BestHandSelectorException {
+        final EquityAccumulator localAccumulator = new EquityAccumulator(players.size());
+        final int knownCardsCount = communityCards.size();
+        final long knownBoardMask = CardSet.of(communityCards).getMask();
+        final int[] handRanks = new int[players.size()];
+
+        for (int firstCard = workerIndex; firstCard < firstCardsCount; firstCard += mWorkersCount) {
+            if (isDone.get() || Thread.currentThread().isInterrupted())
+                return;
+            final long partialBoardMask = knownBoardMask | 1L << remainingCards[firstCard].getIndex();
+
+            // The rest of the board is chosen from the cards after the first one:
+            final int firstCardOffset = firstCard + 1;
+            final CombinationIterator restOfBoard = new CombinationIterator(
+                    remainingCards.length - firstCardOffset, BOARD_SIZE - knownCardsCount - 1
+            );
+            while (restOfBoard.next()) {
+                long boardMask = partialBoardMask;
+                for (int restOfBoardCard : restOfBoard.getCombination())
+                    boardMask |= 1L << remainingCards[firstCardOffset + restOfBoardCard].getIndex();
+                evaluateBoard(players, boardMask, handRanks, localAccumulator);
+            }
+        }
+
+        synchronized (sharedAccumulator) {
+            sharedAccumulator.drain(localAccumulator);
+        }
+    }
+
+    private void runSamplingWorker(
+            List<HoleCards> players, List<Card> communityCards, Card[] remainingCards,
+            SplittableRandom random, long maxTrials, double targetMarginOfError,
+            AtomicLong claimedTrials, AtomicBoolean isDone, EquityAccumulator sharedAccumulator
+    ) throws BestHandSelectorException {
+        final EquityAccumulator localAccumulator = new EquityAccumulator(players.size());
+        final int knownCardsCount = communityCards.size();
+        final long knownBoardMask = CardSet.of(communityCards).getMask();
+        final int[] handRanks = new int[players.size()];
+
+        while (!isDone.get() && !Thread.currentThread().isInterrupted()) {
+            final long firstTrial = claimedTrials.getAndAdd(TRIALS_PER_BATCH);
+            if (firstTrial >= maxTrials)
+                break;
+            final long batchTrials = Math.min(TRIALS_PER_BATCH, maxTrials - firstTrial);
+
+            for (long trial = 0; trial < batchTrials; trial++) {
+                // Partial Fisher-Yates shuffle - only the missing cards need to be drawn:
+                long boardMask = knownBoardMask;
+                for (int i = 0; i < BOARD_SIZE - knownCardsCount; i++) {
+                    final int drawn = i + random.nextInt(remainingCards.length - i);
+                    final Card drawnCard = remainingCards[drawn];
+                    remainingCards[drawn] = remainingCards[i];
+                    remainingCards[i] = drawnCard;
+                    boardMask |= 1L << drawnCard.getIndex();
+                }
+                evaluateBoard(players, boardMask, handRanks, localAccumulator);
+            }
+
+            synchronized (sharedAccumulator) {
+                sharedAccumulator.drain(localAccumulator);
+                final boolean isPreciseEnough = (
+                        sharedAccumulator.getTrialsCount() >= MIN_TRIALS_FOR_EARLY_STOP &&
+                        sharedAccumulator.getMaxMarginOfError(mZScore) <= targetMarginOfError
+                );
+                if (isPreciseEnough)
+                    isDone.set(true);
+            }
+        }
+    }
+
+    /**
+     * Computes the exact result of a board with no missing cards, on the calling thread.
+     */
+    private EquityResult evaluateCompleteBoard(List<HoleCards> players, List<Card> board)
+            throws EquityCalculationException {
+        final EquityAccumulator accumulator = new EquityAccumulator(players.size());
+        try {
+            evaluateBoard(players, CardSet.of(board).getMask(), new int[players.size()], accumulator);
+        } catch (BestHandSelectorException selectorException) {
+            throw new EquityCalculationException("Failed to evaluate the players' hands", selectorException);
+        }
+        return accumulator.toResult(true, mZScore);
+    }
+
+    /**
+     * Finds the best hand of every player on a complete board, and records the showdown.
+     * @param boardMask The mask of the board's cards (see {@link Card#getIndex()}).
+     */
+    private void evaluateBoard(
+            List<HoleCards> players, long boardMask, int[] handRanks, EquityAccumulator accumulator
+    ) throws BestHandSelectorException {
+        final CardSet board = CardSet.fromMask(boardMask);
+        for (int player = 0; player < handRanks.length; player++)
+            handRanks[player] = mBestHandSelector.getBestHandRank(players.get(player), board);
+        accumulator.addShowdown(handRanks);
+    }
+
+    /**
+     * Validates the cards of the calculation, and returns every card that is still in the deck.
+     * @throws IllegalArgumentException If the players or community cards are invalid.
+     */
+    private static Card[] getRemainingCards(List<HoleCards> players, List<Card> communityCards, GamePhase gamePhase) {
+        if (players.size() < 2)
+            throw new IllegalArgumentException("Expected at least 2 players, got " + players.size());
+        if (communityCards.size() != gamePhase.getCommunityCardsCount()) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d community cards in %s, got %d instead",
+                    gamePhase.getCommunityCardsCount(), gamePhase, communityCards.size()
+            ));
+        }
+
+        CardSet knownCards = CardSet.EMPTY;
+        for (HoleCards holeCards : players) {
+            knownCards = addKnownCard(knownCards, holeCards.getFirstCard());
+            knownCards = addKnownCard(knownCards, holeCards.getSecondCard());
+        }
+        for (Card communityCard : communityCards)
+            knownCards = addKnownCard(knownCards, communityCard);
+
+        // In card-index order, so a seeded calculation always starts from the same deck:
+        return CardSet.FULL_DECK.difference(knownCards).toList().toArray(new Card[0]);
+    }
+
+    private static CardSet addKnownCard(CardSet knownCards, Card card) {
+        if (knownCards.contains(card))
+            throw new IllegalArgumentException("Card " + card + " appears more than once");
+        return knownCards.add(card);
+    }
+}
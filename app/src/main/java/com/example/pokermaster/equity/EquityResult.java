@@ -0,0 +1,116 @@
+package com.example.pokermaster.equity;
+
+/**
+ * The outcome of an equity calculation - how often every player wins, ties or loses the pot.
+ * <p>
+ *     Players are identified by their position in the list given to the {@link EquityCalculator}.
+ *     Besides the win/tie/loss fractions, every player has an equity: the average share of the
+ *     pot the player takes, where a tie between {@code k} players gives each of them {@code 1/k}
+ *     of the pot.
+ * </p>
+ * <p>
+ *     Sampled results come with a margin of error for every equity, so the true equity lies in
+ *     {@code [equity - margin, equity + margin]} at the confidence the calculation was made with.
+ *     Exact results (see {@link EquityResult#isExact()}) have no margin of error.
+ * </p>
+ */
+public class EquityResult {
+    private final long[] mWins;
+    private final long[] mTies;
+    private final double[] mEquitySums;
+    private final double[] mEquitySquaresSums;
+    private final long mTrialsCount;
+    private final boolean mIsExact;
+    private final double mZScore;
+
+    EquityResult(
+            long[] wins, long[] ties, double[] equitySums, double[] equitySquaresSums,
+            long trialsCount, boolean isExact, double zScore
+    ) {
+        mWins = wins;
+        mTies = ties;
+        mEquitySums = equitySums;
+        mEquitySquaresSums = equitySquaresSums;
+        mTrialsCount = trialsCount;
+        mIsExact = isExact;
+        mZScore = zScore;
+    }
+
+    /**
+     * Computes the margin of error of the mean of a sample (normal approximation).
+     * @param sum The sum of the sample.
+     * @param squaresSum The sum of the squares of the sample.
+     * @param count The size of the sample.
+     * @param zScore The z-score of the required confidence (1.96 for 95%).
+     * @return The half-width of the confidence interval around the sample's mean.
+     */
+    static double computeMarginOfError(double sum, double squaresSum, long count, double zScore) {
+        if (count < 2)
+            return Double.POSITIVE_INFINITY;
+        final double mean = sum / count;
+        // Unbiased sample variance, clamped since rounding can make it slightly negative:
+        final double variance = Math.max(0, (squaresSum - sum * mean) / (count - 1));
+        return zScore * Math.sqrt(variance / count);
+    }
+
+    public int getPlayersCount() {
+        return mWins.length;
+    }
+
+    /**
+     * @return The number of boards the result is based on (sampled or enumerated).
+     */
+    public long getTrialsCount() {
+        return mTrialsCount;
+    }
+
+    /**
+     * @return True if every possible board was evaluated, meaning the fractions are exact.
+     */
+    public boolean isExact() {
+        return mIsExact;
+    }
+
+    /**
+     * @param player The position of the player in the list given to the calculator.
+     * @return The fraction of boards on which the player wins the entire pot.
+     */
+    public double getWinFraction(int player) {
+        return (double) mWins[player] / mTrialsCount;
+    }
+
+    /**
+     * @param player The position of the player in the list given to the calculator.
+     * @return The fraction of boards on which the player splits the pot with other players.
+     */
+    public double getTieFraction(int player) {
+        return (double) mTies[player] / mTrialsCount;
+    }
+
+    /**
+     * @param player The position of the player in the list given to the calculator.
+     * @return The fraction of boards on which the player gets no part of the pot.
+     */
+    public double getLossFraction(int player) {
+        return (double) (mTrialsCount - mWins[player] - mTies[player]) / mTrialsCount;
+    }
+
+    /**
+     * @param player The position of the player in the list given to the calculator.
+     * @return The average share of the pot the player takes, from 0 to 1.
+     */
+    public double getEquity(int player) {
+        return mEquitySums[player] / mTrialsCount;
+    }
+
+    /**
+     * @param player The position of the player in the list given to the calculator.
+     * @return The half-width of the confidence interval around the player's equity, or 0 if the
+     *         result is exact.
+     */
+    public double getEquityMarginOfError(int player) {
+        if (mIsExact)
+            return 0;
+        return computeMarginOfError(mEquitySums[player], mEquitySquaresSums[player], mTrialsCount, mZScore);
+    }
+}
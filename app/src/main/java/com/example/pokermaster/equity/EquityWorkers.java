@@ -0,0 +1,62 @@
+package com.example.pokermaster.equity;
+
+import com.example.pokermaster.equity.exceptions.EquityCalculationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the workers a single calculation is split between, for every calculator of this package.
+ */
+final class EquityWorkers {
+    private EquityWorkers() {
+    }
+
+    /**
+     * Runs all workers on the executor and waits for them to finish. If any of them fails, or the
+     * calling thread is interrupted, the rest are stopped.
+     * @param executor The executor the workers run on.
+     * @param workers The workers to run.
+     * @param isDone Set when the calculation should stop, so the remaining workers stop as well.
+     *               May be null if the workers only stop when interrupted.
+     * @param failureMessage The message of the exception thrown if a worker failed with a checked
+     *                       exception.
+     * @throws EquityCalculationException If a worker threw a checked exception (unchecked ones are
+     *                                    rethrown as they are).
+     * @throws InterruptedException If the calling thread was interrupted.
+     */
+    static void runWorkers(
+            ExecutorService executor, List<Callable<Void>> workers, AtomicBoolean isDone, String failureMessage
+    ) throws EquityCalculationException, InterruptedException {
+        final List<Future<Void>> futures = new ArrayList<>(workers.size());
+        try {
+            for (Callable<Void> worker : workers)
+                futures.add(executor.submit(worker));
+            for (Future<Void> future : futures)
+                future.get();
+        } catch (InterruptedException interruptedException) {
+            stop(futures, isDone);
+            throw interruptedException;
+        } catch (ExecutionException executionException) {
+            stop(futures, isDone);
+            final Throwable cause = executionException.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new EquityCalculationException(failureMessage, cause);
+        }
+    }
+
+    private static void stop(List<Future<Void>> futures, AtomicBoolean isDone) {
+        if (isDone != null)
+            isDone.set(true);
+        for (Future<Void> future : futures)
+            future.cancel(true);
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.pokermaster.equity;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.cards.decks.Deck;
+import com.example.pokermaster.cards.decks.HashDeck;
+import com.example.pokermaster.cards.indexers.CardIndexer;
+import com.example.pokermaster.equity.exceptions.EquityCalculationException;
+import com.example.pokermaster.game_state.GamePhase;
+import com.example.pokermaster.hands.selectors.BestHandSelector;
+import com.example.pokermaster.hands.selectors.BitmaskBestHandSelector;
+import com.example.pokermaster.util.CombinationIterator;
+import com.example.pokermaster.util.Combinatorics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Calculates the hand strength (HS) and the positive and negative hand potential (PPOT/NPOT) of a
+ * hand, against every hand an opponent may hold.
+ * <p>
+ *     Every opponent hand is compared with the player's hand on the current board (for the hand
+ *     strength), and then on every possible completion of the board (for the potential). That is
+ *     C(47, 2) = 1,081 opponent hands times C(45, 2) = 990 boards on the flop, a little over a
+ *     million showdowns, so the work is arranged to do as little as possible per showdown:
+ * </p>
+ * <ul>
+ *     <li>Hands are ranked with {@link BitmaskBestHandSelector#getHandRank(long)}, on card masks
+ *         (see {@link CardIndexer#getCardMask(Card)}), without creating any hands.</li>
+ *     <li>Future boards are the outer loop - the player's final hand is ranked once per board,
+ *         and the current rank of every opponent hand is computed once per calculation.</li>
+ *     <li>The future boards are split into equal ranges of their
+ *         {@link CombinationIterator combination indices}, one per worker, and every worker
+ *         tallies the outcomes on its own before merging them into the shared tally.</li>
+ * </ul>
+ */
+public class HandPotentialCalculator {
+    private static final int BOARD_SIZE = BestHandSelector.EXPECTED_COMMUNITY_CARDS_COUNT;
+    private static final int HOLE_CARDS_COUNT = 2;
+    private static final String WORKER_FAILURE_MESSAGE = "Failed to evaluate the hand potential";
+
+    private final Combinatorics mCombinatorics = new Combinatorics();
+    private final CardIndexer mCardIndexer = new CardIndexer();
+    private final ExecutorService mExecutor;
+    private final int mWorkersCount;
+
+    /**
+     * Creates a calculator.
+     * @param executor The executor the workers run on.
+     * @param workersCount The number of workers a single calculation is split between (at least
+     *                     1), usually the number of threads of the executor.
+     * @throws IllegalArgumentException If the number of workers is not positive.
+     */
+    public HandPotentialCalculator(ExecutorService executor, int workersCount) {
+        if (workersCount < 1)
+            throw new IllegalArgumentException("Expected at least 1 worker, got " + workersCount);
+        mExecutor = executor;
+        mWorkersCount = workersCount;
+    }
+
+    /**
+     * Same as {@link HandPotentialCalculator#calculate(HoleCards, List, GamePhase, Deck)}, where
+     * every card not held by the player or the board may still be dealt.
+     */
+    public HandPotentialResult calculate(HoleCards holeCards, List<Card> communityCards, GamePhase gamePhase)
+            throws EquityCalculationException, InterruptedException {
+        return calculate(holeCards, communityCards, gamePhase, new HashDeck());
+    }
+
+    /**
+     * Calculates the hand strength and potential of a hand.
+     * @param holeCards The player's hole cards.
+     * @param communityCards The community cards revealed so far.
+     * @param gamePhase The flop, the turn or the river (or showdown), matching the number of
+     *                  community cards. On the river, there is no potential left.
+     * @param deck The cards that may still be dealt, both to the opponent and to the board (for
+     *             example, without the cards of players who folded face up). The player's cards
+     *             and the board are ignored even if the deck holds them.
+     * @return The hand strength and potential of the hand.
+     * @throws IllegalArgumentException If the game phase is pre-flop, if the number of community
+     *                                  cards doesn't match the game phase, if a card appears more
+     *                                  than once, or if the deck holds too few cards for an
+     *                                  opponent hand and the rest of the board.
+     * @throws EquityCalculationException If a worker failed.
+     * @throws InterruptedException If the calling thread was interrupted while waiting for the
+     *                              workers, in which case the workers are stopped as well.
+     */
+    public HandPotentialResult calculate(
+            HoleCards holeCards, List<Card> communityCards, GamePhase gamePhase, Deck deck
+    ) throws EquityCalculationException, InterruptedException {
+        if (gamePhase == GamePhase.PRE_FLOP)
+            throw new IllegalArgumentException("Hand potential can't be calculated pre-flop");
+        if (communityCards.size() != gamePhase.getCommunityCardsCount()) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d community cards in %s, got %d instead",
+                    gamePhase.getCommunityCardsCount(), gamePhase, communityCards.size()
+            ));
+        }
+
+        long boardMask = 0;
+        for (Card communityCard : communityCards)
+            boardMask |= mCardIndexer.getCardMask(communityCard);
+        final long holeCardsMask = (
+                mCardIndexer.getCardMask(holeCards.getFirstCard()) |
+                mCardIndexer.getCardMask(holeCards.getSecondCard())
+        );
+        if (Long.bitCount(boardMask | holeCardsMask) != communityCards.size() + HOLE_CARDS_COUNT)
+            throw new IllegalArgumentException("A card appears more than once in the hand or the board");
+
+        final long knownMask = boardMask | holeCardsMask;
+        final List<Card> remainingCardsList = new ArrayList<>();
+        for (int cardIndex = 0; cardIndex < Card.CARDS_COUNT; cardIndex++) {
+            final Card card = Card.of(cardIndex);
+            if ((knownMask & mCardIndexer.getCardMask(card)) == 0 && deck.isInDeck(card))
+                remainingCardsList.add(card);
+        }
+        final int missingCardsCount = BOARD_SIZE - communityCards.size();
+        if (remainingCardsList.size() < HOLE_CARDS_COUNT + missingCardsCount) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected at least %d cards in the deck, got %d",
+                    HOLE_CARDS_COUNT + missingCardsCount, remainingCardsList.size()
+            ));
+        }
+        final long[] remainingCards = new long[remainingCardsList.size()];
+        for (int i = 0; i < remainingCards.length; i++)
+            remainingCards[i] = mCardIndexer.getCardMask(remainingCardsList.get(i));
+
+        // The current outcome against every opponent hand is computed once, on the calling thread:
+        final int opponentHandsCount = (int) mCombinatorics.nChooseR(remainingCards.length, HOLE_CARDS_COUNT);
+        final long[] opponentMasks = new long[opponentHandsCount];
+        final int[] currentOutcomes = new int[opponentHandsCount];
+        final long[] currentCounts = new long[HandPotentialResult.OUTCOMES_COUNT];
+        final int handRank = BitmaskBestHandSelector.getHandRank(knownMask);
+        final CombinationIterator opponentHands = new CombinationIterator(remainingCards.length, HOLE_CARDS_COUNT);
+        for (int opponent = 0; opponentHands.next(); opponent++) {
+            final int[] opponentCards = opponentHands.getCombination();
+            opponentMasks[opponent] = remainingCards[opponentCards[0]] | remainingCards[opponentCards[1]];
+            currentOutcomes[opponent] = getOutcome(
+                    handRank, BitmaskBestHandSelector.getHandRank(boardMask | opponentMasks[opponent])
+            );
+            currentCounts[currentOutcomes[opponent]]++;
+        }
+
+        final long[] sharedTransitionCounts = new long[HandPotentialResult.OUTCOMES_COUNT * HandPotentialResult.OUTCOMES_COUNT];
+        final long[] boardRanges = CombinationIterator.splitRanges(remainingCards.length, missingCardsCount, mWorkersCount);
+        final AtomicBoolean isDone = new AtomicBoolean();
+        final List<Callable<Void>> workers = new ArrayList<>(mWorkersCount);
+        for (int i = 0; i < mWorkersCount; i++) {
+            if (boardRanges[i] == boardRanges[i + 1])
+                continue;
+            final CombinationIterator futureBoards = new CombinationIterator(
+                    remainingCards.length, missingCardsCount, boardRanges[i], boardRanges[i + 1]
+            );
+            final long currentBoardMask = boardMask;
+            workers.add(() -> {
+                runWorker(
+                        futureBoards, currentBoardMask, holeCardsMask, remainingCards, opponentMasks,
+                        currentOutcomes, isDone, sharedTransitionCounts
+                );
+                return null;
+            });
+        }
+        EquityWorkers.runWorkers(mExecutor, workers, isDone, WORKER_FAILURE_MESSAGE);
+
+        synchronized (sharedTransitionCounts) {
+            return new HandPotentialResult(currentCounts, sharedTransitionCounts.clone());
+        }
+    }
+
+    private static void runWorker(
+            CombinationIterator futureBoards, long boardMask, long holeCardsMask, long[] remainingCards,
+            long[] opponentMasks, int[] currentOutcomes, AtomicBoolean isDone, long[] sharedTransitionCounts
+    ) {
+        final long[] transitionCounts = new long[sharedTransitionCounts.length];
+        while (futureBoards.next()) {
+            if (isDone.get() || Thread.currentThread().isInterrupted())
+                return;
+            long futureCardsMask = 0;
+            for (int futureCard : futureBoards.getCombination())
+                futureCardsMask |= remainingCards[futureCard];
+            final long finalBoardMask = boardMask | futureCardsMask;
+            final int finalHandRank = BitmaskBestHandSelector.getHandRank(finalBoardMask | holeCardsMask);
+
+            for (int opponent = 0; opponent < opponentMasks.length; opponent++) {
+                if ((opponentMasks[opponent] & futureCardsMask) != 0)
+                    continue;
+                final int finalOutcome = getOutcome(
+                        finalHandRank, BitmaskBestHandSelector.getHandRank(finalBoardMask | opponentMasks[opponent])
+                );
+                transitionCounts[currentOutcomes[opponent] * HandPotentialResult.OUTCOMES_COUNT + finalOutcome]++;
+            }
+        }
+
+        synchronized (sharedTransitionCounts) {
+            for (int i = 0; i < transitionCounts.length; i++)
+                sharedTransitionCounts[i] += transitionCounts[i];
+        }
+    }
+
+    private static int getOutcome(int handRank, int opponentHandRank) {
+        if (handRank > opponentHandRank)
+            return HandPotentialResult.AHEAD;
+        return handRank == opponentHandRank ? HandPotentialResult.TIED : HandPotentialResult.BEHIND;
+    }
+}
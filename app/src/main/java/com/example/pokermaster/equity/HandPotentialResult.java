@@ -0,0 +1,106 @@
+package com.example.pokermaster.equity;
+
+/**
+ * The hand strength and hand potential of a hand against every possible opponent hand, see
+ * {@link HandPotentialCalculator}.
+ * <p>
+ *     Outcomes are counted per (opponent hand, future board) pair, and every count is indexed
+ *     first by the outcome on the current board and then by the outcome once the board is
+ *     complete - ahead ({@code 0}), tied ({@code 1}) or behind ({@code 2}).
+ * </p>
+ */
+public class HandPotentialResult {
+    static final int AHEAD = 0, TIED = 1, BEHIND = 2;
+    static final int OUTCOMES_COUNT = 3;
+
+    /* The current outcome against every opponent hand */
+    private final long[] mCurrentCounts;
+    /* mTransitionCounts[now * OUTCOMES_COUNT + final] */
+    private final long[] mTransitionCounts;
+
+    HandPotentialResult(long[] currentCounts, long[] transitionCounts) {
+        mCurrentCounts = currentCounts;
+        mTransitionCounts = transitionCounts;
+    }
+
+    /**
+     * Returns the hand strength (HS) - the probability the hand is currently ahead of a random
+     * opponent hand, where ties count as half.
+     */
+    public double getHandStrength() {
+        final long total = mCurrentCounts[AHEAD] + mCurrentCounts[TIED] + mCurrentCounts[BEHIND];
+        return (mCurrentCounts[AHEAD] + mCurrentCounts[TIED] / 2.0) / total;
+    }
+
+    /**
+     * Returns the positive potential (PPOT) - the probability that the hand ends up ahead when it
+     * is currently behind, where ties (now or at the end) count as half.
+     * @return The positive potential, or 0 if the hand is never behind or tied, or if no cards
+     *         are left to come.
+     */
+    public double getPositivePotential() {
+        final double improvements = (
+                getTransitionsCount(BEHIND, AHEAD) +
+                getTransitionsCount(BEHIND, TIED) / 2.0 +
+                getTransitionsCount(TIED, AHEAD) / 2.0
+        );
+        final double chances = getOutcomesCount(BEHIND) + getOutcomesCount(TIED) / 2.0;
+        return chances == 0 ? 0 : improvements / chances;
+    }
+
+    /**
+     * Returns the negative potential (NPOT) - the probability that the hand ends up behind when it
+     * is currently ahead, where ties (now or at the end) count as half.
+     * @return The negative potential, or 0 if the hand is never ahead or tied, or if no cards are
+     *         left to come.
+     */
+    public double getNegativePotential() {
+        final double deteriorations = (
+                getTransitionsCount(AHEAD, BEHIND) +
+                getTransitionsCount(TIED, BEHIND) / 2.0 +
+                getTransitionsCount(AHEAD, TIED) / 2.0
+        );
+        final double chances = getOutcomesCount(AHEAD) + getOutcomesCount(TIED) / 2.0;
+        return chances == 0 ? 0 : deteriorations / chances;
+    }
+
+    /**
+     * Returns the effective hand strength - {@code HS * (1 - NPOT) + (1 - HS) * PPOT}, the
+     * probability the hand is ahead now and stays ahead, or is behind now and gets ahead.
+     */
+    public double getEffectiveHandStrength() {
+        final double handStrength = getHandStrength();
+        return handStrength * (1 - getNegativePotential()) + (1 - handStrength) * getPositivePotential();
+    }
+
+    /**
+     * @return The number of opponent hands the hand was compared against.
+     */
+    public long getOpponentHandsCount() {
+        return mCurrentCounts[AHEAD] + mCurrentCounts[TIED] + mCurrentCounts[BEHIND];
+    }
+
+    /**
+     * @return The number of (opponent hand, future board) pairs evaluated.
+     */
+    public long getEvaluationsCount() {
+        long evaluationsCount = 0;
+        for (long transitionsCount : mTransitionCounts)
+            evaluationsCount += transitionsCount;
+        return evaluationsCount;
+    }
+
+    private long getTransitionsCount(int currentOutcome, int finalOutcome) {
+        return mTransitionCounts[currentOutcome * OUTCOMES_COUNT + finalOutcome];
+    }
+
+    /**
+     * @return The number of (opponent hand, future board) pairs with the given current outcome.
+     */
+    private long getOutcomesCount(int currentOutcome) {
+        long outcomesCount = 0;
+        for (int finalOutcome = 0; finalOutcome < OUTCOMES_COUNT; finalOutcome++)
+            outcomesCount += getTransitionsCount(currentOutcome, finalOutcome);
+        return outcomesCount;
+    }
+}
@@ -0,0 +1,345 @@
+package com.example.pokermaster.equity;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.cards.decks.Deck;
+import com.example.pokermaster.equity.exceptions.HandRangeFormatException;
+
+import java.util.Arrays;
+
+/**
+ * The hands a player may hold - a weight from 0 to 1 for each of the
+ * {@link PreflopEquityTable#HANDS_COUNT} possible hole cards, indexed by
+ * {@link PreflopEquityTable#getHandIndex(HoleCards)}. A weight of 1 means the hand is fully in
+ * the range, and a fraction means the player only holds it that often (for example, a hand
+ * raised half the time and called otherwise).
+ * <p>
+ *     Ranges are usually parsed from the standard notation, see {@link HandRange#parse(String)}.
+ *     A range is immutable - removing cards returns a new range.
+ * </p>
+ */
+public class HandRange {
+    private static final int RANKS_COUNT = Card.MAX_RANK - Card.MIN_RANK + 1;
+    private static final String RANK_SYMBOLS = "23456789TJQKA";
+    private static final String SUIT_SYMBOLS = "shdc";
+
+    /* The (lower, higher) card index of every hand index */
+    private static final int[] sLowCardIndices = new int[PreflopEquityTable.HANDS_COUNT];
+    private static final int[] sHighCardIndices = new int[PreflopEquityTable.HANDS_COUNT];
+
+    static {
+        for (int highCard = 1; highCard < Card.CARDS_COUNT; highCard++) {
+            for (int lowCard = 0; lowCard < highCard; lowCard++) {
+                final int handIndex = PreflopEquityTable.getHandIndex(
+                        new HoleCards(Card.of(lowCard), Card.of(highCard))
+                );
+                sLowCardIndices[handIndex] = lowCard;
+                sHighCardIndices[handIndex] = highCard;
+            }
+        }
+    }
+
+    /**
+     * The range with no hands.
+     */
+    public static final HandRange EMPTY = new HandRange(new double[PreflopEquityTable.HANDS_COUNT]);
+
+    private final double[] mWeights;
+
+    private HandRange(double[] weights) {
+        mWeights = weights;
+    }
+
+    /**
+     * Creates a range of the given hands, each with a weight of 1.
+     */
+    public static HandRange of(HoleCards ... hands) {
+        final double[] weights = new double[PreflopEquityTable.HANDS_COUNT];
+        for (HoleCards hand : hands)
+            weights[PreflopEquityTable.getHandIndex(hand)] = 1;
+        return new HandRange(weights);
+    }
+
+    /**
+     * Parses a range from the standard notation - a comma-separated list of entries, each of
+     * which is one of:
+     * <ul>
+     *     <li>A pair - {@code QQ}, every pair from it up - {@code QQ+}, or a span of pairs -
+     *         {@code 99-QQ}.</li>
+     *     <li>Two ranks, suited ({@code AKs}), off-suit ({@code AKo}) or both ({@code AK}),
+     *         optionally followed by {@code +} to raise the lower rank up to the one below the
+     *         higher rank ({@code ATs+} is ATs, AJs, AQs and AKs), or a span of lower ranks
+     *         ({@code A2s-A5s}).</li>
+     *     <li>Specific cards - {@code AhKd}, with the suits {@code s, h, d, c}.</li>
+     * </ul>
+     * Ranks are {@code 2-9, T, J, Q, K, A}. An entry can be weighted by a percentage before it
+     * ({@code 50% AQo}, or {@code 50% of AQo}) or a fraction after it ({@code AQo:0.5}), and
+     * later entries override the weights of earlier ones. For example,
+     * {@code "QQ+, AKs, 50% of AQo"}.
+     * @param rangeNotation The range in the standard notation.
+     * @return The parsed range.
+     * @throws HandRangeFormatException If the notation is invalid.
+     */
+    public static HandRange parse(String rangeNotation) throws HandRangeFormatException {
+        final double[] weights = new double[PreflopEquityTable.HANDS_COUNT];
+        for (String entry : rangeNotation.split(",")) {
+            final String trimmedEntry = entry.trim();
+            if (trimmedEntry.isEmpty()) {
+                if (rangeNotation.trim().isEmpty())
+                    continue;
+                throw new HandRangeFormatException("Empty entry in range \"" + rangeNotation + "\"");
+            }
+            parseEntry(trimmedEntry, weights);
+        }
+        return new HandRange(weights);
+    }
+
+    /**
+     * @return The weight of the hand in the range, from 0 (not in the range) to 1.
+     */
+    public double getWeight(HoleCards hand) {
+        return mWeights[PreflopEquityTable.getHandIndex(hand)];
+    }
+
+    /**
+     * @param handIndex A hand index, see {@link PreflopEquityTable#getHandIndex(HoleCards)}.
+     * @return The weight of the hand in the range, from 0 (not in the range) to 1.
+     */
+    public double getWeight(int handIndex) {
+        return mWeights[handIndex];
+    }
+
+    /**
+     * @return The number of hands with a positive weight.
+     */
+    public int getHandsCount() {
+        int handsCount = 0;
+        for (double weight : mWeights) {
+            if (weight > 0)
+                handsCount++;
+        }
+        return handsCount;
+    }
+
+    /**
+     * @return The sum of the weights of all hands (the number of hands, if all weights are 1).
+     */
+    public double getTotalWeight() {
+        double totalWeight = 0;
+        for (double weight : mWeights)
+            totalWeight += weight;
+        return totalWeight;
+    }
+
+    public boolean isEmpty() {
+        return getHandsCount() == 0;
+    }
+
+    /**
+     * Removes every hand that can't be held, since one of its cards is no longer in the deck (dead
+     * cards - the community cards, or cards known to be held by other players).
+     * @param deck The cards that may still be dealt.
+     * @return A range with the hands whose cards are both in the deck.
+     */
+    public HandRange withoutDeadCards(Deck deck) {
+        final double[] weights = mWeights.clone();
+        for (int handIndex = 0; handIndex < weights.length; handIndex++) {
+            final boolean isAlive = (
+                    deck.isInDeck(Card.of(sLowCardIndices[handIndex])) &&
+                    deck.isInDeck(Card.of(sHighCardIndices[handIndex]))
+            );
+            if (!isAlive)
+                weights[handIndex] = 0;
+        }
+        return new HandRange(weights);
+    }
+
+    /**
+     * Removes every hand that holds any of the given cards.
+     * @param deadCards Cards that can't be held.
+     * @return A range with the hands that hold none of the given cards.
+     */
+    public HandRange withoutCards(CardSet deadCards) {
+        final double[] weights = mWeights.clone();
+        for (int handIndex = 0; handIndex < weights.length; handIndex++) {
+            if ((getHandMask(handIndex) & deadCards.getMask()) != 0)
+                weights[handIndex] = 0;
+        }
+        return new HandRange(weights);
+    }
+
+    /**
+     * @param handIndex A hand index, see {@link PreflopEquityTable#getHandIndex(HoleCards)}.
+     * @return The hole cards of the index, the lower card first.
+     */
+    public static HoleCards getHoleCards(int handIndex) {
+        return new HoleCards(Card.of(sLowCardIndices[handIndex]), Card.of(sHighCardIndices[handIndex]));
+    }
+
+    /**
+     * @param handIndex A hand index, see {@link PreflopEquityTable#getHandIndex(HoleCards)}.
+     * @return The mask of the hand's two cards (see {@link CardSet#getMask()}).
+     */
+    static long getHandMask(int handIndex) {
+        return 1L << sLowCardIndices[handIndex] | 1L << sHighCardIndices[handIndex];
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof HandRange && Arrays.equals(mWeights, ((HandRange) other).mWeights);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(mWeights);
+    }
+
+    private static void parseEntry(String entry, double[] weights) throws HandRangeFormatException {
+        double weight = 1;
+        String hands = entry;
+
+        // A percentage before the hands - "50% AQo" or "50% of AQo":
+        final int percentIndex = hands.indexOf('%');
+        if (percentIndex >= 0) {
+            weight = parseWeight(entry, hands.substring(0, percentIndex).trim()) / 100;
+            hands = hands.substring(percentIndex + 1).trim();
+            if (hands.startsWith("of "))
+                hands = hands.substring("of ".length()).trim();
+        }
+        // A fraction after the hands - "AQo:0.5":
+        final int colonIndex = hands.indexOf(':');
+        if (colonIndex >= 0) {
+            weight = parseWeight(entry, hands.substring(colonIndex + 1).trim());
+            hands = hands.substring(0, colonIndex).trim();
+        }
+        if (!(weight >= 0 && weight <= 1))
+            throw new HandRangeFormatException("Weight of \"" + entry + "\" is not between 0 and 1");
+
+        if (isSpecificHand(hands)) {
+            final int firstCard = parseCard(entry, hands.charAt(0), hands.charAt(1));
+            final int secondCard = parseCard(entry, hands.charAt(2), hands.charAt(3));
+            if (firstCard == secondCard)
+                throw new HandRangeFormatException("Hand \"" + entry + "\" holds the same card twice");
+            weights[PreflopEquityTable.getHandIndex(new HoleCards(Card.of(firstCard), Card.of(secondCard)))] = weight;
+            return;
+        }
+
+        final int dashIndex = hands.indexOf('-');
+        if (dashIndex >= 0) {
+            final HandClass from = parseHandClass(entry, hands.substring(0, dashIndex).trim());
+            final HandClass to = parseHandClass(entry, hands.substring(dashIndex + 1).trim());
+            final boolean isSameShape = from.isPair() == to.isPair() && from.mSuitedness == to.mSuitedness;
+            if (!isSameShape || (!from.isPair() && from.mHighRank != to.mHighRank))
+                throw new HandRangeFormatException("Span \"" + entry + "\" must share its shape and higher rank");
+            final boolean isPair = from.isPair();
+            final int fromRank = Math.min(from.mLowRank, to.mLowRank);
+            final int toRank = Math.max(from.mLowRank, to.mLowRank);
+            for (int rank = fromRank; rank <= toRank; rank++)
+                setHandClass(isPair ? rank : from.mHighRank, rank, from.mSuitedness, weight, weights);
+            return;
+        }
+
+        final boolean isPlus = hands.endsWith("+");
+        final HandClass handClass = parseHandClass(entry, isPlus ? hands.substring(0, hands.length() - 1) : hands);
+        if (!isPlus) {
+            setHandClass(handClass.mHighRank, handClass.mLowRank, handClass.mSuitedness, weight, weights);
+        } else if (handClass.isPair()) {
+            for (int rank = handClass.mLowRank; rank < RANKS_COUNT; rank++)
+                setHandClass(rank, rank, handClass.mSuitedness, weight, weights);
+        } else {
+            for (int rank = handClass.mLowRank; rank < handClass.mHighRank; rank++)
+                setHandClass(handClass.mHighRank, rank, handClass.mSuitedness, weight, weights);
+        }
+    }
+
+    private static double parseWeight(String entry, String weight) throws HandRangeFormatException {
+        try {
+            return Double.parseDouble(weight);
+        } catch (NumberFormatException numberFormatException) {
+            throw new HandRangeFormatException("Invalid weight in \"" + entry + "\"", numberFormatException);
+        }
+    }
+
+    private static boolean isSpecificHand(String hands) {
+        return hands.length() == 4 &&
+                SUIT_SYMBOLS.indexOf(hands.charAt(1)) >= 0 && SUIT_SYMBOLS.indexOf(hands.charAt(3)) >= 0;
+    }
+
+    private static int parseCard(String entry, char rankSymbol, char suitSymbol) throws HandRangeFormatException {
+        return parseRank(entry, rankSymbol) + SUIT_SYMBOLS.indexOf(suitSymbol) * RANKS_COUNT;
+    }
+
+    private static int parseRank(String entry, char rankSymbol) throws HandRangeFormatException {
+        final int rank = RANK_SYMBOLS.indexOf(Character.toUpperCase(rankSymbol));
+        if (rank < 0)
+            throw new HandRangeFormatException(String.format("Invalid rank '%c' in \"%s\"", rankSymbol, entry));
+        return rank;
+    }
+
+    /**
+     * Parses a class of hands such as {@code QQ}, {@code AKs}, {@code AKo} or {@code AK}.
+     */
+    private static HandClass parseHandClass(String entry, String handClass) throws HandRangeFormatException {
+        if (handClass.length() < 2 || handClass.length() > 3)
+            throw new HandRangeFormatException("Invalid hands \"" + handClass + "\" in \"" + entry + "\"");
+        final int firstRank = parseRank(entry, handClass.charAt(0));
+        final int secondRank = parseRank(entry, handClass.charAt(1));
+
+        Suitedness suitedness = Suitedness.ANY;
+        if (handClass.length() == 3) {
+            final char suitednessSymbol = handClass.charAt(2);
+            if (suitednessSymbol == 's')
+                suitedness = Suitedness.SUITED;
+            else if (suitednessSymbol == 'o')
+                suitedness = Suitedness.OFF_SUIT;
+            else
+                throw new HandRangeFormatException("Invalid hands \"" + handClass + "\" in \"" + entry + "\"");
+        }
+        if (firstRank == secondRank && suitedness != Suitedness.ANY)
+            throw new HandRangeFormatException("Pair \"" + handClass + "\" can't be suited or off-suit");
+        return new HandClass(Math.max(firstRank, secondRank), Math.min(firstRank, secondRank), suitedness);
+    }
+
+    /**
+     * Sets the weight of every hand of the given ranks (relative to {@link Card#MIN_RANK}) and
+     * suitedness.
+     */
+    private static void setHandClass(int highRank, int lowRank, Suitedness suitedness, double weight, double[] weights) {
+        for (Suit highSuit : Suit.values()) {
+            for (Suit lowSuit : Suit.values()) {
+                final boolean isSuited = highSuit == lowSuit;
+                final boolean isMatch = (
+                        suitedness == Suitedness.ANY || isSuited == (suitedness == Suitedness.SUITED)
+                );
+                // Pairs can't be suited, and every pair is met twice (once per order of suits):
+                if (!isMatch || (highRank == lowRank && highSuit.ordinal() <= lowSuit.ordinal()))
+                    continue;
+                final HoleCards hand = new HoleCards(
+                        Card.of(highRank + Card.MIN_RANK, highSuit), Card.of(lowRank + Card.MIN_RANK, lowSuit)
+                );
+                weights[PreflopEquityTable.getHandIndex(hand)] = weight;
+            }
+        }
+    }
+
+    private enum Suitedness {
+        SUITED, OFF_SUIT, ANY
+    }
+
+    private static final class HandClass {
+        private final int mHighRank, mLowRank;
+        private final Suitedness mSuitedness;
+
+        HandClass(int highRank, int lowRank, Suitedness suitedness) {
+            mHighRank = highRank;
+            mLowRank = lowRank;
+            mSuitedness = suitedness;
+        }
+
+        boolean isPair() {
+            return mHighRank == mLowRank;
+        }
+    }
+}
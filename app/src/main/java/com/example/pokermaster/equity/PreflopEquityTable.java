@@ -0,0 +1,367 @@
+package com.example.pokermaster.equity;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.cards.indexers.CardIndexer;
+import com.example.pokermaster.equity.exceptions.EquityCalculationException;
+import com.example.pokermaster.equity.exceptions.EquityTableException;
+import com.example.pokermaster.game_state.GamePhase;
+import com.example.pokermaster.hands.selectors.precomputed.PrecomputationProgressListener;
+import com.example.pokermaster.util.TableFiles;
+import com.example.pokermaster.util.exceptions.InvalidTableFileException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The exact all-in pre-flop equity of every heads-up matchup, both between two specific hands
+ * and between two starting-hand classes.
+ * <p>
+ *     There are 1326 possible hole cards, which fall into 169 classes - 13 pairs, 78 suited hands
+ *     and 78 offsuit hands (see {@link PreflopEquityTable#getHandClass(HoleCards)}). Classes are
+ *     laid out as a 13x13 grid indexed by the ranks of the cards: pairs on the diagonal, suited
+ *     hands at {@code [high][low]} and offsuit hands at {@code [low][high]}.
+ * </p>
+ * <p>
+ *     The table is built once by {@link PreflopEquityTable#build(EquityCalculator,
+ *     PrecomputationProgressListener)}, which enumerates every board of every matchup. Matchups
+ *     that only differ by a renaming of the suits (like AsKs vs QhQd and AhKh vs QsQc) have the
+ *     same equity, so only one matchup of every such group is enumerated - the one with the
+ *     smallest index. Every equity is stored as an unsigned 16-bit fraction, so a lookup is a
+ *     single read and the error is at most {@code 1 / 131068}.
+ * </p>
+ * <p>
+ *     The table file starts with the following big-endian header, followed by the hand-vs-hand
+ *     entries and then the class-vs-class entries (2 bytes each):
+ *     <ul>
+ *         <li>4 magic bytes ({@code "PMPE"}).</li>
+ *         <li>The format version (2 bytes).</li>
+ *         <li>The number of hands (4 bytes).</li>
+ *         <li>The number of hand classes (4 bytes).</li>
+ *         <li>The CRC-32 of the entries (8 bytes).</li>
+ *     </ul>
+ * </p>
+ */
+public class PreflopEquityTable {
+    private static final int RANKS_COUNT = Card.MAX_RANK - Card.MIN_RANK + 1;
+    private static final int SUITS_COUNT = Suit.values().length;
+    private static final int DECK_SIZE = RANKS_COUNT * SUITS_COUNT;
+
+    /**
+     * Number of possible hole cards - C(52, 2).
+     */
+    public static final int HANDS_COUNT = DECK_SIZE * (DECK_SIZE - 1) / 2;
+
+    /**
+     * Number of starting-hand classes - 13 pairs, 78 suited hands and 78 offsuit hands.
+     */
+    public static final int HAND_CLASSES_COUNT = RANKS_COUNT * RANKS_COUNT;
+
+    /* Entry of matchups whose hands share a card (a scaled equity never reaches it) */
+    private static final char INVALID_ENTRY = 0xFFFF;
+    private static final double EQUITY_SCALE = 0xFFFE;
+
+    private static final short FORMAT_VERSION = 1;
+    private static final byte[] MAGIC = {'P', 'M', 'P', 'E'};
+    private static final int ENTRIES_COUNT = HANDS_COUNT * HANDS_COUNT + HAND_CLASSES_COUNT * HAND_CLASSES_COUNT;
+
+    private static final CardIndexer sCardIndexer = new CardIndexer();
+
+    /* The card indices of every hand (lower index first) and the card mask of every hand */
+    private static final int[] sHandLowCards = new int[HANDS_COUNT];
+    private static final int[] sHandHighCards = new int[HANDS_COUNT];
+    private static final long[] sHandMasks = new long[HANDS_COUNT];
+
+    /* Every one of the 4! renamings of the suits */
+    private static final int[][] sSuitPermutations = computeSuitPermutations();
+
+    static {
+        for (int highCard = 1; highCard < DECK_SIZE; highCard++) {
+            for (int lowCard = 0; lowCard < highCard; lowCard++) {
+                final int hand = getHandIndex(lowCard, highCard);
+                sHandLowCards[hand] = lowCard;
+                sHandHighCards[hand] = highCard;
+                sHandMasks[hand] = 1L << lowCard | 1L << highCard;
+            }
+        }
+    }
+
+    /* Equities of the first hand/class, indexed by [first * count + second] */
+    private final CharBuffer mHandEquities;
+    private final CharBuffer mClassEquities;
+
+    PreflopEquityTable(CharBuffer handEquities, CharBuffer classEquities) {
+        mHandEquities = handEquities;
+        mClassEquities = classEquities;
+    }
+
+    /**
+     * Computes the class of a starting hand.
+     * @param holeCards Hole cards of a player.
+     * @return The index of the hand's class, from 0 to
+     *         {@link PreflopEquityTable#HAND_CLASSES_COUNT} exclusively.
+     */
+    public static int getHandClass(HoleCards holeCards) {
+        final int firstRank = holeCards.getFirstCard().getRank() - Card.MIN_RANK;
+        final int secondRank = holeCards.getSecondCard().getRank() - Card.MIN_RANK;
+        final int highRank = Math.max(firstRank, secondRank);
+        final int lowRank = Math.min(firstRank, secondRank);
+        // Pairs are never suited, so they always land on the diagonal:
+        if (holeCards.isSuited())
+            return highRank * RANKS_COUNT + lowRank;
+        return lowRank * RANKS_COUNT + highRank;
+    }
+
+    /**
+     * Computes the index of specific hole cards (the order of the two cards is meaningless).
+     * @param holeCards Hole cards of a player.
+     * @return The index of the hand, from 0 to {@link PreflopEquityTable#HANDS_COUNT} exclusively.
+     */
+    public static int getHandIndex(HoleCards holeCards) {
+        return getHandIndex(
+                sCardIndexer.getCardIndex(holeCards.getFirstCard()),
+                sCardIndexer.getCardIndex(holeCards.getSecondCard())
+        );
+    }
+
+    /**
+     * Colexicographic index of two distinct cards - C(high, 2) + low.
+     */
+    private static int getHandIndex(int cardIndex1, int cardIndex2) {
+        final int lowCard = Math.min(cardIndex1, cardIndex2);
+        final int highCard = Math.max(cardIndex1, cardIndex2);
+        return highCard * (highCard - 1) / 2 + lowCard;
+    }
+
+    /**
+     * Returns the all-in pre-flop equity of one hand against another.
+     * @param holeCards The hand whose equity is returned.
+     * @param opponentHoleCards The hand it plays against.
+     * @return The average share of the pot the first hand takes, from 0 to 1.
+     * @throws IllegalArgumentException If the hands share a card.
+     */
+    public double lookup(HoleCards holeCards, HoleCards opponentHoleCards) {
+        final char entry = mHandEquities.get(getHandIndex(holeCards) * HANDS_COUNT + getHandIndex(opponentHoleCards));
+        if (entry == INVALID_ENTRY) {
+            throw new IllegalArgumentException(String.format(
+                    "Hands %s%s and %s%s share a card",
+                    holeCards.getFirstCard(), holeCards.getSecondCard(),
+                    opponentHoleCards.getFirstCard(), opponentHoleCards.getSecondCard()
+            ));
+        }
+        return entry / EQUITY_SCALE;
+    }
+
+    /**
+     * Returns the all-in pre-flop equity of one starting-hand class against another, which is the
+     * average equity over every pair of hands of the two classes that don't share a card.
+     * @param handClass The class whose equity is returned (see
+     *                  {@link PreflopEquityTable#getHandClass(HoleCards)}).
+     * @param opponentHandClass The class it plays against.
+     * @return The average share of the pot the first class takes, from 0 to 1.
+     * @throws IndexOutOfBoundsException If any of the classes is not a valid class index.
+     */
+    public double lookupClasses(int handClass, int opponentHandClass) {
+        if (handClass < 0 || handClass >= HAND_CLASSES_COUNT ||
+                opponentHandClass < 0 || opponentHandClass >= HAND_CLASSES_COUNT) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Hand classes must be between 0 and %d (got %d and %d)",
+                    HAND_CLASSES_COUNT - 1, handClass, opponentHandClass
+            ));
+        }
+        return mClassEquities.get(handClass * HAND_CLASSES_COUNT + opponentHandClass) / EQUITY_SCALE;
+    }
+
+    /**
+     * Computes the exact equity of every matchup by enumerating all of its boards.
+     * <p>
+     *     Every matchup is computed with {@link EquityCalculator#calculateExactEquity(List, List,
+     *     GamePhase)}, so its boards are split between the calculator's workers. Even with the
+     *     suit symmetry this means enumerating about 1.7 million boards for each of tens of
+     *     thousands of matchups, so this is meant to be run once (as a batch job), and the result
+     *     saved with {@link PreflopEquityTable#save(File)}.
+     * </p>
+     * @param calculator The calculator that enumerates the boards of every matchup.
+     * @param progressListener Notified after every hand is computed against all other hands,
+     *                         with the number of (ordered) matchups filled so far. May be null.
+     * @return The complete table.
+     * @throws EquityCalculationException If the calculator failed.
+     * @throws InterruptedException If the calling thread was interrupted.
+     */
+    public static PreflopEquityTable build(EquityCalculator calculator, PrecomputationProgressListener progressListener)
+            throws EquityCalculationException, InterruptedException {
+        final Card[] deck = new Card[DECK_SIZE];
+        for (int cardIndex = 0; cardIndex < DECK_SIZE; cardIndex++)
+            deck[cardIndex] = Card.of(cardIndex);
+
+        final char[] handEquities = new char[HANDS_COUNT * HANDS_COUNT];
+        Arrays.fill(handEquities, INVALID_ENTRY);
+        // Every hand plays against the C(50, 2) hands made of the other cards:
+        final long totalMatchups = (long) HANDS_COUNT * (DECK_SIZE - 2) * (DECK_SIZE - 3) / 2;
+        long filledMatchups = 0;
+
+        for (int hand = 0; hand < HANDS_COUNT; hand++) {
+            for (int opponentHand = 0; opponentHand < HANDS_COUNT; opponentHand++) {
+                if ((sHandMasks[hand] & sHandMasks[opponentHand]) != 0)
+                    continue;
+
+                final int canonicalMatchup = getCanonicalMatchup(hand, opponentHand);
+                if (handEquities[canonicalMatchup] == INVALID_ENTRY) {
+                    final int canonicalHand = canonicalMatchup / HANDS_COUNT;
+                    final int canonicalOpponentHand = canonicalMatchup % HANDS_COUNT;
+                    final EquityResult result = calculator.calculateExactEquity(
+                            List.of(
+                                    new HoleCards(deck[sHandLowCards[canonicalHand]], deck[sHandHighCards[canonicalHand]]),
+                                    new HoleCards(
+                                            deck[sHandLowCards[canonicalOpponentHand]],
+                                            deck[sHandHighCards[canonicalOpponentHand]]
+                                    )
+                            ),
+                            List.of(), GamePhase.PRE_FLOP
+                    );
+                    // The same enumeration gives the equity of the swapped matchup, which has a
+                    // canonical matchup of its own:
+                    handEquities[canonicalMatchup] = toEntry(result.getEquity(0));
+                    handEquities[getCanonicalMatchup(canonicalOpponentHand, canonicalHand)] = toEntry(result.getEquity(1));
+                }
+                handEquities[hand * HANDS_COUNT + opponentHand] = handEquities[canonicalMatchup];
+                filledMatchups++;
+            }
+            if (progressListener != null)
+                progressListener.onProgress(filledMatchups, totalMatchups);
+        }
+
+        return fromHandEquities(handEquities);
+    }
+
+    /**
+     * Creates a table from its hand-vs-hand entries, averaging them into the class-vs-class ones.
+     * @param handEquities The entry of every hand against every other hand, indexed by
+     *                     {@code [hand * HANDS_COUNT + opponentHand]}, where matchups of hands
+     *                     sharing a card hold {@link PreflopEquityTable#INVALID_ENTRY}.
+     */
+    static PreflopEquityTable fromHandEquities(char[] handEquities) {
+        final int[] handClasses = new int[HANDS_COUNT];
+        for (int hand = 0; hand < HANDS_COUNT; hand++)
+            handClasses[hand] = getHandClass(sHandLowCards[hand], sHandHighCards[hand]);
+
+        final double[] classEquitySums = new double[HAND_CLASSES_COUNT * HAND_CLASSES_COUNT];
+        final int[] classMatchupsCounts = new int[HAND_CLASSES_COUNT * HAND_CLASSES_COUNT];
+        for (int hand = 0; hand < HANDS_COUNT; hand++) {
+            for (int opponentHand = 0; opponentHand < HANDS_COUNT; opponentHand++) {
+                final char entry = handEquities[hand * HANDS_COUNT + opponentHand];
+                if (entry == INVALID_ENTRY)
+                    continue;
+                final int classMatchup = handClasses[hand] * HAND_CLASSES_COUNT + handClasses[opponentHand];
+                classEquitySums[classMatchup] += entry / EQUITY_SCALE;
+                classMatchupsCounts[classMatchup]++;
+            }
+        }
+
+        // Every two classes have at least one pair of hands that don't share a card:
+        final char[] classEquities = new char[HAND_CLASSES_COUNT * HAND_CLASSES_COUNT];
+        for (int classMatchup = 0; classMatchup < classEquities.length; classMatchup++)
+            classEquities[classMatchup] = toEntry(classEquitySums[classMatchup] / classMatchupsCounts[classMatchup]);
+
+        return new PreflopEquityTable(CharBuffer.wrap(handEquities), CharBuffer.wrap(classEquities));
+    }
+
+    /**
+     * Loads a table saved by {@link PreflopEquityTable#save(File)}, by mapping its file into
+     * memory.
+     * @param tableFile The table file.
+     * @return The loaded table.
+     * @throws EquityTableException If the file is missing, can't be read, or is not a valid table
+     *                              file (wrong header, wrong size or wrong checksum).
+     */
+    public static PreflopEquityTable load(File tableFile) throws EquityTableException {
+        final ByteBuffer entries;
+        try {
+            entries = TableFiles.mapEntries(
+                    tableFile, MAGIC, FORMAT_VERSION, new int[] {HANDS_COUNT, HAND_CLASSES_COUNT},
+                    (long) ENTRIES_COUNT * Character.BYTES
+            );
+        } catch (InvalidTableFileException invalidTableFileException) {
+            throw new EquityTableException("Invalid equity table " + tableFile, invalidTableFileException);
+        } catch (IOException ioException) {
+            throw new EquityTableException("Failed to load equity table " + tableFile, ioException);
+        }
+
+        final CharBuffer allEquities = entries.asCharBuffer();
+        final CharBuffer handEquities = allEquities.duplicate();
+        handEquities.limit(HANDS_COUNT * HANDS_COUNT);
+        allEquities.position(HANDS_COUNT * HANDS_COUNT);
+        return new PreflopEquityTable(handEquities.slice(), allEquities.slice());
+    }
+
+    /**
+     * Saves the table, so that it can be loaded with {@link PreflopEquityTable#load(File)}.
+     * @param tableFile The file to save the table to (replaced if it exists, through a temporary
+     *                  file - see {@link TableFiles#save(File, byte[], short, int[], ByteBuffer)}).
+     * @throws EquityTableException If writing or moving the file failed.
+     */
+    public void save(File tableFile) throws EquityTableException {
+        final ByteBuffer entries = ByteBuffer.allocate(ENTRIES_COUNT * Character.BYTES);
+        entries.asCharBuffer().put(mHandEquities.duplicate()).put(mClassEquities.duplicate());
+        try {
+            TableFiles.save(tableFile, MAGIC, FORMAT_VERSION, new int[] {HANDS_COUNT, HAND_CLASSES_COUNT}, entries);
+        } catch (IOException ioException) {
+            throw new EquityTableException("Failed to save equity table " + tableFile, ioException);
+        }
+    }
+
+    /**
+     * Finds the matchup with the smallest index ({@code hand * HANDS_COUNT + opponentHand}) out
+     * of every matchup that is the same as the given one up to a renaming of the suits.
+     */
+    static int getCanonicalMatchup(int hand, int opponentHand) {
+        int canonicalMatchup = Integer.MAX_VALUE;
+        for (int[] suitPermutation : sSuitPermutations) {
+            final int matchup = (
+                    getHandIndex(permuteSuit(sHandLowCards[hand], suitPermutation),
+                            permuteSuit(sHandHighCards[hand], suitPermutation)) * HANDS_COUNT +
+                    getHandIndex(permuteSuit(sHandLowCards[opponentHand], suitPermutation),
+                            permuteSuit(sHandHighCards[opponentHand], suitPermutation))
+            );
+            canonicalMatchup = Math.min(canonicalMatchup, matchup);
+        }
+        return canonicalMatchup;
+    }
+
+    private static int permuteSuit(int cardIndex, int[] suitPermutation) {
+        return cardIndex % RANKS_COUNT + suitPermutation[cardIndex / RANKS_COUNT] * RANKS_COUNT;
+    }
+
+    private static int getHandClass(int cardIndex1, int cardIndex2) {
+        final int rank1 = cardIndex1 % RANKS_COUNT;
+        final int rank2 = cardIndex2 % RANKS_COUNT;
+        final int highRank = Math.max(rank1, rank2);
+        final int lowRank = Math.min(rank1, rank2);
+        if (cardIndex1 / RANKS_COUNT == cardIndex2 / RANKS_COUNT)
+            return highRank * RANKS_COUNT + lowRank;
+        return lowRank * RANKS_COUNT + highRank;
+    }
+
+    private static char toEntry(double equity) {
+        return (char) Math.round(equity * EQUITY_SCALE);
+    }
+
+    private static int[][] computeSuitPermutations() {
+        final int[][] permutations = new int[24][];
+        int permutationsCount = 0;
+        for (int s0 = 0; s0 < SUITS_COUNT; s0++)
+        for (int s1 = 0; s1 < SUITS_COUNT; s1++)
+        for (int s2 = 0; s2 < SUITS_COUNT; s2++) {
+            // The suits sum to 0 + 1 + 2 + 3, so the last one is whatever is left:
+            final int s3 = 6 - s0 - s1 - s2;
+            if (s0 != s1 && s0 != s2 && s1 != s2 && s3 != s0 && s3 != s1 && s3 != s2)
+                permutations[permutationsCount++] = new int[] {s0, s1, s2, s3};
+        }
+        return permutations;
+    }
+}
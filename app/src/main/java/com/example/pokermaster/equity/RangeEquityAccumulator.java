@@ -0,0 +1,66 @@
+package com.example.pokermaster.equity;
+
+/**
+ * Mutable tally of range-vs-range matchups, which is turned into a {@link RangeEquityResult} once
+ * the calculation is done.
+ * <p>
+ *     For every hand of every range, the accumulator sums the pot share the hand took against
+ *     every opposing hand on every board, weighted by the opposing hand's weight, and the sum of
+ *     those weights. Like {@link EquityAccumulator}, every worker fills its own accumulator and
+ *     merges it into a shared one, so the hot loop never needs to synchronize.
+ * </p>
+ */
+final class RangeEquityAccumulator {
+    private static final int PLAYERS_COUNT = 2;
+
+    private final double[][] mEquitySums = new double[PLAYERS_COUNT][PreflopEquityTable.HANDS_COUNT];
+    private final double[][] mWeightSums = new double[PLAYERS_COUNT][PreflopEquityTable.HANDS_COUNT];
+    private long mBoardsCount;
+
+    /**
+     * Records a single showdown between a hand of each range.
+     * @param firstHand The hand index of the first range's hand.
+     * @param firstWeight The weight of the first range's hand.
+     * @param secondHand The hand index of the second range's hand.
+     * @param secondWeight The weight of the second range's hand.
+     * @param firstPotShare The share of the pot taken by the first hand (1, 0.5 or 0).
+     */
+    void addMatchup(int firstHand, double firstWeight, int secondHand, double secondWeight, double firstPotShare) {
+        mEquitySums[0][firstHand] += secondWeight * firstPotShare;
+        mWeightSums[0][firstHand] += secondWeight;
+        mEquitySums[1][secondHand] += firstWeight * (1 - firstPotShare);
+        mWeightSums[1][secondHand] += firstWeight;
+    }
+
+    /**
+     * Records that another board was evaluated.
+     */
+    void addBoard() {
+        mBoardsCount++;
+    }
+
+    /**
+     * Adds the matchups recorded by another accumulator to this one, then clears the other one.
+     */
+    void drain(RangeEquityAccumulator other) {
+        for (int player = 0; player < PLAYERS_COUNT; player++) {
+            for (int hand = 0; hand < PreflopEquityTable.HANDS_COUNT; hand++) {
+                mEquitySums[player][hand] += other.mEquitySums[player][hand];
+                mWeightSums[player][hand] += other.mWeightSums[player][hand];
+                other.mEquitySums[player][hand] = 0;
+                other.mWeightSums[player][hand] = 0;
+            }
+        }
+        mBoardsCount += other.mBoardsCount;
+        other.mBoardsCount = 0;
+    }
+
+    RangeEquityResult toResult(HandRange firstRange, HandRange secondRange, boolean isExact) {
+        return new RangeEquityResult(
+                new HandRange[]{firstRange, secondRange},
+                new double[][]{mEquitySums[0].clone(), mEquitySums[1].clone()},
+                new double[][]{mWeightSums[0].clone(), mWeightSums[1].clone()},
+                mBoardsCount, isExact
+        );
+    }
+}
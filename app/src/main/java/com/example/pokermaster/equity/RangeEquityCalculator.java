@@ -0,0 +1,370 @@
+package com.example.pokermaster.equity;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.equity.exceptions.EquityCalculationException;
+import com.example.pokermaster.game_state.GamePhase;
+import com.example.pokermaster.hands.selectors.BestHandSelector;
+import com.example.pokermaster.hands.selectors.exceptions.BestHandSelectorException;
+import com.example.pokermaster.util.CombinationIterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Calculates the equity of one {@link HandRange} against another, and of every hand in each range.
+ * <p>
+ *     Boards are the outer loop: every board (enumerated or sampled) is shared by all the pairs of
+ *     hands. On each board, the best hand of every hand of either range that doesn't hold a board
+ *     card is ranked once, and every pair of hands that don't share a card is then a single
+ *     comparison of two hand ranks. Pairs that share a card are skipped, so every possible pair is
+ *     met on the same number of boards, weighted by the product of both hands' weights.
+ * </p>
+ * <p>
+ *     As in {@link EquityCalculator}, the boards are split between several workers running on the
+ *     given executor, each with its own tally which is merged into the shared one when it's done.
+ * </p>
+ */
+public class RangeEquityCalculator {
+    /**
+     * Number of boards a sampling worker evaluates between two merges into the shared tally.
+     */
+    private static final int BOARDS_PER_BATCH = 100;
+
+    private static final int BOARD_SIZE = BestHandSelector.EXPECTED_COMMUNITY_CARDS_COUNT;
+    private static final String WORKER_FAILURE_MESSAGE = "Failed to evaluate the ranges' hands";
+
+    private final BestHandSelector mBestHandSelector;
+    private final ExecutorService mExecutor;
+    private final int mWorkersCount;
+
+    /**
+     * Creates a calculator.
+     * @param bestHandSelector Finds the best hand of every hand on every board. It is called
+     *                         concurrently from several threads, so it must be thread-safe. Since
+     *                         every board is evaluated against many hands, a
+     *                         {@link com.example.pokermaster.hands.selectors.CachingBestHandSelector
+     *                         CachingBestHandSelector} fits well here.
+     * @param executor The executor the workers run on.
+     * @param workersCount The number of workers a single calculation is split between (at least
+     *                     1), usually the number of threads of the executor.
+     * @throws IllegalArgumentException If the number of workers is not positive.
+     */
+    public RangeEquityCalculator(BestHandSelector bestHandSelector, ExecutorService executor, int workersCount) {
+        if (workersCount < 1)
+            throw new IllegalArgumentException("Expected at least 1 worker, got " + workersCount);
+        mBestHandSelector = bestHandSelector;
+        mExecutor = executor;
+        mWorkersCount = workersCount;
+    }
+
+    /**
+     * Calculates the exact equity of both ranges by evaluating every possible board.
+     * <p>
+     *     Boards are split between the workers by their first missing card, the same way as
+     *     {@link EquityCalculator#calculateExactEquity(List, List, GamePhase)}. On the flop that
+     *     is C(49, 2) = 1,176 boards and on the turn 48, while pre-flop it is almost 2.6 million
+     *     boards times every pair of hands - use
+     *     {@link RangeEquityCalculator#calculateEquity(HandRange, HandRange, List, GamePhase, long, long)}
+     *     there instead.
+     * </p>
+     * @param firstRange The range of the first player.
+     * @param secondRange The range of the second player.
+     * @param communityCards The community cards revealed so far.
+     * @param gamePhase The current phase of the game, which must match the number of community
+     *                  cards.
+     * @return The exact equity of both ranges and of every hand in them.
+     * @throws IllegalArgumentException If the number of community cards doesn't match the game
+     *                                  phase, if a community card appears twice, or if the ranges
+     *                                  have no pair of hands that can meet on the board.
+     * @throws EquityCalculationException If the best hand selector failed.
+     * @throws InterruptedException If the calling thread was interrupted while waiting for the
+     *                              workers, in which case the workers are stopped as well.
+     */
+    public RangeEquityResult calculateExactEquity(
+            HandRange firstRange, HandRange secondRange, List<Card> communityCards, GamePhase gamePhase
+    ) throws EquityCalculationException, InterruptedException {
+        final CardSet knownBoard = getKnownBoard(communityCards, gamePhase);
+        final Matchup matchup = new Matchup(firstRange, secondRange, knownBoard);
+        final Card[] remainingCards = CardSet.FULL_DECK.difference(knownBoard).toList().toArray(new Card[0]);
+        final int missingCardsCount = BOARD_SIZE - knownBoard.size();
+
+        final RangeEquityAccumulator sharedAccumulator = new RangeEquityAccumulator();
+        if (missingCardsCount == 0) {
+            // A single board isn't worth splitting between workers:
+            try {
+                evaluateBoard(matchup, knownBoard.getMask(), new int[PreflopEquityTable.HANDS_COUNT], sharedAccumulator);
+            } catch (BestHandSelectorException selectorException) {
+                throw new EquityCalculationException("Failed to evaluate the ranges' hands", selectorException);
+            }
+            return sharedAccumulator.toResult(matchup.mFirstRange, matchup.mSecondRange, true);
+        }
+
+        final AtomicBoolean isDone = new AtomicBoolean();
+        final int firstCardsCount = remainingCards.length - missingCardsCount + 1;
+        final List<Callable<Void>> workers = new ArrayList<>(mWorkersCount);
+        for (int i = 0; i < Math.min(mWorkersCount, firstCardsCount); i++) {
+            final int workerIndex = i;
+            workers.add(() -> {
+                runEnumerationWorker(
+                        matchup, knownBoard, remainingCards, workerIndex, firstCardsCount, isDone, sharedAccumulator
+                );
+                return null;
+            });
+        }
+        EquityWorkers.runWorkers(mExecutor, workers, isDone, WORKER_FAILURE_MESSAGE);
+
+        synchronized (sharedAccumulator) {
+            return sharedAccumulator.toResult(matchup.mFirstRange, matchup.mSecondRange, true);
+        }
+    }
+
+    /**
+     * Same as
+     * {@link RangeEquityCalculator#calculateEquity(HandRange, HandRange, List, GamePhase, long, long)},
+     * with a random seed.
+     */
+    public RangeEquityResult calculateEquity(
+            HandRange firstRange, HandRange secondRange, List<Card> communityCards, GamePhase gamePhase,
+            long boardsCount
+    ) throws EquityCalculationException, InterruptedException {
+        return calculateEquity(
+                firstRange, secondRange, communityCards, gamePhase, boardsCount, new SplittableRandom().nextLong()
+        );
+    }
+
+    /**
+     * Estimates the equity of both ranges by sampling the missing community cards. Every sampled
+     * board is still evaluated against every pair of hands.
+     * @param firstRange The range of the first player.
+     * @param secondRange The range of the second player.
+     * @param communityCards The community cards revealed so far.
+     * @param gamePhase The current phase of the game, which must match the number of community
+     *                  cards. On the river (or showdown) there is nothing left to sample, and the
+     *                  exact result of the single possible board is returned.
+     * @param boardsCount The number of boards to sample.
+     * @param seed The seed of the root random generator the workers' generators are split from.
+     * @return The estimated equity of both ranges and of every hand in them.
+     * @throws IllegalArgumentException If the number of community cards doesn't match the game
+     *                                  phase, if a community card appears twice, if the ranges
+     *                                  have no pair of hands that can meet on the board, or if
+     *                                  {@code boardsCount} is not positive.
+     * @throws EquityCalculationException If the best hand selector failed.
+     * @throws InterruptedException If the calling thread was interrupted while waiting for the
+     *                              workers, in which case the workers are stopped as well.
+     */
+    public RangeEquityResult calculateEquity(
+            HandRange firstRange, HandRange secondRange, List<Card> communityCards, GamePhase gamePhase,
+            long boardsCount, long seed
+    ) throws EquityCalculationException, InterruptedException {
+        if (boardsCount < 1)
+            throw new IllegalArgumentException("Expected at least 1 board, got " + boardsCount);
+        if (communityCards.size() == BOARD_SIZE)
+            return calculateExactEquity(firstRange, secondRange, communityCards, gamePhase);
+
+        final CardSet knownBoard = getKnownBoard(communityCards, gamePhase);
+        final Matchup matchup = new Matchup(firstRange, secondRange, knownBoard);
+        final Card[] remainingCards = CardSet.FULL_DECK.difference(knownBoard).toList().toArray(new Card[0]);
+
+        final RangeEquityAccumulator sharedAccumulator = new RangeEquityAccumulator();
+        final AtomicLong claimedBoards = new AtomicLong();
+        final AtomicBoolean isDone = new AtomicBoolean();
+        final SplittableRandom rootRandom = new SplittableRandom(seed);
+        final List<Callable<Void>> workers = new ArrayList<>(mWorkersCount);
+        for (int i = 0; i < mWorkersCount; i++) {
+            final SplittableRandom workerRandom = rootRandom.split();
+            workers.add(() -> {
+                runSamplingWorker(
+                        matchup, knownBoard, remainingCards.clone(), workerRandom, boardsCount,
+                        claimedBoards, isDone, sharedAccumulator
+                );
+                return null;
+            });
+        }
+        EquityWorkers.runWorkers(mExecutor, workers, isDone, WORKER_FAILURE_MESSAGE);
+
+        synchronized (sharedAccumulator) {
+            return sharedAccumulator.toResult(matchup.mFirstRange, matchup.mSecondRange, false);
+        }
+    }
+
+    private void runEnumerationWorker(
+            Matchup matchup, CardSet knownBoard, Card[] remainingCards, int workerIndex,
+            int firstCardsCount, AtomicBoolean isDone, RangeEquityAccumulator sharedAccumulator
+    ) throws BestHandSelectorException {
+        final RangeEquityAccumulator localAccumulator = new RangeEquityAccumulator();
+        final int[] handRanks = new int[PreflopEquityTable.HANDS_COUNT];
+        final int restOfBoardSize = BOARD_SIZE - knownBoard.size() - 1;
+
+        for (int firstCard = workerIndex; firstCard < firstCardsCount; firstCard += mWorkersCount) {
+            if (isDone.get() || Thread.currentThread().isInterrupted())
+                return;
+            final long partialBoardMask = knownBoard.add(remainingCards[firstCard]).getMask();
+
+            final int firstCardOffset = firstCard + 1;
+            final CombinationIterator restOfBoard = new CombinationIterator(
+                    remainingCards.length - firstCardOffset, restOfBoardSize
+            );
+            while (restOfBoard.next()) {
+                long boardMask = partialBoardMask;
+                for (int restOfBoardCard : restOfBoard.getCombination())
+                    boardMask |= 1L << remainingCards[firstCardOffset + restOfBoardCard].getIndex();
+                evaluateBoard(matchup, boardMask, handRanks, localAccumulator);
+            }
+        }
+
+        synchronized (sharedAccumulator) {
+            sharedAccumulator.drain(localAccumulator);
+        }
+    }
+
+    private void runSamplingWorker(
+            Matchup matchup, CardSet knownBoard, Card[] remainingCards, SplittableRandom random,
+            long boardsCount, AtomicLong claimedBoards, AtomicBoolean isDone,
+            RangeEquityAccumulator sharedAccumulator
+    ) throws BestHandSelectorException {
+        final RangeEquityAccumulator localAccumulator = new RangeEquityAccumulator();
+        final int[] handRanks = new int[PreflopEquityTable.HANDS_COUNT];
+        final int missingCardsCount = BOARD_SIZE - knownBoard.size();
+
+        while (!isDone.get() && !Thread.currentThread().isInterrupted()) {
+            final long firstBoard = claimedBoards.getAndAdd(BOARDS_PER_BATCH);
+            if (firstBoard >= boardsCount)
+                break;
+            final long batchBoards = Math.min(BOARDS_PER_BATCH, boardsCount - firstBoard);
+
+            for (long board = 0; board < batchBoards; board++) {
+                // Partial Fisher-Yates shuffle - only the missing cards need to be drawn:
+                long boardMask = knownBoard.getMask();
+                for (int i = 0; i < missingCardsCount; i++) {
+                    final int drawn = i + random.nextInt(remainingCards.length - i);
+                    final Card drawnCard = remainingCards[drawn];
+                    remainingCards[drawn] = remainingCards[i];
+                    remainingCards[i] = drawnCard;
+                    boardMask |= 1L << drawnCard.getIndex();
+                }
+                evaluateBoard(matchup, boardMask, handRanks, localAccumulator);
+            }
+
+            synchronized (sharedAccumulator) {
+                sharedAccumulator.drain(localAccumulator);
+            }
+        }
+    }
+
+    /**
+     * Ranks every live hand of both ranges on a complete board, and records every matchup of two
+     * hands that don't share a card.
+     * @param handRanks Scratch space for the hand ranks, indexed by hand index.
+     */
+    private void evaluateBoard(
+            Matchup matchup, long boardMask, int[] handRanks, RangeEquityAccumulator accumulator
+    ) throws BestHandSelectorException {
+        final CardSet board = CardSet.fromMask(boardMask);
+        // Hands of both ranges are ranked once, even if they appear in both:
+        for (int i = 0; i < matchup.mHands.length; i++) {
+            if ((matchup.mHandMasks[i] & boardMask) == 0)
+                handRanks[matchup.mHands[i]] = mBestHandSelector.getBestHandRank(matchup.mHoleCards[i], board);
+        }
+
+        for (int first = 0; first < matchup.mFirstHands.length; first++) {
+            final long firstMask = HandRange.getHandMask(matchup.mFirstHands[first]);
+            if ((firstMask & boardMask) != 0)
+                continue;
+            final int firstHand = matchup.mFirstHands[first];
+            final double firstWeight = matchup.mFirstRange.getWeight(firstHand);
+            final int firstHandRank = handRanks[firstHand];
+
+            for (int second = 0; second < matchup.mSecondHands.length; second++) {
+                final int secondHand = matchup.mSecondHands[second];
+                final long secondMask = HandRange.getHandMask(secondHand);
+                if (((firstMask | boardMask) & secondMask) != 0)
+                    continue;
+                final int secondHandRank = handRanks[secondHand];
+                final double firstPotShare = (
+                        firstHandRank > secondHandRank ? 1 : firstHandRank == secondHandRank ? 0.5 : 0
+                );
+                accumulator.addMatchup(
+                        firstHand, firstWeight, secondHand, matchup.mSecondRange.getWeight(secondHand), firstPotShare
+                );
+            }
+        }
+        accumulator.addBoard();
+    }
+
+    /**
+     * Validates the community cards of the calculation.
+     * @throws IllegalArgumentException If the community cards are invalid.
+     */
+    private static CardSet getKnownBoard(List<Card> communityCards, GamePhase gamePhase) {
+        if (communityCards.size() != gamePhase.getCommunityCardsCount()) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d community cards in %s, got %d instead",
+                    gamePhase.getCommunityCardsCount(), gamePhase, communityCards.size()
+            ));
+        }
+        final CardSet knownBoard = CardSet.of(communityCards);
+        if (knownBoard.size() != communityCards.size())
+            throw new IllegalArgumentException("A community card appears more than once in " + communityCards);
+        return knownBoard;
+    }
+
+    /**
+     * The hands of both ranges that can still be held given the known board, computed once per
+     * calculation and shared (read-only) by all workers.
+     */
+    private static final class Matchup {
+        private final HandRange mFirstRange, mSecondRange;
+        private final int[] mFirstHands, mSecondHands;
+        /* Every hand of either range, with its cards and mask */
+        private final int[] mHands;
+        private final HoleCards[] mHoleCards;
+        private final long[] mHandMasks;
+
+        Matchup(HandRange firstRange, HandRange secondRange, CardSet knownBoard) {
+            mFirstRange = firstRange.withoutCards(knownBoard);
+            mSecondRange = secondRange.withoutCards(knownBoard);
+            mFirstHands = getHands(mFirstRange);
+            mSecondHands = getHands(mSecondRange);
+
+            boolean canMeet = false;
+            for (int firstHand : mFirstHands) {
+                for (int secondHand : mSecondHands)
+                    canMeet |= (HandRange.getHandMask(firstHand) & HandRange.getHandMask(secondHand)) == 0;
+            }
+            if (!canMeet)
+                throw new IllegalArgumentException("The ranges have no pair of hands that can meet on the board");
+
+            int handsCount = 0;
+            final int[] hands = new int[PreflopEquityTable.HANDS_COUNT];
+            for (int hand = 0; hand < PreflopEquityTable.HANDS_COUNT; hand++) {
+                if (mFirstRange.getWeight(hand) > 0 || mSecondRange.getWeight(hand) > 0)
+                    hands[handsCount++] = hand;
+            }
+            mHands = new int[handsCount];
+            mHoleCards = new HoleCards[handsCount];
+            mHandMasks = new long[handsCount];
+            for (int i = 0; i < handsCount; i++) {
+                mHands[i] = hands[i];
+                mHoleCards[i] = HandRange.getHoleCards(hands[i]);
+                mHandMasks[i] = HandRange.getHandMask(hands[i]);
+            }
+        }
+
+        private static int[] getHands(HandRange range) {
+            final int[] hands = new int[range.getHandsCount()];
+            int handsCount = 0;
+            for (int hand = 0; hand < PreflopEquityTable.HANDS_COUNT; hand++) {
+                if (range.getWeight(hand) > 0)
+                    hands[handsCount++] = hand;
+            }
+            return hands;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.pokermaster.equity;
+
+import com.example.pokermaster.cards.HoleCards;
+
+/**
+ * The outcome of a range-vs-range equity calculation.
+ * <p>
+ *     The two ranges are identified by their position in the call to the
+ *     {@link RangeEquityCalculator} - 0 for the first range and 1 for the second. Every hand of a
+ *     range has its own equity (its average share of the pot against the opposing range, weighted
+ *     by the opposing hands' weights), and the equity of a range is the average equity of its
+ *     hands, weighted by their own weights and by how many opposing hands they can meet - hands
+ *     that share cards with an opposing hand never meet it.
+ * </p>
+ * <p>
+ *     The ranges kept in the result are the ones the calculation ran on, after the hands holding
+ *     community cards were removed.
+ * </p>
+ */
+public class RangeEquityResult {
+    private final HandRange[] mRanges;
+    private final double[][] mEquitySums;
+    private final double[][] mWeightSums;
+    private final long mBoardsCount;
+    private final boolean mIsExact;
+
+    RangeEquityResult(
+            HandRange[] ranges, double[][] equitySums, double[][] weightSums, long boardsCount, boolean isExact
+    ) {
+        mRanges = ranges;
+        mEquitySums = equitySums;
+        mWeightSums = weightSums;
+        mBoardsCount = boardsCount;
+        mIsExact = isExact;
+    }
+
+    /**
+     * @return The number of boards the ranges were evaluated on.
+     */
+    public long getBoardsCount() {
+        return mBoardsCount;
+    }
+
+    /**
+     * @return True if every possible board was evaluated, false if the boards were sampled.
+     */
+    public boolean isExact() {
+        return mIsExact;
+    }
+
+    /**
+     * @param player 0 for the first range, 1 for the second.
+     * @return The range of the player, without the hands holding community cards.
+     */
+    public HandRange getRange(int player) {
+        return mRanges[player];
+    }
+
+    /**
+     * @param player 0 for the first range, 1 for the second.
+     * @return The average share of the pot the player's range takes against the other range.
+     */
+    public double getEquity(int player) {
+        final HandRange range = mRanges[player];
+        double equitySum = 0, weightSum = 0;
+        for (int hand = 0; hand < PreflopEquityTable.HANDS_COUNT; hand++) {
+            final double weight = range.getWeight(hand);
+            equitySum += weight * mEquitySums[player][hand];
+            weightSum += weight * mWeightSums[player][hand];
+        }
+        return equitySum / weightSum;
+    }
+
+    /**
+     * @param player 0 for the first range, 1 for the second.
+     * @param hand A hand of the player's range.
+     * @return The average share of the pot the hand takes against the other range, or
+     *         {@link Double#NaN} if the hand isn't in the range (or can never meet any of the
+     *         other range's hands).
+     */
+    public double getHandEquity(int player, HoleCards hand) {
+        return getHandEquity(player, PreflopEquityTable.getHandIndex(hand));
+    }
+
+    /**
+     * Same as {@link RangeEquityResult#getHandEquity(int, HoleCards)}, for a hand index (see
+     * {@link PreflopEquityTable#getHandIndex(HoleCards)}).
+     */
+    public double getHandEquity(int player, int handIndex) {
+        final double weightSum = mWeightSums[player][handIndex];
+        if (mRanges[player].getWeight(handIndex) == 0 || weightSum == 0)
+            return Double.NaN;
+        return mEquitySums[player][handIndex] / weightSum;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.pokermaster.equity.exceptions;
+
+public class EquityCalculationException extends Exception {
+
+    public EquityCalculationException() {
+    }
+
+    public EquityCalculationException(String message) {
+        super(message);
+    }
+
+    public EquityCalculationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public EquityCalculationException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+    public EquityCalculationException(Throwable cause) {
+        super(cause);
+    }
+}
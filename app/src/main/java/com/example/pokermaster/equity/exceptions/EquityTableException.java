@@ -0,0 +1,23 @@
+package com.example.pokermaster.equity.exceptions;
+
+public class EquityTableException extends Exception {
+
+    public EquityTableException() {
+    }
+
+    public EquityTableException(String message) {
+        super(message);
+    }
+
+    public EquityTableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public EquityTableException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+    public EquityTableException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.pokermaster.equity.exceptions;
+
+public class HandRangeFormatException extends Exception {
+
+    public HandRangeFormatException() {
+    }
+
+    public HandRangeFormatException(String message) {
+        super(message);
+    }
+
+    public HandRangeFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public HandRangeFormatException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+    public HandRangeFormatException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -9,26 +9,41 @@ public enum GamePhase {
      * First phase - after seeing their hole cards, each player can fold, call or raise the big
      * blind
      */
-    PRE_FLOP,
+    PRE_FLOP(0),
 
     /*
      * Three community cards are dealt, players can again fold, call/check (depending on previous
      *  bets) or raise.
      */
-    FLOP,
+    FLOP(3),
 
     /*
      * Fourth community card was dealt,.
      */
-    TURN,
+    TURN(4),
 
     /*
      * Final community card is dealt (the river).
      */
-    RIVER,
+    RIVER(5),
 
     /*
      * All players reveal their cards.
      */
-    SHOWDOWN
+    SHOWDOWN(5);
+
+    private final int mCommunityCardsCount;
+
+    GamePhase(int communityCardsCount) {
+        mCommunityCardsCount = communityCardsCount;
+    }
+
+    /**
+     * Returns the number of community cards revealed during this phase.
+     * @return The number of community cards on the table, from 0 (pre-flop) to 5 (river and
+     *         showdown).
+     */
+    public int getCommunityCardsCount() {
+        return mCommunityCardsCount;
+    }
 }
@@ -12,6 +12,7 @@ public class Flush implements PokerHand {
     public static final int EXPECTED_CARDS_COUNT = 5;
     private final Suit mMatchingSuit;
     private final List<Integer> mSortedCardsRanks;
+    private final int mHandRank;
 
     public Flush(List<Integer> cardRanks, Suit matchingSuit) {
         if (cardRanks.size() != EXPECTED_CARDS_COUNT) {
@@ -25,6 +26,10 @@ public class Flush implements PokerHand {
                 .sorted(Collections.reverseOrder())
                 .collect(Collectors.toList());
         mMatchingSuit = matchingSuit;
+        mHandRank = HandRank.ofFlush(
+                mSortedCardsRanks.get(0), mSortedCardsRanks.get(1), mSortedCardsRanks.get(2),
+                mSortedCardsRanks.get(3), mSortedCardsRanks.get(4)
+        );
     }
 
     public Suit getMatchingSuit() {
@@ -37,31 +42,18 @@ public class Flush implements PokerHand {
     }
 
     @Override
-    public int compareTo(PokerHand pokerHand) {
-        if (this == pokerHand)
-            return 0;
-        if (pokerHand instanceof Flush) {
-            final Flush other = (Flush) pokerHand;
-            int comparison;
-            for (int i = 0; i < mSortedCardsRanks.size(); i++) {
-                // Order inverted intentionally! (our higher rank should make the result negative)
-                comparison = Integer.compare(other.mSortedCardsRanks.get(i), mSortedCardsRanks.get(i));
-                if (comparison != 0)
-                    return comparison;
-            }
-            return 0;
-        }
-        return Integer.compare(getHandRanking(), pokerHand.getHandRanking());
+    public int getHandRank() {
+        return mHandRank;
     }
 
     @Override
     public List<Card> getCards() {
         return List.of(
-                new Card(mSortedCardsRanks.get(0), mMatchingSuit),
-                new Card(mSortedCardsRanks.get(1), mMatchingSuit),
-                new Card(mSortedCardsRanks.get(2), mMatchingSuit),
-                new Card(mSortedCardsRanks.get(3), mMatchingSuit),
-                new Card(mSortedCardsRanks.get(4), mMatchingSuit)
+                Card.of(mSortedCardsRanks.get(0), mMatchingSuit),
+                Card.of(mSortedCardsRanks.get(1), mMatchingSuit),
+                Card.of(mSortedCardsRanks.get(2), mMatchingSuit),
+                Card.of(mSortedCardsRanks.get(3), mMatchingSuit),
+                Card.of(mSortedCardsRanks.get(4), mMatchingSuit)
         );
     }
 }
@@ -1,7 +1,5 @@
 package com.example.pokermaster.hands;
 
-import androidx.annotation.NonNull;
-
 import com.example.pokermaster.cards.Card;
 
 import java.util.List;
@@ -11,11 +9,13 @@ public class FourOfAKind implements PokerHand {
     private final int mMatchingCardRank;
     private final int mKickerRank;
     private final List<Card> mRawHand;
+    private final int mHandRank;
 
     public FourOfAKind(int matchingCardRank, int kickerRank, List<Card> rawHand) {
         mMatchingCardRank = matchingCardRank;
         mKickerRank = kickerRank;
         mRawHand = rawHand;
+        mHandRank = HandRank.ofFourOfAKind(matchingCardRank, kickerRank);
     }
 
     public int getMatchingCardRank() {
@@ -32,22 +32,8 @@ public class FourOfAKind implements PokerHand {
     }
 
     @Override
-    public int compareTo(@NonNull PokerHand pokerHand) {
-        if (this == pokerHand)
-            return 0;
-        if (pokerHand instanceof FourOfAKind) {
-            FourOfAKind other = (FourOfAKind) pokerHand;
-            final int matchingCardComparison = Integer.compare(
-                    // Order inverted intentionally! (our higher rank should make the result negative)
-                    other.mMatchingCardRank, mMatchingCardRank
-            );
-            if (matchingCardComparison != 0)
-                return matchingCardComparison;
-
-            return Integer.compare(mKickerRank, other.mKickerRank);
-        }
-
-        return Integer.compare(getHandRanking(), pokerHand.getHandRanking());
+    public int getHandRank() {
+        return mHandRank;
     }
 
     @Override
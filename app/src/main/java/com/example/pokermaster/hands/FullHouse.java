@@ -1,7 +1,5 @@
 package com.example.pokermaster.hands;
 
-import androidx.annotation.NonNull;
-
 import com.example.pokermaster.cards.Card;
 
 import java.util.List;
@@ -11,11 +9,13 @@ public class FullHouse implements PokerHand {
     private final int mTripletRank;
     private final int mPairRank;
     private final List<Card> mRawHand;
+    private final int mHandRank;
 
     public FullHouse(int tripletRank, int pairRank, List<Card> rawHand) {
         mTripletRank = tripletRank;
         mPairRank = pairRank;
         mRawHand = rawHand;
+        mHandRank = HandRank.ofFullHouse(tripletRank, pairRank);
     }
 
     public int getTripletRank() {
@@ -32,23 +32,12 @@ public class FullHouse implements PokerHand {
     }
 
     @Override
-    public List<Card> getCards() {
-        return mRawHand;
+    public int getHandRank() {
+        return mHandRank;
     }
 
     @Override
-    public int compareTo(@NonNull PokerHand pokerHand) {
-        if (this == pokerHand)
-            return 0;
-        if (pokerHand instanceof FullHouse) {
-            final FullHouse other = (FullHouse) pokerHand;
-
-            int comparison;
-            // Order inverted intentionally! (our higher rank should make the result negative)
-            if ((comparison = Integer.compare(other.mTripletRank, mTripletRank)) != 0)
-                return comparison;
-            return Integer.compare(other.mPairRank, mPairRank);
-        }
-        return Integer.compare(getHandRanking(), pokerHand.getHandRanking());
+    public List<Card> getCards() {
+        return mRawHand;
     }
 }
@@ -2,9 +2,7 @@ package com.example.pokermaster.hands;
 
 import com.example.pokermaster.cards.Card;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -14,9 +12,24 @@ import java.util.Objects;
  * <br>
  * Note that higher-ranked hands also satisfy lower-ranked ones. For example, a {@link RoyalFlush}
  * is also a {@link StraightFlush}, and a {@link FullHouse} is also a {@link ThreeOfAKind}.
- * For this reason, when using the predicates, do so from strongest hand ranking to weakest.
+ * For this reason, when using the predicates, do so from strongest hand ranking to weakest, or
+ * use {@link HandProperties#getCategory()} which gives the strongest ranking directly.
+ * <p>
+ *     The properties are computed once into primitives - a rank mask, a 4-bit repetitions counter
+ *     per rank and a histogram of the counters - and every predicate is a read of these.
+ * </p>
  */
 public class HandProperties {
+    private static final int COUNTER_BIT_COUNT = 4;
+    private static final int COUNTER_MASK = (1 << COUNTER_BIT_COUNT) - 1;
+
+    /* Repetitions histograms of 5-card hands with repeating ranks (see mRepetitionsHistogram) */
+    private static final int FOUR_OF_A_KIND_HISTOGRAM = 1 << 4 * COUNTER_BIT_COUNT | 1 << COUNTER_BIT_COUNT;
+    private static final int FULL_HOUSE_HISTOGRAM = 1 << 3 * COUNTER_BIT_COUNT | 1 << 2 * COUNTER_BIT_COUNT;
+    private static final int THREE_OF_A_KIND_HISTOGRAM = 1 << 3 * COUNTER_BIT_COUNT | 2 << COUNTER_BIT_COUNT;
+    private static final int TWO_PAIR_HISTOGRAM = 2 << 2 * COUNTER_BIT_COUNT | 1 << COUNTER_BIT_COUNT;
+    private static final int ONE_PAIR_HISTOGRAM = 1 << 2 * COUNTER_BIT_COUNT | 3 << COUNTER_BIT_COUNT;
+
     /* The highest card */
     private final Card mHighCard;
 
@@ -26,8 +39,17 @@ public class HandProperties {
     /* Whether all 5 cards are in sequential order */
     private final boolean mIsSequential;
 
-    /* A mapping between repeating card ranks and the number they are found in the cards */
-    private final Map<Integer, Integer> mRankToRepetitions;
+    /* The distinct ranks of the cards (see RankMasks) */
+    private final int mRankMask;
+
+    /* The number of cards of every rank, COUNTER_BIT_COUNT bits per rank (lowest rank first) */
+    private final long mRankCounters;
+
+    /* The number of ranks repeating exactly i times, COUNTER_BIT_COUNT bits per i */
+    private final int mRepetitionsHistogram;
+
+    /* The HandRank category of the hand */
+    private final int mCategory;
 
 
     /**
@@ -37,19 +59,28 @@ public class HandProperties {
      * @param isSameSuit Whether all cards in the hand share the same
      *                   {@link com.example.pokermaster.cards.Suit Suit}.
      * @param isSequential Whether the ranks of all cards in the hand are sequential.
-     * @param rankToRepetitions A mapping between the rank of a card and the number of times the
-     *                          rank appears in the hand.
-     *                          For example, if {@link Card#QUEEN_RANK} appears thrice, then the
-     *                          mapping would contain an entry mapping {@link Card#QUEEN_RANK} to 3.
-     */
-    public HandProperties(
-            Card highCard, boolean isSameSuit, boolean isSequential,
-            Map<Integer, Integer> rankToRepetitions
-    ) {
+     * @param rankCounters The number of times every rank appears in the hand, packed as 4 bits per
+     *                     rank from {@link Card#MIN_RANK} up.
+     *                     For example, if {@link Card#QUEEN_RANK} appears thrice, then bits
+     *                     {@code 4 * (QUEEN_RANK - MIN_RANK)} and up hold 3.
+     */
+    public HandProperties(Card highCard, boolean isSameSuit, boolean isSequential, long rankCounters) {
         mHighCard = highCard;
         mIsSameSuit = isSameSuit;
         mIsSequential = isSequential;
-        mRankToRepetitions = rankToRepetitions;
+        mRankCounters = rankCounters;
+
+        int rankMask = 0, repetitionsHistogram = 0;
+        for (int rankIndex = 0; rankIndex < RankMasks.RANKS_COUNT; rankIndex++) {
+            final int repetitions = getCounter(rankCounters, rankIndex);
+            if (repetitions > 0) {
+                rankMask |= 1 << rankIndex;
+                repetitionsHistogram += 1 << (repetitions * COUNTER_BIT_COUNT);
+            }
+        }
+        mRankMask = rankMask;
+        mRepetitionsHistogram = repetitionsHistogram;
+        mCategory = computeCategory();
     }
 
     /**
@@ -60,12 +91,10 @@ public class HandProperties {
      * @apiNote It is the responsibility OF THE CALLER to ensure the list is sorted.
      */
     public static HandProperties computePropertiesFromSortedRawHand(List<Card> rankSortedHand) {
-        final Map<Integer, Integer> rankToRepetitions = new HashMap<>();
         boolean isSameSuit = true;
         boolean isSequential = true;
 
-        final int firstRank = rankSortedHand.get(0).getRank();
-        rankToRepetitions.put(firstRank, 1);
+        long rankCounters = getRankCounter(rankSortedHand.get(0).getRank());
 
         final boolean isLowAceStraightPossible = (
                 rankSortedHand.get(3).getRank() == 5 &&
@@ -80,12 +109,10 @@ public class HandProperties {
             isSameSuit &= currentCard.getSuit() == previousCard.getSuit();
             isSequential &= (
                     currentCard.getRank() == previousCard.getRank() + 1 ||
-                    (previousCard.getRank() == 5 && isLowAceStraightPossible)
-            );
-            rankToRepetitions.put(
-                    currentCard.getRank(),
-                    rankToRepetitions.getOrDefault(currentCard.getRank(), 0) + 1
+                    (previousCard.getRank() == 5 && currentCard.getRank() == Card.ACE_RANK &&
+                            isLowAceStraightPossible)
             );
+            rankCounters += getRankCounter(currentCard.getRank());
         }
 
         // In the case of a low-ace straight, the ace's rank should be considered '1':
@@ -93,7 +120,48 @@ public class HandProperties {
         if (isSequential && isLowAceStraightPossible)
             highCard = rankSortedHand.get(3);
 
-        return new HandProperties(highCard, isSameSuit, isSequential, rankToRepetitions);
+        return new HandProperties(highCard, isSameSuit, isSequential, rankCounters);
+    }
+
+    private static long getRankCounter(int rank) {
+        return 1L << ((rank - Card.MIN_RANK) * COUNTER_BIT_COUNT);
+    }
+
+    private static int getCounter(long counters, int index) {
+        return (int) (counters >>> (index * COUNTER_BIT_COUNT)) & COUNTER_MASK;
+    }
+
+    /**
+     * Decides the category of the hand from the histogram of its rank repetitions, which is
+     * unique for every category of 5 cards with repeating ranks.
+     */
+    private int computeCategory() {
+        switch (mRepetitionsHistogram) {
+            case FOUR_OF_A_KIND_HISTOGRAM:
+                return HandRank.FOUR_OF_A_KIND;
+            case FULL_HOUSE_HISTOGRAM:
+                return HandRank.FULL_HOUSE;
+            case THREE_OF_A_KIND_HISTOGRAM:
+                return HandRank.THREE_OF_A_KIND;
+            case TWO_PAIR_HISTOGRAM:
+                return HandRank.TWO_PAIR;
+            case ONE_PAIR_HISTOGRAM:
+                return HandRank.ONE_PAIR;
+            default:
+                // No repeating ranks:
+                if (mIsSameSuit && mIsSequential)
+                    return mHighCard.getRank() == Card.ACE_RANK ? HandRank.ROYAL_FLUSH : HandRank.STRAIGHT_FLUSH;
+                if (mIsSameSuit)
+                    return HandRank.FLUSH;
+                return mIsSequential ? HandRank.STRAIGHT : HandRank.HIGH_CARD;
+        }
+    }
+
+    /**
+     * @return The number of ranks that appear exactly {@code repetitions} times in the hand.
+     */
+    private int getRanksCount(int repetitions) {
+        return getCounter(mRepetitionsHistogram, repetitions);
     }
 
     @Override
@@ -104,9 +172,9 @@ public class HandProperties {
         final boolean sameHighRank = mHighCard.getRank() == handProperties.mHighCard.getRank();
         final boolean sameSuitEquals = mIsSameSuit == handProperties.mIsSameSuit;
         final boolean sequentialEquals = mIsSequential == handProperties.mIsSequential;
-        final boolean rankToRepetitionsEquals = mRankToRepetitions.equals(handProperties.mRankToRepetitions);
+        final boolean rankCountersEquals = mRankCounters == handProperties.mRankCounters;
 
-        return sameHighRank && sameSuitEquals && sequentialEquals && rankToRepetitionsEquals;
+        return sameHighRank && sameSuitEquals && sequentialEquals && rankCountersEquals;
     }
 
     public Card getHighCard() {
@@ -121,13 +189,32 @@ public class HandProperties {
         return mIsSequential;
     }
 
-    public Map<Integer, Integer> getRankToRepetitions() {
-        return mRankToRepetitions;
+    /**
+     * @return The {@link HandRank} category of the hand (for example {@link HandRank#FULL_HOUSE}),
+     *         the strongest category the hand satisfies.
+     */
+    public int getCategory() {
+        return mCategory;
+    }
+
+    /**
+     * @return A mask of the distinct ranks in the hand (see {@link RankMasks}).
+     */
+    public int getRankMask() {
+        return mRankMask;
+    }
+
+    /**
+     * @param rank A card rank (from {@link Card#MIN_RANK} to {@link Card#MAX_RANK}).
+     * @return The number of times the rank appears in the hand.
+     */
+    public int getRankRepetitions(int rank) {
+        return getCounter(mRankCounters, rank - Card.MIN_RANK);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(mHighCard, mIsSameSuit, mIsSequential, mRankToRepetitions);
+        return Objects.hash(mHighCard, mIsSameSuit, mIsSequential, mRankCounters);
     }
 
     /**
@@ -135,7 +222,7 @@ public class HandProperties {
      * @return {@code true} if the hand is a Royal Flush.
      */
     public boolean isRoyalFlush() {
-        return mIsSameSuit && mIsSequential && mHighCard.getRank() == Card.ACE_RANK;
+        return mCategory == HandRank.ROYAL_FLUSH;
     }
 
     /**
@@ -154,11 +241,7 @@ public class HandProperties {
      * @return {@code true} if the hand is a Four-Of-A-Kind.
      */
     public boolean isFourOfAKind() {
-        for (int repetitions : mRankToRepetitions.values()) {
-            if (repetitions >= 4)
-                return true;
-        }
-        return false;
+        return getRanksCount(4) > 0;
     }
 
     /**
@@ -166,13 +249,7 @@ public class HandProperties {
      * @return {@code true} if the hand is a Full-House.
      */
     public boolean isFullHouse() {
-        boolean isTripletFound = false;
-        boolean isPairFound = false;
-        for (int repetitions : mRankToRepetitions.values()) {
-            isTripletFound |= repetitions == 3;
-            isPairFound |= repetitions == 2;
-        }
-        return isTripletFound && isPairFound;
+        return getRanksCount(3) > 0 && getRanksCount(2) > 0;
     }
 
     /**
@@ -206,11 +283,7 @@ public class HandProperties {
      *          best to worst hand.
      */
     public boolean isThreeOfAKind() {
-        for (int repetitions : mRankToRepetitions.values()) {
-            if (repetitions >= 3)
-                return true;
-        }
-        return false;
+        return getRanksCount(3) > 0 || getRanksCount(4) > 0;
     }
 
     /**
@@ -218,12 +291,7 @@ public class HandProperties {
      * @return {@code true} if the hand is a Two-Pair.
      */
     public boolean isTwoPair() {
-        int pairsFound = 0;
-        for (int repetitions : mRankToRepetitions.values()) {
-            if (repetitions == 2)
-                pairsFound++;
-        }
-        return pairsFound == 2;
+        return getRanksCount(2) == 2;
     }
 
     /**
@@ -236,9 +304,6 @@ public class HandProperties {
      *          hand.
      */
     public boolean isOnePair() {
-        return mRankToRepetitions
-                .values()
-                .stream()
-                .anyMatch(repetitions -> repetitions == 2);
+        return getRanksCount(2) > 0;
     }
 }
\ No newline at end of file
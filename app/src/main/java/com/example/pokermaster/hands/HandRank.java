@@ -0,0 +1,173 @@
+package com.example.pokermaster.hands;
+
+/**
+ * Utility class for packing the strength of a {@link PokerHand} into a single {@code int}.
+ * <p>
+ *     A hand rank holds the category of the hand (High Card, One Pair, ..., Royal Flush) followed
+ *     by up to {@link PokerHand#HAND_SIZE} card ranks which decide between hands of the same
+ *     category, from the most significant to the least significant one. Ranks are packed in
+ *     {@value HandRank#RANK_BIT_COUNT}-bit slots, and unused slots are 0.
+ * </p>
+ * <p>
+ *     Unlike {@link PokerHand#compareTo}, a STRONGER hand has a LARGER hand rank, so two hands can
+ *     be compared with {@link Integer#compare(int, int)}, and sorting an {@code int[]} of hand
+ *     ranks orders the hands from weakest to strongest. Two hands tie if and only if their hand
+ *     ranks are equal.
+ * </p>
+ */
+public final class HandRank {
+    public static final int HIGH_CARD = 0;
+    public static final int ONE_PAIR = 1;
+    public static final int TWO_PAIR = 2;
+    public static final int THREE_OF_A_KIND = 3;
+    public static final int STRAIGHT = 4;
+    public static final int FLUSH = 5;
+    public static final int FULL_HOUSE = 6;
+    public static final int FOUR_OF_A_KIND = 7;
+    public static final int STRAIGHT_FLUSH = 8;
+    public static final int ROYAL_FLUSH = 9;
+
+    /**
+     * Number of low bits a hand rank may occupy - every hand rank is non-negative and smaller than
+     * {@code 1 << BIT_COUNT}.
+     */
+    public static final int BIT_COUNT = 24;
+
+    private static final int RANK_BIT_COUNT = 4;
+    private static final int RANK_MASK = (1 << RANK_BIT_COUNT) - 1;
+    private static final int CATEGORY_SHIFT = RANK_BIT_COUNT * PokerHand.HAND_SIZE;
+
+    private HandRank() {
+    }
+
+    /**
+     * Packs a category and its deciding ranks into a hand rank.
+     * @param category One of the category constants ({@link HandRank#HIGH_CARD}, ...,
+     *                 {@link HandRank#ROYAL_FLUSH}).
+     * @param rank1 The most significant rank.
+     * @param rank2 The second most significant rank (0 if unused).
+     * @param rank3 The third most significant rank (0 if unused).
+     * @param rank4 The fourth most significant rank (0 if unused).
+     * @param rank5 The least significant rank (0 if unused).
+     * @return The packed hand rank.
+     */
+    public static int of(int category, int rank1, int rank2, int rank3, int rank4, int rank5) {
+        return category << CATEGORY_SHIFT |
+                rank1 << (RANK_BIT_COUNT * 4) |
+                rank2 << (RANK_BIT_COUNT * 3) |
+                rank3 << (RANK_BIT_COUNT * 2) |
+                rank4 << RANK_BIT_COUNT |
+                rank5;
+    }
+
+    public static int ofRoyalFlush() {
+        return of(ROYAL_FLUSH, 0, 0, 0, 0, 0);
+    }
+
+    public static int ofStraightFlush(int highestCardRank) {
+        return of(STRAIGHT_FLUSH, highestCardRank, 0, 0, 0, 0);
+    }
+
+    public static int ofFourOfAKind(int quadrupletRank, int kickerRank) {
+        return of(FOUR_OF_A_KIND, quadrupletRank, kickerRank, 0, 0, 0);
+    }
+
+    public static int ofFullHouse(int tripletRank, int pairRank) {
+        return of(FULL_HOUSE, tripletRank, pairRank, 0, 0, 0);
+    }
+
+    /**
+     * Creates the hand rank of a {@link Flush}.
+     * The ranks must be given from highest to lowest.
+     */
+    public static int ofFlush(int rank1, int rank2, int rank3, int rank4, int rank5) {
+        return of(FLUSH, rank1, rank2, rank3, rank4, rank5);
+    }
+
+    /**
+     * Creates the hand rank of a {@link Straight}.
+     * @param highestCardRank The rank of the highest card, which is 5 for a low-ace straight.
+     */
+    public static int ofStraight(int highestCardRank) {
+        return of(STRAIGHT, highestCardRank, 0, 0, 0, 0);
+    }
+
+    /**
+     * Creates the hand rank of a {@link ThreeOfAKind}.
+     * The kickers must be given from highest to lowest.
+     */
+    public static int ofThreeOfAKind(int tripletRank, int highKickerRank, int lowKickerRank) {
+        return of(THREE_OF_A_KIND, tripletRank, highKickerRank, lowKickerRank, 0, 0);
+    }
+
+    /**
+     * Creates the hand rank of a {@link TwoPair}.
+     * The high pair must be given before the low pair.
+     */
+    public static int ofTwoPair(int highPairRank, int lowPairRank, int kickerRank) {
+        return of(TWO_PAIR, highPairRank, lowPairRank, kickerRank, 0, 0);
+    }
+
+    /**
+     * Creates the hand rank of a {@link OnePair}.
+     * The kickers must be given from highest to lowest.
+     */
+    public static int ofOnePair(int pairRank, int kicker1, int kicker2, int kicker3) {
+        return of(ONE_PAIR, pairRank, kicker1, kicker2, kicker3, 0);
+    }
+
+    /**
+     * Creates the hand rank of a {@link HighCard}.
+     * The ranks must be given from highest to lowest.
+     */
+    public static int ofHighCard(int rank1, int rank2, int rank3, int rank4, int rank5) {
+        return of(HIGH_CARD, rank1, rank2, rank3, rank4, rank5);
+    }
+
+    /**
+     * Creates the hand rank of a {@link Flush} or a {@link HighCard} out of a rank mask.
+     * @param category Either {@link HandRank#FLUSH} or {@link HandRank#HIGH_CARD}.
+     * @param rankMask A rank mask (see {@link RankMasks}) with at least
+     *                 {@link PokerHand#HAND_SIZE} ranks, only the highest of which are used.
+     * @return The packed hand rank.
+     */
+    public static int ofHighestRanks(int category, int rankMask) {
+        int handRank = category;
+        for (int slot = 0; slot < PokerHand.HAND_SIZE; slot++) {
+            handRank = (handRank << RANK_BIT_COUNT) | RankMasks.getHighestRank(rankMask);
+            rankMask = RankMasks.removeHighestRank(rankMask);
+        }
+        return handRank;
+    }
+
+    /**
+     * Extracts the category of a hand rank.
+     * @param handRank A packed hand rank.
+     * @return One of the category constants ({@link HandRank#HIGH_CARD}, ...,
+     *         {@link HandRank#ROYAL_FLUSH}).
+     */
+    public static int getCategory(int handRank) {
+        return handRank >>> CATEGORY_SHIFT;
+    }
+
+    /**
+     * Converts the category of a hand rank to the value returned by
+     * {@link PokerHand#getHandRanking()} for hands of that category (0 for the best category).
+     * @param handRank A packed hand rank.
+     * @return The matching {@link PokerHand#getHandRanking()} value.
+     */
+    public static int getHandRanking(int handRank) {
+        return ROYAL_FLUSH - getCategory(handRank);
+    }
+
+    /**
+     * Extracts a single deciding rank of a hand rank.
+     * @param handRank A packed hand rank.
+     * @param slot The index of the rank, 0 being the most significant one and
+     *             {@link PokerHand#HAND_SIZE} - 1 the least significant one.
+     * @return The card rank at the slot, or 0 if the slot is unused.
+     */
+    public static int getRank(int handRank, int slot) {
+        return (handRank >>> (RANK_BIT_COUNT * (PokerHand.HAND_SIZE - 1 - slot))) & RANK_MASK;
+    }
+}
@@ -9,10 +9,16 @@ import java.util.List;
 public class HighCard implements PokerHand {
     private static final int HAND_RANK = 9;
     private final List<Card> mSortedCards;
+    private final int mHandRank;
 
     public HighCard(List<Card> rawHand) {
         mSortedCards = new ArrayList<>(rawHand);
         mSortedCards.sort(Comparator.comparing(card -> -card.getRank()));
+        mHandRank = HandRank.ofHighCard(
+                mSortedCards.get(0).getRank(), mSortedCards.get(1).getRank(),
+                mSortedCards.get(2).getRank(), mSortedCards.get(3).getRank(),
+                mSortedCards.get(4).getRank()
+        );
     }
 
     @Override
@@ -21,24 +27,12 @@ public class HighCard implements PokerHand {
     }
 
     @Override
-    public List<Card> getCards() {
-        return mSortedCards;
+    public int getHandRank() {
+        return mHandRank;
     }
 
     @Override
-    public int compareTo(PokerHand pokerHand) {
-        if (this == pokerHand)
-            return 0;
-        if (pokerHand instanceof HighCard) {
-            final HighCard other = (HighCard) pokerHand;
-            int comparison;
-            for (int i = 0; i < mSortedCards.size(); i++) {
-                comparison = Integer.compare(other.mSortedCards.get(i).getRank(), mSortedCards.get(i).getRank());
-                if (comparison != 0)
-                    return comparison;
-            }
-            return 0;
-        }
-        return Integer.compare(getHandRanking(), pokerHand.getHandRanking());
+    public List<Card> getCards() {
+        return mSortedCards;
     }
 }
@@ -1,7 +1,5 @@
 package com.example.pokermaster.hands;
 
-import androidx.annotation.NonNull;
-
 import com.example.pokermaster.cards.Card;
 
 import java.util.Comparator;
@@ -15,6 +13,7 @@ public class OnePair implements PokerHand {
     private final int mPairRank;
     private final List<Integer> mSortedKickersRanks;
     private final List<Card> mRawHand;
+    private final int mHandRank;
 
     public OnePair(int pairRank, List<Integer> kickersRanks, List<Card> rawHand) {
         if (kickersRanks.size() != EXPECTED_KICKERS_COUNT) {
@@ -29,6 +28,10 @@ public class OnePair implements PokerHand {
                 .sorted(Comparator.reverseOrder())
                 .collect(Collectors.toList());
         mRawHand = rawHand;
+        mHandRank = HandRank.ofOnePair(
+                mPairRank,
+                mSortedKickersRanks.get(0), mSortedKickersRanks.get(1), mSortedKickersRanks.get(2)
+        );
     }
 
     public int getPairRank() {
@@ -45,28 +48,12 @@ public class OnePair implements PokerHand {
     }
 
     @Override
-    public List<Card> getCards() {
-        return mRawHand;
+    public int getHandRank() {
+        return mHandRank;
     }
 
     @Override
-    public int compareTo(@NonNull PokerHand pokerHand) {
-        if (this == pokerHand)
-            return 0;
-        if (pokerHand instanceof OnePair) {
-            final OnePair other = (OnePair) pokerHand;
-
-            int comparison;
-            // Order inverted intentionally! (our higher rank should make the result negative)
-            if ((comparison = Integer.compare(other.mPairRank, mPairRank)) != 0)
-                return comparison;
-            for (int i = 0; i < mSortedKickersRanks.size(); i++) {
-                comparison = Integer.compare(other.mSortedKickersRanks.get(i), mSortedKickersRanks.get(i));
-                if (comparison != 0)
-                    return comparison;
-            }
-            return 0;
-        }
-        return Integer.compare(getHandRanking(), pokerHand.getHandRanking());
+    public List<Card> getCards() {
+        return mRawHand;
     }
 }
@@ -1,5 +1,7 @@
 package com.example.pokermaster.hands;
 
+import androidx.annotation.NonNull;
+
 import com.example.pokermaster.cards.Card;
 
 import java.util.List;
@@ -10,6 +12,11 @@ import java.util.List;
  * Note that when comparing two hands, the better one will be considered SMALLER (and its
  * {@link Comparable<PokerHand>#compareTo} function will return a negative value).
  * </p>
+ * <p>
+ * Every hand also exposes its strength as a single {@code int} (see {@link HandRank}), which is
+ * what the comparison is based on. Callers comparing many hands (showdowns, sorting) should
+ * prefer comparing the hand ranks directly.
+ * </p>
  */
 public interface PokerHand extends Comparable<PokerHand> {
     /**
@@ -32,6 +39,29 @@ public interface PokerHand extends Comparable<PokerHand> {
      */
     List<Card> getCards();
 
+    /**
+     * Returns the strength of the hand packed into a single integer, as described in
+     * {@link HandRank}. A stronger hand has a larger hand rank, and tying hands have equal hand
+     * ranks.
+     * The implementation should compute the value once (ideally in the constructor), since it is
+     * used by every comparison.
+     * @return The hand rank of the current hand.
+     */
+    int getHandRank();
+
+    /**
+     * Compares the current hand to the given one by their {@link PokerHand#getHandRank()} values.
+     * Remember that the better hand is considered SMALLER.
+     * @param other Another hand which will be compared to the current one.
+     * @return A negative value if the current hand is better, a positive value if the other hand
+     *         is better, and 0 if they tie.
+     */
+    @Override
+    default int compareTo(@NonNull PokerHand other) {
+        // Order inverted intentionally! (our higher rank should make the result negative)
+        return Integer.compare(other.getHandRank(), getHandRank());
+    }
+
     /**
      * Checks if this hand is better than the given one.
      * <p>
@@ -16,41 +16,47 @@ import com.example.pokermaster.hands.creators.exceptions.PokerHandCreatorExcepti
 
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Predicate;
 
 /**
  * A factory-like class whose purpose is to create the best {@link PokerHand hand} possible from 5
  * cards given to it.
+ * <p>
+ *     When only the strength of the hand is needed (equity calculations, showdowns), use
+ *     {@link PokerHandFactory#createBestHandRank(int, int, int, int, int)} which works on card
+ *     indices and allocates nothing.
+ * </p>
  */
 public final class PokerHandFactory {
-    private static Map<Predicate<HandProperties>, PokerHandCreator> sCreatorsPredicates = null;
+    /* The creator of every HandRank category, indexed by the category */
+    private static volatile PokerHandCreator[] sCategoriesCreators = null;
+
+    private static final int RANK_COUNTER_BIT_COUNT = 4;
+    private static final int RANK_COUNTER_MASK = (1 << RANK_COUNTER_BIT_COUNT) - 1;
 
     /**
-     * Initializes the mapping between {@link HandProperties} predicates and matching
-     * implementations of {@link PokerHandCreator}.
+     * Initializes the mapping between {@link HandRank} categories and matching implementations of
+     * {@link PokerHandCreator}.
      * <p>
      *     This method should be used for lazy initialization, and while not strictly required it
      *     should be used once.
+     *     The mapping is only published once it is complete, so hands can be created from several
+     *     threads at once (at worst, the mapping is initialized more than once).
      * </p>
      */
     private static void initializeHandCreatorsMapping() {
-        // IMPORTANT - use LinkedHashMap to maintain insertion order (hands must be created from
-        // best to worst)
-        sCreatorsPredicates = new LinkedHashMap<>();
-        sCreatorsPredicates.put(HandProperties::isRoyalFlush, new RoyalFlushCreator());
-        sCreatorsPredicates.put(HandProperties::isStraightFlush, new StraightFlushCreator());
-        sCreatorsPredicates.put(HandProperties::isFourOfAKind, new FourOfAKindCreator());
-        sCreatorsPredicates.put(HandProperties::isFullHouse, new FullHouseCreator());
-        sCreatorsPredicates.put(HandProperties::isFlush, new FlushCreator());
-        sCreatorsPredicates.put(HandProperties::isStraight, new StraightCreator());
-        sCreatorsPredicates.put(HandProperties::isThreeOfAKind, new ThreeOfAKindCreator());
-        sCreatorsPredicates.put(HandProperties::isTwoPair, new TwoPairCreator());
-        sCreatorsPredicates.put(HandProperties::isOnePair, new OnePairCreator());
-        // Default mapping since everything is a high card:
-        sCreatorsPredicates.put(_hp -> true, new HighCardCreator());
+        final PokerHandCreator[] categoriesCreators = new PokerHandCreator[HandRank.ROYAL_FLUSH + 1];
+        categoriesCreators[HandRank.ROYAL_FLUSH] = new RoyalFlushCreator();
+        categoriesCreators[HandRank.STRAIGHT_FLUSH] = new StraightFlushCreator();
+        categoriesCreators[HandRank.FOUR_OF_A_KIND] = new FourOfAKindCreator();
+        categoriesCreators[HandRank.FULL_HOUSE] = new FullHouseCreator();
+        categoriesCreators[HandRank.FLUSH] = new FlushCreator();
+        categoriesCreators[HandRank.STRAIGHT] = new StraightCreator();
+        categoriesCreators[HandRank.THREE_OF_A_KIND] = new ThreeOfAKindCreator();
+        categoriesCreators[HandRank.TWO_PAIR] = new TwoPairCreator();
+        categoriesCreators[HandRank.ONE_PAIR] = new OnePairCreator();
+        categoriesCreators[HandRank.HIGH_CARD] = new HighCardCreator();
+        sCategoriesCreators = categoriesCreators;
     }
 
     /**
@@ -62,41 +68,139 @@ public final class PokerHandFactory {
      * @param card4 Fourth card of the hand (order is meaningless though).
      * @param card5 Fifth card of the hand (order is meaningless though).
      * @return The best Poker Hand that can be made from these five cards.
-     * @throws AssertionError If an internal invariant is violated.
-     *                        This can occur in two cases:
-     *                        <ul>
-     *                          <li>If the default predicate of {@link HighCardCreator} somehow
-     *                              fails to catch the fallback case (which should be impossible
-     *                              without reflection or logic corruption).</li>
-     *                          <li>If a {@link PokerHandCreatorException} is unexpectedly thrown by
-     *                              a mapped creator despite its predicate matching — indicating a
-     *                              developer-side logic error.</li>
-     *                        </ul>
+     * @throws AssertionError If a {@link PokerHandCreatorException} is unexpectedly thrown by the
+     *                        creator of the hand's category - indicating a developer-side logic
+     *                        error.
      */
     public static PokerHand createBestHand(Card card1, Card card2, Card card3, Card card4, Card card5) {
         final List<Card> rawHand = new ArrayList<>(List.of(card1, card2, card3, card4, card5));
         rawHand.sort(Comparator.comparing(Card::getRank));
 
         final HandProperties handProperties = HandProperties.computePropertiesFromSortedRawHand(rawHand);
-        if (sCreatorsPredicates == null)
+        if (sCategoriesCreators == null)
             initializeHandCreatorsMapping();
 
         try {
-            for (Map.Entry<Predicate<HandProperties>, PokerHandCreator> predicateToCreator : sCreatorsPredicates.entrySet()) {
-                final Predicate<HandProperties> handPredicate = predicateToCreator.getKey();
-                final PokerHandCreator creator = predicateToCreator.getValue();
-                if (handPredicate.test(handProperties))
-                    return creator.create(rawHand, handProperties);
-            }
+            return sCategoriesCreators[handProperties.getCategory()].create(rawHand, handProperties);
         } catch (PokerHandCreatorException creationException) {
             throw new AssertionError(
-                    "Hand creation predicate mapped to a creator that threw an exception",
-                    creationException
+                    "Hand category mapped to a creator that threw an exception", creationException
             );
         }
-        throw new AssertionError(
-                "Unreachable code point reached - the default predicate of HighCardCreator wasn't reached somehow"
+    }
+
+    /**
+     * Computes the {@link HandRank} of the best hand that can be made from the given 5 cards,
+     * without creating the hand itself.
+     * <p>
+     *     The result is always equal to calling {@link PokerHand#getHandRank()} on the hand
+     *     returned from {@link PokerHandFactory#createBestHand(Card, Card, Card, Card, Card)}, but
+     *     the computation only uses primitives (a rank mask and per-rank counters packed into a
+     *     single {@code long}), so it allocates nothing.
+     * </p>
+     * @param cardIndex1 Index of the first card, as computed by
+     *                   {@link com.example.pokermaster.cards.indexers.CardIndexer CardIndexer}
+     *                   (order is meaningless though).
+     * @param cardIndex2 Index of the second card (order is meaningless though).
+     * @param cardIndex3 Index of the third card (order is meaningless though).
+     * @param cardIndex4 Index of the fourth card (order is meaningless though).
+     * @param cardIndex5 Index of the fifth card (order is meaningless though).
+     * @return The hand rank of the best hand that can be made from these five cards.
+     * @apiNote It is the responsibility OF THE CALLER to pass 5 distinct, valid card indices -
+     *          they are not validated, since this method is meant for hot loops.
+     */
+    public static int createBestHandRank(
+            int cardIndex1, int cardIndex2, int cardIndex3, int cardIndex4, int cardIndex5
+    ) {
+        // Ranks relative to Card.MIN_RANK, which are also their bits in a rank mask:
+        final int rankIndex1 = cardIndex1 % RankMasks.RANKS_COUNT;
+        final int rankIndex2 = cardIndex2 % RankMasks.RANKS_COUNT;
+        final int rankIndex3 = cardIndex3 % RankMasks.RANKS_COUNT;
+        final int rankIndex4 = cardIndex4 % RankMasks.RANKS_COUNT;
+        final int rankIndex5 = cardIndex5 % RankMasks.RANKS_COUNT;
+
+        final int rankMask = (
+                1 << rankIndex1 | 1 << rankIndex2 | 1 << rankIndex3 | 1 << rankIndex4 | 1 << rankIndex5
+        );
+        final int suit = cardIndex1 / RankMasks.RANKS_COUNT;
+        final boolean isSameSuit = (
+                cardIndex2 / RankMasks.RANKS_COUNT == suit &&
+                cardIndex3 / RankMasks.RANKS_COUNT == suit &&
+                cardIndex4 / RankMasks.RANKS_COUNT == suit &&
+                cardIndex5 / RankMasks.RANKS_COUNT == suit
         );
+
+        // No repeating ranks - the hand is either a straight, a flush, both or neither:
+        if (Integer.bitCount(rankMask) == PokerHand.HAND_SIZE) {
+            final int straightHighRank = RankMasks.getStraightHighRank(rankMask);
+            if (straightHighRank != 0) {
+                if (!isSameSuit)
+                    return HandRank.ofStraight(straightHighRank);
+                return straightHighRank == Card.ACE_RANK ?
+                        HandRank.ofRoyalFlush() :
+                        HandRank.ofStraightFlush(straightHighRank);
+            }
+            return HandRank.ofHighestRanks(isSameSuit ? HandRank.FLUSH : HandRank.HIGH_CARD, rankMask);
+        }
+
+        // A counter for every rank, RANK_COUNTER_BIT_COUNT bits each:
+        final long rankCounters = (
+                (1L << (rankIndex1 * RANK_COUNTER_BIT_COUNT)) +
+                (1L << (rankIndex2 * RANK_COUNTER_BIT_COUNT)) +
+                (1L << (rankIndex3 * RANK_COUNTER_BIT_COUNT)) +
+                (1L << (rankIndex4 * RANK_COUNTER_BIT_COUNT)) +
+                (1L << (rankIndex5 * RANK_COUNTER_BIT_COUNT))
+        );
+        return createMatchingRanksHandRank(rankMask, rankCounters);
     }
 
+    /**
+     * Creates the hand rank of a hand with at least two cards of the same rank.
+     * @param rankMask The mask of the distinct ranks in the hand.
+     * @param rankCounters The number of cards of every rank, {@link #RANK_COUNTER_BIT_COUNT} bits
+     *                     per rank.
+     */
+    private static int createMatchingRanksHandRank(int rankMask, long rankCounters) {
+        int quadrupletRank = 0, tripletRank = 0, highPairRank = 0, lowPairRank = 0;
+        // Kickers are accumulated as packed ranks, highest first:
+        int kickers = 0;
+
+        // Go over the ranks from highest to lowest:
+        for (int remainingRanks = rankMask; remainingRanks != 0;
+             remainingRanks = RankMasks.removeHighestRank(remainingRanks)) {
+            final int rank = RankMasks.getHighestRank(remainingRanks);
+            final int count = (int) (
+                    rankCounters >>> ((rank - Card.MIN_RANK) * RANK_COUNTER_BIT_COUNT)
+            ) & RANK_COUNTER_MASK;
+
+            if (count == 4)
+                quadrupletRank = rank;
+            else if (count == 3)
+                tripletRank = rank;
+            else if (count == 2 && highPairRank == 0)
+                highPairRank = rank;
+            else if (count == 2)
+                lowPairRank = rank;
+            else
+                kickers = (kickers << RANK_COUNTER_BIT_COUNT) | rank;
+        }
+
+        if (quadrupletRank != 0)
+            return HandRank.ofFourOfAKind(quadrupletRank, kickers);
+        if (tripletRank != 0 && highPairRank != 0)
+            return HandRank.ofFullHouse(tripletRank, highPairRank);
+        if (tripletRank != 0) {
+            return HandRank.ofThreeOfAKind(
+                    tripletRank, kickers >>> RANK_COUNTER_BIT_COUNT, kickers & RANK_COUNTER_MASK
+            );
+        }
+        if (lowPairRank != 0)
+            return HandRank.ofTwoPair(highPairRank, lowPairRank, kickers);
+        return HandRank.ofOnePair(
+                highPairRank,
+                kickers >>> (RANK_COUNTER_BIT_COUNT * 2),
+                (kickers >>> RANK_COUNTER_BIT_COUNT) & RANK_COUNTER_MASK,
+                kickers & RANK_COUNTER_MASK
+        );
+    }
 }
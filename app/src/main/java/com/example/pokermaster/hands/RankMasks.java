@@ -0,0 +1,89 @@
+package com.example.pokermaster.hands;
+
+import com.example.pokermaster.cards.Card;
+
+/**
+ * Utility functions for working with rank masks - 13-bit integers in which bit {@code i} is set if
+ * a card of rank {@code Card.MIN_RANK + i} exists (so bit 0 stands for a deuce and bit 12 for an
+ * ace).
+ * <p>
+ *     Rank masks let hand evaluation run on primitives only: the distinct ranks of a hand are a
+ *     single OR away, and finding straights or the top kickers is a handful of bit operations
+ *     instead of sorting lists of cards.
+ * </p>
+ */
+public final class RankMasks {
+    /**
+     * Number of distinct card ranks (and bits in a rank mask).
+     */
+    public static final int RANKS_COUNT = Card.MAX_RANK - Card.MIN_RANK + 1;
+
+    /**
+     * A mask with every rank set.
+     */
+    public static final int ALL_RANKS = (1 << RANKS_COUNT) - 1;
+
+    private static final int STRAIGHT_LENGTH = 5;
+
+    private RankMasks() {
+    }
+
+    /**
+     * @param rank A card rank (from {@link Card#MIN_RANK} to {@link Card#MAX_RANK}).
+     * @return A rank mask containing only the given rank.
+     */
+    public static int of(int rank) {
+        return 1 << (rank - Card.MIN_RANK);
+    }
+
+    /**
+     * @param rankMask A non-empty rank mask.
+     * @return The highest rank found in the mask.
+     */
+    public static int getHighestRank(int rankMask) {
+        return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(rankMask) + Card.MIN_RANK;
+    }
+
+    /**
+     * Removes the highest rank from the mask.
+     * @param rankMask A rank mask.
+     * @return The mask without its highest rank (0 if the mask was empty).
+     */
+    public static int removeHighestRank(int rankMask) {
+        return rankMask & ~Integer.highestOneBit(rankMask);
+    }
+
+    /**
+     * Keeps only the highest ranks of the mask.
+     * @param rankMask A rank mask.
+     * @param count The maximum number of ranks to keep.
+     * @return A mask containing the {@code count} highest ranks of {@code rankMask} (or all of
+     *         them, if the mask has fewer ranks).
+     */
+    public static int keepHighestRanks(int rankMask, int count) {
+        int extraRanksCount = Integer.bitCount(rankMask) - count;
+        while (extraRanksCount-- > 0)
+            rankMask &= rankMask - 1; // Removes the lowest rank
+        return rankMask;
+    }
+
+    /**
+     * Finds the best straight whose ranks all exist in the given mask.
+     * @param rankMask A rank mask.
+     * @return The rank of the highest card of the best straight (5 for a low-ace straight), or 0
+     *         if the mask doesn't contain a straight.
+     */
+    public static int getStraightHighRank(int rankMask) {
+        // Shift the ranks up by one and put the ace in bit 0 as well, so bit i stands for rank
+        // i + 1 and the low-ace straight is just another run of 5 bits:
+        final int extendedMask = (rankMask << 1) | (rankMask >>> (RANKS_COUNT - 1));
+        int runsStarts = extendedMask;
+        for (int i = 1; i < STRAIGHT_LENGTH; i++)
+            runsStarts &= extendedMask >>> i;
+        if (runsStarts == 0)
+            return 0;
+
+        // The lowest bit of the best run is found in runsStarts, its highest bit is 4 above it:
+        return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(runsStarts) + STRAIGHT_LENGTH;
+    }
+}
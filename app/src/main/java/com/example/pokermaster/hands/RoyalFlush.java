@@ -1,7 +1,5 @@
 package com.example.pokermaster.hands;
 
-import androidx.annotation.NonNull;
-
 import com.example.pokermaster.cards.Card;
 import com.example.pokermaster.cards.Suit;
 
@@ -14,6 +12,7 @@ import java.util.List;
  */
 public class RoyalFlush implements PokerHand {
     private static final int HAND_RANK = 0;
+    private static final int ROYAL_FLUSH_HAND_RANK = HandRank.ofRoyalFlush();
     private final Suit mSuit;
 
     public RoyalFlush(Suit suit) {
@@ -26,20 +25,18 @@ public class RoyalFlush implements PokerHand {
     }
 
     @Override
-    public List<Card> getCards() {
-        return List.of(
-                new Card(Card.ACE_RANK, mSuit),
-                new Card(Card.KING_RANK, mSuit),
-                new Card(Card.QUEEN_RANK, mSuit),
-                new Card(Card.JACK_RANK, mSuit),
-                new Card(10, mSuit)
-        );
+    public int getHandRank() {
+        return ROYAL_FLUSH_HAND_RANK;
     }
 
     @Override
-    public int compareTo(@NonNull PokerHand pokerHand) {
-        if (pokerHand instanceof RoyalFlush)
-            return 0;
-        return -1;
+    public List<Card> getCards() {
+        return List.of(
+                Card.of(Card.ACE_RANK, mSuit),
+                Card.of(Card.KING_RANK, mSuit),
+                Card.of(Card.QUEEN_RANK, mSuit),
+                Card.of(Card.JACK_RANK, mSuit),
+                Card.of(10, mSuit)
+        );
     }
 }
@@ -10,6 +10,7 @@ public class Straight implements PokerHand {
     private static final int HAND_RANK = 5;
     private final int mHighestCardRank;
     private final List<Card> mSortedCards;
+    private final int mHandRank;
 
     public Straight(List<Card> rawHand) {
         mSortedCards = new ArrayList<>(rawHand);
@@ -21,6 +22,7 @@ public class Straight implements PokerHand {
         } else {
             mHighestCardRank = mSortedCards.get(0).getRank();
         }
+        mHandRank = HandRank.ofStraight(mHighestCardRank);
     }
 
     public int getHighestCardRank() {
@@ -33,18 +35,12 @@ public class Straight implements PokerHand {
     }
 
     @Override
-    public List<Card> getCards() {
-        return mSortedCards;
+    public int getHandRank() {
+        return mHandRank;
     }
 
     @Override
-    public int compareTo(PokerHand pokerHand) {
-        if (this == pokerHand)
-            return 0;
-        if (pokerHand instanceof Straight) {
-            // Order inverted intentionally! (our higher rank should make the result negative)
-            return Integer.compare(((Straight) pokerHand).mHighestCardRank, mHighestCardRank);
-        }
-        return Integer.compare(getHandRanking(), pokerHand.getHandRanking());
+    public List<Card> getCards() {
+        return mSortedCards;
     }
 }
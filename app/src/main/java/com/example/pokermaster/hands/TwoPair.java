@@ -3,7 +3,6 @@ package com.example.pokermaster.hands;
 import com.example.pokermaster.cards.Card;
 
 import java.util.List;
-import java.util.function.Function;
 
 public class TwoPair implements PokerHand {
     private static final int HAND_RANK = 7;
@@ -11,12 +10,14 @@ public class TwoPair implements PokerHand {
     private final int mLowPairRank;
     private final int mKickerRank;
     private final List<Card> mRawHand;
+    private final int mHandRank;
 
     public TwoPair(int firstPairRank, int secondPairRank, int kickerRank, List<Card> rawHand) {
         mHighPairRank = Math.max(firstPairRank, secondPairRank);
         mLowPairRank = Math.min(firstPairRank, secondPairRank);
         mKickerRank = kickerRank;
         mRawHand = rawHand;
+        mHandRank = HandRank.ofTwoPair(mHighPairRank, mLowPairRank, mKickerRank);
     }
 
     public int getHighPairRank() {
@@ -37,32 +38,12 @@ public class TwoPair implements PokerHand {
     }
 
     @Override
-    public List<Card> getCards() {
-        return mRawHand;
+    public int getHandRank() {
+        return mHandRank;
     }
 
     @Override
-    public int compareTo(PokerHand pokerHand) {
-        if (this == pokerHand)
-            return 0;
-        if (pokerHand instanceof TwoPair) {
-            final TwoPair other = (TwoPair) pokerHand;
-            int comparison;
-            final List<Function<TwoPair, Integer>> gettersToCompare = List.of(
-                    TwoPair::getHighPairRank,
-                    TwoPair::getLowPairRank,
-                    TwoPair::getKickerRank
-            );
-            for (Function<TwoPair, Integer> getterToCompare : gettersToCompare) {
-                // Order inverted intentionally! (our higher rank should make the result negative)
-                comparison = Integer.compare(
-                        getterToCompare.apply(other), getterToCompare.apply(this)
-                );
-                if (comparison != 0)
-                    return comparison;
-            }
-            return 0;
-        }
-        return Integer.compare(getHandRanking(), pokerHand.getHandRanking());
+    public List<Card> getCards() {
+        return mRawHand;
     }
 }
@@ -9,7 +9,6 @@ import com.example.pokermaster.hands.creators.exceptions.MissingRankRepetitionsE
 import com.example.pokermaster.hands.creators.exceptions.PokerHandCreatorException;
 
 import java.util.List;
-import java.util.Map;
 
 
 /**
@@ -24,27 +23,28 @@ public class FourOfAKindCreator implements PokerHandCreator {
      * @param rawHand A list of {@link Card cards} that will make up the hand.
      * @param properties The properties of the given raw hand.
      * @return A {@link FourOfAKind} instance.
-     * @throws InvalidRankRepetitionsException If {@link HandProperties#getRankToRepetitions()
-     *                                         properties.getRankToRepetitions()} contains a
-     *                                         mapping to a repetitions value other than 1 or 4.
+     * @throws InvalidRankRepetitionsException If {@link HandProperties#getRankRepetitions(int)
+     *                                         the repetitions of the ranks} include a
+     *                                         rank repeated a number of times other than 1 or 4.
      *                                         This cannot be since in a Four-Of-A-Kind there is
      *                                         only one quadruplet and one kicker.
-     * @throws MissingRankRepetitionsException If {@link HandProperties#getRankToRepetitions()
-     *                                         properties.getRankToRepetitions()} does not contain
-     *                                         a mapping to a repetitions value of either 1 or 4
-     *                                         (both must have a mapping due to the aforementioned
+     * @throws MissingRankRepetitionsException If {@link HandProperties#getRankRepetitions(int)
+     *                                         the repetitions of the ranks} don't include
+     *                                         a rank repeated exactly 1 times and one repeated 4 times
+     *                                         (both must exist due to the aforementioned
      *                                         explanation).
      */
     @Override
     public PokerHand create(List<Card> rawHand, HandProperties properties) throws PokerHandCreatorException {
         int quadrupletRank = -1;
         int kickerRank = -1;
-        for (Map.Entry<Integer, Integer> rankToRepetitions : properties.getRankToRepetitions().entrySet()) {
-            final int repetitions = rankToRepetitions.getValue();
+        for (int ranks = properties.getRankMask(); ranks != 0; ranks &= ranks - 1) {
+            final int rank = Integer.numberOfTrailingZeros(ranks) + Card.MIN_RANK;
+            final int repetitions = properties.getRankRepetitions(rank);
             if (repetitions == KICKER_REPETITIONS)
-                kickerRank = rankToRepetitions.getKey();
+                kickerRank = rank;
             else if (repetitions == QUADRUPLET_REPETITIONS)
-                quadrupletRank = rankToRepetitions.getKey();
+                quadrupletRank = rank;
             else
                 throw new InvalidRankRepetitionsException(String.format(
                         "Four-Of-A-Kind hand can only have repetitions of 1 or 4 (%d found)",
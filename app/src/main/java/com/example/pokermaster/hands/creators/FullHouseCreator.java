@@ -9,7 +9,6 @@ import com.example.pokermaster.hands.creators.exceptions.MissingRankRepetitionsE
 import com.example.pokermaster.hands.creators.exceptions.PokerHandCreatorException;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * Creator class for the {@link FullHouse} hand.
@@ -20,27 +19,28 @@ public class FullHouseCreator implements PokerHandCreator {
      * @param rawHand A list of {@link Card cards} that will make up the hand.
      * @param properties The properties of the given raw hand.
      * @return A {@link FullHouse} instance.
-     * @throws InvalidRankRepetitionsException If {@link HandProperties#getRankToRepetitions()
-     *                                         properties.getRankToRepetitions()} contains a
-     *                                         mapping to a repetitions value other than 2 or 3.
+     * @throws InvalidRankRepetitionsException If {@link HandProperties#getRankRepetitions(int)
+     *                                         the repetitions of the ranks} include a
+     *                                         rank repeated a number of times other than 2 or 3.
      *                                         This cannot be since in a Full House there is only
      *                                         one triplet and one pair.
-     * @throws MissingRankRepetitionsException If {@link HandProperties#getRankToRepetitions()
-     *                                         properties.getRankToRepetitions()} does not contain
-     *                                         a mapping to a repetitions value of either 2 or 3
-     *                                         (both must have a mapping due to the aforementioned
+     * @throws MissingRankRepetitionsException If {@link HandProperties#getRankRepetitions(int)
+     *                                         the repetitions of the ranks} don't include
+     *                                         a rank repeated exactly 2 times and one repeated 3 times
+     *                                         (both must exist due to the aforementioned
      *                                         explanation).
      */
     @Override
     public PokerHand create(List<Card> rawHand, HandProperties properties) throws PokerHandCreatorException {
         int tripletRank = -1;
         int pairRank = -1;
-        for (Map.Entry<Integer, Integer> rankToRepetitions : properties.getRankToRepetitions().entrySet()) {
-            final int repetitions = rankToRepetitions.getValue();
+        for (int ranks = properties.getRankMask(); ranks != 0; ranks &= ranks - 1) {
+            final int rank = Integer.numberOfTrailingZeros(ranks) + Card.MIN_RANK;
+            final int repetitions = properties.getRankRepetitions(rank);
             if (repetitions == 2)
-                pairRank = rankToRepetitions.getKey();
+                pairRank = rank;
             else if (repetitions == 3)
-                tripletRank = rankToRepetitions.getKey();
+                tripletRank = rank;
             else
                 throw new InvalidRankRepetitionsException(String.format(
                         "Full House can only have repetitions of 2 or 3 (%d found)", repetitions
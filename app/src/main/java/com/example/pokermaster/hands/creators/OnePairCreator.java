@@ -10,7 +10,6 @@ import com.example.pokermaster.hands.creators.exceptions.PokerHandCreatorExcepti
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * A creator class for {@link OnePair}.
@@ -23,9 +22,9 @@ public class OnePairCreator implements PokerHandCreator {
      * @param rawHand A list of {@link Card cards} that will make up the hand.
      * @param properties The properties of the given raw hand.
      * @return A new {@link OnePair} instance.
-     * @throws MissingRankRepetitionsException If {@link HandProperties#getRankToRepetitions()
-     *                                         properties.getRankToRepetitions()} does not have an
-     *                                         entry with exactly 2 repetitions (i.e - the hand does
+     * @throws MissingRankRepetitionsException If {@link HandProperties#getRankRepetitions(int)
+     *                                         the repetitions of the ranks} don't have a
+     *                                         rank with exactly 2 repetitions (i.e - the hand does
      *                                         not hold a pair).
      * @apiNote A hand with multiple hands is accepted here. For example, if a
      *          {@link com.example.pokermaster.hands.TwoPair TwoPair} hand is given, only one of its
@@ -44,9 +43,9 @@ public class OnePairCreator implements PokerHandCreator {
 
         int pairRank = Integer.MIN_VALUE;
         final List<Integer> kickerRanks = new ArrayList<>(rawHand.size() - PAIR_REPETITIONS);
-        for (Map.Entry<Integer, Integer> rankToRepetitions : properties.getRankToRepetitions().entrySet()) {
-            final int rank = rankToRepetitions.getKey();
-            final int repetitions = rankToRepetitions.getValue();
+        for (int ranks = properties.getRankMask(); ranks != 0; ranks &= ranks - 1) {
+            final int rank = Integer.numberOfTrailingZeros(ranks) + Card.MIN_RANK;
+            final int repetitions = properties.getRankRepetitions(rank);
             if (repetitions == PAIR_REPETITIONS && pairRank < Card.MIN_RANK) {
                 pairRank = rank;
                 continue;
@@ -8,7 +8,6 @@ import com.example.pokermaster.hands.creators.exceptions.MissingRankRepetitionsE
 import com.example.pokermaster.hands.creators.exceptions.PokerHandCreatorException;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * A creator class for the {@link ThreeOfAKind} hand.
@@ -22,19 +21,18 @@ public class ThreeOfAKindCreator implements PokerHandCreator {
      * @param rawHand A list of {@link Card cards} that will make up the hand.
      * @param properties The properties of the given raw hand.
      * @return A new {@link ThreeOfAKind} instance.
-     * @throws MissingRankRepetitionsException If {@link HandProperties#getRankToRepetitions()
-     *                                         properties.getRankToRepetitions()} doesn't contain a
-     *                                         mapping with at least 3 repetitions (which means the
+     * @throws MissingRankRepetitionsException If {@link HandProperties#getRankRepetitions(int)
+     *                                         the repetitions of the ranks} don't include a
+     *                                         rank with at least 3 repetitions (which means the
      *                                         rank of the triplet does not exist), or if the
      *                                         remainder of the repetitions isn't 2 (which means
      *                                         there are less than 2 kickers).
      * @apiNote Any hand with AT LEAST 3 repetitions is considered a {@link ThreeOfAKind}, which
      *          includes {@link com.example.pokermaster.hands.FourOfAKind FourOfAKind} and
      *          {@link com.example.pokermaster.hands.FullHouse FullHouse}. For this reason, the
-     *          mappings returned by {@link HandProperties#getRankToRepetitions()
-     *          properties.getRankToRepetitions()} CAN contain a single rank mapped to more than 3
-     *          repetitions. The function is smart enough to put the rest of the repetitions as
-     *          kickers.
+     *          properties CAN hold a single rank with more than 3 repetitions (see
+     *          {@link HandProperties#getRankRepetitions(int)}). The function is smart enough to
+     *          put the rest of the repetitions as kickers.
      */
     @Override
     public PokerHand create(List<Card> rawHand, HandProperties properties) throws PokerHandCreatorException {
@@ -42,8 +40,9 @@ public class ThreeOfAKindCreator implements PokerHandCreator {
         int kickerIndex = 0;
         int tripletRank = -1;
 
-        for (Map.Entry<Integer, Integer> rankToRepetitions : properties.getRankToRepetitions().entrySet()) {
-            int rank = rankToRepetitions.getKey(), repetitions = rankToRepetitions.getValue();
+        for (int ranks = properties.getRankMask(); ranks != 0; ranks &= ranks - 1) {
+            final int rank = Integer.numberOfTrailingZeros(ranks) + Card.MIN_RANK;
+            int repetitions = properties.getRankRepetitions(rank);
             if (repetitions >= TRIPLET_REPETITIONS) {
                 tripletRank = rank;
                 repetitions -= TRIPLET_REPETITIONS;
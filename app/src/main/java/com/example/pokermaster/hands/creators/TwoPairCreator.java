@@ -9,7 +9,6 @@ import com.example.pokermaster.hands.creators.exceptions.MissingRankRepetitionsE
 import com.example.pokermaster.hands.creators.exceptions.PokerHandCreatorException;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * A creator class for the {@link TwoPair} hand.
@@ -24,12 +23,12 @@ public class TwoPairCreator implements PokerHandCreator {
      * @param rawHand A list of {@link Card cards} that will make up the hand.
      * @param properties The properties of the given raw hand.
      * @return A new {@link TwoPair} instance.
-     * @throws InvalidRankRepetitionsException If {@link HandProperties#getRankToRepetitions()
-     *                                         properties.getRankToRepetitions()} contains a
-     *                                         mapping to a repetitions value other than 2 or 1.
+     * @throws InvalidRankRepetitionsException If {@link HandProperties#getRankRepetitions(int)
+     *                                         the repetitions of the ranks} include a
+     *                                         rank repeated a number of times other than 2 or 1.
      *                                         This cannot be since in a Two-Pair there are 2 pairs
-     *                                         (which means two mappings to 2 repetitions) and a
-     *                                         single kicker (which means one mapping to 1
+     *                                         (which means two ranks with 2 repetitions) and a
+     *                                         single kicker (which means one rank with 1
      *                                         repetition).
      * @throws MissingRankRepetitionsException If less than two pairs were found or a kicker wasn't
      *                                         found at all.
@@ -42,8 +41,9 @@ public class TwoPairCreator implements PokerHandCreator {
         int pairsIndex = 0;
         int kickerRank = -1;
 
-        for (Map.Entry<Integer, Integer> rankToRepetitions : properties.getRankToRepetitions().entrySet()) {
-            final int rank = rankToRepetitions.getKey(), repetitions = rankToRepetitions.getValue();
+        for (int ranks = properties.getRankMask(); ranks != 0; ranks &= ranks - 1) {
+            final int rank = Integer.numberOfTrailingZeros(ranks) + Card.MIN_RANK;
+            final int repetitions = properties.getRankRepetitions(rank);
             if (repetitions == PAIRS_REPETITIONS)
                 pairs[pairsIndex++] = rank;
             else if (repetitions == KICKER_REPETITIONS)
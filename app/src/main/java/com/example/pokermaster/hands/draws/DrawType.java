@@ -0,0 +1,32 @@
+package com.example.pokermaster.hands.draws;
+
+/**
+ * The kinds of draws a hand can hold on the flop or the turn. Every draw must use at least one of
+ * the player's hole cards - a draw the board makes on its own is shared by every player.
+ */
+public enum DrawType {
+    /**
+     * Four cards of the same suit, one more makes a flush.
+     */
+    FLUSH_DRAW,
+
+    /**
+     * Two or more ranks complete a straight (this includes double gutshots).
+     */
+    OPEN_ENDED_STRAIGHT_DRAW,
+
+    /**
+     * A single rank completes a straight.
+     */
+    GUTSHOT_STRAIGHT_DRAW,
+
+    /**
+     * Flop only - three cards of the same suit, both the turn and the river are needed for a flush.
+     */
+    BACKDOOR_FLUSH_DRAW,
+
+    /**
+     * Flop only - both the turn and the river are needed for a straight.
+     */
+    BACKDOOR_STRAIGHT_DRAW
+}
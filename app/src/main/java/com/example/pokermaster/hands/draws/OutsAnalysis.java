@@ -0,0 +1,64 @@
+package com.example.pokermaster.hands.draws;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.hands.HandRank;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The outcome of an {@link OutsAnalyzer} - the player's current hand, the draws it holds, and the
+ * cards that improve it.
+ */
+public class OutsAnalysis {
+    private final int mHandRank;
+    private final Set<DrawType> mDraws;
+    private final List<Card> mImprovingOuts;
+    private final List<Card> mWinningOuts;
+
+    OutsAnalysis(int handRank, Set<DrawType> draws, List<Card> improvingOuts, List<Card> winningOuts) {
+        mHandRank = handRank;
+        mDraws = Collections.unmodifiableSet(draws);
+        mImprovingOuts = Collections.unmodifiableList(improvingOuts);
+        mWinningOuts = Collections.unmodifiableList(winningOuts);
+    }
+
+    /**
+     * @return The {@link HandRank} of the player's best hand on the current board.
+     */
+    public int getHandRank() {
+        return mHandRank;
+    }
+
+    /**
+     * @return The draws the player's hand holds.
+     */
+    public Set<DrawType> getDraws() {
+        return mDraws;
+    }
+
+    public boolean hasDraw(DrawType drawType) {
+        return mDraws.contains(drawType);
+    }
+
+    /**
+     * Returns every remaining card that improves the category of the player's hand (for example,
+     * from one pair to three of a kind).
+     * @return The improving cards, ordered by their index.
+     * @apiNote A card that pairs the board improves the category as well, even though it helps
+     *          every other player just as much.
+     */
+    public List<Card> getImprovingOuts() {
+        return mImprovingOuts;
+    }
+
+    /**
+     * Returns every remaining card after which the player's hand beats the opponent's hand.
+     * @return The winning cards, ordered by their index, or an empty list if the analysis was
+     *         made without an opponent.
+     */
+    public List<Card> getWinningOuts() {
+        return mWinningOuts;
+    }
+}
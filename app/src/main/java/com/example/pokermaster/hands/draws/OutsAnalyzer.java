@@ -0,0 +1,186 @@
+package com.example.pokermaster.hands.draws;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.cards.decks.Deck;
+import com.example.pokermaster.cards.indexers.CardIndexer;
+import com.example.pokermaster.game_state.GamePhase;
+import com.example.pokermaster.hands.HandRank;
+import com.example.pokermaster.hands.RankMasks;
+import com.example.pokermaster.hands.selectors.BitmaskBestHandSelector;
+import com.example.pokermaster.hands.selectors.BoardState;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the outs of a hand on the flop or the turn - the cards left in the deck that improve it or
+ * make it win against an opponent - and the draws it holds.
+ * <p>
+ *     The hole cards and the board are packed into a single mask (see
+ *     {@link CardIndexer#getCardMask(Card)}) once per analysis, and their rank masks per suit and
+ *     flush suit are precomputed into a {@link BoardState} (so is the opponent's hand). Every
+ *     remaining card is then a single bit added to those states, evaluated as in
+ *     {@link BitmaskBestHandSelector}, and the straight draws are read from the same pass - no
+ *     {@link com.example.pokermaster.hands.PokerHand PokerHand} is created for any candidate card.
+ * </p>
+ * <p>
+ *     An analyzer holds no mutable state, so it can be shared between threads.
+ * </p>
+ */
+public class OutsAnalyzer {
+    private static final int FLUSH_CARDS_COUNT = 5;
+    private static final int SUITS_COUNT = 4;
+    /* Every out is a single card added to the hand */
+    private static final int OUT_CARDS_COUNT = 1;
+
+    private final CardIndexer mCardIndexer = new CardIndexer();
+
+    /**
+     * Same as {@link OutsAnalyzer#analyze(HoleCards, List, GamePhase, Deck, HoleCards)}, without an
+     * opponent (so there are no winning outs).
+     */
+    public OutsAnalysis analyze(HoleCards holeCards, List<Card> communityCards, GamePhase gamePhase, Deck deck) {
+        return analyze(holeCards, communityCards, gamePhase, deck, null);
+    }
+
+    /**
+     * Analyzes the outs and draws of a hand.
+     * @param holeCards The player's hole cards.
+     * @param communityCards The community cards revealed so far.
+     * @param gamePhase {@link GamePhase#FLOP} or {@link GamePhase#TURN}, matching the number of
+     *                  community cards.
+     * @param deck The cards that may still be dealt. Cards held by the player, the opponent or the
+     *             board are never counted as outs, even if the deck holds them.
+     * @param opponentHoleCards The opponent's hole cards, or null to skip the winning outs.
+     * @return The player's current hand rank, draws and outs.
+     * @throws IllegalArgumentException If the game phase isn't the flop or the turn, if the number
+     *                                  of community cards doesn't match it, or if a card appears
+     *                                  more than once.
+     */
+    public OutsAnalysis analyze(
+            HoleCards holeCards, List<Card> communityCards, GamePhase gamePhase, Deck deck,
+            HoleCards opponentHoleCards
+    ) {
+        if (gamePhase != GamePhase.FLOP && gamePhase != GamePhase.TURN)
+            throw new IllegalArgumentException("Outs can only be analyzed on the flop or the turn, not " + gamePhase);
+        if (communityCards.size() != gamePhase.getCommunityCardsCount()) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d community cards in %s, got %d instead",
+                    gamePhase.getCommunityCardsCount(), gamePhase, communityCards.size()
+            ));
+        }
+
+        long boardMask = 0;
+        for (Card communityCard : communityCards)
+            boardMask |= mCardIndexer.getCardMask(communityCard);
+        final long holeCardsMask = getHoleCardsMask(holeCards);
+        final long opponentMask = opponentHoleCards == null ? 0 : getHoleCardsMask(opponentHoleCards);
+        final long knownMask = boardMask | holeCardsMask | opponentMask;
+        final int knownCardsCount = communityCards.size() + (opponentHoleCards == null ? 2 : 4);
+        if (Long.bitCount(knownMask) != knownCardsCount)
+            throw new IllegalArgumentException("A card appears more than once in the hand, the opponent's or the board");
+
+        final long handMask = boardMask | holeCardsMask;
+        final int handRank = BitmaskBestHandSelector.getHandRank(handMask);
+        final BoardState handState = new BoardState(handMask, OUT_CARDS_COUNT);
+        final BoardState opponentState = (
+                opponentHoleCards == null ? null : new BoardState(boardMask | opponentMask, OUT_CARDS_COUNT)
+        );
+        final int category = HandRank.getCategory(handRank);
+
+        final int boardRanks = getRanks(boardMask);
+        final int handRanks = getRanks(handMask);
+        final boolean isStraightMade = category >= HandRank.STRAIGHT;
+        int straightOutRanks = 0;
+
+        final List<Card> improvingOuts = new ArrayList<>();
+        final List<Card> winningOuts = new ArrayList<>();
+        for (int cardIndex = 0; cardIndex < Card.CARDS_COUNT; cardIndex++) {
+            final long cardMask = 1L << cardIndex;
+            final Card card = Card.of(cardIndex);
+            if ((knownMask & cardMask) != 0 || !deck.isInDeck(card))
+                continue;
+
+            final int newHandRank = handState.getHandRank(cardMask);
+            if (HandRank.getCategory(newHandRank) > category)
+                improvingOuts.add(card);
+            if (opponentState != null && newHandRank > opponentState.getHandRank(cardMask))
+                winningOuts.add(card);
+
+            final int rankMask = 1 << (cardIndex % RankMasks.RANKS_COUNT);
+            if (!isStraightMade && (straightOutRanks & rankMask) == 0 &&
+                    isStraightWithHoleCards(handRanks | rankMask, boardRanks | rankMask))
+                straightOutRanks |= rankMask;
+        }
+
+        final Set<DrawType> draws = EnumSet.noneOf(DrawType.class);
+        if (Integer.bitCount(straightOutRanks) >= 2)
+            draws.add(DrawType.OPEN_ENDED_STRAIGHT_DRAW);
+        else if (straightOutRanks != 0)
+            draws.add(DrawType.GUTSHOT_STRAIGHT_DRAW);
+
+        final boolean isFlop = gamePhase == GamePhase.FLOP;
+        if (category < HandRank.FLUSH)
+            addFlushDraws(handMask, holeCardsMask, isFlop, draws);
+        if (isFlop && !isStraightMade && straightOutRanks == 0 && hasBackdoorStraightDraw(handRanks, boardRanks))
+            draws.add(DrawType.BACKDOOR_STRAIGHT_DRAW);
+
+        return new OutsAnalysis(handRank, draws, improvingOuts, winningOuts);
+    }
+
+    private long getHoleCardsMask(HoleCards holeCards) {
+        return mCardIndexer.getCardMask(holeCards.getFirstCard()) | mCardIndexer.getCardMask(holeCards.getSecondCard());
+    }
+
+    private static void addFlushDraws(long handMask, long holeCardsMask, boolean isFlop, Set<DrawType> draws) {
+        for (int suit = 0; suit < SUITS_COUNT; suit++) {
+            final int suitCardsCount = Integer.bitCount(getSuitRanks(handMask, suit));
+            if (getSuitRanks(holeCardsMask, suit) == 0)
+                continue;
+            if (suitCardsCount == FLUSH_CARDS_COUNT - 1)
+                draws.add(DrawType.FLUSH_DRAW);
+            else if (isFlop && suitCardsCount == FLUSH_CARDS_COUNT - 2)
+                draws.add(DrawType.BACKDOOR_FLUSH_DRAW);
+        }
+    }
+
+    /**
+     * Checks if two more ranks (the turn and the river) make a straight that uses a hole card.
+     */
+    private static boolean hasBackdoorStraightDraw(int handRanks, int boardRanks) {
+        for (int firstRank = 0; firstRank < RankMasks.RANKS_COUNT; firstRank++) {
+            for (int secondRank = firstRank + 1; secondRank < RankMasks.RANKS_COUNT; secondRank++) {
+                final int addedRanks = 1 << firstRank | 1 << secondRank;
+                if (isStraightWithHoleCards(handRanks | addedRanks, boardRanks | addedRanks))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the ranks make a straight that is better than the one the board ranks alone make
+     * (so it uses a hole card).
+     */
+    private static boolean isStraightWithHoleCards(int handRanks, int boardRanks) {
+        final int straightHighRank = RankMasks.getStraightHighRank(handRanks);
+        return straightHighRank != 0 && straightHighRank > RankMasks.getStraightHighRank(boardRanks);
+    }
+
+    /**
+     * @return The ranks of every card in the mask, whatever their suit.
+     */
+    private static int getRanks(long cardsMask) {
+        int ranks = 0;
+        for (int suit = 0; suit < SUITS_COUNT; suit++)
+            ranks |= getSuitRanks(cardsMask, suit);
+        return ranks;
+    }
+
+    private static int getSuitRanks(long cardsMask, int suitOrdinal) {
+        return (int) (cardsMask >>> (suitOrdinal * RankMasks.RANKS_COUNT)) & RankMasks.ALL_RANKS;
+    }
+}
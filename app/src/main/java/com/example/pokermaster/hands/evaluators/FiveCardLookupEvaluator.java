@@ -0,0 +1,177 @@
+package com.example.pokermaster.hands.evaluators;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.cards.indexers.CardCombinationIndexer;
+import com.example.pokermaster.hands.HandRank;
+import com.example.pokermaster.hands.PokerHandFactory;
+import com.example.pokermaster.hands.evaluators.exceptions.LookupTableException;
+import com.example.pokermaster.util.TableFiles;
+import com.example.pokermaster.util.exceptions.InvalidTableFileException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Evaluates 5-card hands with a single read from a table holding the {@link HandRank} of every
+ * one of the C(52, 5) hands.
+ * <p>
+ *     The table is indexed by the colexicographic index of the hand's cards, computed by
+ *     {@link CardCombinationIndexer#getCombinationIndex(long)}, which is a perfect hash - every
+ *     hand has its own entry and no entry is wasted - and allocates nothing.
+ * </p>
+ * <p>
+ *     The table is built on first use (with
+ *     {@link PokerHandFactory#createBestHandRank(int, int, int, int, int)}) and saved to the
+ *     table file (see {@link TableFiles}), so later runs only need to memory-map it. The file
+ *     starts with the following big-endian header, followed by one 4-byte hand rank per hand:
+ *     <ul>
+ *         <li>4 magic bytes ({@code "PMFC"}).</li>
+ *         <li>The format version (2 bytes).</li>
+ *         <li>The number of entries (4 bytes).</li>
+ *         <li>The CRC-32 of the entries (8 bytes).</li>
+ *     </ul>
+ *     A table file that is missing, truncated or corrupt is simply rebuilt.
+ * </p>
+ */
+public class FiveCardLookupEvaluator {
+    private static final int DECK_SIZE = (Card.MAX_RANK - Card.MIN_RANK + 1) * Suit.values().length;
+
+    /**
+     * Number of entries in the table - C(52, 5).
+     */
+    public static final int ENTRIES_COUNT = 2_598_960;
+
+    private static final short FORMAT_VERSION = 1;
+    private static final byte[] MAGIC = {'P', 'M', 'F', 'C'};
+
+    private static final CardCombinationIndexer sCombinationIndexer = new CardCombinationIndexer();
+
+    private final File mTableFile;
+    private volatile IntBuffer mTable;
+
+    /**
+     * Creates an evaluator whose table is saved in the given file.
+     * Nothing is read or built until the table is first needed.
+     * @param tableFile The file the table is loaded from (or saved to, if it doesn't exist yet).
+     */
+    public FiveCardLookupEvaluator(File tableFile) {
+        mTableFile = tableFile;
+    }
+
+    /**
+     * Computes the index of a hand in the table.
+     * @param cardsMask A set of exactly 5 cards, where every card is represented by the bit
+     *                  {@link com.example.pokermaster.cards.indexers.CardIndexer#getCardIndex(Card)}.
+     * @return The index of the hand, from 0 to {@link FiveCardLookupEvaluator#ENTRIES_COUNT}
+     *         exclusively.
+     */
+    public static int getTableIndex(long cardsMask) {
+        return (int) sCombinationIndexer.getCombinationIndex(cardsMask);
+    }
+
+    /**
+     * Returns the {@link HandRank} of the best hand that can be made from the given 5 cards.
+     * @param cardIndex1 Index of the first card, as computed by
+     *                   {@link com.example.pokermaster.cards.indexers.CardIndexer CardIndexer}
+     *                   (order is meaningless though).
+     * @param cardIndex2 Index of the second card (order is meaningless though).
+     * @param cardIndex3 Index of the third card (order is meaningless though).
+     * @param cardIndex4 Index of the fourth card (order is meaningless though).
+     * @param cardIndex5 Index of the fifth card (order is meaningless though).
+     * @return The hand rank of the best hand, identical to the one computed by
+     *         {@link PokerHandFactory#createBestHandRank(int, int, int, int, int)}.
+     * @throws LookupTableException If the table wasn't loaded yet, and loading it failed.
+     * @apiNote It is the responsibility OF THE CALLER to pass 5 distinct, valid card indices.
+     */
+    public int getHandRank(int cardIndex1, int cardIndex2, int cardIndex3, int cardIndex4, int cardIndex5)
+            throws LookupTableException {
+        return getHandRank(
+                1L << cardIndex1 | 1L << cardIndex2 | 1L << cardIndex3 | 1L << cardIndex4 | 1L << cardIndex5
+        );
+    }
+
+    /**
+     * Returns the {@link HandRank} of the best hand that can be made from the given 5 cards.
+     * @param cardsMask A set of exactly 5 cards, where every card is represented by the bit
+     *                  {@link com.example.pokermaster.cards.indexers.CardIndexer#getCardIndex(Card)}.
+     * @return The hand rank of the best hand.
+     * @throws LookupTableException If the table wasn't loaded yet, and loading it failed.
+     */
+    public int getHandRank(long cardsMask) throws LookupTableException {
+        return getTable().get(getTableIndex(cardsMask));
+    }
+
+    /**
+     * Loads the table, building and saving it first if the table file is missing or invalid.
+     * <p>
+     *     The table is loaded lazily on the first lookup, but calling this method at startup
+     *     keeps the (one-time) cost of building the table out of the first lookup.
+     * </p>
+     * @throws LookupTableException If the table file can't be read, written or mapped.
+     */
+    public synchronized void load() throws LookupTableException {
+        if (mTable != null)
+            return;
+        try {
+            IntBuffer table = mapValidTable();
+            if (table == null) {
+                saveTable(buildTable());
+                table = mapValidTable();
+                if (table == null)
+                    throw new LookupTableException("Saved lookup table failed validation: " + mTableFile);
+            }
+            mTable = table;
+        } catch (IOException ioException) {
+            throw new LookupTableException("Failed to load lookup table " + mTableFile, ioException);
+        }
+    }
+
+    private IntBuffer getTable() throws LookupTableException {
+        final IntBuffer table = mTable;
+        if (table != null)
+            return table;
+        load();
+        return mTable;
+    }
+
+    /**
+     * Computes the hand rank of every hand, ordered by the hand's table index.
+     */
+    static int[] buildTable() {
+        final int[] table = new int[ENTRIES_COUNT];
+        for (int c5 = 4; c5 < DECK_SIZE; c5++)
+        for (int c4 = 3; c4 < c5; c4++)
+        for (int c3 = 2; c3 < c4; c3++)
+        for (int c2 = 1; c2 < c3; c2++)
+        for (int c1 = 0; c1 < c2; c1++) {
+            final long cardsMask = 1L << c1 | 1L << c2 | 1L << c3 | 1L << c4 | 1L << c5;
+            table[getTableIndex(cardsMask)] = PokerHandFactory.createBestHandRank(c1, c2, c3, c4, c5);
+        }
+        return table;
+    }
+
+    /**
+     * Maps the table file into memory if it exists and is valid.
+     * @return The entries of the table, or null if the file is missing or invalid.
+     */
+    private IntBuffer mapValidTable() throws IOException {
+        if (!mTableFile.isFile())
+            return null;
+        try {
+            return TableFiles.mapEntries(
+                    mTableFile, MAGIC, FORMAT_VERSION, new int[] {ENTRIES_COUNT}, (long) ENTRIES_COUNT * Integer.BYTES
+            ).asIntBuffer();
+        } catch (InvalidTableFileException invalidTableFileException) {
+            return null;
+        }
+    }
+
+    private void saveTable(int[] table) throws IOException {
+        final ByteBuffer entries = ByteBuffer.allocate(table.length * Integer.BYTES);
+        entries.asIntBuffer().put(table);
+        TableFiles.save(mTableFile, MAGIC, FORMAT_VERSION, new int[] {table.length}, entries);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.pokermaster.hands.evaluators.exceptions;
+
+public class LookupTableException extends Exception {
+
+    public LookupTableException() {
+    }
+
+    public LookupTableException(String message) {
+        super(message);
+    }
+
+    public LookupTableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public LookupTableException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+    public LookupTableException(Throwable cause) {
+        super(cause);
+    }
+}
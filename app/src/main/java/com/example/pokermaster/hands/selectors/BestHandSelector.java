@@ -1,7 +1,9 @@
 package com.example.pokermaster.hands.selectors;
 
 import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
 import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.hands.HandRank;
 import com.example.pokermaster.hands.PokerHand;
 import com.example.pokermaster.hands.selectors.exceptions.BestHandSelectorException;
 
@@ -38,4 +40,53 @@ public interface BestHandSelector {
      *                                   them.
      */
     PokerHand getBestHand(HoleCards holeCards, List<Card> communityCards) throws BestHandSelectorException;
+
+    /**
+     * Same as {@link BestHandSelector#getBestHand(HoleCards, List)}, but only returns the
+     * {@link HandRank} of the best hand.
+     * <p>
+     *     The default implementation simply creates the best hand, implementations that can
+     *     compute the hand rank without creating hands should override it.
+     * </p>
+     * @param holeCards The two private cards that belong to a player.
+     * @param communityCards The 5 public cards which will be combined
+     * @return The hand rank of the best poker hand that can be made from the given cards.
+     * @throws IllegalArgumentException If the number of community cards given isn't
+     *                                  {@link BestHandSelector#EXPECTED_COMMUNITY_CARDS_COUNT}.
+     * @throws BestHandSelectorException If the implementing class fails to get the best hand for
+     *                                   any reason.
+     */
+    default int getBestHandRank(HoleCards holeCards, List<Card> communityCards) throws BestHandSelectorException {
+        return getBestHand(holeCards, communityCards).getHandRank();
+    }
+
+    /**
+     * Same as {@link BestHandSelector#getBestHand(HoleCards, List)}, with the community cards
+     * given as a {@link CardSet}.
+     * @param holeCards The two private cards that belong to a player.
+     * @param communityCards The 5 public cards which will be combined
+     * @return The best poker hand that can be made from the given cards.
+     * @throws IllegalArgumentException If the number of community cards given isn't
+     *                                  {@link BestHandSelector#EXPECTED_COMMUNITY_CARDS_COUNT}.
+     * @throws BestHandSelectorException If the implementing class fails to get the best hand for
+     *                                   any reason.
+     */
+    default PokerHand getBestHand(HoleCards holeCards, CardSet communityCards) throws BestHandSelectorException {
+        return getBestHand(holeCards, communityCards.toList());
+    }
+
+    /**
+     * Same as {@link BestHandSelector#getBestHandRank(HoleCards, List)}, with the community
+     * cards given as a {@link CardSet}.
+     * @param holeCards The two private cards that belong to a player.
+     * @param communityCards The 5 public cards which will be combined
+     * @return The hand rank of the best poker hand that can be made from the given cards.
+     * @throws IllegalArgumentException If the number of community cards given isn't
+     *                                  {@link BestHandSelector#EXPECTED_COMMUNITY_CARDS_COUNT}.
+     * @throws BestHandSelectorException If the implementing class fails to get the best hand for
+     *                                   any reason.
+     */
+    default int getBestHandRank(HoleCards holeCards, CardSet communityCards) throws BestHandSelectorException {
+        return getBestHandRank(holeCards, communityCards.toList());
+    }
 }
@@ -0,0 +1,319 @@
+package com.example.pokermaster.hands.selectors;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.cards.indexers.CardIndexer;
+import com.example.pokermaster.hands.HandRank;
+import com.example.pokermaster.hands.PokerHand;
+import com.example.pokermaster.hands.PokerHandFactory;
+import com.example.pokermaster.hands.RankMasks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of {@link BestHandSelector} that finds the best hand directly, without going over
+ * the 21 combinations of 5 cards out of the 7 given to it.
+ * <p>
+ *     The cards are packed into a single {@code long} (see {@link CardIndexer#getCardMask(Card)}),
+ *     which is split into one 13-bit rank mask per suit. Flushes are found by counting the bits
+ *     of every suit, straights by looking for 5 consecutive bits in the union of the suits, and
+ *     pairs, trips and quads by intersecting the suits - a rank found in 2 suits is (at least) a
+ *     pair, and so on.
+ * </p>
+ */
+public class BitmaskBestHandSelector implements BestHandSelector {
+    private static final int SUITS_COUNT = Suit.values().length;
+    private static final int FLUSH_CARDS_COUNT = 5;
+
+    private final CardIndexer mCardIndexer = new CardIndexer();
+
+    /**
+     * Computes the {@link HandRank} of the best hand that can be made from a set of cards.
+     * <p>
+     *     The method only works on primitives and allocates nothing.
+     * </p>
+     * @param cardsMask A set of 5 to 7 cards, where every card is represented by the bit
+     *                  {@link CardIndexer#getCardIndex(Card)}.
+     * @return The hand rank of the best 5-card hand that can be made from the given cards.
+     * @apiNote It is the responsibility OF THE CALLER to pass at least {@link PokerHand#HAND_SIZE}
+     *          cards. With more than 7 cards, the result may not be the best hand, since a flush
+     *          is assumed to beat every hand that isn't a straight flush.
+     */
+    public static int getHandRank(long cardsMask) {
+        final int suit0 = getSuitRanks(cardsMask, 0);
+        final int suit1 = getSuitRanks(cardsMask, 1);
+        final int suit2 = getSuitRanks(cardsMask, 2);
+        final int suit3 = getSuitRanks(cardsMask, 3);
+
+        // With up to 7 cards, a flush leaves too few cards for quads or a full house:
+        final int flushRanks = getFlushRanks(suit0, suit1, suit2, suit3);
+        if (flushRanks != 0)
+            return getFlushHandRank(flushRanks);
+        return getNonFlushHandRank(suit0, suit1, suit2, suit3);
+    }
+
+    /**
+     * Computes the hand rank of up to 7 cards that make a flush.
+     * @param flushRanks The ranks of the flush suit, at least {@link #FLUSH_CARDS_COUNT} of them.
+     */
+    static int getFlushHandRank(int flushRanks) {
+        final int straightFlushHighRank = RankMasks.getStraightHighRank(flushRanks);
+        if (straightFlushHighRank == Card.ACE_RANK)
+            return HandRank.ofRoyalFlush();
+        if (straightFlushHighRank != 0)
+            return HandRank.ofStraightFlush(straightFlushHighRank);
+        return HandRank.ofHighestRanks(HandRank.FLUSH, flushRanks);
+    }
+
+    /**
+     * Computes the hand rank of up to 7 cards that don't make a flush.
+     * @param suit0 The rank mask of the cards of the first suit, and so on.
+     */
+    static int getNonFlushHandRank(int suit0, int suit1, int suit2, int suit3) {
+        final int allRanks = suit0 | suit1 | suit2 | suit3;
+        final int quadrupletRanks = suit0 & suit1 & suit2 & suit3;
+        final int atLeastTripletRanks = (
+                (suit0 & suit1 & suit2) | (suit0 & suit1 & suit3) |
+                (suit0 & suit2 & suit3) | (suit1 & suit2 & suit3)
+        );
+        final int atLeastPairRanks = (
+                (suit0 & suit1) | (suit0 & suit2) | (suit0 & suit3) |
+                (suit1 & suit2) | (suit1 & suit3) | (suit2 & suit3)
+        );
+        final int tripletRanks = atLeastTripletRanks & ~quadrupletRanks;
+        final int pairRanks = atLeastPairRanks & ~atLeastTripletRanks;
+
+        if (quadrupletRanks != 0) {
+            final int quadrupletRank = RankMasks.getHighestRank(quadrupletRanks);
+            final int kickerRank = RankMasks.getHighestRank(allRanks & ~quadrupletRanks);
+            return HandRank.ofFourOfAKind(quadrupletRank, kickerRank);
+        }
+
+        if (tripletRanks != 0) {
+            // A second triplet can fill the pair of a full house:
+            final int fullHousePairRanks = pairRanks | RankMasks.removeHighestRank(tripletRanks);
+            if (fullHousePairRanks != 0) {
+                return HandRank.ofFullHouse(
+                        RankMasks.getHighestRank(tripletRanks),
+                        RankMasks.getHighestRank(fullHousePairRanks)
+                );
+            }
+        }
+
+        final int straightHighRank = RankMasks.getStraightHighRank(allRanks);
+        if (straightHighRank != 0)
+            return HandRank.ofStraight(straightHighRank);
+
+        if (tripletRanks != 0) {
+            final int kickers = RankMasks.keepHighestRanks(allRanks & ~tripletRanks, 2);
+            return HandRank.ofThreeOfAKind(
+                    RankMasks.getHighestRank(tripletRanks),
+                    RankMasks.getHighestRank(kickers),
+                    RankMasks.getHighestRank(RankMasks.removeHighestRank(kickers))
+            );
+        }
+
+        if (Integer.bitCount(pairRanks) >= 2) {
+            // A third pair can only serve as the kicker:
+            final int usedPairs = RankMasks.keepHighestRanks(pairRanks, 2);
+            return HandRank.ofTwoPair(
+                    RankMasks.getHighestRank(usedPairs),
+                    RankMasks.getHighestRank(RankMasks.removeHighestRank(usedPairs)),
+                    RankMasks.getHighestRank(allRanks & ~usedPairs)
+            );
+        }
+
+        if (pairRanks != 0) {
+            int kickers = RankMasks.keepHighestRanks(allRanks & ~pairRanks, 3);
+            final int highKickerRank = RankMasks.getHighestRank(kickers);
+            kickers = RankMasks.removeHighestRank(kickers);
+            final int middleKickerRank = RankMasks.getHighestRank(kickers);
+            kickers = RankMasks.removeHighestRank(kickers);
+            return HandRank.ofOnePair(
+                    RankMasks.getHighestRank(pairRanks), highKickerRank, middleKickerRank,
+                    RankMasks.getHighestRank(kickers)
+            );
+        }
+
+        return HandRank.ofHighestRanks(HandRank.HIGH_CARD, allRanks);
+    }
+
+    /**
+     * Implementation of {@link BestHandSelector#getBestHand(HoleCards, List)} that computes the
+     * {@link HandRank} of the best hand first, then picks the 5 cards matching it.
+     * @param holeCards The two private cards that belong to a player.
+     * @param communityCards The 5 public cards which will be combined
+     * @return The best poker hand that can be made out of the given 7.
+     * @throws IllegalArgumentException If the number of community cards given isn't
+     *                                  {@link BestHandSelector#EXPECTED_COMMUNITY_CARDS_COUNT}.
+     */
+    @Override
+    public PokerHand getBestHand(HoleCards holeCards, List<Card> communityCards) {
+        final List<Card> showdownCards = getShowdownCards(holeCards, communityCards);
+        final int handRank = getHandRank(getCardsMask(showdownCards));
+        final Card[] usedCards = selectUsedCards(showdownCards, handRank);
+        return PokerHandFactory.createBestHand(
+                usedCards[0], usedCards[1], usedCards[2], usedCards[3], usedCards[4]
+        );
+    }
+
+    /**
+     * Same as {@link BitmaskBestHandSelector#getBestHand(HoleCards, List)}, but only returns the
+     * {@link HandRank} of the best hand, without creating any hand.
+     * @param holeCards The two private cards that belong to a player.
+     * @param communityCards The 5 public cards which will be combined
+     * @return The hand rank of the best poker hand that can be made out of the given 7.
+     * @throws IllegalArgumentException If the number of community cards given isn't
+     *                                  {@link BestHandSelector#EXPECTED_COMMUNITY_CARDS_COUNT}.
+     */
+    @Override
+    public int getBestHandRank(HoleCards holeCards, List<Card> communityCards) {
+        return getHandRank(getCardsMask(getShowdownCards(holeCards, communityCards)));
+    }
+
+    /**
+     * Same as {@link BitmaskBestHandSelector#getBestHandRank(HoleCards, List)}, but the cards are
+     * combined with a couple of bit operations, without creating a list of the showdown cards.
+     * @throws IllegalArgumentException If the number of community cards given isn't
+     *                                  {@link BestHandSelector#EXPECTED_COMMUNITY_CARDS_COUNT}.
+     */
+    @Override
+    public int getBestHandRank(HoleCards holeCards, CardSet communityCards) {
+        if (communityCards.size() != EXPECTED_COMMUNITY_CARDS_COUNT) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d community cards, got %d instead",
+                    EXPECTED_COMMUNITY_CARDS_COUNT, communityCards.size()
+            ));
+        }
+        return getHandRank(
+                communityCards.getMask() |
+                mCardIndexer.getCardMask(holeCards.getFirstCard()) |
+                mCardIndexer.getCardMask(holeCards.getSecondCard())
+        );
+    }
+
+    static int getSuitRanks(long cardsMask, int suitOrdinal) {
+        return (int) (cardsMask >>> (suitOrdinal * RankMasks.RANKS_COUNT)) & RankMasks.ALL_RANKS;
+    }
+
+    /**
+     * @return The ranks of the suit with at least {@link #FLUSH_CARDS_COUNT} cards, or 0 if there
+     *         is no such suit.
+     */
+    private static int getFlushRanks(int suit0, int suit1, int suit2, int suit3) {
+        if (Integer.bitCount(suit0) >= FLUSH_CARDS_COUNT)
+            return suit0;
+        if (Integer.bitCount(suit1) >= FLUSH_CARDS_COUNT)
+            return suit1;
+        if (Integer.bitCount(suit2) >= FLUSH_CARDS_COUNT)
+            return suit2;
+        if (Integer.bitCount(suit3) >= FLUSH_CARDS_COUNT)
+            return suit3;
+        return 0;
+    }
+
+    /**
+     * Picks the 5 cards that make up the hand with the given hand rank.
+     * @param showdownCards The cards the hand rank was computed from.
+     * @param handRank The hand rank of the best hand that can be made from the cards.
+     * @return The 5 cards of the best hand.
+     */
+    private Card[] selectUsedCards(List<Card> showdownCards, int handRank) {
+        // How many cards of every rank the hand uses, indexed by rank:
+        final int[] neededRanksCounts = new int[Card.MAX_RANK + 1];
+        Suit neededSuit = null;
+
+        final int category = HandRank.getCategory(handRank);
+        final int topRank = HandRank.getRank(handRank, 0);
+        switch (category) {
+            case HandRank.ROYAL_FLUSH:
+            case HandRank.STRAIGHT_FLUSH:
+            case HandRank.STRAIGHT:
+                final int highestRank = category == HandRank.ROYAL_FLUSH ? Card.ACE_RANK : topRank;
+                for (int rank = highestRank; rank > highestRank - PokerHand.HAND_SIZE; rank--) {
+                    // The lowest card of a low-ace straight is the ace:
+                    neededRanksCounts[rank < Card.MIN_RANK ? Card.ACE_RANK : rank] = 1;
+                }
+                if (category != HandRank.STRAIGHT)
+                    neededSuit = getFlushSuit(showdownCards);
+                break;
+            case HandRank.FOUR_OF_A_KIND:
+                neededRanksCounts[topRank] = 4;
+                neededRanksCounts[HandRank.getRank(handRank, 1)] = 1;
+                break;
+            case HandRank.FULL_HOUSE:
+                neededRanksCounts[topRank] = 3;
+                neededRanksCounts[HandRank.getRank(handRank, 1)] = 2;
+                break;
+            case HandRank.THREE_OF_A_KIND:
+                neededRanksCounts[topRank] = 3;
+                neededRanksCounts[HandRank.getRank(handRank, 1)] = 1;
+                neededRanksCounts[HandRank.getRank(handRank, 2)] = 1;
+                break;
+            case HandRank.TWO_PAIR:
+                neededRanksCounts[topRank] = 2;
+                neededRanksCounts[HandRank.getRank(handRank, 1)] = 2;
+                neededRanksCounts[HandRank.getRank(handRank, 2)] = 1;
+                break;
+            case HandRank.ONE_PAIR:
+                neededRanksCounts[topRank] = 2;
+                for (int slot = 1; slot < PokerHand.HAND_SIZE - 1; slot++)
+                    neededRanksCounts[HandRank.getRank(handRank, slot)] = 1;
+                break;
+            case HandRank.FLUSH:
+                neededSuit = getFlushSuit(showdownCards);
+                // Fall through - a flush uses a single card of each of its ranks, like a high card
+            default:
+                for (int slot = 0; slot < PokerHand.HAND_SIZE; slot++)
+                    neededRanksCounts[HandRank.getRank(handRank, slot)] = 1;
+                break;
+        }
+
+        final Card[] usedCards = new Card[PokerHand.HAND_SIZE];
+        int usedCardsCount = 0;
+        for (Card card : showdownCards) {
+            if (usedCardsCount == usedCards.length)
+                break;
+            final boolean isSuitNeeded = neededSuit == null || card.getSuit() == neededSuit;
+            if (neededRanksCounts[card.getRank()] == 0 || !isSuitNeeded)
+                continue;
+            neededRanksCounts[card.getRank()]--;
+            usedCards[usedCardsCount++] = card;
+        }
+        return usedCards;
+    }
+
+    private static Suit getFlushSuit(List<Card> showdownCards) {
+        final int[] suitsCounts = new int[SUITS_COUNT];
+        for (Card card : showdownCards) {
+            if (++suitsCounts[card.getSuit().ordinal()] == FLUSH_CARDS_COUNT)
+                return card.getSuit();
+        }
+        throw new AssertionError("Flush hand rank computed for cards without a flush");
+    }
+
+    private long getCardsMask(List<Card> cards) {
+        long cardsMask = 0;
+        for (Card card : cards)
+            cardsMask |= mCardIndexer.getCardMask(card);
+        return cardsMask;
+    }
+
+    private static List<Card> getShowdownCards(HoleCards holeCards, List<Card> communityCards) {
+        if (communityCards.size() != EXPECTED_COMMUNITY_CARDS_COUNT) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d community cards, got %d instead",
+                    EXPECTED_COMMUNITY_CARDS_COUNT, communityCards.size()
+            ));
+        }
+
+        final List<Card> showdownCards = new ArrayList<>(EXPECTED_COMMUNITY_CARDS_COUNT + 2);
+        showdownCards.add(holeCards.getFirstCard());
+        showdownCards.add(holeCards.getSecondCard());
+        showdownCards.addAll(communityCards);
+        return showdownCards;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.pokermaster.hands.selectors;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.cards.indexers.CardIndexer;
+import com.example.pokermaster.hands.PokerHand;
+
+/**
+ * Everything about a set of known cards (usually a board) that doesn't depend on the few cards
+ * added to it, so ranking many hands that share those cards only pays for the added cards.
+ * <p>
+ *     The rank mask of every suit and the only suit that can still make a flush (a suit that is
+ *     at most the number of added cards away from 5 cards) are computed once. Every hand rank then
+ *     only adds the new cards to those masks, and skips the flush check entirely when no suit can
+ *     make one - the evaluation itself is the one of {@link BitmaskBestHandSelector}.
+ * </p>
+ * <p>
+ *     A board state is immutable, so it can be shared between threads.
+ * </p>
+ */
+public final class BoardState {
+    /**
+     * The largest number of cards that can be added to the known cards - with more, two suits
+     * could be able to make a flush.
+     */
+    public static final int MAX_ADDED_CARDS_COUNT = 2;
+
+    private static final int SUITS_COUNT = Suit.values().length;
+
+    private final long mCardsMask;
+    private final int mSuit0, mSuit1, mSuit2, mSuit3;
+    /* The only suit that can make a flush with the added cards, or -1 if there's none */
+    private final int mFlushSuit;
+
+    /**
+     * Precomputes the state of the known cards.
+     * @param cardsMask The mask of the known cards (see {@link CardIndexer#getCardMask(Card)}).
+     * @param addedCardsCount The number of cards every ranked hand adds to the known cards.
+     * @throws IllegalArgumentException If the number of added cards is negative or above
+     *                                  {@link BoardState#MAX_ADDED_CARDS_COUNT}.
+     */
+    public BoardState(long cardsMask, int addedCardsCount) {
+        if (addedCardsCount < 0 || addedCardsCount > MAX_ADDED_CARDS_COUNT) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected 0 to %d added cards, got %d", MAX_ADDED_CARDS_COUNT, addedCardsCount
+            ));
+        }
+        mCardsMask = cardsMask;
+        mSuit0 = BitmaskBestHandSelector.getSuitRanks(cardsMask, 0);
+        mSuit1 = BitmaskBestHandSelector.getSuitRanks(cardsMask, 1);
+        mSuit2 = BitmaskBestHandSelector.getSuitRanks(cardsMask, 2);
+        mSuit3 = BitmaskBestHandSelector.getSuitRanks(cardsMask, 3);
+
+        int flushSuit = -1;
+        for (int suit = 0; suit < SUITS_COUNT; suit++) {
+            if (Integer.bitCount(BitmaskBestHandSelector.getSuitRanks(cardsMask, suit)) >= PokerHand.HAND_SIZE - addedCardsCount)
+                flushSuit = suit;
+        }
+        mFlushSuit = flushSuit;
+    }
+
+    /**
+     * Computes the {@link com.example.pokermaster.hands.HandRank HandRank} of the best hand made
+     * of the known cards and the added ones.
+     * @param addedCardsMask The mask of the added cards, none of which is one of the known cards,
+     *                       and at most as many as given when the state was created. Together
+     *                       with the known cards there must be 5 to 7 cards.
+     */
+    public int getHandRank(long addedCardsMask) {
+        final int suit0 = mSuit0 | BitmaskBestHandSelector.getSuitRanks(addedCardsMask, 0);
+        final int suit1 = mSuit1 | BitmaskBestHandSelector.getSuitRanks(addedCardsMask, 1);
+        final int suit2 = mSuit2 | BitmaskBestHandSelector.getSuitRanks(addedCardsMask, 2);
+        final int suit3 = mSuit3 | BitmaskBestHandSelector.getSuitRanks(addedCardsMask, 3);
+
+        if (mFlushSuit >= 0) {
+            final int flushRanks = BitmaskBestHandSelector.getSuitRanks(mCardsMask | addedCardsMask, mFlushSuit);
+            if (Integer.bitCount(flushRanks) >= PokerHand.HAND_SIZE)
+                return BitmaskBestHandSelector.getFlushHandRank(flushRanks);
+        }
+        return BitmaskBestHandSelector.getNonFlushHandRank(suit0, suit1, suit2, suit3);
+    }
+}
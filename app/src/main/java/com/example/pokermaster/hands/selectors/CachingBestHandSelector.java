@@ -0,0 +1,255 @@
+package com.example.pokermaster.hands.selectors;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.cards.indexers.CardIndexer;
+import com.example.pokermaster.hands.PokerHand;
+import com.example.pokermaster.hands.selectors.exceptions.BestHandSelectorException;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A decorator of a {@link BestHandSelector} that reuses the work done on a board across all the
+ * hole cards evaluated against it.
+ * <p>
+ *     The first time a board is seen, its {@link BoardState} is computed and cached, keyed by the
+ *     board's card mask (see {@link CardIndexer#getCardMask(Card)}). Every hand rank on that
+ *     board then only adds the two hole cards to the cached state.
+ * </p>
+ * <p>
+ *     Every thread has a cache of its own, so lookups never wait on a lock. A cache is bounded:
+ *     once it holds {@code capacity} boards, the least recently used one is evicted. It is an
+ *     open-addressing table of the board masks themselves, with the recency order kept in arrays,
+ *     so a lookup allocates nothing. Creating the hands themselves
+ *     ({@link BestHandSelector#getBestHand(HoleCards, List)}) is left to the decorated selector.
+ * </p>
+ * <p>
+ *     The selector can be shared between threads, each of which caches up to {@code capacity}
+ *     boards.
+ * </p>
+ */
+public class CachingBestHandSelector implements BestHandSelector {
+    /**
+     * The number of boards cached by default.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 12;
+
+    private static final int HOLE_CARDS_COUNT = 2;
+
+    private final BestHandSelector mBestHandSelector;
+    private final ThreadLocal<BoardCache> mBoardCaches;
+    private final CardIndexer mCardIndexer = new CardIndexer();
+
+    /**
+     * Creates a caching selector that caches up to {@link #DEFAULT_CAPACITY} boards.
+     * @param bestHandSelector The selector that creates the hands themselves.
+     */
+    public CachingBestHandSelector(BestHandSelector bestHandSelector) {
+        this(bestHandSelector, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a caching selector.
+     * @param bestHandSelector The selector that creates the hands themselves.
+     * @param capacity The maximal number of boards cached by every thread.
+     * @throws IllegalArgumentException If the capacity isn't positive.
+     */
+    public CachingBestHandSelector(BestHandSelector bestHandSelector, int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Expected a positive capacity, got " + capacity);
+        mBestHandSelector = bestHandSelector;
+        mBoardCaches = ThreadLocal.withInitial(() -> new BoardCache(capacity));
+    }
+
+    @Override
+    public PokerHand getBestHand(HoleCards holeCards, List<Card> communityCards) throws BestHandSelectorException {
+        return mBestHandSelector.getBestHand(holeCards, communityCards);
+    }
+
+    /**
+     * Returns the {@link com.example.pokermaster.hands.HandRank HandRank} of the best hand,
+     * reusing the cached state of the board.
+     * @throws IllegalArgumentException If the number of community cards given isn't
+     *                                  {@link BestHandSelector#EXPECTED_COMMUNITY_CARDS_COUNT}.
+     */
+    @Override
+    public int getBestHandRank(HoleCards holeCards, List<Card> communityCards) {
+        long boardMask = 0;
+        for (int i = 0; i < communityCards.size(); i++)
+            boardMask |= mCardIndexer.getCardMask(communityCards.get(i));
+        return getBestHandRank(holeCards, boardMask, communityCards.size());
+    }
+
+    /**
+     * Same as {@link CachingBestHandSelector#getBestHandRank(HoleCards, List)}, for a board given
+     * as a set.
+     * @throws IllegalArgumentException If the number of community cards given isn't
+     *                                  {@link BestHandSelector#EXPECTED_COMMUNITY_CARDS_COUNT}.
+     */
+    @Override
+    public int getBestHandRank(HoleCards holeCards, CardSet communityCards) {
+        return getBestHandRank(holeCards, communityCards.getMask(), communityCards.size());
+    }
+
+    /**
+     * @return The number of boards currently cached by the calling thread.
+     */
+    public int getCachedBoardsCount() {
+        return mBoardCaches.get().size();
+    }
+
+    private int getBestHandRank(HoleCards holeCards, long boardMask, int communityCardsCount) {
+        if (communityCardsCount != EXPECTED_COMMUNITY_CARDS_COUNT) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d community cards, got %d instead",
+                    EXPECTED_COMMUNITY_CARDS_COUNT, communityCardsCount
+            ));
+        }
+        return getBoardState(boardMask).getHandRank(
+                mCardIndexer.getCardMask(holeCards.getFirstCard()) |
+                mCardIndexer.getCardMask(holeCards.getSecondCard())
+        );
+    }
+
+    private BoardState getBoardState(long boardMask) {
+        final BoardCache boardCache = mBoardCaches.get();
+        BoardState boardState = boardCache.get(boardMask);
+        if (boardState == null) {
+            boardState = new BoardState(boardMask, HOLE_CARDS_COUNT);
+            boardCache.put(boardMask, boardState);
+        }
+        return boardState;
+    }
+
+    /**
+     * A least-recently-used cache of board states, keyed by board mask, used by a single thread.
+     * <p>
+     *     Entries live in fixed arrays and are linked from the most to the least recently used
+     *     one by their indices. The table maps a board mask to its entry with linear probing, and
+     *     is kept at most half full.
+     * </p>
+     */
+    private static final class BoardCache {
+        private static final int NO_ENTRY = -1;
+
+        private final long[] mBoardMasks;
+        private final BoardState[] mBoardStates;
+        private final int[] mPrevious;
+        private final int[] mNext;
+        /* The entry in every slot of the table, or NO_ENTRY */
+        private final int[] mSlots;
+        private final int mSlotsShift;
+        private int mSize;
+        private int mHead = NO_ENTRY;
+        private int mTail = NO_ENTRY;
+
+        BoardCache(int capacity) {
+            mBoardMasks = new long[capacity];
+            mBoardStates = new BoardState[capacity];
+            mPrevious = new int[capacity];
+            mNext = new int[capacity];
+            final int slotsCount = Integer.highestOneBit(capacity) << 2;
+            mSlots = new int[slotsCount];
+            Arrays.fill(mSlots, NO_ENTRY);
+            mSlotsShift = Long.SIZE - Integer.numberOfTrailingZeros(slotsCount);
+        }
+
+        int size() {
+            return mSize;
+        }
+
+        BoardState get(long boardMask) {
+            for (int slot = getHomeSlot(boardMask); mSlots[slot] != NO_ENTRY; slot = nextSlot(slot)) {
+                final int entry = mSlots[slot];
+                if (mBoardMasks[entry] == boardMask) {
+                    if (entry != mHead) {
+                        unlink(entry);
+                        linkFirst(entry);
+                    }
+                    return mBoardStates[entry];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Caches the state of a board that isn't cached yet, evicting the least recently used
+         * board if the cache is full.
+         */
+        void put(long boardMask, BoardState boardState) {
+            final int entry;
+            if (mSize < mBoardMasks.length) {
+                entry = mSize++;
+            } else {
+                entry = mTail;
+                unlink(entry);
+                removeSlot(mBoardMasks[entry]);
+            }
+            mBoardMasks[entry] = boardMask;
+            mBoardStates[entry] = boardState;
+            linkFirst(entry);
+
+            int slot = getHomeSlot(boardMask);
+            while (mSlots[slot] != NO_ENTRY)
+                slot = nextSlot(slot);
+            mSlots[slot] = entry;
+        }
+
+        /**
+         * Clears the slot of a cached board, moving back the entries after it that would
+         * otherwise no longer be reachable from their home slot.
+         */
+        private void removeSlot(long boardMask) {
+            int emptySlot = getHomeSlot(boardMask);
+            while (mBoardMasks[mSlots[emptySlot]] != boardMask)
+                emptySlot = nextSlot(emptySlot);
+
+            for (int slot = nextSlot(emptySlot); mSlots[slot] != NO_ENTRY; slot = nextSlot(slot)) {
+                final int homeSlot = getHomeSlot(mBoardMasks[mSlots[slot]]);
+                // The entry may move back unless its home slot is cyclically in (emptySlot, slot]:
+                final boolean isHomeBetween = emptySlot <= slot ?
+                        homeSlot > emptySlot && homeSlot <= slot :
+                        homeSlot > emptySlot || homeSlot <= slot;
+                if (!isHomeBetween) {
+                    mSlots[emptySlot] = mSlots[slot];
+                    emptySlot = slot;
+                }
+            }
+            mSlots[emptySlot] = NO_ENTRY;
+        }
+
+        private int getHomeSlot(long boardMask) {
+            // Fibonacci hashing spreads the few high bits that set boards apart over all slots:
+            return (int) ((boardMask * 0x9E3779B97F4A7C15L) >>> mSlotsShift);
+        }
+
+        private int nextSlot(int slot) {
+            return (slot + 1) & (mSlots.length - 1);
+        }
+
+        private void linkFirst(int entry) {
+            mPrevious[entry] = NO_ENTRY;
+            mNext[entry] = mHead;
+            if (mHead != NO_ENTRY)
+                mPrevious[mHead] = entry;
+            mHead = entry;
+            if (mTail == NO_ENTRY)
+                mTail = entry;
+        }
+
+        private void unlink(int entry) {
+            final int previous = mPrevious[entry];
+            final int next = mNext[entry];
+            if (previous == NO_ENTRY)
+                mHead = next;
+            else
+                mNext[previous] = next;
+            if (next == NO_ENTRY)
+                mTail = previous;
+            else
+                mPrevious[next] = previous;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.pokermaster.hands.selectors.exceptions;
+
+public class PrecomputedHandsFileException extends BestHandSelectorException {
+    public PrecomputedHandsFileException() {
+    }
+
+    public PrecomputedHandsFileException(String message) {
+        super(message);
+    }
+
+    public PrecomputedHandsFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public PrecomputedHandsFileException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+    public PrecomputedHandsFileException(Throwable cause) {
+        super(cause);
+    }
+}
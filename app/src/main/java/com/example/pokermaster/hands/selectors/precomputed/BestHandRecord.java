@@ -0,0 +1,181 @@
+package com.example.pokermaster.hands.selectors.precomputed;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.hands.HandRank;
+import com.example.pokermaster.hands.PokerHand;
+
+import java.util.List;
+
+/**
+ * Encodes the best hand of a single showdown combination into one {@code int} record.
+ * <p>
+ *     The lowest 7 bits hold a mask of the cards used by
+ *     the best hand, where bit {@code i} stands for the {@code i}-th card of the combination when
+ *     the combination is sorted by card index ascendingly. The bits above it hold the
+ *     {@link HandRank} of the hand, where a stronger hand always has a larger value.
+ * </p>
+ */
+final class BestHandRecord {
+    /**
+     * Number of bytes a single record takes in the precomputed-hands file.
+     */
+    static final int RECORD_SIZE = Integer.BYTES;
+
+    /**
+     * Number of cards in a showdown combination (2 hole cards + 5 community cards).
+     */
+    static final int SHOWDOWN_CARDS_COUNT = 7;
+
+    private static final int USED_CARDS_BIT_COUNT = SHOWDOWN_CARDS_COUNT;
+    private static final int USED_CARDS_MASK = (1 << USED_CARDS_BIT_COUNT) - 1;
+
+    private static final int RANKS_COUNT = Card.MAX_RANK - Card.MIN_RANK + 1;
+    private static final long ALL_RANKS = (1L << RANKS_COUNT) - 1;
+    private static final int SUITS_COUNT = Suit.values().length;
+    private static final int NEEDED_RANK_BIT_COUNT = 4;
+    private static final long NEEDED_RANK_MASK = (1L << NEEDED_RANK_BIT_COUNT) - 1;
+
+    private BestHandRecord() {
+    }
+
+    /**
+     * Encodes the given best hand into a record.
+     * @param sortedCombination The showdown combination, sorted by card index ascendingly.
+     * @param bestHand The best hand that can be made out of the combination.
+     * @return The record representing the best hand.
+     * @throws IllegalArgumentException If one of the cards of the best hand is not part of the
+     *                                  combination.
+     */
+    static int encode(List<Card> sortedCombination, PokerHand bestHand) {
+        int usedCardsMask = 0;
+        for (Card usedCard : bestHand.getCards()) {
+            final int position = sortedCombination.indexOf(usedCard);
+            if (position < 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Best hand uses %s which is not part of the combination", usedCard
+                ));
+            }
+            usedCardsMask |= 1 << position;
+        }
+        return (bestHand.getHandRank() << USED_CARDS_BIT_COUNT) | usedCardsMask;
+    }
+
+    /**
+     * Encodes the best hand of a combination into a record, given only the hand's strength.
+     * <p>
+     *     The cards used by the hand are picked from the combination by the hand rank itself
+     *     (every rank of the hand, and the flush suit if the hand needs one), so this works on
+     *     primitives only and allocates nothing. When the combination holds more cards of a rank
+     *     than the hand uses, the lowest ones are picked - any of them makes the same hand rank.
+     * </p>
+     * @param showdownMask The showdown combination, where every card is represented by the bit
+     *                     {@link com.example.pokermaster.cards.indexers.CardIndexer#getCardIndex(Card)}.
+     * @param handRank The {@link HandRank} of the best hand that can be made out of the
+     *                 combination.
+     * @return The record representing the best hand.
+     * @apiNote It is the responsibility OF THE CALLER to pass the hand rank of the combination's
+     *          best hand, otherwise the used cards mask is meaningless.
+     */
+    static int encode(long showdownMask, int handRank) {
+        // How many cards of every rank the hand uses, 4 bits per rank (relative to the lowest rank):
+        long neededRanksCounts = 0;
+        int neededSuit = -1;
+
+        final int category = HandRank.getCategory(handRank);
+        final int topRank = HandRank.getRank(handRank, 0);
+        switch (category) {
+            case HandRank.ROYAL_FLUSH:
+            case HandRank.STRAIGHT_FLUSH:
+            case HandRank.STRAIGHT:
+                final int highestRank = category == HandRank.ROYAL_FLUSH ? Card.ACE_RANK : topRank;
+                for (int rank = highestRank; rank > highestRank - PokerHand.HAND_SIZE; rank--) {
+                    // The lowest card of a low-ace straight is the ace:
+                    neededRanksCounts = addNeededRank(neededRanksCounts, rank < Card.MIN_RANK ? Card.ACE_RANK : rank, 1);
+                }
+                if (category != HandRank.STRAIGHT)
+                    neededSuit = getFlushSuit(showdownMask);
+                break;
+            case HandRank.FOUR_OF_A_KIND:
+                neededRanksCounts = addNeededRank(neededRanksCounts, topRank, 4);
+                neededRanksCounts = addNeededRank(neededRanksCounts, HandRank.getRank(handRank, 1), 1);
+                break;
+            case HandRank.FULL_HOUSE:
+                neededRanksCounts = addNeededRank(neededRanksCounts, topRank, 3);
+                neededRanksCounts = addNeededRank(neededRanksCounts, HandRank.getRank(handRank, 1), 2);
+                break;
+            case HandRank.THREE_OF_A_KIND:
+                neededRanksCounts = addNeededRank(neededRanksCounts, topRank, 3);
+                neededRanksCounts = addNeededRank(neededRanksCounts, HandRank.getRank(handRank, 1), 1);
+                neededRanksCounts = addNeededRank(neededRanksCounts, HandRank.getRank(handRank, 2), 1);
+                break;
+            case HandRank.TWO_PAIR:
+                neededRanksCounts = addNeededRank(neededRanksCounts, topRank, 2);
+                neededRanksCounts = addNeededRank(neededRanksCounts, HandRank.getRank(handRank, 1), 2);
+                neededRanksCounts = addNeededRank(neededRanksCounts, HandRank.getRank(handRank, 2), 1);
+                break;
+            case HandRank.ONE_PAIR:
+                neededRanksCounts = addNeededRank(neededRanksCounts, topRank, 2);
+                for (int slot = 1; slot < PokerHand.HAND_SIZE - 1; slot++)
+                    neededRanksCounts = addNeededRank(neededRanksCounts, HandRank.getRank(handRank, slot), 1);
+                break;
+            case HandRank.FLUSH:
+                neededSuit = getFlushSuit(showdownMask);
+                // Fall through - a flush uses a single card of each of its ranks, like a high card
+            default:
+                for (int slot = 0; slot < PokerHand.HAND_SIZE; slot++)
+                    neededRanksCounts = addNeededRank(neededRanksCounts, HandRank.getRank(handRank, slot), 1);
+                break;
+        }
+
+        // The bits of the mask are visited in ascending card index, which is the sorted order:
+        int usedCardsMask = 0;
+        long remainingCards = showdownMask;
+        for (int position = 0; remainingCards != 0; position++, remainingCards &= remainingCards - 1) {
+            final int cardIndex = Long.numberOfTrailingZeros(remainingCards);
+            final int rankShift = (cardIndex % RANKS_COUNT) * NEEDED_RANK_BIT_COUNT;
+            final boolean isSuitNeeded = neededSuit < 0 || cardIndex / RANKS_COUNT == neededSuit;
+            if (((neededRanksCounts >>> rankShift) & NEEDED_RANK_MASK) == 0 || !isSuitNeeded)
+                continue;
+            neededRanksCounts -= 1L << rankShift;
+            usedCardsMask |= 1 << position;
+        }
+        return (handRank << USED_CARDS_BIT_COUNT) | usedCardsMask;
+    }
+
+    /**
+     * Extracts the mask of the cards used by the best hand out of a record.
+     * @param record A record created by {@link BestHandRecord#encode(List, PokerHand)} or
+     *               {@link BestHandRecord#encode(long, int)}.
+     * @return A 7-bit mask, whose set bits are the positions of the used cards in the sorted
+     *         combination.
+     */
+    static int getUsedCardsMask(int record) {
+        return record & USED_CARDS_MASK;
+    }
+
+    /**
+     * Extracts the strength of the best hand out of a record.
+     * @param record A record created by {@link BestHandRecord#encode(List, PokerHand)} or
+     *               {@link BestHandRecord#encode(long, int)}.
+     * @return The {@link HandRank} of the hand, larger values represent stronger hands.
+     */
+    static int getHandRank(int record) {
+        return record >>> USED_CARDS_BIT_COUNT;
+    }
+
+    private static long addNeededRank(long neededRanksCounts, int rank, int count) {
+        return neededRanksCounts + ((long) count << ((rank - Card.MIN_RANK) * NEEDED_RANK_BIT_COUNT));
+    }
+
+    /**
+     * @return The suit (ordinal) with at least {@link PokerHand#HAND_SIZE} cards in the mask.
+     */
+    private static int getFlushSuit(long showdownMask) {
+        for (int suit = 0; suit < SUITS_COUNT; suit++) {
+            if (Long.bitCount((showdownMask >>> (suit * RANKS_COUNT)) & ALL_RANKS) >= PokerHand.HAND_SIZE)
+                return suit;
+        }
+        throw new AssertionError("Flush hand rank given for cards without a flush");
+    }
+}
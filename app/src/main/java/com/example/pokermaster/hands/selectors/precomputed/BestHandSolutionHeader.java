@@ -0,0 +1,226 @@
+package com.example.pokermaster.hands.selectors.precomputed;
+
+import com.example.pokermaster.hands.selectors.exceptions.PrecomputedHandsFileException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * The header found at the start of every best-hand solutions file.
+ * <p>
+ *     The header is made of the following big-endian fields:
+ *     <ul>
+ *         <li>4 magic bytes ({@code "PMBH"}).</li>
+ *         <li>The format version (2 bytes).</li>
+ *         <li>The hand-size arity - the number of cards in every combination (1 byte).</li>
+ *         <li>The width of a single record in bytes (1 byte).</li>
+ *         <li>The total number of records (8 bytes).</li>
+ *         <li>The number of blocks the records are split into (4 bytes).</li>
+ *         <li>For every block - the number of records in it (4 bytes) and the CRC-32 of its
+ *             records (8 bytes), or {@link BestHandSolutionHeader#UNWRITTEN_BLOCK_CRC} if the
+ *             block was not written yet.</li>
+ *     </ul>
+ *     The records themselves follow the header, one fixed-width record per combination index.
+ * </p>
+ */
+final class BestHandSolutionHeader {
+    static final short FORMAT_VERSION = 1;
+
+    /**
+     * The CRC of a block whose records were not written yet. Actual CRC-32 values are never
+     * negative, so it can't be mistaken for one.
+     */
+    static final long UNWRITTEN_BLOCK_CRC = -1;
+
+    private static final byte[] MAGIC = {'P', 'M', 'B', 'H'};
+    private static final int FIXED_FIELDS_SIZE = (
+            MAGIC.length + Short.BYTES + Byte.BYTES + Byte.BYTES + Long.BYTES + Integer.BYTES
+    );
+    private static final int BLOCK_ENTRY_SIZE = Integer.BYTES + Long.BYTES;
+
+    private final int mHandSize;
+    private final int mRecordWidth;
+    private final long mRecordsCount;
+    private final int[] mBlockRecordsCounts;
+    private final long[] mBlockCrcs;
+
+    /**
+     * Creates a header for a new file, in which no block was written yet.
+     * @param handSize The number of cards in every combination.
+     * @param recordWidth The number of bytes in a single record.
+     * @param blockRecordsCounts The number of records in every block, in the order the blocks
+     *                           appear in the file.
+     */
+    BestHandSolutionHeader(int handSize, int recordWidth, int[] blockRecordsCounts) {
+        mHandSize = handSize;
+        mRecordWidth = recordWidth;
+        mBlockRecordsCounts = blockRecordsCounts.clone();
+        mBlockCrcs = new long[blockRecordsCounts.length];
+        Arrays.fill(mBlockCrcs, UNWRITTEN_BLOCK_CRC);
+
+        long recordsCount = 0;
+        for (int blockRecordsCount : blockRecordsCounts)
+            recordsCount += blockRecordsCount;
+        mRecordsCount = recordsCount;
+    }
+
+    /**
+     * Reads the header found at the start of the given channel.
+     * @param channel A channel over a best-hand solutions file.
+     * @return The header of the file.
+     * @throws IOException If reading from the channel fails.
+     * @throws PrecomputedHandsFileException If the file is too short to hold a header, doesn't
+     *                                       start with the magic bytes, was written in another
+     *                                       format version or its block table doesn't add up.
+     */
+    static BestHandSolutionHeader read(FileChannel channel)
+            throws IOException, PrecomputedHandsFileException {
+        final ByteBuffer fixedFields = readFully(channel, 0, FIXED_FIELDS_SIZE);
+
+        final byte[] magic = new byte[MAGIC.length];
+        fixedFields.get(magic);
+        if (!Arrays.equals(magic, MAGIC))
+            throw new PrecomputedHandsFileException("File is not a best-hand solutions file");
+
+        final short version = fixedFields.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new PrecomputedHandsFileException(String.format(
+                    "Unsupported best-hand solutions format version %d (expected %d)",
+                    version, FORMAT_VERSION
+            ));
+        }
+
+        final int handSize = Byte.toUnsignedInt(fixedFields.get());
+        final int recordWidth = Byte.toUnsignedInt(fixedFields.get());
+        final long recordsCount = fixedFields.getLong();
+        final int blocksCount = fixedFields.getInt();
+        if (blocksCount < 0 || (long) blocksCount * BLOCK_ENTRY_SIZE > channel.size()) {
+            throw new PrecomputedHandsFileException(
+                    "Invalid number of blocks in best-hand solutions header: " + blocksCount
+            );
+        }
+
+        final ByteBuffer blockTable = readFully(
+                channel, FIXED_FIELDS_SIZE, blocksCount * BLOCK_ENTRY_SIZE
+        );
+        final int[] blockRecordsCounts = new int[blocksCount];
+        final long[] blockCrcs = new long[blocksCount];
+        long blocksRecordsSum = 0;
+        for (int block = 0; block < blocksCount; block++) {
+            blockRecordsCounts[block] = blockTable.getInt();
+            blockCrcs[block] = blockTable.getLong();
+            blocksRecordsSum += blockRecordsCounts[block];
+        }
+        if (blocksRecordsSum != recordsCount) {
+            throw new PrecomputedHandsFileException(String.format(
+                    "Blocks hold %d records in total, but the header declares %d records",
+                    blocksRecordsSum, recordsCount
+            ));
+        }
+
+        final BestHandSolutionHeader header = new BestHandSolutionHeader(
+                handSize, recordWidth, blockRecordsCounts
+        );
+        System.arraycopy(blockCrcs, 0, header.mBlockCrcs, 0, blocksCount);
+        return header;
+    }
+
+    /**
+     * Writes the entire header to the start of the given channel.
+     * @param channel A channel over a best-hand solutions file.
+     * @throws IOException If writing to the channel fails.
+     */
+    void write(FileChannel channel) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(getDataOffset());
+        header.put(MAGIC)
+                .putShort(FORMAT_VERSION)
+                .put((byte) mHandSize)
+                .put((byte) mRecordWidth)
+                .putLong(mRecordsCount)
+                .putInt(mBlockCrcs.length);
+        for (int block = 0; block < mBlockCrcs.length; block++)
+            header.putInt(mBlockRecordsCounts[block]).putLong(mBlockCrcs[block]);
+        header.flip();
+        writeFully(channel, 0, header);
+    }
+
+    /**
+     * Sets the CRC of a single block, both in this header and in the given channel.
+     * Different blocks may be written concurrently.
+     * @param channel A channel over the best-hand solutions file this header was written to.
+     * @param block The index of the block whose records were written.
+     * @param crc The CRC-32 of the block's records.
+     * @throws IOException If writing to the channel fails.
+     */
+    void writeBlockCrc(FileChannel channel, int block, long crc) throws IOException {
+        mBlockCrcs[block] = crc;
+        final ByteBuffer crcBuffer = ByteBuffer.allocate(Long.BYTES).putLong(crc);
+        crcBuffer.flip();
+        writeFully(channel, getBlockEntryOffset(block) + Integer.BYTES, crcBuffer);
+    }
+
+    int getHandSize() {
+        return mHandSize;
+    }
+
+    int getRecordWidth() {
+        return mRecordWidth;
+    }
+
+    long getRecordsCount() {
+        return mRecordsCount;
+    }
+
+    int getBlocksCount() {
+        return mBlockCrcs.length;
+    }
+
+    int getBlockRecordsCount(int block) {
+        return mBlockRecordsCounts[block];
+    }
+
+    long getBlockCrc(int block) {
+        return mBlockCrcs[block];
+    }
+
+    boolean isBlockWritten(int block) {
+        return mBlockCrcs[block] != UNWRITTEN_BLOCK_CRC;
+    }
+
+    /**
+     * @return The position of the first record in the file, right after the header.
+     */
+    int getDataOffset() {
+        return FIXED_FIELDS_SIZE + mBlockCrcs.length * BLOCK_ENTRY_SIZE;
+    }
+
+    /**
+     * @return The exact size of a complete file with this header.
+     */
+    long getFileSize() {
+        return getDataOffset() + mRecordsCount * mRecordWidth;
+    }
+
+    private static int getBlockEntryOffset(int block) {
+        return FIXED_FIELDS_SIZE + block * BLOCK_ENTRY_SIZE;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int size)
+            throws IOException, PrecomputedHandsFileException {
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new PrecomputedHandsFileException("Best-hand solutions header is truncated");
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void writeFully(FileChannel channel, long position, ByteBuffer buffer)
+            throws IOException {
+        while (buffer.hasRemaining())
+            position += channel.write(buffer, position);
+    }
+}
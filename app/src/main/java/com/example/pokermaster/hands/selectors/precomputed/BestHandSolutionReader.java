@@ -0,0 +1,121 @@
+package com.example.pokermaster.hands.selectors.precomputed;
+
+import com.example.pokermaster.hands.selectors.exceptions.PrecomputedHandsFileException;
+import com.example.pokermaster.util.TableFiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * The counterpart of {@link BestHandSolutionWriter}, opening a best-hand solutions file for
+ * reading.
+ * <p>
+ *     Opening a file validates its entire content (see {@link BestHandSolutionHeader} for the
+ *     format), so a truncated or corrupt file is rejected right away instead of producing wrong
+ *     results later on.
+ * </p>
+ */
+public class BestHandSolutionReader {
+    private final int mExpectedHandSize;
+    private final int mExpectedRecordWidth;
+    private final long mExpectedRecordsCount;
+
+    /**
+     * Creates a reader accepting only files with the given layout.
+     * @param expectedHandSize The number of cards every combination in the file should have.
+     * @param expectedRecordWidth The width of a single record, as written by the
+     *                            {@link BestHandSolutionWriter} that created the file.
+     * @param expectedRecordsCount The number of records the file should hold.
+     */
+    public BestHandSolutionReader(int expectedHandSize, int expectedRecordWidth, long expectedRecordsCount) {
+        mExpectedHandSize = expectedHandSize;
+        mExpectedRecordWidth = expectedRecordWidth;
+        mExpectedRecordsCount = expectedRecordsCount;
+    }
+
+    /**
+     * Validates the given file and maps its records into memory.
+     * @param solutionsFile A best-hand solutions file.
+     * @return A read-only buffer holding the records of the file, where the record of the
+     *         combination with index {@code i} starts at position {@code i * recordWidth}.
+     * @throws PrecomputedHandsFileException If the file can't be read, if its header doesn't
+     *                                       match the expected layout, if its size doesn't match
+     *                                       its header, or if any of its blocks is missing or
+     *                                       doesn't match its CRC.
+     */
+    public ByteBuffer open(File solutionsFile) throws PrecomputedHandsFileException {
+        try (RandomAccessFile file = new RandomAccessFile(solutionsFile, "r");
+             FileChannel channel = file.getChannel()) {
+            final BestHandSolutionHeader header = BestHandSolutionHeader.read(channel);
+            validateLayout(header);
+            if (channel.size() != header.getFileSize()) {
+                throw new PrecomputedHandsFileException(String.format(
+                        "Expected best-hand solutions file of %d bytes, got %d bytes instead",
+                        header.getFileSize(), channel.size()
+                ));
+            }
+
+            final MappedByteBuffer records = TableFiles.mapReadOnly(
+                    channel, header.getDataOffset(), header.getRecordsCount() * header.getRecordWidth()
+            );
+            validateBlocks(header, records);
+            return records;
+        } catch (IOException ioException) {
+            throw new PrecomputedHandsFileException(
+                    "Failed to read best-hand solutions file " + solutionsFile, ioException
+            );
+        }
+    }
+
+    private void validateLayout(BestHandSolutionHeader header) throws PrecomputedHandsFileException {
+        if (header.getHandSize() != mExpectedHandSize) {
+            throw new PrecomputedHandsFileException(String.format(
+                    "Expected combinations of %d cards, file holds combinations of %d cards",
+                    mExpectedHandSize, header.getHandSize()
+            ));
+        }
+        if (header.getRecordWidth() != mExpectedRecordWidth) {
+            throw new PrecomputedHandsFileException(String.format(
+                    "Expected records of %d bytes, file holds records of %d bytes",
+                    mExpectedRecordWidth, header.getRecordWidth()
+            ));
+        }
+        if (header.getRecordsCount() != mExpectedRecordsCount) {
+            throw new PrecomputedHandsFileException(String.format(
+                    "Expected %d records, file holds %d records",
+                    mExpectedRecordsCount, header.getRecordsCount()
+            ));
+        }
+    }
+
+    private static void validateBlocks(BestHandSolutionHeader header, ByteBuffer records)
+            throws PrecomputedHandsFileException {
+        final CRC32 crc = new CRC32();
+        int blockStart = 0;
+        for (int block = 0; block < header.getBlocksCount(); block++) {
+            final int blockEnd = blockStart + header.getBlockRecordsCount(block) * header.getRecordWidth();
+            if (!header.isBlockWritten(block)) {
+                throw new PrecomputedHandsFileException(String.format(
+                        "Block %d of the best-hand solutions file was never written", block
+                ));
+            }
+
+            final ByteBuffer blockRecords = records.duplicate();
+            blockRecords.position(blockStart).limit(blockEnd);
+            crc.reset();
+            crc.update(blockRecords);
+            if (crc.getValue() != header.getBlockCrc(block)) {
+                throw new PrecomputedHandsFileException(String.format(
+                        "Block %d of the best-hand solutions file is corrupt (CRC 0x%08x, expected 0x%08x)",
+                        block, crc.getValue(), header.getBlockCrc(block)
+                ));
+            }
+            blockStart = blockEnd;
+        }
+    }
+}
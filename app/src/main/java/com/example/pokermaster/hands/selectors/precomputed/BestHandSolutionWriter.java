@@ -7,7 +7,20 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.List;
 
+/**
+ * Writes the best hand of a single showdown combination as one record of a best-hand solutions
+ * file.
+ */
 public interface BestHandSolutionWriter {
+    /**
+     * Returns the number of bytes written by every call to
+     * {@link BestHandSolutionWriter#writeBestHandSolution(List, PokerHand, OutputStream)}.
+     * Every record must have the same width, so a record can be found from its combination index
+     * alone.
+     * @return The width of a single record in bytes.
+     */
+    int getRecordWidth();
+
     /**
      * Given the card combination at showdown, and the best hand computed from said combination,
      * the function writes the solution to the given output stream.
@@ -0,0 +1,71 @@
+package com.example.pokermaster.hands.selectors.precomputed;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.indexers.CardIndexer;
+import com.example.pokermaster.hands.PokerHand;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A {@link BestHandSolutionWriter} writing every solution as a single big-endian {@code int} (see
+ * {@link BestHandRecord}), holding the strength of the best hand and the cards it uses.
+ */
+public class BinaryBestHandSolutionWriter implements BestHandSolutionWriter {
+    private final CardIndexer mCardIndexer = new CardIndexer();
+
+    @Override
+    public int getRecordWidth() {
+        return BestHandRecord.RECORD_SIZE;
+    }
+
+    /**
+     * Writes the given solution as a single record.
+     * @param showdownCombination The card combination shown at showdown, in any order.
+     * @param bestHand The best hand possible out of the cards from the showdown.
+     * @param solutionOutputStream An output stream to which the best hand solution will be written
+     *                             to.
+     * @throws IOException If writing to the output stream fails.
+     * @throws IllegalArgumentException If the combination does not contain exactly
+     *                                  {@link BestHandRecord#SHOWDOWN_CARDS_COUNT} cards, or if
+     *                                  the best hand uses a card that isn't part of it.
+     */
+    @Override
+    public void writeBestHandSolution(
+            List<Card> showdownCombination, PokerHand bestHand, OutputStream solutionOutputStream
+    ) throws IOException {
+        if (showdownCombination.size() != BestHandRecord.SHOWDOWN_CARDS_COUNT) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d cards in showdown combination, got %d",
+                    BestHandRecord.SHOWDOWN_CARDS_COUNT, showdownCombination.size()
+            ));
+        }
+
+        final List<Card> sortedCombination = new ArrayList<>(showdownCombination);
+        sortedCombination.sort(Comparator.comparingInt(mCardIndexer::getCardIndex));
+        final int record = BestHandRecord.encode(sortedCombination, bestHand);
+
+        solutionOutputStream.write(record >>> 24);
+        solutionOutputStream.write(record >>> 16);
+        solutionOutputStream.write(record >>> 8);
+        solutionOutputStream.write(record);
+    }
+
+    /**
+     * Same as {@link BinaryBestHandSolutionWriter#writeBestHandSolution(List, PokerHand, OutputStream)},
+     * for a combination given as a mask and a best hand given by its {@link com.example.pokermaster.hands.HandRank HandRank}.
+     * Nothing is allocated, so the precomputation can write every record this way.
+     * @param showdownMask The showdown combination, where every card is represented by the bit
+     *                     {@link CardIndexer#getCardIndex(Card)}.
+     * @param handRank The hand rank of the best hand possible out of the combination.
+     * @param records The buffer the record is written to.
+     * @param position The position of the record in the buffer.
+     */
+    void writeBestHandSolution(long showdownMask, int handRank, ByteBuffer records, int position) {
+        records.putInt(position, BestHandRecord.encode(showdownMask, handRank));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.pokermaster.hands.selectors.precomputed;
+
+import com.example.pokermaster.util.Combinatorics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A contiguous range of showdown combination indices, as computed by
+ * {@link com.example.pokermaster.cards.indexers.CardCombinationIndexer CardCombinationIndexer}.
+ * <p>
+ *     The combination index orders combinations by their highest card first, then by their second
+ *     highest card and so on. This means all combinations sharing the same two highest cards are
+ *     found in a single contiguous range, and the remaining cards of these combinations can be
+ *     chosen freely from the cards below the second highest one.
+ * </p>
+ */
+final class CombinationRange {
+    private final int mOrdinal;
+    private final int mHighestCardIndex;
+    private final int mSecondHighestCardIndex;
+    private final long mFirstCombinationIndex;
+    private final int mCombinationsCount;
+
+    private CombinationRange(
+            int ordinal, int highestCardIndex, int secondHighestCardIndex,
+            long firstCombinationIndex, int combinationsCount
+    ) {
+        mOrdinal = ordinal;
+        mHighestCardIndex = highestCardIndex;
+        mSecondHighestCardIndex = secondHighestCardIndex;
+        mFirstCombinationIndex = firstCombinationIndex;
+        mCombinationsCount = combinationsCount;
+    }
+
+    /**
+     * Splits all combinations of {@code combinationSize} cards out of {@code deckSize} cards into
+     * disjoint ranges, one for every pair of highest and second highest cards.
+     * @param deckSize The number of cards the combinations are chosen from.
+     * @param combinationSize The number of cards in a single combination (at least 2).
+     * @return All ranges, ordered by their first combination index. Together they cover every
+     *         combination index exactly once.
+     */
+    static List<CombinationRange> splitCombinations(int deckSize, int combinationSize) {
+        final Combinatorics combinatorics = new Combinatorics();
+        final List<CombinationRange> ranges = new ArrayList<>();
+        for (int highest = combinationSize - 1; highest < deckSize; highest++) {
+            final long highestCardOffset = combinatorics.nChooseR(highest, combinationSize);
+            for (int secondHighest = combinationSize - 2; secondHighest < highest; secondHighest++) {
+                ranges.add(new CombinationRange(
+                        ranges.size(),
+                        highest,
+                        secondHighest,
+                        highestCardOffset + combinatorics.nChooseR(secondHighest, combinationSize - 1),
+                        Math.toIntExact(combinatorics.nChooseR(secondHighest, combinationSize - 2))
+                ));
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * @return The position of the range in the list returned by
+     *         {@link CombinationRange#splitCombinations(int, int)}.
+     */
+    int getOrdinal() {
+        return mOrdinal;
+    }
+
+    int getHighestCardIndex() {
+        return mHighestCardIndex;
+    }
+
+    int getSecondHighestCardIndex() {
+        return mSecondHighestCardIndex;
+    }
+
+    long getFirstCombinationIndex() {
+        return mFirstCombinationIndex;
+    }
+
+    int getCombinationsCount() {
+        return mCombinationsCount;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.pokermaster.hands.selectors.precomputed;
+
+/**
+ * Receives progress updates while {@link PrecomputedBestHandSelector} precomputes its best hands
+ * (or while another long precomputation, like
+ * {@link com.example.pokermaster.equity.PreflopEquityTable PreflopEquityTable}, runs).
+ * <p>
+ *     Updates are sent from the worker threads of the precomputation, so implementations must be
+ *     thread-safe and should return quickly.
+ * </p>
+ */
+public interface PrecomputationProgressListener {
+    /**
+     * Called every time a range of combinations was fully written to the precomputed-hands file.
+     * @param writtenCombinations The number of combinations written so far, including combinations
+     *                            written by a previous (cancelled) run that is being resumed.
+     * @param totalCombinations The total number of combinations that will be written.
+     */
+    void onProgress(long writtenCombinations, long totalCombinations);
+}
@@ -1,43 +1,507 @@
 package com.example.pokermaster.hands.selectors.precomputed;
 
 import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
 import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.cards.indexers.CardCombinationIndexer;
+import com.example.pokermaster.cards.indexers.CardIndexer;
+import com.example.pokermaster.hands.HandRank;
 import com.example.pokermaster.hands.PokerHand;
+import com.example.pokermaster.hands.PokerHandFactory;
 import com.example.pokermaster.hands.selectors.BestHandSelector;
 import com.example.pokermaster.hands.selectors.exceptions.BestHandSelectorException;
+import com.example.pokermaster.hands.selectors.exceptions.PrecomputedHandsFileException;
+import com.example.pokermaster.util.CombinationIterator;
+import com.example.pokermaster.util.Combinatorics;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
 
 /**
  * Special kind of {@link BestHandSelector} that precomputes the best hands for optimization
  * purposes.
+ * <p>
+ *     The precomputed-hands file holds a single fixed-size record for every one of the
+ *     C(52, 7) showdown combinations, ordered by the index given to the combination by
+ *     {@link CardCombinationIndexer#getCombinationIndex(long)}. The file is memory-mapped as
+ *     read-only, so finding the best hand only requires computing that index and reading the
+ *     record at its position.
+ * </p>
+ * <p>
+ *     The records are written by a {@link BinaryBestHandSolutionWriter} after a versioned header
+ *     (see {@link BestHandSolutionHeader}), and are validated by a {@link BestHandSolutionReader}
+ *     when the file is opened.
+ * </p>
  */
 public class PrecomputedBestHandSelector implements BestHandSelector {
+    private static final int DECK_SIZE = (Card.MAX_RANK - Card.MIN_RANK + 1) * Suit.values().length;
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
     private final File mPrecomputedHandsFile;
+    private final CardIndexer mCardIndexer;
+    private final CardCombinationIndexer mCombinationIndexer;
+    private final BinaryBestHandSolutionWriter mSolutionWriter;
+    private volatile ByteBuffer mRecords;
 
     public PrecomputedBestHandSelector(File precomputedHandsFile) {
         mPrecomputedHandsFile = precomputedHandsFile;
+        mCardIndexer = new CardIndexer();
+        mCombinationIndexer = new CardCombinationIndexer();
+        mSolutionWriter = new BinaryBestHandSolutionWriter();
+    }
+
+    /**
+     * Computes the number of showdown combinations, which is also the number of records in the
+     * precomputed-hands file.
+     * @return C(52, 7).
+     */
+    public static long getShowdownCombinationsCount() {
+        return new Combinatorics().nChooseR(DECK_SIZE, BestHandRecord.SHOWDOWN_CARDS_COUNT);
     }
 
     /**
      * Precomputes the best hands according to the given {@link BestHandSelector}, saving them in
      * the precomputed-hands file for future use.
+     * <p>
+     *     The work is split across all available cores, see
+     *     {@link PrecomputedBestHandSelector#precomputeBestHands(BestHandSelector, ForkJoinPool, PrecomputationProgressListener)}.
+     * </p>
      * @param bestHandSelector Another {@link BestHandSelector} which will be used to calculate the
      *                         best hands for every hand combination. The result of this selector
      *                         will be saved in the file and used by the current
      *                         {@link PrecomputedBestHandSelector} next time ITS {@code getBestHand}
      *                         method is called.
-     * @throws IOException If writing to the
+     * @throws IOException If writing to the precomputed-hands file fails.
+     * @throws BestHandSelectorException If the given selector fails to compute the best hand of
+     *                                   any of the combinations.
+     * @throws InterruptedException If the calling thread was interrupted while waiting for the
+     *                              precomputation to finish.
+     */
+    public void precomputeBestHands(BestHandSelector bestHandSelector)
+            throws IOException, BestHandSelectorException, InterruptedException {
+        final ForkJoinPool pool = new ForkJoinPool();
+        try {
+            precomputeBestHands(bestHandSelector, pool, (written, total) -> {});
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Precomputes the best hands according to the given {@link BestHandSelector} in parallel,
+     * saving them in the precomputed-hands file for future use.
+     * <p>
+     *     The combination indices are split into disjoint ranges (see {@link CombinationRange}),
+     *     and every range is computed by a worker of the given pool, which then writes it directly
+     *     to its own region of the file.
+     * </p>
+     * <p>
+     *     The records are written to a temporary file next to the precomputed-hands file, which
+     *     only replaces it once every range is written. Until then the previous file is left
+     *     untouched, so lookups may keep running during the precomputation - they switch to the
+     *     new file once it is in place.
+     * </p>
+     * <p>
+     *     Every range is a block of the file, whose CRC is set in the file's header once the
+     *     range is fully written. If the run is cancelled (by interrupting the calling thread) or
+     *     fails, calling this method again resumes it from the temporary file, skipping every
+     *     range whose CRC was already set.
+     * </p>
+     * @param bestHandSelector Another {@link BestHandSelector} which will be used to calculate the
+     *                         best hands for every hand combination. It is called concurrently
+     *                         from several threads, so it must be thread-safe.
+     * @param pool The pool whose workers will compute the ranges.
+     * @param progressListener Notified every time a range is fully written.
+     * @throws IOException If writing the temporary file or moving it into place fails.
+     * @throws BestHandSelectorException If the given selector fails to compute the best hand of
+     *                                   any of the combinations.
+     * @throws InterruptedException If the calling thread was interrupted while waiting for the
+     *                              precomputation to finish. Ranges which were already started
+     *                              are completed before the exception is thrown, so the run can
+     *                              be resumed later.
      */
-    public void precomputeBestHands(BestHandSelector bestHandSelector) throws IOException {
-        // TODO Complete the implementation
+    public void precomputeBestHands(
+            BestHandSelector bestHandSelector,
+            ForkJoinPool pool,
+            PrecomputationProgressListener progressListener
+    ) throws IOException, BestHandSelectorException, InterruptedException {
+        final List<CombinationRange> ranges = CombinationRange.splitCombinations(
+                DECK_SIZE, BestHandRecord.SHOWDOWN_CARDS_COUNT
+        );
+        final int[] rangeSizes = new int[ranges.size()];
+        for (CombinationRange range : ranges)
+            rangeSizes[range.getOrdinal()] = range.getCombinationsCount();
+
+        final File temporaryFile = new File(mPrecomputedHandsFile.getPath() + TEMPORARY_FILE_SUFFIX);
+        try (RandomAccessFile file = new RandomAccessFile(temporaryFile, "rw");
+             FileChannel channel = file.getChannel()) {
+            BestHandSolutionHeader header = readResumableHeader(channel, rangeSizes);
+            if (header == null) {
+                header = new BestHandSolutionHeader(
+                        BestHandRecord.SHOWDOWN_CARDS_COUNT, mSolutionWriter.getRecordWidth(), rangeSizes
+                );
+                file.setLength(0);
+                header.write(channel);
+                file.setLength(header.getFileSize());
+                channel.force(true);
+            }
+
+            final List<CombinationRange> remainingRanges = new ArrayList<>();
+            long writtenCombinations = 0;
+            for (CombinationRange range : ranges) {
+                if (header.isBlockWritten(range.getOrdinal()))
+                    writtenCombinations += range.getCombinationsCount();
+                else
+                    remainingRanges.add(range);
+            }
+
+            final PrecomputeRangesTask task = new PrecomputeRangesTask(
+                    remainingRanges,
+                    new RangeWriter(
+                            bestHandSelector, mSolutionWriter, channel, header, progressListener,
+                            writtenCombinations
+                    )
+            );
+            runToCompletion(pool, task);
+        }
+
+        // Lookups still using the previous file keep their mapping, which stays valid after the
+        // file is replaced, and later lookups open the new one:
+        if (!temporaryFile.renameTo(mPrecomputedHandsFile)) {
+            throw new IOException(String.format(
+                    "Failed to move precomputed hands from %s to %s", temporaryFile, mPrecomputedHandsFile
+            ));
+        }
+        synchronized (this) {
+            mRecords = null;
+        }
+    }
+
+    /**
+     * Reads the header left in the temporary file by an unfinished run, if the run can be
+     * resumed.
+     * @return The header of the previous run, or {@code null} if there is no previous run or if
+     *         it was made with another layout.
+     */
+    private BestHandSolutionHeader readResumableHeader(FileChannel channel, int[] rangeSizes)
+            throws IOException {
+        final BestHandSolutionHeader header;
+        try {
+            header = BestHandSolutionHeader.read(channel);
+        } catch (PrecomputedHandsFileException unreadableHeader) {
+            return null;
+        }
+
+        boolean isSameLayout = (
+                header.getHandSize() == BestHandRecord.SHOWDOWN_CARDS_COUNT &&
+                header.getRecordWidth() == mSolutionWriter.getRecordWidth() &&
+                header.getBlocksCount() == rangeSizes.length &&
+                channel.size() == header.getFileSize()
+        );
+        for (int block = 0; isSameLayout && block < rangeSizes.length; block++)
+            isSameLayout = header.getBlockRecordsCount(block) == rangeSizes[block];
+        return isSameLayout ? header : null;
+    }
+
+    /**
+     * Runs the given task in the pool and waits for it, unwrapping the exceptions it threw.
+     */
+    private static void runToCompletion(ForkJoinPool pool, PrecomputeRangesTask task)
+            throws IOException, BestHandSelectorException, InterruptedException {
+        try {
+            pool.submit(task).get();
+        } catch (InterruptedException interruptedException) {
+            // Let the ranges in progress finish so the run can be resumed, then give up:
+            task.cancelRemainingRanges();
+            task.quietlyJoin();
+            throw interruptedException;
+        } catch (ExecutionException executionException) {
+            // Fork/join may wrap the original exception, so look for it in the causes chain:
+            for (Throwable cause = executionException; cause != null; cause = cause.getCause()) {
+                if (cause instanceof UncheckedIOException)
+                    throw ((UncheckedIOException) cause).getCause();
+                if (cause instanceof BestHandSelectorException)
+                    throw (BestHandSelectorException) cause;
+            }
+            throw new IllegalStateException(
+                    "Unexpected failure while precomputing best hands", executionException.getCause()
+            );
+        }
+    }
+
+    /**
+     * Returns the {@link HandRank} of the best hand that can be made from the given cards,
+     * without creating the hand itself.
+     * <p>
+     *     The cards are combined into a mask (see {@link CardIndexer#getCardMask(Card)}), so the
+     *     lookup is a single index computation and a single read, and allocates nothing.
+     * </p>
+     * @param holeCards The two private cards that belong to a player.
+     * @param communityCards The 5 public cards which will be combined
+     * @return The hand rank of the best hand, a stronger hand always has a larger value.
+     * @throws IllegalArgumentException If the number of community cards given isn't
+     *                                  {@link BestHandSelector#EXPECTED_COMMUNITY_CARDS_COUNT}, or
+     *                                  if a card appears more than once.
+     * @throws PrecomputedHandsFileException If the precomputed-hands file could not be opened.
+     */
+    @Override
+    public int getBestHandRank(HoleCards holeCards, List<Card> communityCards)
+            throws PrecomputedHandsFileException {
+        return getBestHandRank(mCombinationIndexer.getCombinationIndex(getShowdownMask(holeCards, communityCards)));
+    }
+
+    /**
+     * Same as {@link PrecomputedBestHandSelector#getBestHandRank(HoleCards, List)}, for a board
+     * given as a set.
+     * @throws IllegalArgumentException If the number of community cards given isn't
+     *                                  {@link BestHandSelector#EXPECTED_COMMUNITY_CARDS_COUNT}, or
+     *                                  if a hole card is one of them.
+     * @throws PrecomputedHandsFileException If the precomputed-hands file could not be opened.
+     */
+    @Override
+    public int getBestHandRank(HoleCards holeCards, CardSet communityCards) throws PrecomputedHandsFileException {
+        final long showdownMask = (
+                communityCards.getMask() |
+                mCardIndexer.getCardMask(holeCards.getFirstCard()) |
+                mCardIndexer.getCardMask(holeCards.getSecondCard())
+        );
+        validateShowdownMask(showdownMask, communityCards.size());
+        return getBestHandRank(mCombinationIndexer.getCombinationIndex(showdownMask));
+    }
+
+    /**
+     * Returns the {@link HandRank} of the best hand of the given showdown combination.
+     * @param combinationIndex The index of a 7-card combination, as computed by
+     *                         {@link CardCombinationIndexer}.
+     * @return The hand rank of the best hand, a stronger hand always has a larger value.
+     * @throws PrecomputedHandsFileException If the precomputed-hands file could not be opened.
+     */
+    public int getBestHandRank(long combinationIndex) throws PrecomputedHandsFileException {
+        return BestHandRecord.getHandRank(readRecord(combinationIndex));
     }
 
     @Override
     public PokerHand getBestHand(HoleCards holeCards, List<Card> communityCards) throws BestHandSelectorException {
-        // TODO Complete the implementation
-        return null;
+        final long showdownMask = getShowdownMask(holeCards, communityCards);
+        final int record = readRecord(mCombinationIndexer.getCombinationIndex(showdownMask));
+
+        // The record only tells which 5 cards are used (by their position when sorted by index,
+        // which is the order of the mask's bits), so the hand itself is re-created from them:
+        final int usedCardsMask = BestHandRecord.getUsedCardsMask(record);
+        final Card[] usedCards = new Card[PokerHand.HAND_SIZE];
+        int usedCardsCount = 0;
+        long remainingCards = showdownMask;
+        for (int position = 0; remainingCards != 0; position++, remainingCards &= remainingCards - 1) {
+            if ((usedCardsMask & (1 << position)) == 0)
+                continue;
+            if (usedCardsCount == usedCards.length)
+                throw corruptRecordException(record);
+            usedCards[usedCardsCount++] = Card.of(Long.numberOfTrailingZeros(remainingCards));
+        }
+        if (usedCardsCount != usedCards.length)
+            throw corruptRecordException(record);
+
+        return PokerHandFactory.createBestHand(
+                usedCards[0], usedCards[1], usedCards[2], usedCards[3], usedCards[4]
+        );
+    }
+
+    private long getShowdownMask(HoleCards holeCards, List<Card> communityCards) {
+        long showdownMask = (
+                mCardIndexer.getCardMask(holeCards.getFirstCard()) |
+                mCardIndexer.getCardMask(holeCards.getSecondCard())
+        );
+        for (int i = 0; i < communityCards.size(); i++)
+            showdownMask |= mCardIndexer.getCardMask(communityCards.get(i));
+        validateShowdownMask(showdownMask, communityCards.size());
+        return showdownMask;
+    }
+
+    private static void validateShowdownMask(long showdownMask, int communityCardsCount) {
+        if (communityCardsCount != EXPECTED_COMMUNITY_CARDS_COUNT) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d community cards, got %d instead",
+                    EXPECTED_COMMUNITY_CARDS_COUNT, communityCardsCount
+            ));
+        }
+        if (Long.bitCount(showdownMask) != BestHandRecord.SHOWDOWN_CARDS_COUNT)
+            throw new IllegalArgumentException("A card appears more than once in the showdown");
+    }
+
+    private int readRecord(long combinationIndex) throws PrecomputedHandsFileException {
+        return getRecords().getInt(Math.toIntExact(combinationIndex * mSolutionWriter.getRecordWidth()));
+    }
+
+    /**
+     * Opens the precomputed-hands file, validating its header and the CRC of every block.
+     * <p>
+     *     The file is opened lazily on the first lookup, but calling this method at startup
+     *     ensures a truncated or corrupt file is rejected before any hand is selected.
+     * </p>
+     * @throws PrecomputedHandsFileException If the file does not exist, cannot be mapped or
+     *                                       fails validation.
+     */
+    public synchronized void open() throws PrecomputedHandsFileException {
+        if (mRecords != null)
+            return;
+        final BestHandSolutionReader reader = new BestHandSolutionReader(
+                BestHandRecord.SHOWDOWN_CARDS_COUNT,
+                mSolutionWriter.getRecordWidth(),
+                getShowdownCombinationsCount()
+        );
+        mRecords = reader.open(mPrecomputedHandsFile);
+    }
+
+    private ByteBuffer getRecords() throws PrecomputedHandsFileException {
+        final ByteBuffer records = mRecords;
+        if (records != null)
+            return records;
+        open();
+        return mRecords;
+    }
+
+    private static PrecomputedHandsFileException corruptRecordException(int record) {
+        return new PrecomputedHandsFileException(String.format(
+                "Corrupt record 0x%08x - its best hand does not use exactly %d cards",
+                record, PokerHand.HAND_SIZE
+        ));
+    }
+
+    /**
+     * Splits a list of ranges in half until a single range is left, then computes it.
+     */
+    private static final class PrecomputeRangesTask extends RecursiveAction {
+        private final List<CombinationRange> mRanges;
+        private final RangeWriter mRangeWriter;
+
+        PrecomputeRangesTask(List<CombinationRange> ranges, RangeWriter rangeWriter) {
+            mRanges = ranges;
+            mRangeWriter = rangeWriter;
+        }
+
+        void cancelRemainingRanges() {
+            mRangeWriter.mIsCancelled = true;
+        }
+
+        @Override
+        protected void compute() {
+            if (mRanges.size() > 1) {
+                final int middle = mRanges.size() / 2;
+                invokeAll(
+                        new PrecomputeRangesTask(mRanges.subList(0, middle), mRangeWriter),
+                        new PrecomputeRangesTask(mRanges.subList(middle, mRanges.size()), mRangeWriter)
+                );
+            } else if (mRanges.size() == 1 && !mRangeWriter.mIsCancelled) {
+                try {
+                    mRangeWriter.computeAndWrite(mRanges.get(0));
+                } catch (IOException ioException) {
+                    throw new UncheckedIOException(ioException);
+                } catch (BestHandSelectorException selectorException) {
+                    throw new SelectorFailure(selectorException);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the records of a single range and writes them to the range's region of the
+     * precomputed-hands file. Shared by all workers of a single precomputation.
+     */
+    private static final class RangeWriter {
+        private final BestHandSelector mBestHandSelector;
+        private final BinaryBestHandSolutionWriter mSolutionWriter;
+        private final FileChannel mChannel;
+        private final BestHandSolutionHeader mHeader;
+        private final PrecomputationProgressListener mProgressListener;
+        private final AtomicLong mWrittenCombinations;
+        private final CardCombinationIndexer mCombinationIndexer = new CardCombinationIndexer();
+        private volatile boolean mIsCancelled = false;
+
+        RangeWriter(
+                BestHandSelector bestHandSelector, BinaryBestHandSolutionWriter solutionWriter,
+                FileChannel channel, BestHandSolutionHeader header,
+                PrecomputationProgressListener progressListener, long writtenCombinations
+        ) {
+            mBestHandSelector = bestHandSelector;
+            mSolutionWriter = solutionWriter;
+            mChannel = channel;
+            mHeader = header;
+            mProgressListener = progressListener;
+            mWrittenCombinations = new AtomicLong(writtenCombinations);
+        }
+
+        void computeAndWrite(CombinationRange range) throws IOException, BestHandSelectorException {
+            final int recordWidth = mSolutionWriter.getRecordWidth();
+            final ByteBuffer records = ByteBuffer.allocate(range.getCombinationsCount() * recordWidth);
+            // Every combination of the range shares its two highest cards, so they serve as the
+            // hole cards and the lower cards as the board - the best hand doesn't depend on it:
+            final HoleCards holeCards = new HoleCards(
+                    Card.of(range.getSecondHighestCardIndex()), Card.of(range.getHighestCardIndex())
+            );
+            final long highestCardsMask = 1L << range.getSecondHighestCardIndex() | 1L << range.getHighestCardIndex();
+
+            // The lower cards of the range can be any cards below the second highest card:
+            final CombinationIterator lowerCards = new CombinationIterator(
+                    range.getSecondHighestCardIndex(), BestHandRecord.SHOWDOWN_CARDS_COUNT - 2
+            );
+            while (lowerCards.next()) {
+                long boardMask = 0;
+                for (int cardIndex : lowerCards.getCombination())
+                    boardMask |= 1L << cardIndex;
+                final long showdownMask = boardMask | highestCardsMask;
+
+                final long recordIndex = (
+                        mCombinationIndexer.getCombinationIndex(showdownMask) - range.getFirstCombinationIndex()
+                );
+                final int handRank = mBestHandSelector.getBestHandRank(holeCards, CardSet.fromMask(boardMask));
+                mSolutionWriter.writeBestHandSolution(
+                        showdownMask, handRank, records, Math.toIntExact(recordIndex * recordWidth)
+                );
+            }
+
+            records.clear();
+            final CRC32 crc = new CRC32();
+            crc.update(records.duplicate());
+
+            long position = mHeader.getDataOffset() + range.getFirstCombinationIndex() * recordWidth;
+            while (records.hasRemaining())
+                position += mChannel.write(records, position);
+            mChannel.force(false);
+
+            // Only mark the block as written once its records are safely stored:
+            mHeader.writeBlockCrc(mChannel, range.getOrdinal(), crc.getValue());
+            mChannel.force(false);
+
+            mProgressListener.onProgress(
+                    mWrittenCombinations.addAndGet(range.getCombinationsCount()),
+                    mHeader.getRecordsCount()
+            );
+        }
+    }
+
+    /**
+     * Carries a checked {@link BestHandSelectorException} out of a fork/join task.
+     */
+    private static final class SelectorFailure extends RuntimeException {
+        SelectorFailure(BestHandSelectorException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized BestHandSelectorException getCause() {
+            return (BestHandSelectorException) super.getCause();
+        }
     }
 }
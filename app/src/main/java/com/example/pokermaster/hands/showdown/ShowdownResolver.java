@@ -0,0 +1,128 @@
+package com.example.pokermaster.hands.showdown;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.cards.indexers.CardIndexer;
+import com.example.pokermaster.hands.selectors.BestHandSelector;
+import com.example.pokermaster.hands.selectors.BitmaskBestHandSelector;
+import com.example.pokermaster.hands.selectors.BoardState;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Resolves showdowns of any number of players on a single board.
+ * <p>
+ *     The community cards are read and validated once, when the resolver is created, and kept as a
+ *     mask (see {@link CardIndexer#getCardMask(Card)}) and a {@link BoardState} - the rank mask of
+ *     every suit and the flush suit of the board. Every player then only adds their two hole
+ *     cards to that state (evaluated as in {@link BitmaskBestHandSelector}), and the winners,
+ *     split pots and the order of all players come out of the same pass over the hand ranks -
+ *     without creating any {@link com.example.pokermaster.hands.PokerHand PokerHand}.
+ * </p>
+ * <p>
+ *     A resolver holds no mutable state, so it can be shared between threads.
+ * </p>
+ */
+public class ShowdownResolver {
+    private static final int HOLE_CARDS_COUNT = 2;
+
+    private final CardIndexer mCardIndexer = new CardIndexer();
+    private final long mBoardMask;
+    private final BoardState mBoardState;
+
+    /**
+     * Creates a resolver for the given board.
+     * @param communityCards The 5 public cards shared by all players.
+     * @throws IllegalArgumentException If the number of community cards given isn't
+     *                                  {@link BestHandSelector#EXPECTED_COMMUNITY_CARDS_COUNT}, or
+     *                                  if a card appears more than once.
+     */
+    public ShowdownResolver(List<Card> communityCards) {
+        long boardMask = 0;
+        for (Card card : communityCards)
+            boardMask |= mCardIndexer.getCardMask(card);
+        if (communityCards.size() != BestHandSelector.EXPECTED_COMMUNITY_CARDS_COUNT ||
+                Long.bitCount(boardMask) != communityCards.size()) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d distinct community cards, got %s instead",
+                    BestHandSelector.EXPECTED_COMMUNITY_CARDS_COUNT, communityCards
+            ));
+        }
+        mBoardMask = boardMask;
+        mBoardState = new BoardState(boardMask, HOLE_CARDS_COUNT);
+    }
+
+    /**
+     * Computes the hand rank of every player, without ordering them.
+     * <p>
+     *     Use this method in hot loops that only need the hand ranks - it writes into the given
+     *     array and allocates nothing.
+     * </p>
+     * @param players The hole cards of every player.
+     * @param handRanks The array the hand rank of every player is written to, in the order of
+     *                  {@code players}. Must be at least as long as {@code players}.
+     * @throws IllegalArgumentException If a card appears more than once between the board and the
+     *                                  players.
+     */
+    public void computeHandRanks(List<HoleCards> players, int[] handRanks) {
+        long usedCardsMask = mBoardMask;
+        for (int player = 0; player < players.size(); player++) {
+            final HoleCards holeCards = players.get(player);
+            final long holeCardsMask = (
+                    mCardIndexer.getCardMask(holeCards.getFirstCard()) |
+                    mCardIndexer.getCardMask(holeCards.getSecondCard())
+            );
+            if (Long.bitCount(holeCardsMask) != HOLE_CARDS_COUNT || (usedCardsMask & holeCardsMask) != 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Hole cards %s, %s of player %d were already dealt",
+                        holeCards.getFirstCard(), holeCards.getSecondCard(), player
+                ));
+            }
+            usedCardsMask |= holeCardsMask;
+            handRanks[player] = mBoardState.getHandRank(holeCardsMask);
+        }
+    }
+
+    /**
+     * Resolves the showdown between the given players.
+     * @param players The hole cards of every player (at least one).
+     * @return The hand rank and place of every player, identified by their position in
+     *         {@code players}.
+     * @throws IllegalArgumentException If no players are given, or if a card appears more than
+     *                                  once between the board and the players.
+     */
+    public ShowdownResult resolve(List<HoleCards> players) {
+        if (players.isEmpty())
+            throw new IllegalArgumentException("A showdown requires at least one player");
+
+        final int playersCount = players.size();
+        final int[] handRanks = new int[playersCount];
+        computeHandRanks(players, handRanks);
+
+        // Insertion sort from the best hand to the worst - showdowns are at most a table's worth
+        // of players, and the sort is stable so tied players stay in their order:
+        final int[] ranking = new int[playersCount];
+        for (int player = 0; player < playersCount; player++) {
+            int position = player;
+            while (position > 0 && handRanks[ranking[position - 1]] < handRanks[player]) {
+                ranking[position] = ranking[position - 1];
+                position--;
+            }
+            ranking[position] = player;
+        }
+
+        // Consecutive players with the same hand rank share a place:
+        final int[] places = new int[playersCount];
+        final int[] placeStarts = new int[playersCount + 1];
+        int place = 0;
+        for (int position = 1; position < playersCount; position++) {
+            if (handRanks[ranking[position]] != handRanks[ranking[position - 1]])
+                placeStarts[++place] = position;
+            places[ranking[position]] = place;
+        }
+        placeStarts[++place] = playersCount;
+
+        return new ShowdownResult(handRanks, ranking, places, Arrays.copyOf(placeStarts, place + 1));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.pokermaster.hands.showdown;
+
+import java.util.Arrays;
+
+/**
+ * The outcome of a showdown - the {@link com.example.pokermaster.hands.HandRank HandRank} of every
+ * player, and the players ordered from the best hand to the worst.
+ * <p>
+ *     Players are identified by their position in the list given to the
+ *     {@link ShowdownResolver}. Players with equal hands share a place: place 0 holds the winners
+ *     (several of them if the pot is split), place 1 the players right behind them, and so on.
+ *     Within a place, players are ordered by their position.
+ * </p>
+ */
+public class ShowdownResult {
+    private final int[] mHandRanks;
+    /* The players, from the best hand to the worst */
+    private final int[] mRanking;
+    /* The place of every player */
+    private final int[] mPlaces;
+    /* The position in mRanking where every place starts, followed by the number of players */
+    private final int[] mPlaceStarts;
+
+    ShowdownResult(int[] handRanks, int[] ranking, int[] places, int[] placeStarts) {
+        mHandRanks = handRanks;
+        mRanking = ranking;
+        mPlaces = places;
+        mPlaceStarts = placeStarts;
+    }
+
+    public int getPlayersCount() {
+        return mHandRanks.length;
+    }
+
+    /**
+     * @return The hand rank of the player's best hand, a stronger hand always has a larger value.
+     */
+    public int getHandRank(int player) {
+        return mHandRanks[player];
+    }
+
+    /**
+     * @return The place of the player, where 0 means the player won (or split) the pot.
+     */
+    public int getPlace(int player) {
+        return mPlaces[player];
+    }
+
+    public boolean isWinner(int player) {
+        return mPlaces[player] == 0;
+    }
+
+    /**
+     * @return True if more than one player has the best hand.
+     */
+    public boolean isSplitPot() {
+        return getPlayersCount(0) > 1;
+    }
+
+    /**
+     * @return The number of distinct places, which is the number of distinct hand ranks.
+     */
+    public int getPlacesCount() {
+        return mPlaceStarts.length - 1;
+    }
+
+    /**
+     * @return The number of players sharing the given place.
+     */
+    public int getPlayersCount(int place) {
+        return mPlaceStarts[place + 1] - mPlaceStarts[place];
+    }
+
+    /**
+     * @return The players sharing the given place, by their position.
+     * @throws IndexOutOfBoundsException If the place is not in {@code [0, getPlacesCount())}.
+     */
+    public int[] getPlayers(int place) {
+        return Arrays.copyOfRange(mRanking, mPlaceStarts[place], mPlaceStarts[place + 1]);
+    }
+
+    /**
+     * @return The players who won (or split) the pot.
+     */
+    public int[] getWinners() {
+        return getPlayers(0);
+    }
+
+    /**
+     * @return All players, from the best hand to the worst.
+     */
+    public int[] getRanking() {
+        return mRanking.clone();
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.pokermaster.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Enumerates the combinations of {@code k} objects out of {@code n} over a primitive
+ * {@code int[]}, without boxing or allocating anything per combination.
+ * <p>
+ *     Combinations are enumerated in colexicographic order - the order in which the index
+ *     {@code C(c_0, 1) + C(c_1, 2) + ... + C(c_(k-1), k)} of the ascending combination
+ *     {@code c_0 < c_1 < ... < c_(k-1)} goes up, which is also the index
+ *     {@link com.example.pokermaster.cards.indexers.CardCombinationIndexer CardCombinationIndexer}
+ *     gives. This makes combinations easy to rank and unrank, so an iterator can start at any
+ *     index and a full enumeration can be split into ranges of indices for parallel workers
+ *     (see {@link CombinationIterator#splitRanges(int, int, int)}).
+ * </p>
+ * <p>
+ *     For {@code n <= 64}, combinations can also be enumerated as bit masks, see
+ *     {@link CombinationIterator#nextMask(long)}.
+ * </p>
+ * <p>
+ *     Usage:
+ *     <pre>{@code
+ *     final CombinationIterator iterator = new CombinationIterator(52, 7);
+ *     while (iterator.next()) {
+ *         final int[] combination = iterator.getCombination();
+ *         ...
+ *     }
+ *     }</pre>
+ * </p>
+ */
+public class CombinationIterator {
+    private static final Combinatorics sCombinatorics = new Combinatorics();
+
+    private final int[] mCombination;
+    private final long mEndIndex;
+    private long mNextIndex;
+    private boolean mIsStarted = false;
+
+    /**
+     * Creates an iterator over all combinations of {@code objectsToChoose} out of
+     * {@code totalObjectsCount}.
+     * @throws IllegalArgumentException If any count is negative, or if more objects are chosen
+     *                                  than there are.
+     * @throws ArithmeticException If the number of combinations is larger than
+     *                             {@link Long#MAX_VALUE}.
+     */
+    public CombinationIterator(int totalObjectsCount, int objectsToChoose) {
+        this(totalObjectsCount, objectsToChoose, 0, getCount(totalObjectsCount, objectsToChoose));
+    }
+
+    /**
+     * Creates an iterator over a range of the combinations of {@code objectsToChoose} out of
+     * {@code totalObjectsCount}.
+     * @param startIndex The index of the first combination (inclusive).
+     * @param endIndex The index after the last combination (exclusive).
+     * @throws IllegalArgumentException If any count is negative, if more objects are chosen than
+     *                                  there are, or if the range is not within the combinations.
+     * @throws ArithmeticException If the number of combinations is larger than
+     *                             {@link Long#MAX_VALUE}.
+     */
+    public CombinationIterator(int totalObjectsCount, int objectsToChoose, long startIndex, long endIndex) {
+        final long count = getCount(totalObjectsCount, objectsToChoose);
+        if (startIndex < 0 || startIndex > endIndex || endIndex > count) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid range [%d, %d) of %d combinations", startIndex, endIndex, count
+            ));
+        }
+        mCombination = new int[objectsToChoose];
+        mNextIndex = startIndex;
+        mEndIndex = endIndex;
+    }
+
+    /**
+     * @return The number of combinations of {@code objectsToChoose} out of
+     *         {@code totalObjectsCount}.
+     * @throws IllegalArgumentException If any count is negative, or if more objects are chosen
+     *                                  than there are.
+     * @throws ArithmeticException If the number is larger than {@link Long#MAX_VALUE}.
+     */
+    public static long getCount(int totalObjectsCount, int objectsToChoose) {
+        if (objectsToChoose < 0 || objectsToChoose > totalObjectsCount) {
+            throw new IllegalArgumentException(String.format(
+                    "Can't choose %d objects out of %d", objectsToChoose, totalObjectsCount
+            ));
+        }
+        return sCombinatorics.nChooseR(totalObjectsCount, objectsToChoose);
+    }
+
+    /**
+     * Splits the indices of all combinations into consecutive ranges of (almost) equal sizes.
+     * @param totalObjectsCount n.
+     * @param objectsToChoose k.
+     * @param rangesCount The number of ranges (at least 1).
+     * @return {@code rangesCount + 1} boundaries, where range {@code i} is
+     *         {@code [boundaries[i], boundaries[i + 1])} - ready to be passed to
+     *         {@link CombinationIterator#CombinationIterator(int, int, long, long)}.
+     * @throws IllegalArgumentException If the counts are invalid or the number of ranges isn't
+     *                                  positive.
+     */
+    public static long[] splitRanges(int totalObjectsCount, int objectsToChoose, int rangesCount) {
+        if (rangesCount < 1)
+            throw new IllegalArgumentException("Expected at least 1 range, got " + rangesCount);
+        final long count = getCount(totalObjectsCount, objectsToChoose);
+        final long[] boundaries = new long[rangesCount + 1];
+        // The first (count % rangesCount) ranges get one extra combination:
+        for (int i = 1; i <= rangesCount; i++)
+            boundaries[i] = boundaries[i - 1] + count / rangesCount + (i <= count % rangesCount ? 1 : 0);
+        return boundaries;
+    }
+
+    /**
+     * Moves to the next combination of the range.
+     * @return True if the iterator moved to a combination, false if the range is exhausted.
+     */
+    public boolean next() {
+        if (mNextIndex >= mEndIndex)
+            return false;
+        // The first combination of the range has to be unranked, later ones are a step away:
+        if (mIsStarted)
+            advance(mCombination);
+        else
+            unrank(mNextIndex, mCombination);
+        mIsStarted = true;
+        mNextIndex++;
+        return true;
+    }
+
+    /**
+     * Returns the current combination, in ascending order.
+     * <p>
+     *     The array is owned by the iterator and overwritten on every call to
+     *     {@link CombinationIterator#next()}, so callers must not modify or keep it.
+     * </p>
+     * @return The current combination.
+     * @throws NoSuchElementException If {@link CombinationIterator#next()} wasn't called yet.
+     */
+    public int[] getCombination() {
+        if (!mIsStarted)
+            throw new NoSuchElementException("next() must be called before the first combination");
+        return mCombination;
+    }
+
+    /**
+     * @return The index of the current combination.
+     * @throws NoSuchElementException If {@link CombinationIterator#next()} wasn't called yet.
+     */
+    public long getIndex() {
+        if (!mIsStarted)
+            throw new NoSuchElementException("next() must be called before the first combination");
+        return mNextIndex - 1;
+    }
+
+    /**
+     * Computes the colexicographic index of a combination.
+     * @param combination A combination in ascending order.
+     * @return The index of the combination.
+     * @throws ArithmeticException If the index is larger than {@link Long#MAX_VALUE}.
+     */
+    public static long rank(int[] combination) {
+        long index = 0;
+        for (int i = 0; i < combination.length; i++)
+            index = Math.addExact(index, sCombinatorics.nChooseR(combination[i], i + 1));
+        return index;
+    }
+
+    /**
+     * Computes the combination of a colexicographic index, the inverse of
+     * {@link CombinationIterator#rank(int[])}.
+     * @param index The index of the combination.
+     * @param combination The array the combination is written to, in ascending order. Its length
+     *                    is the number of objects chosen.
+     * @apiNote It is the responsibility OF THE CALLER to pass a non-negative index.
+     */
+    public static void unrank(long index, int[] combination) {
+        // Going from the highest object, the largest c with C(c, i + 1) <= index is the i-th one:
+        for (int i = combination.length - 1; i >= 0; i--) {
+            int object = i;
+            while (sCombinatorics.nChooseR(object + 1, i + 1) <= index)
+                object++;
+            index -= sCombinatorics.nChooseR(object, i + 1);
+            combination[i] = object;
+        }
+    }
+
+    /**
+     * Replaces a combination with the next one in colexicographic order.
+     * <p>
+     *     The lowest object that can move up by one moves up, and all objects below it return to
+     *     the bottom. The combination after the last one of {@code n} objects uses object
+     *     {@code n}, so callers must stop after {@link CombinationIterator#getCount(int, int)}
+     *     combinations.
+     * </p>
+     * @param combination A combination in ascending order.
+     */
+    public static void advance(int[] combination) {
+        int i = 0;
+        while (i + 1 < combination.length && combination[i] + 1 == combination[i + 1]) {
+            combination[i] = i;
+            i++;
+        }
+        if (i < combination.length)
+            combination[i]++;
+    }
+
+    /**
+     * Computes the next combination in colexicographic order, where a combination of up to 64
+     * objects is represented by a mask in which the bit of every chosen object is on.
+     * <p>
+     *     This is Gosper's hack - the next larger number with the same number of bits on. Starting
+     *     from {@code (1L << k) - 1}, the last combination of {@code n} objects is the one whose
+     *     highest bit is {@code n - 1}.
+     * </p>
+     * @param mask A non-zero mask of a combination, other than the last combination of 64 objects.
+     * @return The mask of the next combination.
+     */
+    public static long nextMask(long mask) {
+        final long lowestBit = mask & -mask;
+        final long rippled = mask + lowestBit;
+        return rippled | (((mask ^ rippled) >>> 2) / lowestBit);
+    }
+}
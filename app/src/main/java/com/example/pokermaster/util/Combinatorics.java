@@ -1,35 +1,83 @@
 package com.example.pokermaster.util;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
 public class Combinatorics {
+    /**
+     * Largest n whose binomials are all cached - C(66, 33) still fits in a long, C(67, 33) doesn't.
+     */
+    private static final int MAX_CACHED_N = 66;
+
+    /* sPascalTriangle[n][r] = C(n, r), exact, for every 0 <= r <= n <= MAX_CACHED_N */
+    private static final long[][] sPascalTriangle = computePascalTriangle();
+
+    /**
+     * Computes the binomial coefficient C(n, r) - the number of ways to choose
+     * {@code objectsToChoose} objects out of {@code totalObjectsCount}.
+     * <p>
+     *     For {@code n <= 66} the result is read from a Pascal triangle built once, so it is a
+     *     single array read. Larger inputs are computed exactly with long arithmetic while the
+     *     intermediate products fit in a long, and with {@link BigInteger} otherwise.
+     * </p>
+     * @param totalObjectsCount n.
+     * @param objectsToChoose r.
+     * @return The exact value of C(n, r), which is 0 if r is negative or larger than n.
+     * @throws ArithmeticException If the result is larger than {@link Long#MAX_VALUE}.
+     */
     public long nChooseR(long totalObjectsCount, long objectsToChoose) {
-        if (objectsToChoose > totalObjectsCount)
+        if (objectsToChoose > totalObjectsCount || objectsToChoose < 0)
             return 0;
-        if (totalObjectsCount == objectsToChoose || objectsToChoose == 0)
-            return 1;
-
-        double result = 1;
-        final long diff = totalObjectsCount - objectsToChoose;
-
-        for (long i = 2; i <= totalObjectsCount; i++) {
-            boolean withinDiff = i <= diff, withinObjectsToChoose = i <= objectsToChoose;
-            if (withinDiff && withinObjectsToChoose)
-                result /= i;
-            else if (!withinDiff && !withinObjectsToChoose)
-                result *= i;
+        if (totalObjectsCount <= MAX_CACHED_N)
+            return sPascalTriangle[(int) totalObjectsCount][(int) objectsToChoose];
+        return computeLargeNChooseR(totalObjectsCount, objectsToChoose);
+    }
+
+    private static long computeLargeNChooseR(long totalObjectsCount, long objectsToChoose) {
+        // C(n, r) = C(n, n - r), and the smaller one takes fewer steps:
+        final long steps = Math.min(objectsToChoose, totalObjectsCount - objectsToChoose);
+
+        // After step i the result is C(n - steps + i, i), an integer, so every division is exact.
+        // Small r (like multisets of a few items out of many) never leaves a long:
+        long result = 1;
+        for (long i = 1; i <= steps; i++) {
+            final long factor = totalObjectsCount - steps + i;
+            if (result > Long.MAX_VALUE / factor)
+                return computeBigNChooseR(totalObjectsCount, objectsToChoose);
+            result = result * factor / i;
+        }
+        return result;
+    }
+
+    private static long computeBigNChooseR(long totalObjectsCount, long objectsToChoose) {
+        final long steps = Math.min(objectsToChoose, totalObjectsCount - objectsToChoose);
+        BigInteger result = BigInteger.ONE;
+        for (long i = 1; i <= steps; i++) {
+            result = result
+                    .multiply(BigInteger.valueOf(totalObjectsCount - steps + i))
+                    .divide(BigInteger.valueOf(i));
         }
 
-        if (result > Long.MAX_VALUE) {
+        if (result.bitLength() >= Long.SIZE) {
             throw new ArithmeticException(String.format(
                     "Result of nCr(%d, %d) too large to be stored in a long",
                     totalObjectsCount, objectsToChoose
             ));
         }
+        return result.longValue();
+    }
 
-        return Math.round(result);
+    private static long[][] computePascalTriangle() {
+        final long[][] triangle = new long[MAX_CACHED_N + 1][];
+        for (int n = 0; n <= MAX_CACHED_N; n++) {
+            triangle[n] = new long[n + 1];
+            triangle[n][0] = triangle[n][n] = 1;
+            for (int r = 1; r < n; r++)
+                triangle[n][r] = triangle[n - 1][r - 1] + triangle[n - 1][r];
+        }
+        return triangle;
     }
 
     public void forEachCombination(
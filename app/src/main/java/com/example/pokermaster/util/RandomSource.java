@@ -0,0 +1,20 @@
+package com.example.pokermaster.util;
+
+/**
+ * A source of uniformly distributed random integers.
+ * <p>
+ *     This is the part of {@code java.util.random.RandomGenerator} that dealing cards needs, which
+ *     isn't available on all supported API levels. Existing generators fit it with a method
+ *     reference, for example {@code new SplittableRandom(seed)::nextInt} or
+ *     {@code new Random(seed)::nextInt}.
+ * </p>
+ */
+@FunctionalInterface
+public interface RandomSource {
+    /**
+     * Returns a uniformly distributed random integer.
+     * @param bound The upper bound (exclusive), must be positive.
+     * @return A random integer from 0 to {@code bound} exclusively.
+     */
+    int nextInt(int bound);
+}
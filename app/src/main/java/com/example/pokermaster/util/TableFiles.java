@@ -0,0 +1,125 @@
+package com.example.pokermaster.util;
+
+import com.example.pokermaster.util.exceptions.InvalidTableFileException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes the files of precomputed tables, which are memory-mapped rather than read.
+ * <p>
+ *     A table file starts with the following big-endian header, followed by the entries:
+ *     <ul>
+ *         <li>Magic bytes identifying the table.</li>
+ *         <li>The format version (2 bytes).</li>
+ *         <li>The counts describing the table's layout (4 bytes each).</li>
+ *         <li>The CRC-32 of the entries (8 bytes).</li>
+ *     </ul>
+ * </p>
+ */
+public final class TableFiles {
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private TableFiles() {
+    }
+
+    /**
+     * Maps part of a file into memory for reading. The mapping stays valid after the channel is
+     * closed, so the file doesn't have to stay open while the buffer is used.
+     * @param channel A channel of the file.
+     * @param position The position in the file the mapping starts at.
+     * @param size The number of bytes to map.
+     */
+    public static MappedByteBuffer mapReadOnly(FileChannel channel, long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
+    /**
+     * Validates a table file and maps its entries into memory.
+     * @param tableFile The table file.
+     * @param magic The magic bytes the file must start with.
+     * @param version The format version the file must have.
+     * @param counts The counts the header must hold.
+     * @param entriesSize The size of the entries in bytes.
+     * @return A read-only buffer holding the entries.
+     * @throws InvalidTableFileException If the file has the wrong size, the wrong header, or its
+     *                                   entries don't match its checksum.
+     * @throws IOException If the file is missing or can't be read.
+     */
+    public static ByteBuffer mapEntries(File tableFile, byte[] magic, short version, int[] counts, long entriesSize)
+            throws InvalidTableFileException, IOException {
+        try (RandomAccessFile file = new RandomAccessFile(tableFile, "r");
+             FileChannel channel = file.getChannel()) {
+            final long expectedSize = getHeaderSize(magic, counts) + entriesSize;
+            if (channel.size() != expectedSize) {
+                throw new InvalidTableFileException(String.format(
+                        "Expected table of %d bytes, but %s has %d bytes", expectedSize, tableFile, channel.size()
+                ));
+            }
+
+            final ByteBuffer content = mapReadOnly(channel, 0, expectedSize);
+            final byte[] fileMagic = new byte[magic.length];
+            content.get(fileMagic);
+            boolean isHeaderValid = Arrays.equals(fileMagic, magic) && content.getShort() == version;
+            for (int count : counts)
+                isHeaderValid &= content.getInt() == count;
+            if (!isHeaderValid)
+                throw new InvalidTableFileException("Invalid table header in " + tableFile);
+
+            final long expectedCrc = content.getLong();
+            final ByteBuffer entries = content.slice();
+            final CRC32 crc = new CRC32();
+            crc.update(entries.duplicate());
+            if (crc.getValue() != expectedCrc)
+                throw new InvalidTableFileException("Table checksum mismatch in " + tableFile);
+            return entries;
+        }
+    }
+
+    /**
+     * Saves a table, writing it to a temporary file next to the table file first and then moving
+     * it into place, so a crash mid-write never leaves a partial table file behind.
+     * @param tableFile The file to save the table to (replaced if it exists).
+     * @param magic The magic bytes the file starts with.
+     * @param version The format version of the file.
+     * @param counts The counts written to the header.
+     * @param entries The entries, from their position to their limit.
+     * @throws IOException If writing or moving the file failed.
+     */
+    public static void save(File tableFile, byte[] magic, short version, int[] counts, ByteBuffer entries)
+            throws IOException {
+        final ByteBuffer entriesToWrite = entries.duplicate();
+        final CRC32 crc = new CRC32();
+        crc.update(entries.duplicate());
+
+        final ByteBuffer header = ByteBuffer.allocate(getHeaderSize(magic, counts));
+        header.put(magic).putShort(version);
+        for (int count : counts)
+            header.putInt(count);
+        header.putLong(crc.getValue());
+        header.flip();
+
+        final File temporaryFile = new File(tableFile.getPath() + TEMPORARY_FILE_SUFFIX);
+        try (RandomAccessFile file = new RandomAccessFile(temporaryFile, "rw");
+             FileChannel channel = file.getChannel()) {
+            channel.truncate(0);
+            while (header.hasRemaining())
+                channel.write(header);
+            while (entriesToWrite.hasRemaining())
+                channel.write(entriesToWrite);
+            channel.force(true);
+        }
+        if (!temporaryFile.renameTo(tableFile))
+            throw new IOException(String.format("Failed to move table from %s to %s", temporaryFile, tableFile));
+    }
+
+    private static int getHeaderSize(byte[] magic, int[] counts) {
+        return magic.length + Short.BYTES + counts.length * Integer.BYTES + Long.BYTES;
+    }
+}
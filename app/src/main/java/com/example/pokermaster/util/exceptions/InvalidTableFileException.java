@@ -0,0 +1,23 @@
+package com.example.pokermaster.util.exceptions;
+
+public class InvalidTableFileException extends Exception {
+
+    public InvalidTableFileException() {
+    }
+
+    public InvalidTableFileException(String message) {
+        super(message);
+    }
+
+    public InvalidTableFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public InvalidTableFileException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+    public InvalidTableFileException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.pokermaster.cards;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.pokermaster.cards.decks.HashDeck;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CardSetTest {
+    private static final Card ACE_OF_SPADES = Card.of(Card.ACE_RANK, Suit.SPADE);
+    private static final Card KING_OF_HEARTS = Card.of(Card.KING_RANK, Suit.HEART);
+    private static final Card TWO_OF_CLUBS = Card.of(2, Suit.CLUB);
+
+    @Test
+    public void testAddRemoveAndContains() {
+        CardSet cards = CardSet.EMPTY.add(ACE_OF_SPADES).add(KING_OF_HEARTS).add(ACE_OF_SPADES);
+        assertEquals(2, cards.size());
+        assertTrue(cards.contains(ACE_OF_SPADES));
+        assertFalse(cards.contains(TWO_OF_CLUBS));
+
+        cards = cards.remove(ACE_OF_SPADES).remove(TWO_OF_CLUBS);
+        assertEquals(CardSet.of(KING_OF_HEARTS), cards);
+        assertTrue(CardSet.EMPTY.isEmpty());
+        assertEquals(52, CardSet.FULL_DECK.size());
+    }
+
+    @Test
+    public void testSetOperations() {
+        final CardSet first = CardSet.of(ACE_OF_SPADES, KING_OF_HEARTS);
+        final CardSet second = CardSet.of(List.of(KING_OF_HEARTS, TWO_OF_CLUBS));
+
+        assertEquals(CardSet.of(ACE_OF_SPADES, KING_OF_HEARTS, TWO_OF_CLUBS), first.union(second));
+        assertEquals(CardSet.of(KING_OF_HEARTS), first.intersection(second));
+        assertEquals(CardSet.of(ACE_OF_SPADES), first.difference(second));
+        assertTrue(first.intersects(second));
+        assertFalse(first.containsAll(second));
+        assertTrue(CardSet.FULL_DECK.containsAll(first));
+        assertEquals(50, CardSet.FULL_DECK.difference(first).size());
+    }
+
+    @Test
+    public void testIterationIsOrderedByIndex() {
+        final CardSet cards = CardSet.of(TWO_OF_CLUBS, KING_OF_HEARTS, ACE_OF_SPADES);
+        final List<Card> iterated = new ArrayList<>();
+        for (Card card : cards)
+            iterated.add(card);
+
+        assertEquals(List.of(ACE_OF_SPADES, KING_OF_HEARTS, TWO_OF_CLUBS), iterated);
+        assertEquals(iterated, cards.toList());
+        assertEquals(cards, CardSet.fromMask(cards.getMask()));
+        assertThrows(IllegalArgumentException.class, () -> CardSet.fromMask(1L << 52));
+    }
+
+    @Test
+    public void testDeckOverloads() {
+        final HashDeck deck = new HashDeck();
+        final CardSet deadCards = CardSet.of(ACE_OF_SPADES, TWO_OF_CLUBS);
+        deck.removeFromDeck(deadCards);
+
+        assertEquals(50, deck.getCardsCount());
+        assertFalse(deck.isInDeck(deadCards));
+        assertTrue(deck.isInDeck(CardSet.of(KING_OF_HEARTS)));
+        assertEquals(50, new HashDeck(CardSet.FULL_DECK.difference(deadCards)).getCardsCount());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.pokermaster.cards.decks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.cards.exceptions.EmptyDeckException;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class BitSetDeckTest {
+    @Test
+    public void testDealsEveryCardOnce() throws EmptyDeckException {
+        final BitSetDeck deck = new BitSetDeck(new SplittableRandom(42)::nextInt);
+        CardSet dealtCards = CardSet.EMPTY;
+        while (!deck.isEmpty()) {
+            final Card card = deck.popRandomCard();
+            assertFalse(dealtCards.contains(card), "Card dealt twice: " + card);
+            assertFalse(deck.isInDeck(card), "Dealt card is still in the deck: " + card);
+            dealtCards = dealtCards.add(card);
+        }
+
+        assertEquals(CardSet.FULL_DECK, dealtCards);
+        assertThrows(EmptyDeckException.class, deck::popRandomCard);
+
+        deck.reset();
+        assertEquals(52, deck.getCardsCount());
+        assertEquals(CardSet.FULL_DECK, deck.getCards());
+    }
+
+    @Test
+    public void testSameSeedDealsSameCards() throws EmptyDeckException {
+        final BitSetDeck deck = new BitSetDeck(new SplittableRandom(7)::nextInt);
+        final BitSetDeck otherDeck = new BitSetDeck(new SplittableRandom(7)::nextInt);
+        final List<Card> deal = new ArrayList<>();
+        final List<Card> otherDeal = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            deal.add(deck.popRandomCard());
+            otherDeal.add(otherDeck.popRandomCard());
+        }
+        assertEquals(deal, otherDeal);
+    }
+
+    @Test
+    public void testAddAndRemove() throws EmptyDeckException {
+        final Card aceOfSpades = Card.of(Card.ACE_RANK, Suit.SPADE);
+        final Card twoOfClubs = Card.of(2, Suit.CLUB);
+        final BitSetDeck deck = new BitSetDeck(CardSet.of(aceOfSpades, twoOfClubs), new SplittableRandom(1)::nextInt);
+
+        assertEquals(2, deck.getCardsCount());
+        assertTrue(deck.removeFromDeck(aceOfSpades));
+        assertFalse(deck.removeFromDeck(aceOfSpades));
+        assertEquals(twoOfClubs, deck.popRandomCard());
+
+        assertFalse(deck.addToDeck(aceOfSpades));
+        assertTrue(deck.addToDeck(aceOfSpades));
+        assertEquals(CardSet.of(aceOfSpades), deck.getCards());
+        assertEquals(aceOfSpades, deck.popRandomCard());
+    }
+
+    @Test
+    public void testDealsUniformly() throws EmptyDeckException {
+        final BitSetDeck deck = new BitSetDeck(new SplittableRandom(2024)::nextInt);
+        deck.removeFromDeck(Card.of(5, Suit.HEART));
+        final int[] firstCardCounts = new int[Card.CARDS_COUNT];
+        final int deals = 510_000;
+        for (int i = 0; i < deals; i++) {
+            firstCardCounts[deck.popRandomCard().getIndex()]++;
+            deck.reset();
+            deck.removeFromDeck(Card.of(5, Suit.HEART));
+        }
+
+        // Every one of the 51 remaining cards should come first about 10,000 times:
+        for (int cardIndex = 0; cardIndex < Card.CARDS_COUNT; cardIndex++) {
+            if (cardIndex == Card.of(5, Suit.HEART).getIndex())
+                assertEquals(0, firstCardCounts[cardIndex], "Removed card was dealt");
+            else
+                assertEquals(10_000, firstCardCounts[cardIndex], 500, "Card dealt too rarely/often: " + Card.of(cardIndex));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.pokermaster.cards.decks;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
+import com.example.pokermaster.cards.exceptions.EmptyDeckException;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+public class DeckTest {
+    @Test
+    public void testHashDeckBatchDeal() throws EmptyDeckException {
+        checkBatchDeal(new HashDeck());
+    }
+
+    @Test
+    public void testBitSetDeckBatchDeal() throws EmptyDeckException {
+        checkBatchDeal(new BitSetDeck(new SplittableRandom(11)::nextInt));
+    }
+
+    @Test
+    public void testSeededHashDeckDealsSameCards() throws EmptyDeckException {
+        final HashDeck deck = new HashDeck(CardSet.FULL_DECK, new SplittableRandom(7)::nextInt);
+        final HashDeck otherDeck = new HashDeck(CardSet.FULL_DECK, new SplittableRandom(7)::nextInt);
+        for (int i = 0; i < 20; i++)
+            assertEquals(deck.popRandomCard(), otherDeck.popRandomCard());
+
+        final int[] dealtCardIndices = new int[9];
+        final int[] otherDealtCardIndices = new int[9];
+        deck.dealCards(dealtCardIndices, dealtCardIndices.length);
+        otherDeck.dealCards(otherDealtCardIndices, otherDealtCardIndices.length);
+        assertArrayEquals(dealtCardIndices, otherDealtCardIndices);
+    }
+
+    private static void checkBatchDeal(Deck deck) throws EmptyDeckException {
+        // A board and 4 opponents:
+        final int[] dealtCardIndices = new int[13];
+        for (int trial = 0; trial < 100; trial++) {
+            deck.dealCards(dealtCardIndices, dealtCardIndices.length);
+            assertEquals(52 - dealtCardIndices.length, deck.getCardsCount());
+
+            long dealtCardsMask = 0;
+            for (int cardIndex : dealtCardIndices) {
+                assertEquals(0, dealtCardsMask & (1L << cardIndex), "Card dealt twice");
+                assertFalse(deck.isInDeck(Card.of(cardIndex)), "Dealt card is still in the deck");
+                dealtCardsMask |= 1L << cardIndex;
+            }
+
+            deck.restore(dealtCardIndices, dealtCardIndices.length);
+            assertEquals(52, deck.getCardsCount());
+        }
+
+        final CardSet dealtCards = deck.dealCards(7);
+        assertEquals(7, dealtCards.size());
+        assertFalse(deck.isInDeck(dealtCards.toList().get(0)));
+        deck.restore(dealtCards);
+        assertEquals(52, deck.getCardsCount());
+
+        // A deal that can't be completed deals nothing:
+        deck.removeFromDeck(CardSet.FULL_DECK.difference(dealtCards));
+        assertThrows(EmptyDeckException.class, () -> deck.dealCards(8));
+        assertEquals(7, deck.getCardsCount());
+        assertThrows(IllegalArgumentException.class, () -> deck.dealCards(new int[2], 3));
+    }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.example.pokermaster.annotations.ExpensiveTest;
 import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
 import com.example.pokermaster.cards.Suit;
 import com.example.pokermaster.util.Combinatorics;
 
@@ -12,11 +13,11 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 public class CardCombinationIndexerTest {
     private static final int BUCKET_SIZE = 10_000;
     private static final Combinatorics combinatorics = new Combinatorics();
-    private static final CardIndexer cardIndexer = new CardIndexer();
     private static final CardCombinationIndexer combinationIndexer = new CardCombinationIndexer();
     private static final int POSSIBLE_CARD_VALUES = (
             (Card.MAX_RANK - Card.MIN_RANK + 1) * Suit.values().length
@@ -33,11 +34,11 @@ public class CardCombinationIndexerTest {
         int[] seenBuckets = new int[(maxExpectedIndex / BUCKET_SIZE) + 1];
 
         for (int i = 0; i < SHOWDOWN_HAND_SIZE; i++)
-            combination.add(new Card(Card.MIN_RANK, Suit.DIAMOND));
+            combination.add(Card.of(Card.MIN_RANK, Suit.DIAMOND));
 
         combinatorics.forEachCombination(POSSIBLE_CARD_VALUES, SHOWDOWN_HAND_SIZE, (combinationIndices) -> {
             for (int i = 0; i < SHOWDOWN_HAND_SIZE; i++) {
-                cardIndexer.setCardToIndex(combination.get(i), combinationIndices.get(i));
+                combination.set(i, Card.of(combinationIndices.get(i)));
             }
             assertEquals(SHOWDOWN_HAND_SIZE, combination.size());
             int index = Math.toIntExact(combinationIndexer.getCombinationIndex(combination));
@@ -61,4 +62,61 @@ public class CardCombinationIndexerTest {
         }
         assertEquals(maxExpectedIndex + 1, processedIndices);
     }
+
+    @Test
+    public void testGetCombinationIndex_CardSetMatchesList() {
+        final List<Card> combination = List.of(
+                Card.of(Card.ACE_RANK, Suit.CLUB), Card.of(7, Suit.SPADE), Card.of(2, Suit.HEART),
+                Card.of(Card.JACK_RANK, Suit.DIAMOND), Card.of(10, Suit.SPADE)
+        );
+        assertEquals(
+                combinationIndexer.getCombinationIndex(combination),
+                combinationIndexer.getCombinationIndex(CardSet.of(combination))
+        );
+        assertEquals(0, combinationIndexer.getCombinationIndex(CardSet.EMPTY));
+    }
+
+    @Test
+    public void testGetCombinationIndex_IndicesMatchList() {
+        final int[] cardIndices = {40, 3, 51, 17, 0, 29};
+        final List<Card> combination = new ArrayList<>();
+        for (int cardIndex : cardIndices)
+            combination.add(Card.of(cardIndex));
+
+        assertEquals(
+                combinationIndexer.getCombinationIndex(combination),
+                combinationIndexer.getCombinationIndex(cardIndices)
+        );
+        // The highest combination of 7 cards is the last one:
+        assertEquals(
+                combinatorics.nChooseR(POSSIBLE_CARD_VALUES, SHOWDOWN_HAND_SIZE) - 1,
+                combinationIndexer.getCombinationIndex(new int[]{45, 46, 47, 48, 49, 50, 51})
+        );
+    }
+
+    @Test
+    public void testGetCombinationIndexWithCard_MatchesFullIndex() {
+        final Random random = new Random(18);
+        for (int i = 0; i < 10_000; i++) {
+            final long turnMask = randomMask(random, SHOWDOWN_HAND_SIZE - 1);
+            int riverCardIndex;
+            do {
+                riverCardIndex = random.nextInt(POSSIBLE_CARD_VALUES);
+            } while ((turnMask & 1L << riverCardIndex) != 0);
+
+            assertEquals(
+                    combinationIndexer.getCombinationIndex(turnMask | 1L << riverCardIndex),
+                    combinationIndexer.getCombinationIndexWithCard(
+                            combinationIndexer.getCombinationIndex(turnMask), turnMask, riverCardIndex
+                    )
+            );
+        }
+    }
+
+    private static long randomMask(Random random, int cardsCount) {
+        long mask = 0;
+        while (Long.bitCount(mask) < cardsCount)
+            mask |= 1L << random.nextInt(POSSIBLE_CARD_VALUES);
+        return mask;
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.pokermaster.cards.indexers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.example.pokermaster.cards.Card;
@@ -21,7 +22,7 @@ public class CardIndexerTest {
         Card testedCard;
         for (int rank = Card.MIN_RANK; rank <= Card.MAX_RANK; rank++) {
             for (Suit suit : Suit.values()) {
-                testedCard = new Card(rank, suit);
+                testedCard = Card.of(rank, suit);
 
                 int cardIndex = cardIndexer.getCardIndex(testedCard);
                 Optional<Card> calculatedCard = cardIndexer.getCardFromIndex(cardIndex);
@@ -33,21 +34,17 @@ public class CardIndexerTest {
     }
 
     @Test
-    public void testSetCardToIndex_sanity() {
-        Card testedCard = new Card(Card.MAX_RANK, Suit.DIAMOND);
-        for (int rank = Card.MIN_RANK; rank <= Card.MAX_RANK; rank++) {
-            for (Suit suit : Suit.values()) {
-                Card currentCard = new Card(rank, suit);
-                int currentCardIndex = cardIndexer.getCardIndex(currentCard);
-
-                cardIndexer.setCardToIndex(testedCard, currentCardIndex);
-                assertEquals(currentCard, testedCard);
-            }
+    public void testGetCardFromIndex_ReturnsInternedCard() {
+        for (int index = 0; index < Card.CARDS_COUNT; index++) {
+            Optional<Card> card = cardIndexer.getCardFromIndex(index);
+            assertTrue(card.isPresent());
+            assertSame(Card.of(index), card.get());
+            assertSame(Card.of(card.get().getRank(), card.get().getSuit()), card.get());
         }
     }
 
     @ParameterizedTest
-    @ValueSource(ints = {Integer.MAX_VALUE, Integer.MIN_VALUE})
+    @ValueSource(ints = {Integer.MAX_VALUE, Integer.MIN_VALUE, -1, 52})
     public void testGetCardFromIndex_ReturnsEmptyOptional_WhenGivenInvalidIndex(int invalidIndex) {
         Optional<Card> card = cardIndexer.getCardFromIndex(invalidIndex);
         assertTrue(card.isEmpty());
@@ -0,0 +1,81 @@
+package com.example.pokermaster.cards.indexers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.Suit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+public class SuitIsomorphismIndexerTest {
+    private static final int DECK_SIZE = 52;
+    private static final SuitIsomorphismIndexer indexer = new SuitIsomorphismIndexer();
+
+    @ParameterizedTest
+    @CsvSource({"0, 1", "1, 13", "2, 169", "3, 1755", "5, 134459", "7, 6009159", "52, 1"})
+    public void testClassesCount(int cardsCount, long expectedClassesCount) {
+        assertEquals(expectedClassesCount, indexer.getClassesCount(cardsCount));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 5})
+    public void testIndexIsDenseAndInvertible(int cardsCount) {
+        final long classesCount = indexer.getClassesCount(cardsCount);
+        final BitSet seenIndices = new BitSet(Math.toIntExact(classesCount));
+
+        forEachCardsMask(0, 0, cardsCount, cardsMask -> {
+            final long index = indexer.getIndex(cardsMask);
+            assertTrue(0 <= index && index < classesCount, "Index out of range: " + index);
+            seenIndices.set(Math.toIntExact(index));
+
+            final long canonicalMask = indexer.getCanonicalCardsMask(cardsMask);
+            assertEquals(index, indexer.getIndex(canonicalMask), "Canonical form has a different index");
+            assertEquals(canonicalMask, indexer.getCardsMaskFromIndex(cardsCount, index), "Wrong set for index");
+        });
+
+        assertEquals(classesCount, seenIndices.cardinality(), "Some indices were never used");
+    }
+
+    @Test
+    public void testRenamedSuitsShareIndex() {
+        final List<Card> board = List.of(
+                Card.of(Card.ACE_RANK, Suit.SPADE), Card.of(Card.KING_RANK, Suit.SPADE),
+                Card.of(Card.QUEEN_RANK, Suit.HEART), Card.of(7, Suit.DIAMOND), Card.of(7, Suit.HEART)
+        );
+        final List<Card> renamedBoard = List.of(
+                Card.of(Card.ACE_RANK, Suit.CLUB), Card.of(Card.KING_RANK, Suit.CLUB),
+                Card.of(Card.QUEEN_RANK, Suit.SPADE), Card.of(7, Suit.HEART), Card.of(7, Suit.SPADE)
+        );
+        final List<Card> differentBoard = List.of(
+                Card.of(Card.ACE_RANK, Suit.CLUB), Card.of(Card.KING_RANK, Suit.CLUB),
+                Card.of(Card.QUEEN_RANK, Suit.SPADE), Card.of(7, Suit.HEART), Card.of(7, Suit.CLUB)
+        );
+
+        assertEquals(indexer.getIndex(board), indexer.getIndex(renamedBoard));
+        assertTrue(indexer.getIndex(board) != indexer.getIndex(differentBoard));
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> indexer.getIndex(1L << DECK_SIZE));
+        assertThrows(IndexOutOfBoundsException.class, () -> indexer.getCardsMaskFromIndex(2, 169));
+    }
+
+    private static void forEachCardsMask(long cardsMask, int firstCard, int cardsLeft, LongConsumer consumer) {
+        if (cardsLeft == 0) {
+            consumer.accept(cardsMask);
+            return;
+        }
+        for (int card = firstCard; card <= DECK_SIZE - cardsLeft; card++)
+            forEachCardsMask(cardsMask | 1L << card, card + 1, cardsLeft - 1, consumer);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.pokermaster.equity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.equity.exceptions.EquityCalculationException;
+import com.example.pokermaster.game_state.GamePhase;
+import com.example.pokermaster.hands.selectors.BitmaskBestHandSelector;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class EquityCalculatorTest {
+    private static final int WORKERS_COUNT = 4;
+    private static ExecutorService sExecutor;
+    private static EquityCalculator sCalculator;
+
+    @BeforeAll
+    public static void createCalculator() {
+        sExecutor = Executors.newFixedThreadPool(WORKERS_COUNT);
+        sCalculator = new EquityCalculator(new BitmaskBestHandSelector(), sExecutor, WORKERS_COUNT);
+    }
+
+    @AfterAll
+    public static void shutdownExecutor() {
+        sExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testPocketAcesAgainstPocketKings() throws EquityCalculationException, InterruptedException {
+        final List<HoleCards> players = List.of(
+                new HoleCards(Card.of(Card.ACE_RANK, Suit.SPADE), Card.of(Card.ACE_RANK, Suit.HEART)),
+                new HoleCards(Card.of(Card.KING_RANK, Suit.DIAMOND), Card.of(Card.KING_RANK, Suit.CLUB))
+        );
+        final EquityResult result = sCalculator.calculateEquity(
+                players, List.of(), GamePhase.PRE_FLOP, 200_000, 0.002, 1234
+        );
+
+        // Aces hold about 82% against kings
+        assertEquals(0.82, result.getEquity(0), 0.01, "Wrong equity for pocket aces");
+        assertEquals(1.0, result.getEquity(0) + result.getEquity(1), 1e-9, "Equities should sum to 1");
+        assertEquals(
+                1.0, result.getWinFraction(0) + result.getTieFraction(0) + result.getLossFraction(0), 1e-9,
+                "Win, tie and loss fractions should sum to 1"
+        );
+        assertTrue(result.getEquityMarginOfError(0) <= 0.002, "Margin of error is larger than requested");
+    }
+
+    @Test
+    public void testStopsEarlyOncePreciseEnough() throws EquityCalculationException, InterruptedException {
+        final List<HoleCards> players = List.of(
+                new HoleCards(Card.of(Card.QUEEN_RANK, Suit.SPADE), Card.of(Card.JACK_RANK, Suit.SPADE)),
+                new HoleCards(Card.of(2, Suit.DIAMOND), Card.of(7, Suit.CLUB))
+        );
+        final long maxTrials = 10_000_000;
+        final EquityResult result = sCalculator.calculateEquity(
+                players, List.of(), GamePhase.PRE_FLOP, maxTrials, 0.01, 99
+        );
+
+        assertTrue(result.getTrialsCount() < maxTrials, "Calculation didn't stop early");
+        assertTrue(result.getEquityMarginOfError(0) <= 0.01, "Stopped before reaching the requested precision");
+    }
+
+    @Test
+    public void testSeededSingleWorkerIsReproducible() throws EquityCalculationException, InterruptedException {
+        final EquityCalculator calculator = new EquityCalculator(new BitmaskBestHandSelector(), sExecutor, 1);
+        final List<HoleCards> players = List.of(
+                new HoleCards(Card.of(Card.ACE_RANK, Suit.SPADE), Card.of(Card.KING_RANK, Suit.SPADE)),
+                new HoleCards(Card.of(9, Suit.HEART), Card.of(9, Suit.CLUB))
+        );
+        // A margin of error of 0 never stops early, so both runs draw exactly the same boards:
+        final EquityResult result = calculator.calculateEquity(players, List.of(), GamePhase.PRE_FLOP, 5_000, 0, 42);
+        final EquityResult otherResult = calculator.calculateEquity(players, List.of(), GamePhase.PRE_FLOP, 5_000, 0, 42);
+
+        assertEquals(result.getTrialsCount(), otherResult.getTrialsCount());
+        for (int player = 0; player < players.size(); player++) {
+            assertEquals(result.getWinFraction(player), otherResult.getWinFraction(player));
+            assertEquals(result.getTieFraction(player), otherResult.getTieFraction(player));
+            assertEquals(result.getEquity(player), otherResult.getEquity(player));
+        }
+    }
+
+    @Test
+    public void testRiverIsExact() throws EquityCalculationException, InterruptedException {
+        // The board is a royal flush, so both players split the pot:
+        final List<Card> board = List.of(
+                Card.of(10, Suit.HEART), Card.of(Card.JACK_RANK, Suit.HEART),
+                Card.of(Card.QUEEN_RANK, Suit.HEART), Card.of(Card.KING_RANK, Suit.HEART),
+                Card.of(Card.ACE_RANK, Suit.HEART)
+        );
+        final List<HoleCards> players = List.of(
+                new HoleCards(Card.of(2, Suit.SPADE), Card.of(3, Suit.SPADE)),
+                new HoleCards(Card.of(Card.ACE_RANK, Suit.CLUB), Card.of(Card.ACE_RANK, Suit.DIAMOND))
+        );
+        final EquityResult result = sCalculator.calculateEquity(
+                players, board, GamePhase.RIVER, 1_000, 0.01
+        );
+
+        assertTrue(result.isExact(), "River result should be exact");
+        assertEquals(1, result.getTrialsCount(), "River has a single possible board");
+        assertEquals(1.0, result.getTieFraction(0), "Expected a split pot");
+        assertEquals(0.5, result.getEquity(1), "Expected a split pot");
+    }
+
+    @Test
+    public void testInvalidInput() {
+        final HoleCards aces = new HoleCards(Card.of(Card.ACE_RANK, Suit.SPADE), Card.of(Card.ACE_RANK, Suit.HEART));
+        final HoleCards kings = new HoleCards(Card.of(Card.KING_RANK, Suit.SPADE), Card.of(Card.KING_RANK, Suit.HEART));
+        final List<Card> flop = List.of(
+                Card.of(2, Suit.CLUB), Card.of(3, Suit.CLUB), Card.of(4, Suit.CLUB)
+        );
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> sCalculator.calculateEquity(List.of(aces, kings), flop, GamePhase.TURN, 1_000, 0),
+                "Community cards count should match the game phase"
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> sCalculator.calculateEquity(List.of(aces, aces), flop, GamePhase.FLOP, 1_000, 0),
+                "Duplicate cards should be rejected"
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> sCalculator.calculateEquity(List.of(aces), flop, GamePhase.FLOP, 1_000, 0),
+                "A single player should be rejected"
+        );
+    }
+
+    @Test
+    public void testExactEquityOnFlopAndTurn() throws EquityCalculationException, InterruptedException {
+        final List<HoleCards> players = List.of(
+                new HoleCards(Card.of(Card.ACE_RANK, Suit.SPADE), Card.of(Card.KING_RANK, Suit.SPADE)),
+                new HoleCards(Card.of(9, Suit.HEART), Card.of(9, Suit.DIAMOND))
+        );
+        final List<Card> flop = List.of(
+                Card.of(Card.QUEEN_RANK, Suit.SPADE), Card.of(7, Suit.SPADE), Card.of(2, Suit.CLUB)
+        );
+
+        final EquityResult flopResult = sCalculator.calculateExactEquity(players, flop, GamePhase.FLOP);
+        assertTrue(flopResult.isExact(), "Enumerated result should be exact");
+        assertEquals(990, flopResult.getTrialsCount(), "Expected C(45, 2) boards on the flop");
+        assertEquals(0.0, flopResult.getEquityMarginOfError(0), "Exact result has no margin of error");
+
+        // The exact result should be well within the sampled result's margin of error:
+        final EquityResult sampledResult = sCalculator.calculateEquity(
+                players, flop, GamePhase.FLOP, 200_000, 0, 42
+        );
+        assertEquals(
+                flopResult.getEquity(0), sampledResult.getEquity(0),
+                2 * sampledResult.getEquityMarginOfError(0),
+                "Exact and sampled equities disagree"
+        );
+
+        final List<Card> turn = List.of(flop.get(0), flop.get(1), flop.get(2), Card.of(3, Suit.HEART));
+        final EquityResult turnResult = sCalculator.calculateExactEquity(players, turn, GamePhase.TURN);
+        assertEquals(44, turnResult.getTrialsCount(), "Expected 44 boards on the turn");
+        // 9 spades, 3 aces and 3 kings give the flush draw the win on the river:
+        assertEquals(15.0 / 44, turnResult.getWinFraction(0), 1e-9, "Wrong number of outs");
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.pokermaster.equity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.cards.decks.HashDeck;
+import com.example.pokermaster.equity.exceptions.EquityCalculationException;
+import com.example.pokermaster.game_state.GamePhase;
+import com.example.pokermaster.hands.selectors.BitmaskBestHandSelector;
+import com.example.pokermaster.hands.showdown.ShowdownResolver;
+import com.example.pokermaster.hands.showdown.ShowdownResult;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class HandPotentialCalculatorTest {
+    private static final int WORKERS_COUNT = 4;
+    private static final HoleCards HOLE_CARDS = new HoleCards(
+            Card.of(Card.ACE_RANK, Suit.HEART), Card.of(Card.QUEEN_RANK, Suit.HEART)
+    );
+    private static final List<Card> TURN = List.of(
+            Card.of(Card.KING_RANK, Suit.HEART), Card.of(7, Suit.HEART), Card.of(7, Suit.CLUB), Card.of(3, Suit.SPADE)
+    );
+
+    private static ExecutorService sExecutor;
+    private static HandPotentialCalculator sCalculator;
+
+    @BeforeAll
+    public static void createCalculator() {
+        sExecutor = Executors.newFixedThreadPool(WORKERS_COUNT);
+        sCalculator = new HandPotentialCalculator(sExecutor, WORKERS_COUNT);
+    }
+
+    @AfterAll
+    public static void shutdownExecutor() {
+        sExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testTurnMatchesShowdowns() throws EquityCalculationException, InterruptedException {
+        final HandPotentialResult result = sCalculator.calculate(HOLE_CARDS, TURN, GamePhase.TURN);
+
+        final List<Card> remainingCards = new ArrayList<>();
+        for (int i = 0; i < Card.CARDS_COUNT; i++) {
+            final Card card = Card.of(i);
+            if (!TURN.contains(card) && card != HOLE_CARDS.getFirstCard() && card != HOLE_CARDS.getSecondCard())
+                remainingCards.add(card);
+        }
+        // Straightforward tally - every opponent hand, then every river. hp[now][end] counts the
+        // outcomes, 0 for ahead, 1 for tied and 2 for behind:
+        final long[][] hp = new long[3][3];
+        final long[] now = new long[3];
+        for (int first = 0; first < remainingCards.size(); first++) {
+            for (int second = first + 1; second < remainingCards.size(); second++) {
+                final HoleCards opponent = new HoleCards(remainingCards.get(first), remainingCards.get(second));
+                final int currentOutcome = Integer.signum(
+                        getHandRank(opponent, TURN) - getHandRank(HOLE_CARDS, TURN)
+                ) + 1;
+                now[currentOutcome]++;
+                for (Card river : remainingCards) {
+                    if (river == opponent.getFirstCard() || river == opponent.getSecondCard())
+                        continue;
+                    final ShowdownResult showdown = new ShowdownResolver(withRiver(TURN, river))
+                            .resolve(List.of(HOLE_CARDS, opponent));
+                    final int finalOutcome = showdown.isSplitPot() ? 1 : showdown.isWinner(0) ? 0 : 2;
+                    hp[currentOutcome][finalOutcome]++;
+                }
+            }
+        }
+        final long opponentHandsCount = now[0] + now[1] + now[2];
+        final double handStrength = (now[0] + now[1] / 2.0) / opponentHandsCount;
+        final double positivePotential = (hp[2][0] + hp[2][1] / 2.0 + hp[1][0] / 2.0) / (
+                hp[2][0] + hp[2][1] + hp[2][2] + (hp[1][0] + hp[1][1] + hp[1][2]) / 2.0
+        );
+        final double negativePotential = (hp[0][2] + hp[1][2] / 2.0 + hp[0][1] / 2.0) / (
+                hp[0][0] + hp[0][1] + hp[0][2] + (hp[1][0] + hp[1][1] + hp[1][2]) / 2.0
+        );
+
+        assertEquals(opponentHandsCount, result.getOpponentHandsCount());
+        assertEquals(handStrength, result.getHandStrength(), 1e-9);
+        assertEquals(positivePotential, result.getPositivePotential(), 1e-9);
+        assertEquals(negativePotential, result.getNegativePotential(), 1e-9);
+        assertTrue(result.getPositivePotential() > 0.1, "The nut flush draw should improve often");
+    }
+
+    @Test
+    public void testRiverHasNoPotential() throws EquityCalculationException, InterruptedException {
+        final List<Card> river = withRiver(TURN, Card.of(2, Suit.DIAMOND));
+        final HandPotentialResult result = sCalculator.calculate(HOLE_CARDS, river, GamePhase.RIVER);
+        assertEquals(0.0, result.getPositivePotential());
+        assertEquals(0.0, result.getNegativePotential());
+        assertEquals(result.getHandStrength(), result.getEffectiveHandStrength(), 1e-9);
+        assertEquals(45 * 44 / 2, result.getOpponentHandsCount());
+    }
+
+    @Test
+    public void testFlopIsSplitBetweenWorkers() throws EquityCalculationException, InterruptedException {
+        final List<Card> flop = TURN.subList(0, 3);
+        final HashDeck deck = new HashDeck();
+        deck.removeFromDeck(Card.of(Card.ACE_RANK, Suit.SPADE));
+
+        final HandPotentialResult result = sCalculator.calculate(HOLE_CARDS, flop, GamePhase.FLOP, deck);
+        final HandPotentialResult singleWorkerResult = new HandPotentialCalculator(sExecutor, 1).calculate(
+                HOLE_CARDS, flop, GamePhase.FLOP, deck
+        );
+        assertEquals(46 * 45 / 2 * (44 * 43 / 2), result.getEvaluationsCount());
+        assertEquals(singleWorkerResult.getHandStrength(), result.getHandStrength());
+        assertEquals(singleWorkerResult.getPositivePotential(), result.getPositivePotential());
+        assertEquals(singleWorkerResult.getNegativePotential(), result.getNegativePotential());
+    }
+
+    @Test
+    public void testInvalidCalculations() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> sCalculator.calculate(HOLE_CARDS, List.of(), GamePhase.PRE_FLOP)
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> sCalculator.calculate(HOLE_CARDS, TURN, GamePhase.FLOP)
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> sCalculator.calculate(new HoleCards(TURN.get(0), TURN.get(1)), TURN, GamePhase.TURN)
+        );
+    }
+
+    private static List<Card> withRiver(List<Card> turn, Card river) {
+        final List<Card> board = new ArrayList<>(turn);
+        board.add(river);
+        return board;
+    }
+
+    private static int getHandRank(HoleCards holeCards, List<Card> communityCards) {
+        long cardsMask = 1L << holeCards.getFirstCard().getIndex() | 1L << holeCards.getSecondCard().getIndex();
+        for (Card card : communityCards)
+            cardsMask |= 1L << card.getIndex();
+        return BitmaskBestHandSelector.getHandRank(cardsMask);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.pokermaster.equity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.cards.decks.HashDeck;
+import com.example.pokermaster.equity.exceptions.HandRangeFormatException;
+
+import org.junit.jupiter.api.Test;
+
+public class HandRangeTest {
+    private static HoleCards holeCards(int firstRank, Suit firstSuit, int secondRank, Suit secondSuit) {
+        return new HoleCards(Card.of(firstRank, firstSuit), Card.of(secondRank, secondSuit));
+    }
+
+    @Test
+    public void testHandsCounts() throws HandRangeFormatException {
+        assertEquals(6, HandRange.parse("QQ").getHandsCount());
+        assertEquals(18, HandRange.parse("QQ+").getHandsCount());
+        assertEquals(24, HandRange.parse("99-QQ").getHandsCount());
+        assertEquals(4, HandRange.parse("AKs").getHandsCount());
+        assertEquals(12, HandRange.parse("AKo").getHandsCount());
+        assertEquals(16, HandRange.parse("AK").getHandsCount());
+        assertEquals(16, HandRange.parse("ATs+").getHandsCount());
+        assertEquals(16, HandRange.parse("A2s-A5s").getHandsCount());
+        assertEquals(1, HandRange.parse("AhKd").getHandsCount());
+        assertEquals(PreflopEquityTable.HANDS_COUNT, HandRange.parse("22+, A2+, K2+, Q2+, J2+, T2+, 92+, 82+, 72+, 62+, 52+, 42+, 32").getHandsCount());
+        assertEquals(0, HandRange.parse("").getHandsCount());
+    }
+
+    @Test
+    public void testWeights() throws HandRangeFormatException {
+        final HandRange range = HandRange.parse("QQ+, AKs, 50% of AQo, KQs:0.25, 75% AA");
+        assertEquals(18 + 4 + 12 + 4, range.getHandsCount());
+        assertEquals(12 + 6 * 0.75 + 4 + 12 * 0.5 + 4 * 0.25, range.getTotalWeight(), 1e-9);
+        assertEquals(0.5, range.getWeight(holeCards(Card.ACE_RANK, Suit.SPADE, Card.QUEEN_RANK, Suit.HEART)));
+        assertEquals(0.0, range.getWeight(holeCards(Card.ACE_RANK, Suit.SPADE, Card.QUEEN_RANK, Suit.SPADE)));
+        assertEquals(0.75, range.getWeight(holeCards(Card.ACE_RANK, Suit.CLUB, Card.ACE_RANK, Suit.DIAMOND)));
+    }
+
+    @Test
+    public void testDeadCardsRemoval() throws HandRangeFormatException {
+        final HandRange range = HandRange.parse("AA, AKs");
+        final HashDeck deck = new HashDeck();
+        deck.removeFromDeck(Card.of(Card.ACE_RANK, Suit.SPADE));
+        // Three of the pairs and one suited hand hold the ace of spades:
+        assertEquals(6 + 4 - 3 - 1, range.withoutDeadCards(deck).getHandsCount());
+        assertEquals(
+                range.withoutDeadCards(deck),
+                range.withoutCards(CardSet.of(Card.of(Card.ACE_RANK, Suit.SPADE)))
+        );
+    }
+
+    @Test
+    public void testInvalidRanges() {
+        assertThrows(HandRangeFormatException.class, () -> HandRange.parse("QX"));
+        assertThrows(HandRangeFormatException.class, () -> HandRange.parse("QQs"));
+        assertThrows(HandRangeFormatException.class, () -> HandRange.parse("AKs, , QQ"));
+        assertThrows(HandRangeFormatException.class, () -> HandRange.parse("150% AA"));
+        assertThrows(HandRangeFormatException.class, () -> HandRange.parse("AA:half"));
+        assertThrows(HandRangeFormatException.class, () -> HandRange.parse("AKs-QJs"));
+        assertThrows(HandRangeFormatException.class, () -> HandRange.parse("AsAs"));
+    }
+}
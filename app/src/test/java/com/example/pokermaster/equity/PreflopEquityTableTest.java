@@ -0,0 +1,165 @@
+package com.example.pokermaster.equity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.cards.indexers.CardIndexer;
+import com.example.pokermaster.equity.exceptions.EquityTableException;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+public class PreflopEquityTableTest {
+    private static final int DECK_SIZE = 52;
+
+    @Test
+    public void testHandClassesCoverAllStartingHands() {
+        final CardIndexer cardIndexer = new CardIndexer();
+        final int[] combosPerClass = new int[PreflopEquityTable.HAND_CLASSES_COUNT];
+        final Set<Integer> handIndices = new HashSet<>();
+        for (int cardIndex1 = 0; cardIndex1 < DECK_SIZE; cardIndex1++) {
+            for (int cardIndex2 = cardIndex1 + 1; cardIndex2 < DECK_SIZE; cardIndex2++) {
+                final HoleCards holeCards = new HoleCards(
+                        cardIndexer.getCardFromIndex(cardIndex1).orElseThrow(),
+                        cardIndexer.getCardFromIndex(cardIndex2).orElseThrow()
+                );
+                combosPerClass[PreflopEquityTable.getHandClass(holeCards)]++;
+                handIndices.add(PreflopEquityTable.getHandIndex(holeCards));
+            }
+        }
+
+        assertEquals(PreflopEquityTable.HANDS_COUNT, handIndices.size(), "Hand indices aren't unique");
+        for (int handIndex : handIndices)
+            assertTrue(handIndex >= 0 && handIndex < PreflopEquityTable.HANDS_COUNT);
+
+        // 6 combos for every pair, 4 for every suited hand and 12 for every offsuit hand:
+        final int ranksCount = 13;
+        for (int row = 0; row < ranksCount; row++) {
+            for (int column = 0; column < ranksCount; column++) {
+                final int expectedCombos = row == column ? 6 : row > column ? 4 : 12;
+                assertEquals(
+                        expectedCombos, combosPerClass[row * ranksCount + column],
+                        String.format("Wrong number of combos in class [%d][%d]", row, column)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testCanonicalMatchupIgnoresSuitRenaming() {
+        final HoleCards aceKingSpades = new HoleCards(Card.of(Card.ACE_RANK, Suit.SPADE), Card.of(Card.KING_RANK, Suit.SPADE));
+        final HoleCards queensHeartDiamond = new HoleCards(Card.of(Card.QUEEN_RANK, Suit.HEART), Card.of(Card.QUEEN_RANK, Suit.DIAMOND));
+        final HoleCards aceKingClubs = new HoleCards(Card.of(Card.ACE_RANK, Suit.CLUB), Card.of(Card.KING_RANK, Suit.CLUB));
+        final HoleCards queensSpadeHeart = new HoleCards(Card.of(Card.QUEEN_RANK, Suit.SPADE), Card.of(Card.QUEEN_RANK, Suit.HEART));
+        final HoleCards queensClubHeart = new HoleCards(Card.of(Card.QUEEN_RANK, Suit.CLUB), Card.of(Card.QUEEN_RANK, Suit.HEART));
+
+        final int canonicalMatchup = PreflopEquityTable.getCanonicalMatchup(
+                PreflopEquityTable.getHandIndex(aceKingSpades), PreflopEquityTable.getHandIndex(queensHeartDiamond)
+        );
+        assertEquals(canonicalMatchup, PreflopEquityTable.getCanonicalMatchup(
+                PreflopEquityTable.getHandIndex(aceKingClubs), PreflopEquityTable.getHandIndex(queensSpadeHeart)
+        ));
+        // Here a queen shares the suit of the ace-king, which is a different matchup:
+        assertNotEquals(canonicalMatchup, PreflopEquityTable.getCanonicalMatchup(
+                PreflopEquityTable.getHandIndex(aceKingClubs), PreflopEquityTable.getHandIndex(queensClubHeart)
+        ));
+    }
+
+    @Test
+    public void testCanonicalMatchupsAreCanonical() {
+        final long[] handMasks = new long[PreflopEquityTable.HANDS_COUNT];
+        for (int cardIndex1 = 0; cardIndex1 < DECK_SIZE; cardIndex1++) {
+            for (int cardIndex2 = cardIndex1 + 1; cardIndex2 < DECK_SIZE; cardIndex2++) {
+                final int hand = PreflopEquityTable.getHandIndex(new HoleCards(Card.of(cardIndex1), Card.of(cardIndex2)));
+                handMasks[hand] = 1L << cardIndex1 | 1L << cardIndex2;
+            }
+        }
+
+        final int handsCount = PreflopEquityTable.HANDS_COUNT;
+        for (int hand = 0; hand < handsCount; hand++) {
+            for (int opponentHand = 0; opponentHand < handsCount; opponentHand++) {
+                if ((handMasks[hand] & handMasks[opponentHand]) != 0)
+                    continue;
+                final int canonicalMatchup = PreflopEquityTable.getCanonicalMatchup(hand, opponentHand);
+                final int canonicalHand = canonicalMatchup / handsCount;
+                final int canonicalOpponentHand = canonicalMatchup % handsCount;
+                assertEquals(0, handMasks[canonicalHand] & handMasks[canonicalOpponentHand]);
+                assertEquals(canonicalMatchup, PreflopEquityTable.getCanonicalMatchup(canonicalHand, canonicalOpponentHand));
+
+                // The swapped matchup is stored at its own canonical index, which must be stable too:
+                final int swappedMatchup = PreflopEquityTable.getCanonicalMatchup(canonicalOpponentHand, canonicalHand);
+                assertEquals(swappedMatchup, PreflopEquityTable.getCanonicalMatchup(
+                        swappedMatchup / handsCount, swappedMatchup % handsCount
+                ));
+            }
+        }
+    }
+
+    @Test
+    public void testSavedTableIsLoadedAndValidated() throws EquityTableException, IOException {
+        // Equities don't have to be real to test storage, the first hand simply wins if its index is higher:
+        final char[] handEquities = new char[PreflopEquityTable.HANDS_COUNT * PreflopEquityTable.HANDS_COUNT];
+        final CardIndexer cardIndexer = new CardIndexer();
+        final HoleCards[] hands = new HoleCards[PreflopEquityTable.HANDS_COUNT];
+        for (int cardIndex1 = 0; cardIndex1 < DECK_SIZE; cardIndex1++) {
+            for (int cardIndex2 = cardIndex1 + 1; cardIndex2 < DECK_SIZE; cardIndex2++) {
+                final HoleCards holeCards = new HoleCards(
+                        cardIndexer.getCardFromIndex(cardIndex1).orElseThrow(),
+                        cardIndexer.getCardFromIndex(cardIndex2).orElseThrow()
+                );
+                hands[PreflopEquityTable.getHandIndex(holeCards)] = holeCards;
+            }
+        }
+        Arrays.fill(handEquities, (char) 0xFFFF);
+        for (int hand = 0; hand < hands.length; hand++) {
+            for (int opponentHand = 0; opponentHand < hands.length; opponentHand++) {
+                if (!sharesCard(hands[hand], hands[opponentHand]))
+                    handEquities[hand * hands.length + opponentHand] = hand > opponentHand ? (char) 0xFFFE : 0;
+            }
+        }
+
+        final File tableFile = File.createTempFile("preflop-table", ".bin");
+        tableFile.deleteOnExit();
+        PreflopEquityTable.fromHandEquities(handEquities).save(tableFile);
+        final PreflopEquityTable table = PreflopEquityTable.load(tableFile);
+
+        final HoleCards aces = new HoleCards(Card.of(Card.ACE_RANK, Suit.CLUB), Card.of(Card.ACE_RANK, Suit.DIAMOND));
+        final HoleCards deuces = new HoleCards(Card.of(2, Suit.SPADE), Card.of(2, Suit.HEART));
+        assertEquals(1.0, table.lookup(aces, deuces), 1e-9);
+        assertEquals(0.0, table.lookup(deuces, aces), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> table.lookup(aces, aces));
+
+        // Every class plays against itself half the time from each side:
+        final int acesClass = PreflopEquityTable.getHandClass(aces);
+        assertEquals(0.5, table.lookupClasses(acesClass, acesClass), 1e-4);
+        assertThrows(IndexOutOfBoundsException.class, () -> table.lookupClasses(acesClass, PreflopEquityTable.HAND_CLASSES_COUNT));
+
+        // Flip a single entry, the checksum should catch it:
+        try (RandomAccessFile file = new RandomAccessFile(tableFile, "rw")) {
+            file.seek(file.length() - 1);
+            final int lastByte = file.read();
+            file.seek(file.length() - 1);
+            file.write(lastByte ^ 1);
+        }
+        assertThrows(EquityTableException.class, () -> PreflopEquityTable.load(tableFile));
+        assertThrows(EquityTableException.class, () -> PreflopEquityTable.load(new File(tableFile.getPath() + ".missing")));
+    }
+
+    private static boolean sharesCard(HoleCards holeCards, HoleCards otherHoleCards) {
+        return holeCards.getFirstCard().equals(otherHoleCards.getFirstCard()) ||
+                holeCards.getFirstCard().equals(otherHoleCards.getSecondCard()) ||
+                holeCards.getSecondCard().equals(otherHoleCards.getFirstCard()) ||
+                holeCards.getSecondCard().equals(otherHoleCards.getSecondCard());
+    }
+}
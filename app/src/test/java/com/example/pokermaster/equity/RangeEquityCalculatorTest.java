@@ -0,0 +1,122 @@
+package com.example.pokermaster.equity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.equity.exceptions.EquityCalculationException;
+import com.example.pokermaster.equity.exceptions.HandRangeFormatException;
+import com.example.pokermaster.game_state.GamePhase;
+import com.example.pokermaster.hands.selectors.BitmaskBestHandSelector;
+import com.example.pokermaster.hands.selectors.CachingBestHandSelector;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class RangeEquityCalculatorTest {
+    private static final int WORKERS_COUNT = 4;
+    private static final List<Card> FLOP = List.of(
+            Card.of(Card.KING_RANK, Suit.SPADE), Card.of(9, Suit.HEART), Card.of(4, Suit.SPADE)
+    );
+
+    private static ExecutorService sExecutor;
+    private static RangeEquityCalculator sRangeCalculator;
+    private static EquityCalculator sCalculator;
+
+    @BeforeAll
+    public static void createCalculators() {
+        sExecutor = Executors.newFixedThreadPool(WORKERS_COUNT);
+        final BitmaskBestHandSelector selector = new BitmaskBestHandSelector();
+        sRangeCalculator = new RangeEquityCalculator(new CachingBestHandSelector(selector), sExecutor, WORKERS_COUNT);
+        sCalculator = new EquityCalculator(selector, sExecutor, WORKERS_COUNT);
+    }
+
+    @AfterAll
+    public static void shutdownExecutor() {
+        sExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testSingleHandsMatchEquityCalculator() throws Exception {
+        final HoleCards aces = new HoleCards(Card.of(Card.ACE_RANK, Suit.HEART), Card.of(Card.ACE_RANK, Suit.DIAMOND));
+        final HoleCards flushDraw = new HoleCards(Card.of(Card.QUEEN_RANK, Suit.SPADE), Card.of(Card.JACK_RANK, Suit.SPADE));
+
+        final RangeEquityResult rangeResult = sRangeCalculator.calculateExactEquity(
+                HandRange.of(aces), HandRange.of(flushDraw), FLOP, GamePhase.FLOP
+        );
+        final EquityResult result = sCalculator.calculateExactEquity(List.of(aces, flushDraw), FLOP, GamePhase.FLOP);
+
+        assertEquals(result.getEquity(0), rangeResult.getEquity(0), 1e-9);
+        assertEquals(result.getEquity(1), rangeResult.getEquity(1), 1e-9);
+        assertEquals(result.getEquity(0), rangeResult.getHandEquity(0, aces), 1e-9);
+        // Every board of the 49 remaining cards is enumerated, even those holding the hands' cards:
+        assertEquals(49 * 48 / 2, rangeResult.getBoardsCount());
+    }
+
+    @Test
+    public void testRangeEquityIsWeightedAverageOfMatchups() throws Exception {
+        final HandRange firstRange = HandRange.parse("AhAd, 50% QcQd");
+        final HandRange secondRange = HandRange.parse("QsJs, 9c9d:0.25");
+
+        final RangeEquityResult rangeResult = sRangeCalculator.calculateExactEquity(
+                firstRange, secondRange, FLOP, GamePhase.FLOP
+        );
+
+        double equitySum = 0, weightSum = 0;
+        for (int firstHand = 0; firstHand < PreflopEquityTable.HANDS_COUNT; firstHand++) {
+            for (int secondHand = 0; secondHand < PreflopEquityTable.HANDS_COUNT; secondHand++) {
+                final double weight = firstRange.getWeight(firstHand) * secondRange.getWeight(secondHand);
+                if (weight == 0)
+                    continue;
+                final EquityResult result = sCalculator.calculateExactEquity(
+                        List.of(HandRange.getHoleCards(firstHand), HandRange.getHoleCards(secondHand)),
+                        FLOP, GamePhase.FLOP
+                );
+                equitySum += weight * result.getEquity(0);
+                weightSum += weight;
+            }
+        }
+        assertEquals(equitySum / weightSum, rangeResult.getEquity(0), 1e-9);
+        assertEquals(1.0, rangeResult.getEquity(0) + rangeResult.getEquity(1), 1e-9);
+        assertTrue(rangeResult.isExact());
+    }
+
+    @Test
+    public void testSampledEquityIsClose() throws HandRangeFormatException, EquityCalculationException, InterruptedException {
+        final HandRange firstRange = HandRange.parse("QQ+, AKs");
+        final HandRange secondRange = HandRange.parse("TT+, AQs+, AKo");
+
+        final RangeEquityResult exactResult = sRangeCalculator.calculateExactEquity(
+                firstRange, secondRange, FLOP, GamePhase.FLOP
+        );
+        final RangeEquityResult sampledResult = sRangeCalculator.calculateEquity(
+                firstRange, secondRange, FLOP, GamePhase.FLOP, 5_000, 23
+        );
+        assertEquals(exactResult.getEquity(0), sampledResult.getEquity(0), 0.01);
+        assertEquals(5_000, sampledResult.getBoardsCount());
+    }
+
+    @Test
+    public void testInvalidCalculations() throws HandRangeFormatException {
+        final HandRange aces = HandRange.parse("AA");
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> sRangeCalculator.calculateExactEquity(aces, aces, FLOP, GamePhase.TURN)
+        );
+        // Every pair of aces shares a card with every other pair once 3 aces are dead:
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> sRangeCalculator.calculateExactEquity(aces, HandRange.parse("AhAd"), List.of(
+                        Card.of(Card.ACE_RANK, Suit.SPADE), Card.of(Card.ACE_RANK, Suit.CLUB), Card.of(2, Suit.HEART)
+                ), GamePhase.FLOP)
+        );
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.pokermaster.hands;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.example.pokermaster.annotations.ExpensiveTest;
 import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
+import com.example.pokermaster.cards.HoleCards;
 import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.cards.indexers.CardIndexer;
+import com.example.pokermaster.hands.selectors.BitmaskBestHandSelector;
+import com.example.pokermaster.hands.selectors.BruteForceBestHandSelector;
+import com.example.pokermaster.util.Combinatorics;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -14,6 +22,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.stream.Stream;
 
 
@@ -47,7 +56,7 @@ public class PokerHandFactoryTest {
 
         if (suit == null || rank < Card.MIN_RANK)
             throw new IllegalArgumentException("Invalid card string given: " + card);
-        return new Card(rank, suit);
+        return Card.of(rank, suit);
     }
 
     private static Card[] hand(String c1, String c2, String c3, String c4, String c5) {
@@ -501,4 +510,258 @@ public class PokerHandFactoryTest {
             );
         }
     }
+
+    private static PokerHand bestHand(Card[] hand) {
+        return PokerHandFactory.createBestHand(hand[0], hand[1], hand[2], hand[3], hand[4]);
+    }
+
+    /**
+     * Pairs of hands where the first hand is strictly better than the second one, along with a
+     * description of the case.
+     */
+    private static Stream<Arguments> betterAndWorseHands() {
+        return Stream.of(
+                // Same category:
+                Arguments.of(hand("8♠", "8♥", "K♦", "6♣", "2♠"), hand("7♠", "7♥", "A♦", "K♣", "Q♠"), "Higher pair wins"),
+                Arguments.of(hand("8♠", "8♥", "K♦", "6♣", "3♠"), hand("8♦", "8♣", "K♠", "6♥", "2♦"), "Pair kicker breaks ties"),
+                Arguments.of(hand("J♠", "J♥", "3♦", "3♣", "2♠"), hand("10♠", "10♥", "9♦", "9♣", "A♠"), "Highest pair of two pair wins"),
+                Arguments.of(hand("J♠", "J♥", "4♦", "4♣", "2♠"), hand("J♦", "J♣", "3♠", "3♥", "A♦"), "Lower pair of two pair wins"),
+                Arguments.of(hand("J♠", "J♥", "4♦", "4♣", "6♠"), hand("J♦", "J♣", "4♠", "4♥", "5♦"), "Two pair kicker breaks ties"),
+                Arguments.of(hand("9♠", "9♥", "9♦", "3♣", "2♠"), hand("8♠", "8♥", "8♦", "A♣", "K♠"), "Higher trips wins"),
+                Arguments.of(hand("9♠", "9♥", "9♦", "A♣", "2♠"), hand("9♣", "9♥", "9♦", "K♣", "Q♠"), "Trips high kicker breaks ties"),
+                Arguments.of(hand("9♠", "9♥", "9♦", "A♣", "3♠"), hand("9♣", "9♥", "9♦", "A♦", "2♠"), "Trips low kicker breaks ties"),
+                Arguments.of(hand("2♠", "3♥", "4♦", "5♣", "6♠"), hand("A♠", "2♥", "3♦", "4♣", "5♠"), "Six-high straight beats low-ace straight"),
+                Arguments.of(hand("10♠", "J♥", "Q♦", "K♣", "A♠"), hand("9♠", "10♥", "J♦", "Q♣", "K♠"), "Higher straight wins"),
+                Arguments.of(hand("A♥", "9♥", "7♥", "4♥", "3♥"), hand("A♠", "9♠", "7♠", "4♠", "2♠"), "Flush is compared down to the last card"),
+                Arguments.of(hand("K♥", "3♥", "4♥", "5♥", "7♥"), hand("Q♠", "J♠", "9♠", "8♠", "6♠"), "Flush with the higher top card wins"),
+                Arguments.of(hand("3♠", "3♥", "3♦", "2♣", "2♠"), hand("2♦", "2♥", "2♣", "A♣", "A♠"), "Higher full house trips win"),
+                Arguments.of(hand("Q♠", "Q♥", "Q♦", "5♣", "5♠"), hand("Q♣", "Q♥", "Q♦", "4♣", "4♠"), "Full house pair breaks ties"),
+                Arguments.of(hand("7♠", "7♥", "7♦", "7♣", "2♠"), hand("6♠", "6♥", "6♦", "6♣", "A♠"), "Higher quads win"),
+                Arguments.of(hand("7♠", "7♥", "7♦", "7♣", "K♠"), hand("7♠", "7♥", "7♦", "7♣", "Q♠"), "Quads kicker breaks ties"),
+                Arguments.of(hand("2♠", "3♠", "4♠", "5♠", "6♠"), hand("A♥", "2♥", "3♥", "4♥", "5♥"), "Six-high straight flush beats low-ace straight flush"),
+                Arguments.of(hand("9♦", "10♦", "J♦", "Q♦", "K♦"), hand("8♣", "9♣", "10♣", "J♣", "Q♣"), "Higher straight flush wins"),
+                // Cross category:
+                Arguments.of(hand("2♠", "2♥", "3♦", "4♣", "5♦"), hand("A♠", "K♥", "Q♦", "J♣", "9♠"), "One pair beats high card"),
+                Arguments.of(hand("2♠", "2♥", "3♦", "3♣", "4♠"), hand("A♠", "A♥", "K♦", "Q♣", "J♠"), "Two pair beats one pair"),
+                Arguments.of(hand("2♠", "2♥", "2♦", "3♣", "4♠"), hand("A♠", "A♥", "K♦", "K♣", "Q♠"), "Trips beat two pair"),
+                Arguments.of(hand("A♠", "2♥", "3♦", "4♣", "5♠"), hand("A♠", "A♥", "A♦", "K♣", "Q♠"), "Straight beats trips"),
+                Arguments.of(hand("2♠", "2♥", "2♦", "K♣", "Q♠"), hand("3♠", "4♥", "5♦", "5♣", "A♠"), "Paired low cards with an ace are not a straight"),
+                Arguments.of(hand("2♠", "3♠", "4♠", "5♠", "7♠"), hand("10♠", "J♥", "Q♦", "K♣", "A♠"), "Flush beats straight"),
+                Arguments.of(hand("2♠", "2♥", "2♦", "3♣", "3♠"), hand("A♥", "K♥", "Q♥", "J♥", "9♥"), "Full house beats flush"),
+                Arguments.of(hand("2♠", "2♥", "2♦", "2♣", "3♠"), hand("A♠", "A♥", "A♦", "K♣", "K♠"), "Quads beat full house"),
+                Arguments.of(hand("A♥", "2♥", "3♥", "4♥", "5♥"), hand("A♠", "A♥", "A♦", "A♣", "K♠"), "Straight flush beats quads"),
+                Arguments.of(hand("10♠", "J♠", "Q♠", "K♠", "A♠"), hand("9♥", "10♥", "J♥", "Q♥", "K♥"), "Royal flush beats straight flush")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("betterAndWorseHands")
+    public void testHandComparison(Card[] betterHand, Card[] worseHand, String description) {
+        final PokerHand better = bestHand(betterHand);
+        final PokerHand worse = bestHand(worseHand);
+
+        assertTrue(better.isBetterThan(worse), description + ": expected first hand to win");
+        assertFalse(worse.isBetterThan(better), description + ": expected second hand to lose");
+        assertTrue(better.compareTo(worse) < 0, description + ": better hand should compare smaller");
+        assertTrue(
+                better.getHandRank() > worse.getHandRank(),
+                description + ": better hand should have a larger hand rank"
+        );
+    }
+
+    private static Stream<Arguments> tyingHands() {
+        return Stream.of(
+                Arguments.of(hand("K♠", "J♥", "9♦", "6♣", "3♠"), hand("K♦", "J♣", "9♠", "6♥", "3♦")),
+                Arguments.of(hand("8♠", "8♥", "K♦", "6♣", "2♠"), hand("8♦", "8♣", "K♠", "6♥", "2♦")),
+                Arguments.of(hand("A♠", "2♥", "3♦", "4♣", "5♠"), hand("A♦", "2♠", "3♣", "4♥", "5♦")),
+                Arguments.of(hand("A♥", "9♥", "7♥", "4♥", "3♥"), hand("A♣", "9♣", "7♣", "4♣", "3♣")),
+                Arguments.of(hand("10♠", "J♠", "Q♠", "K♠", "A♠"), hand("10♥", "J♥", "Q♥", "K♥", "A♥"))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("tyingHands")
+    public void testHandTie(Card[] firstHand, Card[] secondHand) {
+        final PokerHand first = bestHand(firstHand);
+        final PokerHand second = bestHand(secondHand);
+
+        assertEquals(0, first.compareTo(second), "Expected hands to tie");
+        assertEquals(first.getHandRank(), second.getHandRank(), "Tying hands should have equal hand ranks");
+        assertFalse(first.isBetterThan(second), "A tying hand should not be better");
+    }
+
+    @Test
+    public void testHandRankMatchesHandRanking() {
+        final Card[][] hands = {
+                hand("A♠", "9♥", "7♦", "4♣", "2♠"),
+                hand("8♠", "8♥", "K♦", "6♣", "2♠"),
+                hand("J♠", "J♥", "3♦", "3♣", "2♠"),
+                hand("9♠", "9♥", "9♦", "3♣", "2♠"),
+                hand("2♠", "3♥", "4♦", "5♣", "6♠"),
+                hand("A♥", "9♥", "7♥", "4♥", "3♥"),
+                hand("3♠", "3♥", "3♦", "2♣", "2♠"),
+                hand("7♠", "7♥", "7♦", "7♣", "2♠"),
+                hand("2♠", "3♠", "4♠", "5♠", "6♠"),
+                hand("10♠", "J♠", "Q♠", "K♠", "A♠")
+        };
+        for (Card[] hand : hands) {
+            final PokerHand bestHand = bestHand(hand);
+            assertEquals(
+                    bestHand.getHandRanking(), HandRank.getHandRanking(bestHand.getHandRank()),
+                    "Hand rank category doesn't match the hand ranking of " + bestHand.getClass().getSimpleName()
+            );
+        }
+    }
+
+    @Test
+    public void testHandPropertiesPredicatesIncludeWeakerRankings() {
+        final List<Card> rankSortedFullHouse = List.of(hand("2♣", "2♠", "3♠", "3♥", "3♦"));
+        final HandProperties properties = HandProperties.computePropertiesFromSortedRawHand(rankSortedFullHouse);
+
+        assertEquals(HandRank.FULL_HOUSE, properties.getCategory());
+        assertTrue(properties.isFullHouse());
+        assertTrue(properties.isThreeOfAKind());
+        assertTrue(properties.isOnePair());
+        assertFalse(properties.isTwoPair());
+        assertFalse(properties.isFourOfAKind());
+        assertEquals(3, properties.getRankRepetitions(3));
+        assertEquals(RankMasks.of(2) | RankMasks.of(3), properties.getRankMask());
+    }
+
+    private static int bestHandRank(Card[] hand) {
+        final CardIndexer indexer = new CardIndexer();
+        return PokerHandFactory.createBestHandRank(
+                indexer.getCardIndex(hand[0]), indexer.getCardIndex(hand[1]),
+                indexer.getCardIndex(hand[2]), indexer.getCardIndex(hand[3]),
+                indexer.getCardIndex(hand[4])
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("betterAndWorseHands")
+    public void testCreateBestHandRankMatchesCreatedHand(Card[] betterHand, Card[] worseHand, String description) {
+        assertEquals(
+                bestHand(betterHand).getHandRank(), bestHandRank(betterHand),
+                description + ": wrong hand rank for the first hand"
+        );
+        assertEquals(
+                bestHand(worseHand).getHandRank(), bestHandRank(worseHand),
+                description + ": wrong hand rank for the second hand"
+        );
+    }
+
+    @ExpensiveTest
+    @Test
+    public void testCreateBestHandRankOnAllHands() {
+        final CardIndexer indexer = new CardIndexer();
+        final Card[] deck = new Card[52];
+        for (int i = 0; i < deck.length; i++)
+            deck[i] = indexer.getCardFromIndex(i).orElseThrow();
+
+        new Combinatorics().forEachCombination(deck.length, PokerHand.HAND_SIZE, combination -> {
+            final Card[] hand = new Card[PokerHand.HAND_SIZE];
+            for (int i = 0; i < hand.length; i++)
+                hand[i] = deck[combination.get(i)];
+
+            final int expectedHandRank = bestHand(hand).getHandRank();
+            final int actualHandRank = PokerHandFactory.createBestHandRank(
+                    combination.get(0), combination.get(1), combination.get(2),
+                    combination.get(3), combination.get(4)
+            );
+            assertEquals(expectedHandRank, actualHandRank, "Wrong hand rank for combination " + combination);
+        });
+    }
+
+    @Test
+    public void testBitmaskSelectorMatchesBruteForceOnRandomHands() {
+        final CardIndexer indexer = new CardIndexer();
+        final BruteForceBestHandSelector bruteForceSelector = new BruteForceBestHandSelector();
+        final BitmaskBestHandSelector bitmaskSelector = new BitmaskBestHandSelector();
+        final Random random = new Random(5675);
+
+        for (int i = 0; i < 20_000; i++) {
+            // Draw 7 distinct cards:
+            long cardsMask = 0;
+            final Card[] cards = new Card[7];
+            for (int drawn = 0; drawn < cards.length; ) {
+                final int cardIndex = random.nextInt(52);
+                if ((cardsMask & (1L << cardIndex)) != 0)
+                    continue;
+                cardsMask |= 1L << cardIndex;
+                cards[drawn++] = indexer.getCardFromIndex(cardIndex).orElseThrow();
+            }
+            final HoleCards holeCards = new HoleCards(cards[0], cards[1]);
+            final List<Card> communityCards = List.of(cards[2], cards[3], cards[4], cards[5], cards[6]);
+            final List<Card> allCards = List.of(cards);
+
+            final PokerHand expectedHand = bruteForceSelector.getBestHand(holeCards, communityCards);
+            final PokerHand actualHand = bitmaskSelector.getBestHand(holeCards, communityCards);
+            assertEquals(
+                    expectedHand.getClass(), actualHand.getClass(),
+                    "Bitmask selector picked the wrong hand type for " + allCards
+            );
+            assertEquals(
+                    expectedHand.getHandRank(), actualHand.getHandRank(),
+                    "Bitmask selector picked a weaker/stronger hand for " + allCards
+            );
+            assertEquals(
+                    expectedHand.getHandRank(), bitmaskSelector.getBestHandRank(holeCards, communityCards),
+                    "Bitmask selector computed the wrong hand rank for " + allCards
+            );
+            assertEquals(
+                    expectedHand.getHandRank(), bitmaskSelector.getBestHandRank(holeCards, CardSet.of(communityCards)),
+                    "Bitmask selector computed the wrong hand rank from a card set for " + allCards
+            );
+            assertTrue(
+                    allCards.containsAll(actualHand.getCards()),
+                    "Bitmask selector used cards that weren't given for " + allCards
+            );
+        }
+    }
+
+    /**
+     * Goes over every 7-card combination and compares the bitmask hand rank to the best hand rank
+     * of its 21 5-card subsets (the same brute force {@link BruteForceBestHandSelector} does, only
+     * using {@link PokerHandFactory#createBestHandRank} so it finishes in reasonable time).
+     */
+    @ExpensiveTest
+    @Test
+    public void testBitmaskSelectorOnAllShowdowns() {
+        final int[] cards = new int[7];
+        for (cards[0] = 0; cards[0] < 52; cards[0]++)
+        for (cards[1] = cards[0] + 1; cards[1] < 52; cards[1]++)
+        for (cards[2] = cards[1] + 1; cards[2] < 52; cards[2]++)
+        for (cards[3] = cards[2] + 1; cards[3] < 52; cards[3]++)
+        for (cards[4] = cards[3] + 1; cards[4] < 52; cards[4]++)
+        for (cards[5] = cards[4] + 1; cards[5] < 52; cards[5]++)
+        for (cards[6] = cards[5] + 1; cards[6] < 52; cards[6]++) {
+            long cardsMask = 0;
+            for (int card : cards)
+                cardsMask |= 1L << card;
+
+            // Skipping 2 of the 7 cards leaves a 5-card subset:
+            int expectedHandRank = 0;
+            for (int skipped1 = 0; skipped1 < cards.length; skipped1++) {
+                for (int skipped2 = skipped1 + 1; skipped2 < cards.length; skipped2++) {
+                    final long subsetMask = cardsMask & ~(1L << cards[skipped1]) & ~(1L << cards[skipped2]);
+                    final int[] subset = new int[PokerHand.HAND_SIZE];
+                    long remaining = subsetMask;
+                    for (int i = 0; i < subset.length; i++) {
+                        subset[i] = Long.numberOfTrailingZeros(remaining);
+                        remaining &= remaining - 1;
+                    }
+                    expectedHandRank = Math.max(expectedHandRank, PokerHandFactory.createBestHandRank(
+                            subset[0], subset[1], subset[2], subset[3], subset[4]
+                    ));
+                }
+            }
+            final int actualHandRank = BitmaskBestHandSelector.getHandRank(cardsMask);
+            if (expectedHandRank != actualHandRank) {
+                assertEquals(
+                        expectedHandRank, actualHandRank,
+                        "Wrong hand rank for cards mask 0x" + Long.toHexString(cardsMask)
+                );
+            }
+        }
+    }
 }
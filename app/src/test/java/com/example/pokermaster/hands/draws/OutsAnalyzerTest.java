@@ -0,0 +1,100 @@
+package com.example.pokermaster.hands.draws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.cards.decks.HashDeck;
+import com.example.pokermaster.game_state.GamePhase;
+import com.example.pokermaster.hands.HandRank;
+import com.example.pokermaster.hands.showdown.ShowdownResolver;
+import com.example.pokermaster.hands.showdown.ShowdownResult;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+public class OutsAnalyzerTest {
+    private final OutsAnalyzer mAnalyzer = new OutsAnalyzer();
+
+    @Test
+    public void testComboDraw() {
+        final HoleCards holeCards = new HoleCards(Card.of(Card.JACK_RANK, Suit.HEART), Card.of(10, Suit.HEART));
+        final List<Card> flop = List.of(Card.of(9, Suit.HEART), Card.of(8, Suit.CLUB), Card.of(2, Suit.HEART));
+        final OutsAnalysis analysis = mAnalyzer.analyze(holeCards, flop, GamePhase.FLOP, new HashDeck());
+
+        assertEquals(HandRank.HIGH_CARD, HandRank.getCategory(analysis.getHandRank()));
+        assertEquals(EnumSet.of(DrawType.FLUSH_DRAW, DrawType.OPEN_ENDED_STRAIGHT_DRAW), analysis.getDraws());
+        // 9 hearts, 6 more queens and sevens, and 14 more cards that pair the hand or the board:
+        assertEquals(9 + 6 + 14, analysis.getImprovingOuts().size());
+        assertTrue(analysis.getImprovingOuts().contains(Card.of(Card.ACE_RANK, Suit.HEART)));
+        assertTrue(analysis.getWinningOuts().isEmpty());
+    }
+
+    @Test
+    public void testGutshotAndBackdoorDraws() {
+        final HoleCards holeCards = new HoleCards(Card.of(Card.ACE_RANK, Suit.SPADE), Card.of(Card.QUEEN_RANK, Suit.CLUB));
+        final List<Card> flop = List.of(Card.of(Card.KING_RANK, Suit.SPADE), Card.of(10, Suit.SPADE), Card.of(4, Suit.HEART));
+        final OutsAnalysis analysis = mAnalyzer.analyze(holeCards, flop, GamePhase.FLOP, new HashDeck());
+        assertEquals(EnumSet.of(DrawType.GUTSHOT_STRAIGHT_DRAW, DrawType.BACKDOOR_FLUSH_DRAW), analysis.getDraws());
+
+        final List<Card> otherFlop = List.of(Card.of(9, Suit.DIAMOND), Card.of(3, Suit.HEART), Card.of(2, Suit.HEART));
+        final HoleCards otherHoleCards = new HoleCards(Card.of(Card.JACK_RANK, Suit.SPADE), Card.of(10, Suit.CLUB));
+        assertEquals(
+                EnumSet.of(DrawType.BACKDOOR_STRAIGHT_DRAW),
+                mAnalyzer.analyze(otherHoleCards, otherFlop, GamePhase.FLOP, new HashDeck()).getDraws()
+        );
+    }
+
+    @Test
+    public void testWinningOutsMatchShowdowns() {
+        final Random random = new Random(24);
+        final List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < Card.CARDS_COUNT; i++)
+            cards.add(Card.of(i));
+
+        for (int hand = 0; hand < 200; hand++) {
+            Collections.shuffle(cards, random);
+            final HoleCards holeCards = new HoleCards(cards.get(0), cards.get(1));
+            final HoleCards opponentHoleCards = new HoleCards(cards.get(2), cards.get(3));
+            final List<Card> turn = cards.subList(4, 8);
+            final HashDeck deck = new HashDeck();
+            for (Card card : cards.subList(0, 8))
+                deck.removeFromDeck(card);
+
+            final OutsAnalysis analysis = mAnalyzer.analyze(holeCards, turn, GamePhase.TURN, deck, opponentHoleCards);
+            for (Card river : cards.subList(8, cards.size())) {
+                final List<Card> board = new ArrayList<>(turn);
+                board.add(river);
+                final ShowdownResult result = new ShowdownResolver(board).resolve(List.of(holeCards, opponentHoleCards));
+                final boolean isWinning = result.isWinner(0) && !result.isSplitPot();
+                assertEquals(isWinning, analysis.getWinningOuts().contains(river), "Wrong winning out " + river);
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidAnalyses() {
+        final HoleCards holeCards = new HoleCards(Card.of(Card.ACE_RANK, Suit.SPADE), Card.of(Card.ACE_RANK, Suit.HEART));
+        final List<Card> flop = List.of(Card.of(9, Suit.HEART), Card.of(8, Suit.CLUB), Card.of(2, Suit.HEART));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> mAnalyzer.analyze(holeCards, flop, GamePhase.TURN, new HashDeck())
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> mAnalyzer.analyze(holeCards, List.of(), GamePhase.PRE_FLOP, new HashDeck())
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> mAnalyzer.analyze(holeCards, flop, GamePhase.FLOP, new HashDeck(), holeCards)
+        );
+    }
+}
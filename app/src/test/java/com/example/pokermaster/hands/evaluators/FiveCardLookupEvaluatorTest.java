@@ -0,0 +1,98 @@
+package com.example.pokermaster.hands.evaluators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.indexers.CardCombinationIndexer;
+import com.example.pokermaster.cards.indexers.CardIndexer;
+import com.example.pokermaster.hands.PokerHandFactory;
+import com.example.pokermaster.hands.evaluators.exceptions.LookupTableException;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+public class FiveCardLookupEvaluatorTest {
+    private static File createTableFile() throws IOException {
+        final File tableFile = File.createTempFile("five-card-table", ".bin");
+        tableFile.deleteOnExit();
+        // The evaluator should build the table if the file doesn't exist:
+        assertTrue(tableFile.delete(), "Failed to delete temporary table file");
+        return tableFile;
+    }
+
+    @Test
+    public void testTableIndexMatchesCombinationIndex() {
+        final CardIndexer cardIndexer = new CardIndexer();
+        final CardCombinationIndexer combinationIndexer = new CardCombinationIndexer();
+        final Random random = new Random(1926);
+
+        for (int i = 0; i < 1000; i++) {
+            long cardsMask = 0;
+            final Card[] cards = new Card[5];
+            for (int drawn = 0; drawn < cards.length; ) {
+                final int cardIndex = random.nextInt(52);
+                if ((cardsMask & (1L << cardIndex)) != 0)
+                    continue;
+                cardsMask |= 1L << cardIndex;
+                cards[drawn++] = cardIndexer.getCardFromIndex(cardIndex).orElseThrow();
+            }
+            assertEquals(
+                    combinationIndexer.getCombinationIndex(cards),
+                    FiveCardLookupEvaluator.getTableIndex(cardsMask),
+                    "Table index differs from combination index for mask 0x" + Long.toHexString(cardsMask)
+            );
+        }
+    }
+
+    @Test
+    public void testTableMatchesFactory() throws IOException, LookupTableException {
+        final File tableFile = createTableFile();
+        final FiveCardLookupEvaluator evaluator = new FiveCardLookupEvaluator(tableFile);
+        final Random random = new Random(8128);
+
+        for (int i = 0; i < 10_000; i++) {
+            final int[] cards = random.ints(0, 52).distinct().limit(5).toArray();
+            assertEquals(
+                    PokerHandFactory.createBestHandRank(cards[0], cards[1], cards[2], cards[3], cards[4]),
+                    evaluator.getHandRank(cards[0], cards[1], cards[2], cards[3], cards[4]),
+                    "Lookup table disagrees with factory"
+            );
+        }
+        assertTrue(tableFile.isFile(), "Lookup table wasn't saved");
+    }
+
+    @Test
+    public void testCorruptTableIsRebuilt() throws IOException, LookupTableException {
+        final File tableFile = createTableFile();
+        new FiveCardLookupEvaluator(tableFile).load();
+        final long tableSize = tableFile.length();
+
+        // Flip a single entry somewhere in the middle of the table:
+        final long entryPosition = tableSize / 2;
+        final int entry;
+        try (RandomAccessFile file = new RandomAccessFile(tableFile, "rw")) {
+            file.seek(entryPosition);
+            entry = file.readInt();
+            file.seek(entryPosition);
+            file.writeInt(~entry);
+        }
+
+        final FiveCardLookupEvaluator evaluator = new FiveCardLookupEvaluator(tableFile);
+        final int[] cards = {0, 13, 26, 39, 12}; // Quad deuces with an ace kicker
+        assertEquals(
+                PokerHandFactory.createBestHandRank(cards[0], cards[1], cards[2], cards[3], cards[4]),
+                evaluator.getHandRank(cards[0], cards[1], cards[2], cards[3], cards[4]),
+                "Lookup table disagrees with factory after being rebuilt"
+        );
+        assertEquals(tableSize, tableFile.length(), "Rebuilt table has the wrong size");
+        try (RandomAccessFile file = new RandomAccessFile(tableFile, "r")) {
+            file.seek(entryPosition);
+            assertEquals(entry, file.readInt(), "Corrupt entry wasn't restored");
+        }
+    }
+}
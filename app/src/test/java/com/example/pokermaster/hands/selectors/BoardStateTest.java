@@ -0,0 +1,49 @@
+package com.example.pokermaster.hands.selectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class BoardStateTest {
+    private static final int STATES_COUNT = 2000;
+    private static final int HANDS_PER_STATE = 20;
+
+    @Test
+    public void testMatchesBitmaskSelector() {
+        final Random random = new Random(21);
+        for (int addedCardsCount = 0; addedCardsCount <= BoardState.MAX_ADDED_CARDS_COUNT; addedCardsCount++) {
+            for (int knownCardsCount = 5 - addedCardsCount; knownCardsCount + addedCardsCount <= 7; knownCardsCount++) {
+                for (int i = 0; i < STATES_COUNT; i++) {
+                    final long cardsMask = getRandomMask(random, knownCardsCount, 0);
+                    final BoardState boardState = new BoardState(cardsMask, addedCardsCount);
+                    for (int j = 0; j < HANDS_PER_STATE; j++) {
+                        final long addedCardsMask = getRandomMask(random, addedCardsCount, cardsMask);
+                        assertEquals(
+                                BitmaskBestHandSelector.getHandRank(cardsMask | addedCardsMask),
+                                boardState.getHandRank(addedCardsMask)
+                        );
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidAddedCardsCount() {
+        assertThrows(IllegalArgumentException.class, () -> new BoardState(0x1FL, -1));
+        assertThrows(IllegalArgumentException.class, () -> new BoardState(0x1FL, BoardState.MAX_ADDED_CARDS_COUNT + 1));
+    }
+
+    private static long getRandomMask(Random random, int cardsCount, long usedCardsMask) {
+        long mask = 0;
+        while (Long.bitCount(mask) < cardsCount) {
+            final long cardMask = 1L << random.nextInt(52);
+            if ((usedCardsMask & cardMask) == 0)
+                mask |= cardMask;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.pokermaster.hands.selectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
+import com.example.pokermaster.cards.HoleCards;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class CachingBestHandSelectorTest {
+    private static final int BOARDS_COUNT = 200;
+    private static final int HOLE_CARDS_PER_BOARD = 20;
+
+    @Test
+    public void testMatchesBruteForceOnRepeatedBoards() throws Exception {
+        final BruteForceBestHandSelector bruteForceSelector = new BruteForceBestHandSelector();
+        final CachingBestHandSelector cachingSelector = new CachingBestHandSelector(bruteForceSelector, 16);
+        final Random random = new Random(22);
+        final List<Card> deck = new ArrayList<>();
+        for (int i = 0; i < 52; i++)
+            deck.add(Card.of(i));
+
+        for (int board = 0; board < BOARDS_COUNT; board++) {
+            Collections.shuffle(deck, random);
+            final List<Card> communityCards = new ArrayList<>(deck.subList(0, 5));
+            final List<Card> remainingCards = deck.subList(5, deck.size());
+
+            for (int i = 0; i < HOLE_CARDS_PER_BOARD; i++) {
+                Collections.shuffle(remainingCards, random);
+                final HoleCards holeCards = new HoleCards(remainingCards.get(0), remainingCards.get(1));
+                final int expectedHandRank = bruteForceSelector.getBestHand(holeCards, communityCards).getHandRank();
+
+                assertEquals(expectedHandRank, cachingSelector.getBestHandRank(holeCards, communityCards));
+                assertEquals(expectedHandRank, cachingSelector.getBestHandRank(holeCards, CardSet.of(communityCards)));
+            }
+        }
+        assertEquals(16, cachingSelector.getCachedBoardsCount());
+    }
+
+    @Test
+    public void testEveryThreadHasItsOwnCache() throws Exception {
+        final CachingBestHandSelector selector = new CachingBestHandSelector(new BitmaskBestHandSelector(), 4);
+        final HoleCards holeCards = new HoleCards(Card.of(0), Card.of(1));
+        final List<Card> communityCards = List.of(Card.of(2), Card.of(3), Card.of(4), Card.of(5), Card.of(6));
+        final int expectedHandRank = selector.getBestHandRank(holeCards, communityCards);
+
+        final int[] otherThreadResults = new int[2];
+        final Thread otherThread = new Thread(() -> {
+            otherThreadResults[0] = selector.getCachedBoardsCount();
+            otherThreadResults[1] = selector.getBestHandRank(holeCards, communityCards);
+        });
+        otherThread.start();
+        otherThread.join();
+
+        assertEquals(0, otherThreadResults[0]);
+        assertEquals(expectedHandRank, otherThreadResults[1]);
+        assertEquals(1, selector.getCachedBoardsCount());
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new CachingBestHandSelector(new BitmaskBestHandSelector(), 0)
+        );
+        final CachingBestHandSelector selector = new CachingBestHandSelector(new BitmaskBestHandSelector());
+        final HoleCards holeCards = new HoleCards(Card.of(0), Card.of(1));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> selector.getBestHandRank(holeCards, List.of(Card.of(2), Card.of(3), Card.of(4), Card.of(5)))
+        );
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.pokermaster.hands.selectors.precomputed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.hands.PokerHand;
+import com.example.pokermaster.hands.PokerHandFactory;
+import com.example.pokermaster.hands.selectors.BitmaskBestHandSelector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class BestHandRecordTest {
+    private static final int COMBINATIONS_COUNT = 20_000;
+
+    @Test
+    public void testRoundTrip() {
+        final BitmaskBestHandSelector selector = new BitmaskBestHandSelector();
+        final Random random = new Random(3);
+        final List<Card> deck = new ArrayList<>();
+        for (int i = 0; i < Card.CARDS_COUNT; i++)
+            deck.add(Card.of(i));
+
+        for (int i = 0; i < COMBINATIONS_COUNT; i++) {
+            Collections.shuffle(deck, random);
+            final List<Card> combination = new ArrayList<>(deck.subList(0, BestHandRecord.SHOWDOWN_CARDS_COUNT));
+            final PokerHand bestHand = selector.getBestHand(
+                    new HoleCards(combination.get(0), combination.get(1)), combination.subList(2, combination.size())
+            );
+            combination.sort(Comparator.comparingInt(Card::getIndex));
+            long combinationMask = 0;
+            for (Card card : combination)
+                combinationMask |= 1L << card.getIndex();
+
+            final int record = BestHandRecord.encode(combination, bestHand);
+            assertEquals(bestHand.getHandRank(), BestHandRecord.getHandRank(record));
+            assertEquals(bestHand.getCards().size(), Integer.bitCount(BestHandRecord.getUsedCardsMask(record)));
+            for (Card usedCard : bestHand.getCards()) {
+                final int position = combination.indexOf(usedCard);
+                assertEquals(1, (BestHandRecord.getUsedCardsMask(record) >>> position) & 1, "Used card is missing");
+            }
+
+            // The primitive encoding may pick other cards of the same ranks, but the same hand rank:
+            final int primitiveRecord = BestHandRecord.encode(combinationMask, bestHand.getHandRank());
+            assertEquals(bestHand.getHandRank(), BestHandRecord.getHandRank(primitiveRecord));
+            assertEquals(bestHand.getHandRank(), getUsedCardsHandRank(combination, primitiveRecord));
+        }
+    }
+
+    private static int getUsedCardsHandRank(List<Card> sortedCombination, int record) {
+        final List<Card> usedCards = new ArrayList<>();
+        for (int position = 0; position < sortedCombination.size(); position++) {
+            if ((BestHandRecord.getUsedCardsMask(record) >>> position & 1) != 0)
+                usedCards.add(sortedCombination.get(position));
+        }
+        assertEquals(PokerHand.HAND_SIZE, usedCards.size());
+        return PokerHandFactory.createBestHand(
+                usedCards.get(0), usedCards.get(1), usedCards.get(2), usedCards.get(3), usedCards.get(4)
+        ).getHandRank();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.pokermaster.hands.selectors.precomputed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.pokermaster.hands.selectors.exceptions.PrecomputedHandsFileException;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+public class BestHandSolutionReaderTest {
+    private static final int[] BLOCK_SIZES = {3, 5, 4};
+    private static final int RECORDS_COUNT = 12;
+
+    private final BestHandSolutionReader mReader = new BestHandSolutionReader(
+            BestHandRecord.SHOWDOWN_CARDS_COUNT, BestHandRecord.RECORD_SIZE, RECORDS_COUNT
+    );
+
+    @Test
+    public void testReadsValidFile() throws IOException, PrecomputedHandsFileException {
+        final ByteBuffer records = mReader.open(createSolutionsFile());
+        for (int record = 0; record < RECORDS_COUNT; record++)
+            assertEquals(getRecord(record), records.getInt(record * BestHandRecord.RECORD_SIZE));
+    }
+
+    @Test
+    public void testRejectsCorruptBlock() throws IOException {
+        final File solutionsFile = createSolutionsFile();
+        final long secondBlockOffset = getDataOffset() + (long) BLOCK_SIZES[0] * BestHandRecord.RECORD_SIZE;
+        flipByte(solutionsFile, secondBlockOffset + 2);
+        assertThrows(PrecomputedHandsFileException.class, () -> mReader.open(solutionsFile));
+    }
+
+    @Test
+    public void testRejectsCorruptHeader() throws IOException {
+        // The magic bytes, the version, the hand size, the records count and a block CRC:
+        for (long headerOffset : new long[]{0, 5, 6, 15, getDataOffset() - 1}) {
+            final File solutionsFile = createSolutionsFile();
+            flipByte(solutionsFile, headerOffset);
+            assertThrows(
+                    PrecomputedHandsFileException.class, () -> mReader.open(solutionsFile),
+                    "Corrupt header byte " + headerOffset + " was accepted"
+            );
+        }
+    }
+
+    @Test
+    public void testRejectsTruncatedFile() throws IOException {
+        final File solutionsFile = createSolutionsFile();
+        try (RandomAccessFile file = new RandomAccessFile(solutionsFile, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+        assertThrows(PrecomputedHandsFileException.class, () -> mReader.open(solutionsFile));
+
+        try (RandomAccessFile file = new RandomAccessFile(solutionsFile, "rw")) {
+            file.setLength(10);
+        }
+        assertThrows(PrecomputedHandsFileException.class, () -> mReader.open(solutionsFile));
+    }
+
+    @Test
+    public void testRejectsUnwrittenBlock() throws IOException {
+        final File solutionsFile = createSolutionsFile();
+        try (RandomAccessFile file = new RandomAccessFile(solutionsFile, "rw"); FileChannel channel = file.getChannel()) {
+            BestHandSolutionHeader.read(channel).writeBlockCrc(channel, 1, BestHandSolutionHeader.UNWRITTEN_BLOCK_CRC);
+        } catch (PrecomputedHandsFileException unexpected) {
+            throw new AssertionError(unexpected);
+        }
+        assertThrows(PrecomputedHandsFileException.class, () -> mReader.open(solutionsFile));
+    }
+
+    @Test
+    public void testRejectsMissingFile() {
+        assertThrows(
+                PrecomputedHandsFileException.class,
+                () -> mReader.open(new File("missing-best-hand-solutions.bin"))
+        );
+    }
+
+    private static int getRecord(int record) {
+        return record * 0x01020304 + 7;
+    }
+
+    private static int getDataOffset() {
+        return new BestHandSolutionHeader(
+                BestHandRecord.SHOWDOWN_CARDS_COUNT, BestHandRecord.RECORD_SIZE, BLOCK_SIZES
+        ).getDataOffset();
+    }
+
+    /**
+     * Creates a valid solutions file of {@link #RECORDS_COUNT} records split into blocks.
+     */
+    private static File createSolutionsFile() throws IOException {
+        final File solutionsFile = File.createTempFile("best-hand-solutions", ".bin");
+        solutionsFile.deleteOnExit();
+        final BestHandSolutionHeader header = new BestHandSolutionHeader(
+                BestHandRecord.SHOWDOWN_CARDS_COUNT, BestHandRecord.RECORD_SIZE, BLOCK_SIZES
+        );
+        try (RandomAccessFile file = new RandomAccessFile(solutionsFile, "rw"); FileChannel channel = file.getChannel()) {
+            header.write(channel);
+            int record = 0;
+            long position = header.getDataOffset();
+            for (int block = 0; block < BLOCK_SIZES.length; block++) {
+                final ByteBuffer records = ByteBuffer.allocate(BLOCK_SIZES[block] * BestHandRecord.RECORD_SIZE);
+                for (int i = 0; i < BLOCK_SIZES[block]; i++)
+                    records.putInt(getRecord(record++));
+                records.flip();
+                final CRC32 crc = new CRC32();
+                crc.update(records.duplicate());
+                while (records.hasRemaining())
+                    position += channel.write(records, position);
+                header.writeBlockCrc(channel, block, crc.getValue());
+            }
+        }
+        return solutionsFile;
+    }
+
+    private static void flipByte(File file, long offset) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.seek(offset);
+            final int value = randomAccessFile.read();
+            randomAccessFile.seek(offset);
+            randomAccessFile.write(value ^ 0x10);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.pokermaster.hands.selectors.precomputed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.pokermaster.cards.indexers.CardCombinationIndexer;
+import com.example.pokermaster.util.CombinationIterator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class CombinationRangeTest {
+    @Test
+    public void testRangesCoverEveryIndexOnce() {
+        final int deckSize = 12, combinationSize = 5;
+        final List<CombinationRange> ranges = CombinationRange.splitCombinations(deckSize, combinationSize);
+
+        long nextIndex = 0;
+        for (int ordinal = 0; ordinal < ranges.size(); ordinal++) {
+            final CombinationRange range = ranges.get(ordinal);
+            assertEquals(ordinal, range.getOrdinal());
+            assertEquals(nextIndex, range.getFirstCombinationIndex(), "Ranges are not contiguous");
+            assertTrue(range.getCombinationsCount() > 0);
+            nextIndex += range.getCombinationsCount();
+        }
+        assertEquals(CombinationIterator.getCount(deckSize, combinationSize), nextIndex);
+    }
+
+    @Test
+    public void testRangesHoldTheirHighestCards() {
+        final int deckSize = 12, combinationSize = 5;
+        final CardCombinationIndexer indexer = new CardCombinationIndexer();
+        for (CombinationRange range : CombinationRange.splitCombinations(deckSize, combinationSize)) {
+            final long highestCardsMask = 1L << range.getHighestCardIndex() | 1L << range.getSecondHighestCardIndex();
+            final CombinationIterator lowerCards = new CombinationIterator(
+                    range.getSecondHighestCardIndex(), combinationSize - 2
+            );
+            while (lowerCards.next()) {
+                long mask = highestCardsMask;
+                for (int card : lowerCards.getCombination())
+                    mask |= 1L << card;
+                final long index = indexer.getCombinationIndex(mask);
+                assertEquals(range.getFirstCombinationIndex() + lowerCards.getIndex(), index);
+            }
+        }
+    }
+
+    @Test
+    public void testShowdownRangesCount() {
+        long combinationsCount = 0;
+        for (CombinationRange range : CombinationRange.splitCombinations(52, BestHandRecord.SHOWDOWN_CARDS_COUNT))
+            combinationsCount += range.getCombinationsCount();
+        assertEquals(PrecomputedBestHandSelector.getShowdownCombinationsCount(), combinationsCount);
+    }
+}
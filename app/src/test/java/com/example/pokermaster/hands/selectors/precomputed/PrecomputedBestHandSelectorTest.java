@@ -0,0 +1,157 @@
+package com.example.pokermaster.hands.selectors.precomputed;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.pokermaster.annotations.ExpensiveTest;
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.hands.selectors.BitmaskBestHandSelector;
+import com.example.pokermaster.hands.selectors.exceptions.BestHandSelectorException;
+import com.example.pokermaster.hands.selectors.exceptions.PrecomputedHandsFileException;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class PrecomputedBestHandSelectorTest {
+    private static final int LOOKUPS_COUNT = 200_000;
+
+    @Test
+    public void testMissingFileIsRejected() {
+        final PrecomputedBestHandSelector selector = new PrecomputedBestHandSelector(
+                new File("missing-precomputed-hands.bin")
+        );
+        final HoleCards holeCards = new HoleCards(Card.of(0), Card.of(1));
+        final List<Card> communityCards = List.of(Card.of(2), Card.of(3), Card.of(4), Card.of(5), Card.of(6));
+
+        assertThrows(PrecomputedHandsFileException.class, selector::open);
+        // The first lookup opens the file lazily, and fails the same way:
+        assertThrows(PrecomputedHandsFileException.class, () -> selector.getBestHandRank(holeCards, communityCards));
+        assertThrows(PrecomputedHandsFileException.class, () -> selector.getBestHand(holeCards, communityCards));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> selector.getBestHandRank(holeCards, List.of(Card.of(0), Card.of(3), Card.of(4), Card.of(5), Card.of(6)))
+        );
+    }
+
+    @Test
+    @ExpensiveTest
+    public void testLookupsMatchBitmaskSelector() throws Exception {
+        final File handsFile = File.createTempFile("precomputed-hands", ".bin");
+        handsFile.deleteOnExit();
+        final BitmaskBestHandSelector bitmaskSelector = new BitmaskBestHandSelector();
+        new PrecomputedBestHandSelector(handsFile).precomputeBestHands(bitmaskSelector);
+
+        // A fresh selector opens the file lazily, on its first lookup:
+        final PrecomputedBestHandSelector selector = new PrecomputedBestHandSelector(handsFile);
+        final Random random = new Random(1);
+        final List<Card> deck = new ArrayList<>();
+        for (int i = 0; i < Card.CARDS_COUNT; i++)
+            deck.add(Card.of(i));
+
+        for (int lookup = 0; lookup < LOOKUPS_COUNT; lookup++) {
+            Collections.shuffle(deck, random);
+            final HoleCards holeCards = new HoleCards(deck.get(0), deck.get(1));
+            final List<Card> communityCards = deck.subList(2, 7);
+            final int expectedHandRank = bitmaskSelector.getBestHandRank(holeCards, communityCards);
+
+            assertEquals(expectedHandRank, selector.getBestHandRank(holeCards, communityCards));
+            assertEquals(expectedHandRank, selector.getBestHandRank(holeCards, CardSet.of(communityCards)));
+            if (lookup % 100 == 0)
+                assertEquals(expectedHandRank, selector.getBestHand(holeCards, communityCards).getHandRank());
+        }
+    }
+
+    @Test
+    public void testResumeSkipsWrittenBlocks() throws Exception {
+        final File handsFile = File.createTempFile("precomputed-hands", ".bin");
+        handsFile.deleteOnExit();
+        final List<CombinationRange> ranges = CombinationRange.splitCombinations(52, BestHandRecord.SHOWDOWN_CARDS_COUNT);
+        final int[] rangeSizes = new int[ranges.size()];
+        for (CombinationRange range : ranges)
+            rangeSizes[range.getOrdinal()] = range.getCombinationsCount();
+
+        // A previous run that wrote every block but the first (with records left empty):
+        final BestHandSolutionHeader header = new BestHandSolutionHeader(
+                BestHandRecord.SHOWDOWN_CARDS_COUNT, BestHandRecord.RECORD_SIZE, rangeSizes
+        );
+        final File temporaryFile = new File(handsFile.getPath() + ".tmp");
+        temporaryFile.deleteOnExit();
+        try (RandomAccessFile file = new RandomAccessFile(temporaryFile, "rw"); FileChannel channel = file.getChannel()) {
+            header.write(channel);
+            file.setLength(header.getFileSize());
+            for (int block = 1; block < rangeSizes.length; block++)
+                header.writeBlockCrc(channel, block, 0);
+        }
+
+        final List<long[]> progress = new ArrayList<>();
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            new PrecomputedBestHandSelector(handsFile).precomputeBestHands(
+                    new BitmaskBestHandSelector(), pool, (written, total) -> progress.add(new long[]{written, total})
+            );
+        } finally {
+            pool.shutdown();
+        }
+
+        final long total = PrecomputedBestHandSelector.getShowdownCombinationsCount();
+        assertEquals(1, progress.size(), "Only the unwritten block should be computed");
+        assertEquals(total, progress.get(0)[0]);
+        assertEquals(total, progress.get(0)[1]);
+        assertFalse(temporaryFile.exists(), "The finished run should replace the precomputed-hands file");
+
+        try (RandomAccessFile file = new RandomAccessFile(handsFile, "r"); FileChannel channel = file.getChannel()) {
+            final BestHandSolutionHeader resumedHeader = BestHandSolutionHeader.read(channel);
+            assertTrue(resumedHeader.isBlockWritten(0));
+            assertEquals(0, resumedHeader.getBlockCrc(1), "A written block was computed again");
+
+            final ByteBuffer records = ByteBuffer.allocate(2 * BestHandRecord.RECORD_SIZE);
+            channel.read(records, header.getDataOffset());
+            // The first combination is the 7 lowest cards, the second one was never computed:
+            final long lowestCards = (1L << BestHandRecord.SHOWDOWN_CARDS_COUNT) - 1;
+            assertEquals(BestHandRecord.encode(lowestCards, BitmaskBestHandSelector.getHandRank(lowestCards)), records.getInt(0));
+            assertEquals(0, records.getInt(BestHandRecord.RECORD_SIZE));
+        }
+    }
+
+    @Test
+    public void testFailedRunKeepsPreviousFile() throws Exception {
+        final File handsFile = File.createTempFile("precomputed-hands", ".bin");
+        handsFile.deleteOnExit();
+        final File temporaryFile = new File(handsFile.getPath() + ".tmp");
+        temporaryFile.deleteOnExit();
+        final byte[] previousContent = {1, 2, 3, 4};
+        Files.write(handsFile.toPath(), previousContent);
+
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertThrows(BestHandSelectorException.class, () -> new PrecomputedBestHandSelector(handsFile).precomputeBestHands(
+                    (holeCards, communityCards) -> {
+                        throw new BestHandSelectorException("Selector failure");
+                    },
+                    pool,
+                    (written, total) -> {}
+            ));
+        } finally {
+            pool.shutdown();
+        }
+
+        // The unfinished run is left in the temporary file, to be resumed later:
+        assertArrayEquals(previousContent, Files.readAllBytes(handsFile.toPath()));
+        assertTrue(temporaryFile.exists());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.pokermaster.hands.showdown;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.cards.Suit;
+import com.example.pokermaster.hands.selectors.BruteForceBestHandSelector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class ShowdownResolverTest {
+    private static final List<Card> BOARD = List.of(
+            Card.of(Card.ACE_RANK, Suit.SPADE), Card.of(Card.KING_RANK, Suit.HEART),
+            Card.of(9, Suit.DIAMOND), Card.of(5, Suit.CLUB), Card.of(2, Suit.SPADE)
+    );
+
+    private static HoleCards holeCards(int firstRank, Suit firstSuit, int secondRank, Suit secondSuit) {
+        return new HoleCards(Card.of(firstRank, firstSuit), Card.of(secondRank, secondSuit));
+    }
+
+    @Test
+    public void testTiesShareAPlace() {
+        final List<HoleCards> players = List.of(
+                holeCards(3, Suit.HEART, 7, Suit.HEART),                          // Ace-high, seven kicker
+                holeCards(Card.ACE_RANK, Suit.HEART, Card.QUEEN_RANK, Suit.CLUB), // Pair of aces
+                holeCards(3, Suit.DIAMOND, 7, Suit.DIAMOND),                      // Ace-high, seven kicker
+                holeCards(Card.ACE_RANK, Suit.CLUB, Card.QUEEN_RANK, Suit.DIAMOND), // Pair of aces
+                holeCards(9, Suit.HEART, 9, Suit.CLUB)                            // Set of nines
+        );
+        final ShowdownResult result = new ShowdownResolver(BOARD).resolve(players);
+
+        assertArrayEquals(new int[]{4}, result.getWinners());
+        assertFalse(result.isSplitPot());
+        assertEquals(3, result.getPlacesCount());
+        assertArrayEquals(new int[]{1, 3}, result.getPlayers(1));
+        assertArrayEquals(new int[]{0, 2}, result.getPlayers(2));
+        assertArrayEquals(new int[]{4, 1, 3, 0, 2}, result.getRanking());
+        assertEquals(2, result.getPlace(0));
+        assertTrue(result.isWinner(4));
+    }
+
+    @Test
+    public void testMatchesSelectorOnRandomShowdowns() throws Exception {
+        final BruteForceBestHandSelector selector = new BruteForceBestHandSelector();
+        final Random random = new Random(21);
+        final List<Card> deck = new ArrayList<>();
+        for (int i = 0; i < 52; i++)
+            deck.add(Card.of(i));
+
+        for (int showdown = 0; showdown < 500; showdown++) {
+            Collections.shuffle(deck, random);
+            final List<Card> board = deck.subList(0, 5);
+            final List<HoleCards> players = new ArrayList<>();
+            for (int player = 0; player < 9; player++)
+                players.add(new HoleCards(deck.get(5 + 2 * player), deck.get(6 + 2 * player)));
+
+            final ShowdownResult result = new ShowdownResolver(board).resolve(players);
+            int previousHandRank = Integer.MAX_VALUE;
+            for (int player : result.getRanking()) {
+                final int handRank = selector.getBestHand(players.get(player), board).getHandRank();
+                assertEquals(handRank, result.getHandRank(player));
+                assertTrue(handRank <= previousHandRank, "Players are not ordered from best to worst");
+                previousHandRank = handRank;
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidShowdowns() {
+        final ShowdownResolver resolver = new ShowdownResolver(BOARD);
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(List.of(
+                holeCards(Card.ACE_RANK, Suit.SPADE, 3, Suit.HEART)
+        )));
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(List.of(
+                holeCards(3, Suit.HEART, 4, Suit.HEART), holeCards(4, Suit.HEART, 6, Suit.HEART)
+        )));
+        assertThrows(IllegalArgumentException.class, () -> new ShowdownResolver(BOARD.subList(0, 4)));
+    }
+}
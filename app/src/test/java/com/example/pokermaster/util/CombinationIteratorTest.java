@@ -0,0 +1,102 @@
+package com.example.pokermaster.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.pokermaster.annotations.ExpensiveTest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class CombinationIteratorTest {
+    @ParameterizedTest
+    @CsvSource({"0, 0", "5, 0", "5, 5", "6, 1", "10, 4", "12, 6", "20, 3"})
+    public void testEnumeratesEveryCombinationInRankOrder(int n, int k) {
+        final Set<List<Integer>> seenCombinations = new HashSet<>();
+        final CombinationIterator iterator = new CombinationIterator(n, k);
+        long expectedIndex = 0;
+        while (iterator.next()) {
+            final int[] combination = iterator.getCombination();
+            for (int i = 0; i < k; i++) {
+                assertTrue(0 <= combination[i] && combination[i] < n, "Object out of range");
+                assertTrue(i == 0 || combination[i - 1] < combination[i], "Combination isn't ascending");
+            }
+            assertEquals(expectedIndex, iterator.getIndex());
+            assertEquals(expectedIndex, CombinationIterator.rank(combination));
+
+            final int[] unranked = new int[k];
+            CombinationIterator.unrank(expectedIndex, unranked);
+            assertArrayEquals(combination, unranked);
+
+            final Integer[] boxed = new Integer[k];
+            for (int i = 0; i < k; i++)
+                boxed[i] = combination[i];
+            assertTrue(seenCombinations.add(List.of(boxed)), "Combination repeated");
+            expectedIndex++;
+        }
+        assertEquals(CombinationIterator.getCount(n, k), expectedIndex);
+        assertFalse(iterator.next());
+    }
+
+    @Test
+    public void testSplitRangesCoverAllCombinations() {
+        final long[] boundaries = CombinationIterator.splitRanges(15, 5, 7);
+        assertEquals(0, boundaries[0]);
+        assertEquals(3003, boundaries[boundaries.length - 1]);
+
+        final int[] expectedCombination = new int[5];
+        for (int i = 0; i < expectedCombination.length; i++)
+            expectedCombination[i] = i;
+        for (int range = 0; range + 1 < boundaries.length; range++) {
+            assertTrue(boundaries[range + 1] - boundaries[range] >= 3003 / 7);
+            final CombinationIterator iterator = new CombinationIterator(15, 5, boundaries[range], boundaries[range + 1]);
+            while (iterator.next()) {
+                assertArrayEquals(expectedCombination, iterator.getCombination());
+                CombinationIterator.advance(expectedCombination);
+            }
+        }
+    }
+
+    @Test
+    public void testNextMaskMatchesIterator() {
+        final CombinationIterator iterator = new CombinationIterator(16, 4);
+        long mask = (1L << 4) - 1;
+        while (iterator.next()) {
+            long expectedMask = 0;
+            for (int object : iterator.getCombination())
+                expectedMask |= 1L << object;
+            assertEquals(expectedMask, mask);
+            mask = CombinationIterator.nextMask(mask);
+        }
+        assertEquals(16, 64 - Long.numberOfLeadingZeros(mask) - 1, "Mask should move past the last object");
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CombinationIterator(5, 6));
+        assertThrows(IllegalArgumentException.class, () -> new CombinationIterator(5, -1));
+        assertThrows(IllegalArgumentException.class, () -> new CombinationIterator(5, 2, 3, 11));
+        assertThrows(IllegalArgumentException.class, () -> CombinationIterator.splitRanges(5, 2, 0));
+    }
+
+    @Test
+    @ExpensiveTest
+    public void testShowdownCombinationsRankInOrder() {
+        final CombinationIterator iterator = new CombinationIterator(52, 7);
+        long expectedIndex = 0;
+        while (iterator.next()) {
+            if (expectedIndex % 1_000_003 == 0)
+                assertEquals(expectedIndex, CombinationIterator.rank(iterator.getCombination()));
+            expectedIndex++;
+        }
+        assertEquals(133_784_560, expectedIndex);
+    }
+}
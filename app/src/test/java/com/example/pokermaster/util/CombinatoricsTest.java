@@ -42,7 +42,13 @@ public class CombinatoricsTest {
             "51, 7, 115775100",
             "52, 8, 752538150",
             "53, 9, 4431613550",
-            "53, 10, 19499099620"
+            "53, 10, 19499099620",
+            "64, 32, 1832624140942590534",
+            "66, 32, 7007092303604022630",
+            "100, 3, 161700",
+            "1000, 997, 166167000",
+            "1720, 4, 363401350170",
+            "3000000, 3, 4499995500001000000"
     })
     public void testNChooseR_sanity(long n, long r, long expected) {
         assertEquals(expected, combinatorics.nChooseR(n, r));
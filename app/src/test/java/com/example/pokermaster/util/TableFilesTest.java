@@ -0,0 +1,69 @@
+package com.example.pokermaster.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.pokermaster.util.exceptions.InvalidTableFileException;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+public class TableFilesTest {
+    private static final byte[] MAGIC = {'T', 'E', 'S', 'T'};
+    private static final short VERSION = 3;
+    private static final int ENTRIES_COUNT = 100;
+
+    @Test
+    public void testSavedTableIsMappedAndValidated() throws InvalidTableFileException, IOException {
+        final ByteBuffer entries = ByteBuffer.allocate(ENTRIES_COUNT * Integer.BYTES);
+        for (int i = 0; i < ENTRIES_COUNT; i++)
+            entries.putInt(i * i);
+        entries.flip();
+
+        final File tableFile = File.createTempFile("table", ".bin");
+        tableFile.deleteOnExit();
+        TableFiles.save(tableFile, MAGIC, VERSION, new int[] {ENTRIES_COUNT, 7}, entries);
+        assertFalse(new File(tableFile.getPath() + ".tmp").exists());
+        // Saving doesn't consume the entries:
+        assertEquals(ENTRIES_COUNT * Integer.BYTES, entries.remaining());
+
+        final ByteBuffer mappedEntries = TableFiles.mapEntries(
+                tableFile, MAGIC, VERSION, new int[] {ENTRIES_COUNT, 7}, ENTRIES_COUNT * Integer.BYTES
+        );
+        assertEquals(entries, mappedEntries);
+
+        // Wrong magic, version, counts or size:
+        assertThrows(InvalidTableFileException.class, () -> TableFiles.mapEntries(
+                tableFile, new byte[] {'T', 'E', 'S', 'X'}, VERSION, new int[] {ENTRIES_COUNT, 7}, ENTRIES_COUNT * Integer.BYTES
+        ));
+        assertThrows(InvalidTableFileException.class, () -> TableFiles.mapEntries(
+                tableFile, MAGIC, (short) (VERSION + 1), new int[] {ENTRIES_COUNT, 7}, ENTRIES_COUNT * Integer.BYTES
+        ));
+        assertThrows(InvalidTableFileException.class, () -> TableFiles.mapEntries(
+                tableFile, MAGIC, VERSION, new int[] {ENTRIES_COUNT, 8}, ENTRIES_COUNT * Integer.BYTES
+        ));
+        assertThrows(InvalidTableFileException.class, () -> TableFiles.mapEntries(
+                tableFile, MAGIC, VERSION, new int[] {ENTRIES_COUNT, 7}, ENTRIES_COUNT * Integer.BYTES - 1
+        ));
+
+        // Flip a single entry, the checksum should catch it:
+        try (RandomAccessFile file = new RandomAccessFile(tableFile, "rw")) {
+            file.seek(file.length() - 1);
+            final int lastByte = file.read();
+            file.seek(file.length() - 1);
+            file.write(lastByte ^ 1);
+        }
+        assertThrows(InvalidTableFileException.class, () -> TableFiles.mapEntries(
+                tableFile, MAGIC, VERSION, new int[] {ENTRIES_COUNT, 7}, ENTRIES_COUNT * Integer.BYTES
+        ));
+        assertThrows(IOException.class, () -> TableFiles.mapEntries(
+                new File(tableFile.getPath() + ".missing"), MAGIC, VERSION, new int[] {ENTRIES_COUNT, 7},
+                ENTRIES_COUNT * Integer.BYTES
+        ));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.pokermaster.benchmarks;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.HoleCards;
+import com.example.pokermaster.hands.PokerHand;
+import com.example.pokermaster.hands.selectors.BestHandSelector;
+import com.example.pokermaster.hands.selectors.BitmaskBestHandSelector;
+import com.example.pokermaster.hands.selectors.BruteForceBestHandSelector;
+import com.example.pokermaster.hands.selectors.exceptions.BestHandSelectorException;
+import com.example.pokermaster.hands.selectors.precomputed.PrecomputedBestHandSelector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every {@link BestHandSelector} implementation on the same 7-card showdowns.
+ * <p>
+ *     The precomputed selector needs the precomputed-hands file. If the file given by
+ *     {@code precomputedHandsFile} doesn't exist, it is created (once) in the benchmark's setup,
+ *     which takes a few minutes - later runs reuse it.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BestHandSelectorBenchmark {
+    private static final int SHOWDOWN_CARDS_COUNT = 7;
+
+    public enum SelectorType {
+        BRUTE_FORCE, BITMASK, PRECOMPUTED
+    }
+
+    @Param({"BRUTE_FORCE", "BITMASK", "PRECOMPUTED"})
+    public SelectorType selectorType;
+
+    @Param({"build/precomputed-hands.bin"})
+    public String precomputedHandsFile;
+
+    private BestHandSelector mSelector;
+    private HoleCards[] mHoleCards;
+    private List<List<Card>> mCommunityCards;
+    private int mNextHand;
+
+    @Setup
+    public void setup() throws Exception {
+        final HandCorpus corpus = new HandCorpus(SHOWDOWN_CARDS_COUNT);
+        mHoleCards = corpus.getHoleCards();
+        mCommunityCards = corpus.getCommunityCards();
+        mSelector = createSelector();
+    }
+
+    private BestHandSelector createSelector() throws Exception {
+        switch (selectorType) {
+            case BRUTE_FORCE:
+                return new BruteForceBestHandSelector();
+            case BITMASK:
+                return new BitmaskBestHandSelector();
+            case PRECOMPUTED:
+                final File file = new File(precomputedHandsFile);
+                final PrecomputedBestHandSelector selector = new PrecomputedBestHandSelector(file);
+                if (!file.exists())
+                    selector.precomputeBestHands(new BitmaskBestHandSelector());
+                selector.open();
+                return selector;
+            default:
+                throw new IllegalArgumentException("Unknown selector type " + selectorType);
+        }
+    }
+
+    @Benchmark
+    public PokerHand getBestHand() throws BestHandSelectorException {
+        final int hand = mNextHand++ & HandCorpus.INDEX_MASK;
+        return mSelector.getBestHand(mHoleCards[hand], mCommunityCards.get(hand));
+    }
+
+    @Benchmark
+    public int getBestHandRank() throws BestHandSelectorException {
+        final int hand = mNextHand++ & HandCorpus.INDEX_MASK;
+        return mSelector.getBestHandRank(mHoleCards[hand], mCommunityCards.get(hand));
+    }
+}
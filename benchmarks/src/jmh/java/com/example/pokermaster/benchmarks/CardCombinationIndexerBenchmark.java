@@ -0,0 +1,73 @@
+package com.example.pokermaster.benchmarks;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.indexers.CardCombinationIndexer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the index of a 7-card showdown from every representation of the cards, and the
+ * incremental index of a river card added to a known turn index.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CardCombinationIndexerBenchmark {
+    private static final int SHOWDOWN_CARDS_COUNT = 7;
+
+    private final CardCombinationIndexer mIndexer = new CardCombinationIndexer();
+    private List<List<Card>> mHands;
+    private int[][] mCardIndices;
+    private long[] mCardsMasks;
+    // The indices and masks of every hand without its last card:
+    private long[] mTurnIndices;
+    private long[] mTurnMasks;
+    private int mNextHand;
+
+    @Setup
+    public void setup() {
+        final HandCorpus corpus = new HandCorpus(SHOWDOWN_CARDS_COUNT);
+        mHands = corpus.getCards();
+        mCardIndices = corpus.getCardIndices();
+        mCardsMasks = corpus.getCardsMasks();
+
+        mTurnIndices = new long[HandCorpus.SIZE];
+        mTurnMasks = new long[HandCorpus.SIZE];
+        for (int i = 0; i < HandCorpus.SIZE; i++) {
+            mTurnMasks[i] = mCardsMasks[i] & ~(1L << mCardIndices[i][SHOWDOWN_CARDS_COUNT - 1]);
+            mTurnIndices[i] = mIndexer.getCombinationIndex(mTurnMasks[i]);
+        }
+    }
+
+    @Benchmark
+    public long getCombinationIndexFromList() {
+        return mIndexer.getCombinationIndex(mHands.get(mNextHand++ & HandCorpus.INDEX_MASK));
+    }
+
+    @Benchmark
+    public long getCombinationIndexFromCardIndices() {
+        return mIndexer.getCombinationIndex(mCardIndices[mNextHand++ & HandCorpus.INDEX_MASK]);
+    }
+
+    @Benchmark
+    public long getCombinationIndexFromMask() {
+        return mIndexer.getCombinationIndex(mCardsMasks[mNextHand++ & HandCorpus.INDEX_MASK]);
+    }
+
+    @Benchmark
+    public long getCombinationIndexWithCard() {
+        final int hand = mNextHand++ & HandCorpus.INDEX_MASK;
+        return mIndexer.getCombinationIndexWithCard(
+                mTurnIndices[hand], mTurnMasks[hand], mCardIndices[hand][SHOWDOWN_CARDS_COUNT - 1]
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.pokermaster.benchmarks;
+
+import com.example.pokermaster.util.Combinatorics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Combinatorics#nChooseR(long, long)} on the sizes the poker code uses, and on
+ * sizes beyond its table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CombinatoricsBenchmark {
+    @Param({"52", "100"})
+    public long totalObjectsCount;
+
+    @Param({"2", "7"})
+    public long objectsToChoose;
+
+    private final Combinatorics mCombinatorics = new Combinatorics();
+
+    @Benchmark
+    public long nChooseR() {
+        return mCombinatorics.nChooseR(totalObjectsCount, objectsToChoose);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.pokermaster.benchmarks;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
+import com.example.pokermaster.cards.decks.BitSetDeck;
+import com.example.pokermaster.cards.decks.Deck;
+import com.example.pokermaster.cards.decks.HashDeck;
+import com.example.pokermaster.cards.exceptions.EmptyDeckException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures dealing random cards from a full deck. Every operation deals the cards and returns them
+ * to the deck, so the deck stays full throughout the benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DeckBenchmark {
+    private static final long SEED = 1234;
+    // A full board and two players' hole cards:
+    private static final int DEALT_CARDS_COUNT = 9;
+
+    public enum DeckType {
+        HASH, BIT_SET
+    }
+
+    @Param({"HASH", "BIT_SET"})
+    public DeckType deckType;
+
+    private Deck mDeck;
+    private final int[] mDealtCardIndices = new int[DEALT_CARDS_COUNT];
+
+    @Setup
+    public void setup() {
+        mDeck = deckType == DeckType.HASH ?
+                new HashDeck(CardSet.FULL_DECK, new Random(SEED)::nextInt) :
+                new BitSetDeck(CardSet.FULL_DECK, new Random(SEED)::nextInt);
+    }
+
+    @Benchmark
+    public Card popRandomCard() throws EmptyDeckException {
+        final Card card = mDeck.popRandomCard();
+        mDeck.addToDeck(card);
+        return card;
+    }
+
+    @Benchmark
+    public int dealCards() throws EmptyDeckException {
+        mDeck.dealCards(mDealtCardIndices, DEALT_CARDS_COUNT);
+        mDeck.restore(mDealtCardIndices, DEALT_CARDS_COUNT);
+        return mDealtCardIndices[0];
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.pokermaster.benchmarks;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.cards.CardSet;
+import com.example.pokermaster.cards.HoleCards;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A fixed corpus of random, distinct cards for benchmarks to go over.
+ * <p>
+ *     The corpus is generated from a fixed seed, so every run (and every benchmark) measures the
+ *     exact same hands, and results of different runs can be compared.
+ * </p>
+ */
+public final class HandCorpus {
+    /**
+     * Number of hands in every corpus, a power of 2 so benchmarks can cycle through it with a mask.
+     */
+    public static final int SIZE = 1 << 12;
+
+    /**
+     * The mask to apply on an ever-increasing counter to cycle through the corpus.
+     */
+    public static final int INDEX_MASK = SIZE - 1;
+
+    private static final long SEED = 0x5EED_CA4D5L;
+
+    private final int[][] mCardIndices;
+
+    /**
+     * Creates a corpus of {@link HandCorpus#SIZE} hands.
+     * @param cardsCount The number of distinct cards in every hand.
+     */
+    public HandCorpus(int cardsCount) {
+        final Random random = new Random(SEED + cardsCount);
+        mCardIndices = new int[SIZE][cardsCount];
+        for (int[] hand : mCardIndices) {
+            long usedCardsMask = 0;
+            for (int i = 0; i < cardsCount; i++) {
+                int cardIndex;
+                do {
+                    cardIndex = random.nextInt(Card.CARDS_COUNT);
+                } while ((usedCardsMask & 1L << cardIndex) != 0);
+                usedCardsMask |= 1L << cardIndex;
+                hand[i] = cardIndex;
+            }
+        }
+    }
+
+    /**
+     * @return The card indices of every hand, in random order.
+     */
+    public int[][] getCardIndices() {
+        return mCardIndices;
+    }
+
+    /**
+     * @return The cards of every hand, in random order.
+     */
+    public List<List<Card>> getCards() {
+        final List<List<Card>> hands = new ArrayList<>(SIZE);
+        for (int[] cardIndices : mCardIndices) {
+            final List<Card> hand = new ArrayList<>(cardIndices.length);
+            for (int cardIndex : cardIndices)
+                hand.add(Card.of(cardIndex));
+            hands.add(hand);
+        }
+        return hands;
+    }
+
+    /**
+     * @return The cards of every hand as a mask (see {@link CardSet#getMask()}).
+     */
+    public long[] getCardsMasks() {
+        final long[] masks = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            for (int cardIndex : mCardIndices[i])
+                masks[i] |= 1L << cardIndex;
+        }
+        return masks;
+    }
+
+    /**
+     * @return The first two cards of every hand as hole cards.
+     */
+    public HoleCards[] getHoleCards() {
+        final HoleCards[] holeCards = new HoleCards[SIZE];
+        for (int i = 0; i < SIZE; i++)
+            holeCards[i] = new HoleCards(Card.of(mCardIndices[i][0]), Card.of(mCardIndices[i][1]));
+        return holeCards;
+    }
+
+    /**
+     * @return The cards of every hand except the first two, as community cards.
+     */
+    public List<List<Card>> getCommunityCards() {
+        final List<List<Card>> communityCards = new ArrayList<>(SIZE);
+        for (List<Card> hand : getCards())
+            communityCards.add(hand.subList(2, hand.size()));
+        return communityCards;
+    }
+}
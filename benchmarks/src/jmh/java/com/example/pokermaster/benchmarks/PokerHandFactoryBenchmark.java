@@ -0,0 +1,48 @@
+package com.example.pokermaster.benchmarks;
+
+import com.example.pokermaster.cards.Card;
+import com.example.pokermaster.hands.PokerHand;
+import com.example.pokermaster.hands.PokerHandFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the evaluation of a single 5-card hand - creating the hand itself against computing
+ * only its rank.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PokerHandFactoryBenchmark {
+    private List<List<Card>> mHands;
+    private int[][] mCardIndices;
+    private int mNextHand;
+
+    @Setup
+    public void setup() {
+        final HandCorpus corpus = new HandCorpus(PokerHand.HAND_SIZE);
+        mHands = corpus.getCards();
+        mCardIndices = corpus.getCardIndices();
+    }
+
+    @Benchmark
+    public PokerHand createBestHand() {
+        final List<Card> hand = mHands.get(mNextHand++ & HandCorpus.INDEX_MASK);
+        return PokerHandFactory.createBestHand(hand.get(0), hand.get(1), hand.get(2), hand.get(3), hand.get(4));
+    }
+
+    @Benchmark
+    public int createBestHandRank() {
+        final int[] hand = mCardIndices[mNextHand++ & HandCorpus.INDEX_MASK];
+        return PokerHandFactory.createBestHandRank(hand[0], hand[1], hand[2], hand[3], hand[4]);
+    }
+}